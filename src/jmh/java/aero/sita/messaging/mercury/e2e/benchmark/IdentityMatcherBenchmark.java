@@ -0,0 +1,84 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+package aero.sita.messaging.mercury.e2e.benchmark;
+
+import aero.sita.messaging.mercury.e2e.utilities.generator.MessageIdentityGenerator;
+import aero.sita.messaging.mercury.e2e.utilities.matcher.AhoCorasickMatcher;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Matching one harness snapshot against the outstanding identities: one {@code contains} per
+ * identity and body against a single Aho-Corasick pass per body.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IdentityMatcherBenchmark {
+
+  private static final int MESSAGES = 200;
+
+  @Param({"1", "10", "100", "1000"})
+  public int identities;
+
+  private List<String> outstanding;
+  private List<String> bodies;
+  private AhoCorasickMatcher matcher;
+
+  @Setup
+  public void setUp() {
+    outstanding = new ArrayList<>();
+    for (int i = 0; i < identities; i++) {
+      outstanding.add(MessageIdentityGenerator.generate());
+    }
+    bodies = new ArrayList<>();
+    for (int i = 0; i < MESSAGES; i++) {
+      // Every other message carries an outstanding identity, the rest belong to other runs
+      String identity = i % 2 == 0 ? outstanding.get(i % identities) : MessageIdentityGenerator.generate();
+      bodies.add("\r\n\u0001QU SWIRI1G\r\n.HDQRMJU " + identity
+          + "\r\n\u0002AVS\r\nJU0580L30AUG LA BEGBCN\r\nPLS RPT YR " + identity + "\r\n\u0003");
+    }
+    matcher = AhoCorasickMatcher.of(outstanding);
+  }
+
+  @Benchmark
+  public void containsPerIdentity(Blackhole blackhole) {
+    for (String identity : outstanding) {
+      for (String body : bodies) {
+        if (body.contains(identity)) {
+          blackhole.consume(body);
+          break;
+        }
+      }
+    }
+  }
+
+  @Benchmark
+  public void ahoCorasick(Blackhole blackhole) {
+    for (String body : bodies) {
+      matcher.scan(body, blackhole::consume);
+    }
+  }
+}
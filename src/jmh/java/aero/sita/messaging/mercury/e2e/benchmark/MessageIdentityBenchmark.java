@@ -0,0 +1,47 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.benchmark;
+
+import aero.sita.messaging.mercury.e2e.utilities.generator.MessageIdentityGenerator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Identity generation, called once per injected message. The threaded variant shows whether the
+ * generator scales when several injector threads generate at once.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MessageIdentityBenchmark {
+
+  @Benchmark
+  public String generate() {
+    return MessageIdentityGenerator.generate();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public String generateContended() {
+    return MessageIdentityGenerator.generate();
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.benchmark;
+
+import aero.sita.messaging.mercury.e2e.utilities.format.typeb.TypeBMessage;
+import aero.sita.messaging.mercury.e2e.utilities.format.typeb.TypeBMessageBuilder;
+import aero.sita.messaging.mercury.e2e.utilities.format.typeb.TypeBTextPayloads;
+import aero.sita.messaging.mercury.e2e.utilities.format.typeb.util.AddressUtils;
+import aero.sita.messaging.mercury.e2e.utilities.generator.MessageIdentityGenerator;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Composition side of the per-message path: building, serialising and re-parsing a Type B message.
+ * <p>
+ * Text sizes go from a one-line text to the traditional 3840-byte limit (see TypeBTextPayloads);
+ * address counts from one address to the 32-address maximum of the format.
+ * <p>
+ * {@link #composeInto()} is the allocation-free mode: its gc.alloc.rate.norm must stay at ~0 B/op,
+ * against {@link #composeAndEncode()} (compose, then the String-to-UTF-8 step a JSON writer performs).
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TypeBCompositionBenchmark {
+
+  private static final int IDENTITY_RING = 1024;
+
+  @Param({"64", "1024", "3840"})
+  private int textBytes;
+
+  @Param({"1", "8", "32"})
+  private int addresses;
+
+  private List<String> textLines;
+  private List<List<String>> addressLines;
+  private String addressBlock;
+  private String composed;
+  private TypeBMessage message;
+
+  private final String[] identities = new String[IDENTITY_RING];
+  private final TypeBMessageBuilder reusableBuilder = new TypeBMessageBuilder();
+  private final ByteBuffer buffer = ByteBuffer.allocate(8192);
+  private int next;
+
+  @Setup
+  public void setUp() {
+    textLines = TypeBTextPayloads.textLinesOfSize(textBytes);
+    List<String> all = new ArrayList<>();
+    for (int i = 0; i < addresses; i++) {
+      all.add("BCN" + (char) ('A' + i / 26) + (char) ('A' + i % 26) + "XT");
+    }
+    addressLines = new ArrayList<>();
+    for (int i = 0; i < all.size(); i += AddressUtils.MAX_ADDRESSES_PER_LINE) {
+      addressLines.add(all.subList(i, Math.min(all.size(), i + AddressUtils.MAX_ADDRESSES_PER_LINE)));
+    }
+    addressBlock = AddressUtils.buildAddressLines("QP", addressLines);
+    composed = compose();
+    message = TypeBMessage.fromMessageString(composed);
+
+    for (int i = 0; i < IDENTITY_RING; i++) {
+      identities[i] = MessageIdentityGenerator.generate();
+    }
+    reusableBuilder.reset()
+        .withAddressLine(addressBlock)
+        .withOriginatorIndicator("HDQRMJU")
+        .withTextLines(textLines);
+  }
+
+  @Benchmark
+  public String compose() {
+    return new TypeBMessageBuilder().reset()
+        .withAddressLine(addressBlock)
+        .withOriginatorIndicator("HDQRMJU")
+        .withMessageIdentity("121437/160B99PSA")
+        .withTextLines(textLines)
+        .compose();
+  }
+
+  @Benchmark
+  public byte[] composeAndEncode() {
+    return compose().getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public int composeInto() {
+    buffer.clear();
+    return reusableBuilder.withMessageIdentity(identities[next++ & (IDENTITY_RING - 1)]).composeInto(buffer);
+  }
+
+  @Benchmark
+  public String toMessageString() {
+    return message.toMessageString();
+  }
+
+  @Benchmark
+  public TypeBMessage fromMessageString() {
+    return TypeBMessage.fromMessageString(composed);
+  }
+
+  @Benchmark
+  public String buildAddressLines() {
+    return AddressUtils.buildAddressLines("QP", addressLines);
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.benchmark;
+
+import aero.sita.messaging.mercury.e2e.cucumber.utilities.parser.RegexRejectMessageBodyParser;
+import aero.sita.messaging.mercury.e2e.cucumber.utilities.parser.RejectMessageBodyParser;
+import aero.sita.messaging.mercury.e2e.model.testharness.rejection.RejectMessageBody;
+import aero.sita.messaging.mercury.e2e.utilities.format.typeb.util.OriginatorUtils;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Receive side of the per-message path: correlating a received message and parsing a reject.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TypeBParsingBenchmark {
+
+  private final String originLine = "HDQRMJU 281440/160B99PSA";
+
+  private final String rejectBody = "\u0001QU HDQRMJU\r\n.LETVVLK 281441\r\n\u0002"
+      + "PLS RPT YR 281440 DUE TO:\r\n"
+      + "1. UNKNOWN_ORIGIN_INDICATOR\r\n"
+      + "2. INVALID_ROUTING_INDICATOR_ADDRESS - LETKJLK\r\n"
+      + "3. UNKNOWN_ADDRESS LETKJLK\r\n"
+      + "\r\n"
+      + "QN SINSGSQ\r\n"
+      + ".HDQRMJU 281440/160B99PSA\r\n"
+      + "AVS\r\n"
+      + "JU0580L30AUG LA BEGBCN\r\n"
+      + "\u0003";
+
+  @Benchmark
+  public String extractMessageIdentity() {
+    return OriginatorUtils.extractMessageIdentity(originLine);
+  }
+
+  @Benchmark
+  public RejectMessageBody parseReject() {
+    return RejectMessageBodyParser.parse(rejectBody);
+  }
+
+  @Benchmark
+  public RejectMessageBody parseRejectRegex() {
+    return RegexRejectMessageBodyParser.parse(rejectBody);
+  }
+}
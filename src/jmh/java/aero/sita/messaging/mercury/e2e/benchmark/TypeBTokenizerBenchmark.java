@@ -0,0 +1,114 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+package aero.sita.messaging.mercury.e2e.benchmark;
+
+import aero.sita.messaging.mercury.e2e.utilities.format.typeb.TypeBMessage;
+import aero.sita.messaging.mercury.e2e.utilities.format.typeb.TypeBTokenizer;
+import aero.sita.messaging.mercury.e2e.utilities.format.typeb.TypeBTokens;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Single-pass tokenizer against the split/regex parsing it replaced.
+ * The legacy* benchmarks run verbatim copies of the previous implementations.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TypeBTokenizerBenchmark {
+
+  @Param({"64", "1024", "3840"})
+  public int textBytes;
+
+  private String message;
+
+  @Setup
+  public void setUp() {
+    StringBuilder text = new StringBuilder();
+    while (text.length() < textBytes) {
+      text.append("JU0580L30AUG LA BEGBCN\r\n");
+    }
+    message = "ZCZC 0001\r\n\u0001QU SINSGSQ BCNAAXT LETBCLK\r\n.HDQRMJU 281440/160B99PSA\r\n\u0002"
+        + text.substring(0, textBytes) + "\u0003";
+  }
+
+  @Benchmark
+  public TypeBTokens tokenize() {
+    return TypeBTokenizer.tokenize(message);
+  }
+
+  @Benchmark
+  public TypeBMessage fromMessageString() {
+    return TypeBMessage.fromMessageString(message);
+  }
+
+  @Benchmark
+  public TypeBMessage legacyFromMessageString() {
+    TypeBMessage.TypeBMessageBuilder builder = TypeBMessage.builder();
+    String stripped = message.replaceFirst("^\u0001", "");
+    String[] parts = stripped.split("\u0002", 2);
+    String[] headerLines = parts[0].split("\r\n");
+    builder.headingLine(headerLines[0]);
+    if (headerLines.length > 1 && headerLines[1].startsWith(".")) {
+      builder.normalAddressLine(headerLines[1].substring(1));
+    }
+    if (headerLines.length > 2) {
+      builder.originLine(headerLines[2]);
+    }
+    if (parts.length > 1) {
+      String[] bodyParts = parts[1].split("\u0003", 2);
+      builder.text(bodyParts[0]);
+      if (bodyParts.length > 1) {
+        builder.ending(bodyParts[1]);
+      }
+    }
+    return builder.build();
+  }
+
+  @Benchmark
+  public String messageIdentity() {
+    return TypeBTokenizer.messageIdentity(message);
+  }
+
+  @Benchmark
+  public String legacyMessageIdentity() {
+    int from = 0;
+    while (from < message.length()) {
+      int end = message.indexOf('\n', from);
+      if (end < 0) {
+        end = message.length();
+      }
+      int start = from;
+      while (start < end && message.charAt(start) < ' ') {
+        start++;
+      }
+      if (start < end && message.charAt(start) == '.') {
+        String[] parts = message.substring(start + 1, end).trim().split(" ", 2);
+        if (parts.length == 2 && !parts[1].isEmpty()) {
+          return parts[1];
+        }
+      }
+      from = end + 1;
+    }
+    return null;
+  }
+}
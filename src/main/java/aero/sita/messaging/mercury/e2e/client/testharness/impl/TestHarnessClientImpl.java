@@ -250,6 +250,8 @@ public class TestHarnessClientImpl implements TestHarnessClient {
   private void logLatency(ResultResponse result) {
     if (result == null) {
       log.info("Latency result: N/A");
+    } else if (result.getElapsedTimeInMillis() != null) {
+      log.info("Latency retrieved: {} ms", result.getElapsedTimeInMillis());
     } else {
       log.info("Latency retrieved: {} seconds", result.getElapsedTimeInSeconds());
     }
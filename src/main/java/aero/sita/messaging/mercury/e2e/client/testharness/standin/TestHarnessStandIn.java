@@ -0,0 +1,409 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.client.testharness.standin;
+
+import aero.sita.messaging.mercury.e2e.client.testharness.TestHarnessEndpoint;
+import aero.sita.messaging.mercury.e2e.config.HarnessStandInProperties;
+import aero.sita.messaging.mercury.e2e.model.testharness.request.DestinationDetails;
+import aero.sita.messaging.mercury.e2e.model.testharness.request.LatencyRequest;
+import aero.sita.messaging.mercury.e2e.model.testharness.request.SendMessageIbmMqRequest;
+import aero.sita.messaging.mercury.e2e.model.testharness.response.ClearResponse;
+import aero.sita.messaging.mercury.e2e.model.testharness.response.ReceivedMessage;
+import aero.sita.messaging.mercury.e2e.model.testharness.response.ResultResponse;
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process stand-in for the test-harness REST API, for framework development without network.
+ * <p>
+ * Serves the {@link TestHarnessEndpoint} paths under the configured context path:
+ * - POST /ibm/send: every destination queue gets its own injection, handed off after the configured
+ *   delay + jitter on the mapped receive queue; a share of injections is lost or comes back as a reject.
+ *   With preLoad=true and a loadProfileId the message is only stored; a later send of the same
+ *   loadProfileId with preLoad=false and no message delivers every stored message (load profile trigger)
+ * - GET /received: the handed-off messages (bounded, oldest dropped first)
+ * - POST /results/latency: the result of an injectionId, waiting up to atMostInSeconds for the hand-off
+ *   (as many results kept as received messages, oldest dropped first)
+ * - POST /results/clear: clears the received messages and the results
+ * - GET /results/{id}: a result by id; a load profile run is stored under its loadProfileId
+ * <p>
+ * Latency is the configured delay only: the stand-in measures the framework, not Mercury.
+ * It uses the JDK HTTP server, so it needs no web container and runs in the test JVM (see
+ * TestHarnessStandInLifecycle) or as its own local process (gradle harnessStandIn).
+ */
+@Slf4j
+public class TestHarnessStandIn {
+
+  private static final String PROTOCOL = "IBMMQ";
+  private static final String DEFAULT_QUEUE = "DEFAULT";
+
+  private final HarnessStandInProperties properties;
+  private final ObjectMapper mapper = new ObjectMapper()
+      .registerModule(new JavaTimeModule())
+      .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+      // Fields only: derived getters such as ReceivedMessage#getCleanedBody are not part of the API
+      .setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE)
+      .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+  private final Random random;
+
+  private final Deque<ReceivedMessage> received = new ArrayDeque<>();
+  /**
+   * Injection ids of the per-message results, oldest first; guarded by {@link #received}.
+   */
+  private final Deque<String> resultOrder = new ArrayDeque<>();
+  private final Map<Long, ResultResponse> resultsById = new ConcurrentHashMap<>();
+  private final Map<String, Long> resultIdByInjection = new ConcurrentHashMap<>();
+  private final Map<Long, List<Injection>> preLoaded = new ConcurrentHashMap<>();
+  private final AtomicLong resultIds = new AtomicLong(1_000_000);
+  private final AtomicLong injected = new AtomicLong();
+  private final AtomicLong lost = new AtomicLong();
+  private final AtomicLong rejected = new AtomicLong();
+
+  private HttpServer server;
+  private ExecutorService requestExecutor;
+  private ScheduledExecutorService deliveryScheduler;
+
+  public TestHarnessStandIn(HarnessStandInProperties properties) {
+    if (properties.getLossRate() < 0 || properties.getLossRate() > 1
+        || properties.getRejectRate() < 0 || properties.getRejectRate() > 1) {
+      throw new IllegalArgumentException(String.format("Loss (%.3f) and reject (%.3f) rates must be between 0 and 1",
+          properties.getLossRate(), properties.getRejectRate()));
+    }
+    this.properties = properties;
+    this.random = properties.getSeed() != null ? new Random(properties.getSeed()) : new Random();
+  }
+
+  /**
+   * Starts listening on the loopback interface.
+   *
+   * @throws IOException if the port cannot be bound
+   */
+  public synchronized void start() throws IOException {
+    if (server != null) {
+      return;
+    }
+    requestExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    deliveryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "harness-stand-in-delivery");
+      thread.setDaemon(true);
+      return thread;
+    });
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), properties.getPort()), 0);
+    server.createContext(properties.getContextPath(), this::handle);
+    server.setExecutor(requestExecutor);
+    server.start();
+    log.info("Test-harness stand-in listening on {} (delay {}+{} ms, loss {}, reject {})", baseUrl(),
+        properties.getDelayMillis(), properties.getJitterMillis(), properties.getLossRate(),
+        properties.getRejectRate());
+  }
+
+  public synchronized void stop() {
+    if (server == null) {
+      return;
+    }
+    server.stop(0);
+    deliveryScheduler.shutdownNow();
+    requestExecutor.shutdownNow();
+    server = null;
+    log.info("Test-harness stand-in stopped: {} injected, {} lost, {} rejected", injected.get(), lost.get(),
+        rejected.get());
+  }
+
+  public synchronized boolean isRunning() {
+    return server != null;
+  }
+
+  /**
+   * Base URL to configure as test-harness.base.url, e.g. "http://localhost:18082/test-harness".
+   */
+  public String baseUrl() {
+    int port = server != null ? server.getAddress().getPort() : properties.getPort();
+    return "http://localhost:" + port + properties.getContextPath();
+  }
+
+  // ==================== Routing ====================
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try {
+      String path = exchange.getRequestURI().getPath().substring(properties.getContextPath().length());
+      String method = exchange.getRequestMethod();
+      if ("POST".equals(method) && path.equals(TestHarnessEndpoint.SEND_MESSAGE.getPath())) {
+        send(read(exchange.getRequestBody(), SendMessageIbmMqRequest.class));
+        respond(exchange, 200, null);
+      } else if ("GET".equals(method) && path.equals(TestHarnessEndpoint.GET_RECEIVED.getPath())) {
+        respond(exchange, 200, receivedSnapshot());
+      } else if ("POST".equals(method) && path.equals(TestHarnessEndpoint.GET_LATENCY.getPath())) {
+        ResultResponse result = awaitResult(read(exchange.getRequestBody(), LatencyRequest.class));
+        respond(exchange, result != null ? 200 : 404, result);
+      } else if ("POST".equals(method) && path.equals(TestHarnessEndpoint.CLEAR_MESSAGES.getPath())) {
+        respond(exchange, 200, new ClearResponse(clear()));
+      } else if ("GET".equals(method) && path.startsWith(resultsPrefix())) {
+        ResultResponse result = resultById(path.substring(resultsPrefix().length()));
+        respond(exchange, result != null ? 200 : 404, result);
+      } else {
+        respond(exchange, 404, null);
+      }
+    } catch (IllegalArgumentException | IOException e) {
+      log.warn("Stand-in: bad request {} {}: {}", exchange.getRequestMethod(), exchange.getRequestURI(),
+          e.getMessage());
+      respond(exchange, 400, null);
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private static String resultsPrefix() {
+    String path = TestHarnessEndpoint.GET_RESULT_BY_ID.getPath();
+    return path.substring(0, path.indexOf("{id}"));
+  }
+
+  private <T> T read(InputStream body, Class<T> type) throws IOException {
+    return mapper.readValue(body, type);
+  }
+
+  private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+    if (body == null) {
+      exchange.sendResponseHeaders(status, -1);
+      return;
+    }
+    byte[] json = mapper.writeValueAsBytes(body);
+    exchange.getResponseHeaders().set("Content-Type", "application/json");
+    exchange.sendResponseHeaders(status, json.length);
+    exchange.getResponseBody().write(json);
+  }
+
+  // ==================== Send ====================
+
+  private void send(SendMessageIbmMqRequest request) {
+    Instant now = Instant.now();
+    Long profileId = request.getLoadProfileId();
+    if (profileId != null && request.getMessage() == null && !Boolean.TRUE.equals(request.getPreLoad())) {
+      trigger(profileId, now);
+      return;
+    }
+    if (request.getMessage() == null) {
+      throw new IllegalArgumentException("message is required");
+    }
+    for (String queue : queues(request)) {
+      Injection injection = new Injection(UUID.randomUUID().toString(), request.getMessage(), queue);
+      if (profileId != null && Boolean.TRUE.equals(request.getPreLoad())) {
+        preLoaded.computeIfAbsent(profileId, id -> Collections.synchronizedList(new ArrayList<>()))
+            .add(injection);
+      } else {
+        deliverLater(injection, now, null);
+      }
+    }
+  }
+
+  private void trigger(long profileId, Instant triggered) {
+    List<Injection> injections = preLoaded.remove(profileId);
+    if (injections == null || injections.isEmpty()) {
+      throw new IllegalArgumentException("No message pre-loaded for load profile " + profileId);
+    }
+    ProfileRun run = new ProfileRun(profileId, triggered, injections.size());
+    injections.forEach(injection -> deliverLater(injection, triggered, run));
+  }
+
+  private static List<String> queues(SendMessageIbmMqRequest request) {
+    List<String> queues = new ArrayList<>();
+    if (request.getDestinationsDetailsList() != null) {
+      for (DestinationDetails destination : request.getDestinationsDetailsList()) {
+        if (destination.getDestinationNames() != null) {
+          queues.addAll(destination.getDestinationNames());
+        }
+      }
+    }
+    return queues.isEmpty() ? List.of(DEFAULT_QUEUE) : queues;
+  }
+
+  private void deliverLater(Injection injection, Instant sent, ProfileRun run) {
+    injected.incrementAndGet();
+    boolean lose;
+    boolean reject;
+    long delay;
+    synchronized (random) {
+      lose = random.nextDouble() < properties.getLossRate();
+      reject = random.nextDouble() < properties.getRejectRate();
+      delay = properties.getDelayMillis()
+          + (properties.getJitterMillis() > 0 ? random.nextLong(properties.getJitterMillis() + 1) : 0);
+    }
+    if (lose) {
+      lost.incrementAndGet();
+      if (run != null) {
+        run.delivered(Instant.now());
+      }
+      return;
+    }
+    deliveryScheduler.schedule(() -> deliver(injection, sent, reject, run), delay, TimeUnit.MILLISECONDS);
+  }
+
+  private void deliver(Injection injection, Instant sent, boolean reject, ProfileRun run) {
+    Instant handOff = Instant.now();
+    if (reject) {
+      rejected.incrementAndGet();
+    }
+    ReceivedMessage message = ReceivedMessage.builder()
+        .id(UUID.randomUUID().toString())
+        .handOffTimestamp(handOff)
+        .protocol(PROTOCOL)
+        .body(reject ? rejectBody(injection.message()) : injection.message())
+        .connectionName("stand-in")
+        .queueName(receiveQueue(injection.queue()))
+        .injectionId(injection.id())
+        .build();
+    long elapsedMillis = Duration.between(sent, handOff).toMillis();
+    long resultId = resultIds.incrementAndGet();
+    synchronized (received) {
+      resultsById.put(resultId, ResultResponse.builder()
+          .id(resultId)
+          .elapsedTimeInMillis(elapsedMillis)
+          .elapsedTimeInSeconds((int) (elapsedMillis / 1000))
+          .build());
+      resultIdByInjection.put(injection.id(), resultId);
+      resultOrder.addLast(injection.id());
+      received.addLast(message);
+      while (received.size() > properties.getMaxReceived()) {
+        received.removeFirst();
+      }
+      // Results are bounded like the received messages, oldest first
+      while (resultOrder.size() > properties.getMaxReceived()) {
+        Long oldest = resultIdByInjection.remove(resultOrder.removeFirst());
+        if (oldest != null) {
+          resultsById.remove(oldest);
+        }
+      }
+    }
+    if (run != null) {
+      run.delivered(handOff);
+    }
+  }
+
+  private String receiveQueue(String queue) {
+    String mapped = properties.getQueueMapping().get(queue);
+    if (mapped != null) {
+      return mapped;
+    }
+    return queue.endsWith(".OUT") ? queue.substring(0, queue.length() - ".OUT".length()) + ".IN" : queue;
+  }
+
+  /**
+   * Reject in the format Mercury uses, the original message included (so its identity still matches).
+   */
+  private static String rejectBody(String original) {
+    return "PLS RPT YR " + String.format("%06d", Math.floorMod(original.hashCode(), 1_000_000)) + " DUE TO:\r\n"
+        + "1. STAND_IN_REJECT\r\n\r\n" + original;
+  }
+
+  // ==================== Results ====================
+
+  private List<ReceivedMessage> receivedSnapshot() {
+    synchronized (received) {
+      return new ArrayList<>(received);
+    }
+  }
+
+  private int clear() {
+    synchronized (received) {
+      int cleared = received.size();
+      received.clear();
+      resultOrder.clear();
+      resultIdByInjection.clear();
+      resultsById.clear();
+      return cleared;
+    }
+  }
+
+  private ResultResponse awaitResult(LatencyRequest request) {
+    if (request.getInjectionId() == null) {
+      throw new IllegalArgumentException("injectionId is required");
+    }
+    int atMost = request.getAtMostInSeconds() != null ? request.getAtMostInSeconds() : 0;
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(atMost);
+    while (true) {
+      Long id = resultIdByInjection.get(request.getInjectionId());
+      if (id != null) {
+        return resultsById.get(id);
+      }
+      if (System.nanoTime() >= deadline) {
+        return null;
+      }
+      LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+    }
+  }
+
+  private ResultResponse resultById(String id) {
+    try {
+      return resultsById.get(Long.parseLong(id));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Result id is not a number: " + id, e);
+    }
+  }
+
+  private record Injection(String id, String message, String queue) {
+  }
+
+  /**
+   * Pending load profile run; its result is stored under the loadProfileId once every message is handled.
+   */
+  private final class ProfileRun {
+
+    private final long profileId;
+    private final Instant triggered;
+    private int remaining;
+    private Instant last;
+
+    private ProfileRun(long profileId, Instant triggered, int messages) {
+      this.profileId = profileId;
+      this.triggered = triggered;
+      this.remaining = messages;
+      this.last = triggered;
+    }
+
+    private synchronized void delivered(Instant at) {
+      last = at.isAfter(last) ? at : last;
+      if (--remaining == 0) {
+        long elapsedMillis = Duration.between(triggered, last).toMillis();
+        resultsById.put(profileId, ResultResponse.builder()
+            .id(profileId)
+            .loadProfileId(profileId)
+            .elapsedTimeInMillis(elapsedMillis)
+            .elapsedTimeInSeconds((int) (elapsedMillis / 1000))
+            .build());
+      }
+    }
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.client.testharness.standin;
+
+import aero.sita.messaging.mercury.e2e.config.HarnessStandInProperties;
+import aero.sita.messaging.mercury.e2e.exception.TestHarnessException;
+import java.io.IOException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the {@link TestHarnessStandIn} inside the test JVM when test-harness.stand-in.enabled is set.
+ * <p>
+ * A {@link SmartLifecycle} is started even when beans are lazy (fast mode), and before the first
+ * scenario; gradle -Pstandin enables it and points test-harness.base.url at it.
+ */
+@Component
+public class TestHarnessStandInLifecycle implements SmartLifecycle {
+
+  private final HarnessStandInProperties properties;
+  private TestHarnessStandIn standIn;
+
+  @Autowired
+  public TestHarnessStandInLifecycle(HarnessStandInProperties properties) {
+    this.properties = properties;
+  }
+
+  @Override
+  public boolean isAutoStartup() {
+    return properties.isEnabled();
+  }
+
+  @Override
+  public synchronized void start() {
+    if (standIn == null) {
+      standIn = new TestHarnessStandIn(properties);
+    }
+    try {
+      standIn.start();
+    } catch (IOException e) {
+      throw new TestHarnessException("Could not start the test-harness stand-in on port " + properties.getPort()
+          + ": " + e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public synchronized void stop() {
+    if (standIn != null) {
+      standIn.stop();
+    }
+  }
+
+  @Override
+  public synchronized boolean isRunning() {
+    return standIn != null && standIn.isRunning();
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the offline test-harness stand-in (see TestHarnessStandIn).
+ * The stand-in loops every injected message back as a received message, so load engines and the
+ * framework itself can run without the real harness; point test-harness.base.url at it.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "test-harness.stand-in")
+public class HarnessStandInProperties {
+
+  /**
+   * Starts the stand-in inside the test JVM.
+   */
+  private boolean enabled = false;
+
+  /**
+   * Local port the stand-in listens on (loopback only).
+   */
+  private int port = 18082;
+
+  /**
+   * Context path served by the stand-in, i.e. the path of test-harness.base.url.
+   */
+  private String contextPath = "/test-harness";
+
+  /**
+   * Fixed delay between the injection and the hand-off of the looped-back message.
+   */
+  private long delayMillis = 20;
+
+  /**
+   * Uniform random delay added on top of {@link #delayMillis}.
+   */
+  private long jitterMillis = 10;
+
+  /**
+   * Fraction of injections that are never delivered (0 to 1).
+   */
+  private double lossRate = 0;
+
+  /**
+   * Fraction of delivered injections that come back as a reject ("PLS RPT YR ...") message (0 to 1).
+   */
+  private double rejectRate = 0;
+
+  /**
+   * Random seed for delay, loss and reject decisions; null means a different run every time.
+   */
+  private Long seed;
+
+  /**
+   * Injection queue to receive queue, e.g. LETTTLK.OUT=LETTTLK.IN. Unmapped queues ending in ".OUT"
+   * are received on the same name ending in ".IN", any other queue on itself.
+   */
+  private Map<String, String> queueMapping = new LinkedHashMap<>();
+
+  /**
+   * Received messages kept for GET /received, and per-message results kept for the latency lookups;
+   * the oldest are dropped beyond this (bounded memory).
+   */
+  private int maxReceived = 100_000;
+}
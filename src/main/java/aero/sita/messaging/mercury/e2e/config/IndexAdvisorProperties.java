@@ -0,0 +1,35 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+package aero.sita.messaging.mercury.e2e.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the message-store index advisor (see MongoIndexAdvisor).
+ * The advisor explains every query pattern used against the message-store once per JVM and reports
+ * the ones that run as a collection scan.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "index-advisor")
+public class IndexAdvisorProperties {
+
+  /**
+   * Runs the advisor before the first scenario.
+   */
+  private boolean enabled = true;
+
+  /**
+   * Creates the recommended index for every pattern found scanning the collection.
+   * Meant for local and ephemeral environments only; shared ones should get their indexes from Mercury.
+   */
+  private boolean createMissing = false;
+}
@@ -0,0 +1,64 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the harness latency collector.
+ * After each scenario, the latency of every injection the harness received is fetched from the
+ * latency endpoint in the background and aggregated per feature, tag and connection.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "latency")
+public class LatencyProperties {
+
+  /**
+   * Enables the collector. When disabled, no latency request is sent.
+   */
+  private boolean enabled = true;
+
+  /**
+   * Scenarios carrying any of these tags are not collected (load runs measure latency themselves
+   * and would flood the latency endpoint).
+   */
+  private List<String> excludeTags = new ArrayList<>(List.of("@performance"));
+
+  /**
+   * Injection IDs per asynchronous batch.
+   */
+  private int batchSize = 50;
+
+  /**
+   * Upper bound of concurrent latency requests over all batches.
+   */
+  private int maxConcurrency = 8;
+
+  /**
+   * atMostInSeconds of each latency request. The message has already been received, so the
+   * harness should answer immediately; this only bounds a slow result.
+   */
+  private int requestTimeoutSeconds = 5;
+
+  /**
+   * How long to wait for outstanding batches when the results are read or the context closes.
+   */
+  private int awaitTimeoutSeconds = 60;
+
+  /**
+   * Directory of the latency report written when the context closes.
+   */
+  private String reportDir = "build/reports/latency";
+}
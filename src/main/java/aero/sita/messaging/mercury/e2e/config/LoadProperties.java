@@ -0,0 +1,245 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for load generation.
+ * Timeout values are in seconds, intervals in milliseconds.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "load")
+public class LoadProperties {
+
+  /**
+   * Interval between two reads of the harness received list while tracking receipts.
+   */
+  private long receiptPollIntervalMillis = 500;
+
+  /**
+   * How long to keep waiting for outstanding messages once injection has finished.
+   */
+  private int drainTimeoutSeconds = 60;
+
+  /**
+   * Upper bound of concurrent send calls. A send that would exceed it is counted as a send error
+   * rather than delayed, so the schedule (open model) is never bent by a slow harness.
+   */
+  private int maxInFlight = 10000;
+
+  /**
+   * Clears the harness received list before a run, so receipt polling starts from an empty list.
+   */
+  private boolean clearHarnessBeforeRun = true;
+
+  /**
+   * Number of missing identities kept in the result for diagnostics.
+   */
+  private int missingSampleSize = 50;
+
+  /**
+   * Directory of the soak logs and capacity reports.
+   */
+  private String reportDir = "build/reports/load";
+
+  /**
+   * Memory-bounded soak runs (see SoakRunner).
+   */
+  private final Soak soak = new Soak();
+
+  @Data
+  public static class Soak {
+
+    /**
+     * A message not received this long after its intended send time is flagged as undelivered.
+     */
+    private int deliveryDeadlineSeconds = 300;
+
+    /**
+     * Size of the outstanding window (rounded up to a power of two); must exceed rate * deadline.
+     */
+    private int windowCapacity = 1 << 20;
+
+    /**
+     * Period of the interval histograms written to the histogram log.
+     */
+    private int histogramIntervalSeconds = 10;
+
+    /**
+     * The harness received list is cleared once it holds this many messages, so every read stays small.
+     */
+    private int harnessClearThreshold = 5000;
+  }
+
+  /**
+   * Capacity search (see CapacitySearchService).
+   */
+  private final Capacity capacity = new Capacity();
+
+  /**
+   * Fan-out benchmark (see FanOutBenchmarkService).
+   */
+  private final FanOut fanOut = new FanOut();
+
+  /**
+   * Payload-size benchmark (see PayloadScalingService).
+   */
+  private final Payload payload = new Payload();
+
+  /**
+   * Duplicate-detection stress mode (see DuplicateStressService).
+   */
+  private final Duplicate duplicate = new Duplicate();
+
+  /**
+   * Per-queue latency matrix (see QueueMatrixService).
+   */
+  private final Matrix matrix = new Matrix();
+
+  /**
+   * Pre-generated Type B corpus replayed by load runs (see TypeBCorpus).
+   */
+  private final Corpus corpus = new Corpus();
+
+  @Data
+  public static class Capacity {
+
+    /**
+     * The search stops at this rate even if every step was sustainable.
+     */
+    private double maxRate = 2000;
+
+    /**
+     * A step is unsustainable when more than rate * this many seconds of messages are still
+     * outstanding when its injection stops (backlog growing without bound).
+     */
+    private double backlogToleranceSeconds = 5;
+
+    /**
+     * Send lag p99 above which the injector, not Mercury, is the bottleneck and the search stops.
+     */
+    private double maxSendLagP99Millis = 100;
+
+    /**
+     * Messages per step whose StatusLog is read from the message-store to compute stage lag.
+     */
+    private int storeSampleSize = 100;
+  }
+
+  @Data
+  public static class FanOut {
+
+    /**
+     * Incoming messages per width whose outgoing messages are all looked up by incomingMessageId.
+     */
+    private int verifySampleSize = 100;
+
+    /**
+     * How long to wait for the outgoing messages of one sampled incoming message.
+     */
+    private int verifyTimeoutSeconds = 60;
+  }
+
+  @Data
+  public static class Payload {
+
+    /**
+     * Largest message text accepted by the benchmark, in bytes. The Type B text is traditionally
+     * capped at 3840 characters; raise it for environments that accept longer LDM/PNL traffic.
+     */
+    private int maxTextBytes = 3840;
+
+    /**
+     * Messages per size whose incoming document (rawData included) is read from the message-store.
+     */
+    private int storeSampleSize = 50;
+
+    /**
+     * How long to wait for one sampled incoming message to appear in the message-store.
+     */
+    private int storeTimeoutSeconds = 60;
+
+    /**
+     * Number of smallest sizes the linear latency model is fitted on.
+     */
+    private int linearFitPoints = 3;
+
+    /**
+     * A size is nonlinear when its round-trip p50 exceeds the linear prediction by this fraction...
+     */
+    private double nonlinearTolerance = 0.5;
+
+    /**
+     * ...and by at least this many milliseconds, so jitter on sub-millisecond latencies is ignored.
+     */
+    private double nonlinearMinDeviationMillis = 20;
+  }
+
+  @Data
+  public static class Duplicate {
+
+    /**
+     * Identities per batched ({@code $in}) message-store query.
+     */
+    private int verifyBatchSize = 200;
+
+    /**
+     * How long to wait for every duplicate to produce its second incoming document.
+     */
+    private int verifyTimeoutSeconds = 120;
+
+    /**
+     * Never-duplicated messages checked for false positives.
+     */
+    private int originalSampleSize = 200;
+  }
+
+  @Data
+  public static class Matrix {
+
+    /**
+     * A connection is an outlier when its p99 exceeds the median p99 of all connections by this factor...
+     */
+    private double outlierFactor = 3.0;
+
+    /**
+     * ...and by at least this many milliseconds, so a uniformly fast environment reports no outlier.
+     */
+    private double outlierMinDeviationMillis = 50;
+
+    /**
+     * Upper bound on the connections measured in one run; the rest are reported as skipped.
+     */
+    private int maxConnections = 50;
+  }
+
+  @Data
+  public static class Corpus {
+
+    /**
+     * Corpus file, generated on first use by the corpus steps or ahead of time by: gradle corpusGenerate.
+     */
+    private String path = "build/corpus/typeb-corpus.bin";
+
+    /**
+     * Zero-based share of the corpus replayed by this JVM, e.g. the CI shard number...
+     */
+    private int worker = 0;
+
+    /**
+     * ...out of this many shares; shares never overlap, so shards need no coordination.
+     */
+    private int workers = 1;
+  }
+}
@@ -0,0 +1,34 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the performance run summary.
+ * The summary is compared with a baseline by the perfCompare Gradle task (see PerfRegressionComparator).
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "perf")
+public class PerfProperties {
+
+  /**
+   * Writes the summary when the Spring context closes.
+   */
+  private boolean enabled = true;
+
+  /**
+   * Directory of the summaries; the latest one is also written as perf-summary-latest.json.
+   */
+  private String reportDir = "build/reports/perf";
+}
@@ -0,0 +1,44 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the preflight health check.
+ * The check probes every external dependency once per JVM before the first scenario,
+ * so timeouts are deliberately much tighter than the polling ones.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "preflight")
+public class PreflightProperties {
+
+  /**
+   * Enables the preflight check. When disabled, every scenario talks to the
+   * dependencies directly (previous behaviour).
+   */
+  private boolean enabled = true;
+
+  /**
+   * Per-probe timeout (in milliseconds), applied to connect, read and Mongo ping.
+   */
+  private long timeoutMillis = 2000;
+
+  /**
+   * Probes to skip, e.g. "configuration-api" on environments without the configuration service.
+   * Known probes: test-harness, configuration-api, message-store-mongo, configuration-mongo.
+   */
+  private List<String> skip = new ArrayList<>();
+}
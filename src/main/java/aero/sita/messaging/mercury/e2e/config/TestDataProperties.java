@@ -0,0 +1,57 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+package aero.sita.messaging.mercury.e2e.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the message-store test-data lifecycle (see TestDataLifecycleManager).
+ * Every injected message identity is journaled during the run and its documents are removed when
+ * the Spring context closes, so the shared collections do not grow run after run. The documents of
+ * failed scenarios are kept for debugging.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "test-data")
+public class TestDataProperties {
+
+  /**
+   * What happens to the documents of the run at the end:
+   * - NONE: kept (previous behaviour), nothing is journaled
+   * - DELETE: bulk-deleted by messageIdentity / incomingMessageId / correlationId, except those of
+   *   failed scenarios (their identities stay listed in a *.kept.txt journal)
+   * - TTL: left to a TTL index on createdDate; falls back to DELETE where the index is not
+   *   permitted (e.g. Cosmos DB only expires on _ts). The index expires ALL documents of the
+   *   collections, so only use it on environments dedicated to tests.
+   */
+  private PurgeMode purge = PurgeMode.DELETE;
+
+  /**
+   * Directory of the scenario journals (one identity per line), deleted once the purge succeeded.
+   */
+  private String journalDir = "build/test-data";
+
+  /**
+   * Identities per purge round (one find and two deletes with {@code $in}).
+   */
+  private int deleteBatchSize = 500;
+
+  /**
+   * Expiry of the TTL index on createdDate, in seconds (TTL mode only).
+   */
+  private long ttlSeconds = 604800;
+
+  public enum PurgeMode {
+    NONE,
+    DELETE,
+    TTL
+  }
+}
@@ -0,0 +1,36 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+package aero.sita.messaging.mercury.e2e.model.batch;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One message variant of a batch: a composed Type B message with its own unique identity.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchMessage {
+
+  /**
+   * Row description used in the per-row report, e.g. "#3 yes | no | SOH | QN | PilotSignal".
+   */
+  private String label;
+
+  private String messageIdentity;
+
+  /**
+   * Raw message as injected.
+   */
+  private String content;
+}
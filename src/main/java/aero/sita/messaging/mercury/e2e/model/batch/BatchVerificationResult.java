@@ -0,0 +1,54 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+package aero.sita.messaging.mercury.e2e.model.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Per-row outcome of one check (harness receipt or message-store content) over a whole batch.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchVerificationResult {
+
+  /**
+   * Name of the check, e.g. "received on LETTTLK.IN".
+   */
+  private String check;
+
+  @Builder.Default
+  private List<BatchRowResult> rows = new ArrayList<>();
+
+  private long elapsedMillis;
+
+  public List<BatchRowResult> getFailures() {
+    return rows.stream().filter(row -> !row.isPassed()).toList();
+  }
+
+  public boolean isAllPassed() {
+    return rows.stream().allMatch(BatchRowResult::isPassed);
+  }
+
+  public String toSummary() {
+    StringBuilder sb = new StringBuilder(String.format("Batch check [%s]: %d/%d passed in %d ms",
+        check, rows.size() - getFailures().size(), rows.size(), elapsedMillis));
+    for (BatchRowResult row : rows) {
+      sb.append(String.format("%n  [%s] %-18s %s: %s",
+          row.isPassed() ? "PASS" : "FAIL", row.getMessageIdentity(), row.getLabel(), row.getDetail()));
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.model.latency;
+
+import aero.sita.messaging.mercury.e2e.model.load.LatencyStats;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Harness-reported latency aggregated over the collected injections: overall and per feature,
+ * tag and connection.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HarnessLatencyReport {
+
+  private LatencyStats overall;
+
+  @Builder.Default
+  private Map<String, LatencyStats> byFeature = new LinkedHashMap<>();
+
+  @Builder.Default
+  private Map<String, LatencyStats> byTag = new LinkedHashMap<>();
+
+  @Builder.Default
+  private Map<String, LatencyStats> byConnection = new LinkedHashMap<>();
+
+  /**
+   * Latency requests that failed or returned no elapsed time.
+   */
+  private long failed;
+
+  /**
+   * Samples the harness only reported in whole seconds (no elapsedTimeInMillis).
+   */
+  private long secondResolution;
+
+  public String toSummary() {
+    StringBuilder sb = new StringBuilder(String.format("Harness latency: %s (failed=%d, whole-second samples=%d)",
+        overall, failed, secondResolution));
+    byFeature.forEach((feature, stats) -> sb.append(String.format("%n  feature    %-40s %s", feature, stats)));
+    byTag.forEach((tag, stats) -> sb.append(String.format("%n  tag        %-40s %s", tag, stats)));
+    byConnection.forEach((connection, stats) -> sb.append(String.format("%n  connection %-40s %s", connection, stats)));
+    return sb.toString();
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.model.load;
+
+import java.time.Duration;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Parameters of a capacity search: constant-rate steps from a baseline until the knee.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CapacitySearchRequest {
+
+  /**
+   * Rate of the first step (messages per second).
+   */
+  private double baselineRate;
+
+  /**
+   * Rate added at every step.
+   */
+  private double rateIncrement;
+
+  /**
+   * Duration of each constant-rate step.
+   */
+  private Duration stepDuration;
+
+  /**
+   * Harness p99 latency (intended send to hand-off) above which a step is not sustainable.
+   */
+  private double sloP99Millis;
+
+  /**
+   * Queue (connection) to inject into; null means the harness default queue.
+   */
+  private String queueName;
+}
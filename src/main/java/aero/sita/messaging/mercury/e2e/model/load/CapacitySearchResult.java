@@ -0,0 +1,62 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.model.load;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a capacity search for one connection and environment profile.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CapacitySearchResult {
+
+  private String connection;
+
+  private String profile;
+
+  private double sloP99Millis;
+
+  @Builder.Default
+  private List<CapacityStep> steps = new ArrayList<>();
+
+  /**
+   * Highest target rate whose step was sustainable (0 when even the baseline was not).
+   */
+  private double maxSustainableRate;
+
+  /**
+   * Why the search stopped (first unsustainable step, or the configured maximum rate).
+   */
+  private String stopReason;
+
+  private String report;
+
+  public String toSummary() {
+    StringBuilder sb = new StringBuilder();
+    sb.append(String.format("Capacity search [connection=%s, profile=%s, SLO p99=%.0f ms]",
+        connection, profile, sloP99Millis));
+    for (CapacityStep step : steps) {
+      sb.append(String.format("%n  %7.1f msg/s: sent %.1f/s, p99=%.1f ms, backlog=%d, store p99=%.1f ms -> %s",
+          step.getTargetRate(), step.getRun().getSendRate(), step.getRun().getLatency().getP99(),
+          step.getRun().getBacklogAtInjectionEnd(), step.getStoreLagP99Millis(),
+          step.isSustainable() ? "OK" : step.getReason()));
+    }
+    sb.append(String.format("%n  max sustainable: %.1f msg/s (%s)", maxSustainableRate, stopReason));
+    return sb.toString();
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.model.load;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Measurements of one capacity search step.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CapacityStep {
+
+  private double targetRate;
+
+  private LoadRunResult run;
+
+  /**
+   * p99 of the time between the first incoming and the last outgoing StatusLog entry (ms),
+   * over the sampled messages of the step.
+   */
+  private double storeLagP99Millis;
+
+  /**
+   * p99 per StatusLog transition, e.g. "RECEIVED -> PARSED" (ms).
+   */
+  @Builder.Default
+  private Map<String, Double> stageLagP99Millis = new LinkedHashMap<>();
+
+  /**
+   * Whether the step met the SLO without backlog growth; when false, {@link #reason} says why.
+   */
+  private boolean sustainable;
+
+  private String reason;
+}
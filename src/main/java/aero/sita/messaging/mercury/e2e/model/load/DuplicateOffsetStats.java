@@ -0,0 +1,55 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.model.load;
+
+import java.time.Duration;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Duplicate detection for the duplicates re-injected at one time offset after their original.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateOffsetStats {
+
+  /**
+   * Requested time between the original and its duplicate.
+   */
+  private Duration offset;
+
+  private int injected;
+
+  /**
+   * Duplicates that produced a second incoming document.
+   */
+  private int stored;
+
+  /**
+   * Stored duplicates flagged possibleDuplicate.
+   */
+  private int detected;
+
+  /**
+   * Duplicate send to the createdDate of the flagged document.
+   */
+  private LatencyStats detectionLatency;
+
+  /**
+   * Share of the stored duplicates that were flagged, 0 when none was stored.
+   */
+  public double getAccuracy() {
+    return stored == 0 ? 0 : (double) detected / stored;
+  }
+}
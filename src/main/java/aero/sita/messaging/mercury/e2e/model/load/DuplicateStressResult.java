@@ -0,0 +1,80 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.model.load;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a duplicate-detection stress run: per-offset detection and the false positives.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateStressResult {
+
+  private double duplicateFraction;
+
+  /**
+   * Harness side of the run; only originals are tracked.
+   */
+  private LoadRunResult run;
+
+  @Builder.Default
+  private List<DuplicateOffsetStats> offsets = new ArrayList<>();
+
+  /**
+   * Incoming documents checked that must NOT be flagged: first copies of duplicated messages and a
+   * sample of never-duplicated ones.
+   */
+  private int originalsChecked;
+
+  private int falsePositives;
+
+  /**
+   * Outgoing documents created from flagged incoming duplicates, and how many carry the flag too.
+   */
+  private int outgoingChecked;
+
+  private int outgoingFlagged;
+
+  private String report;
+
+  public int getDuplicatesInjected() {
+    return offsets.stream().mapToInt(DuplicateOffsetStats::getInjected).sum();
+  }
+
+  public int getDuplicatesStored() {
+    return offsets.stream().mapToInt(DuplicateOffsetStats::getStored).sum();
+  }
+
+  public int getDuplicatesDetected() {
+    return offsets.stream().mapToInt(DuplicateOffsetStats::getDetected).sum();
+  }
+
+  public String toSummary() {
+    StringBuilder sb = new StringBuilder(String.format("Duplicate stress [%.1f%% duplicates]: %d injected, "
+            + "%d stored, %d detected, false positives %d/%d, outgoing flagged %d/%d",
+        duplicateFraction * 100, getDuplicatesInjected(), getDuplicatesStored(), getDuplicatesDetected(),
+        falsePositives, originalsChecked, outgoingFlagged, outgoingChecked));
+    for (DuplicateOffsetStats stats : offsets) {
+      sb.append(String.format("%n  offset %6d ms: detected %d/%d stored (%d injected), accuracy %.1f%%, "
+              + "detection p50=%.1f p99=%.1f ms",
+          stats.getOffset().toMillis(), stats.getDetected(), stats.getStored(), stats.getInjected(),
+          stats.getAccuracy() * 100, stats.getDetectionLatency().getP50(), stats.getDetectionLatency().getP99()));
+    }
+    return sb.toString();
+  }
+}
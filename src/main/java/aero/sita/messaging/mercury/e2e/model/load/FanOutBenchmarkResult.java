@@ -0,0 +1,49 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.model.load;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a fan-out benchmark: how latency and outgoing-doc creation scale with width.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FanOutBenchmarkResult {
+
+  private double rate;
+
+  @Builder.Default
+  private List<FanOutStep> steps = new ArrayList<>();
+
+  private String report;
+
+  public String toSummary() {
+    StringBuilder sb = new StringBuilder(String.format("Fan-out benchmark [%.1f msg/s]", rate));
+    FanOutStep baseline = steps.isEmpty() ? null : steps.getFirst();
+    for (FanOutStep step : steps) {
+      double p99 = step.getEndToEnd().getP99();
+      double scale = baseline == null || baseline.getEndToEnd().getP99() == 0
+          ? 0 : p99 / baseline.getEndToEnd().getP99();
+      sb.append(String.format("%n  width %2d: outgoing %d/%d, complete %d/%d, end-to-end p50=%.1f p99=%.1f ms "
+              + "(x%.2f), outgoing docs %.1f/s",
+          step.getWidth(), step.getOutgoingFound(), step.getOutgoingExpected(), step.getIncomingComplete(),
+          step.getIncomingChecked(), step.getEndToEnd().getP50(), p99, scale, step.getOutgoingDocsPerSecond()));
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.model.load;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Measurements of one fan-out width.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FanOutStep {
+
+  /**
+   * Number of destination addresses per message.
+   */
+  private int width;
+
+  /**
+   * Harness side of the step (latency up to the FIRST delivered copy).
+   */
+  private LoadRunResult run;
+
+  /**
+   * Sampled incoming messages whose outgoing messages were looked up.
+   */
+  private int incomingChecked;
+
+  /**
+   * Sampled incoming messages with one outgoing message per destination.
+   */
+  private int incomingComplete;
+
+  private long outgoingExpected;
+
+  private long outgoingFound;
+
+  /**
+   * Incoming createdDate to the LAST outgoing StatusLog entry, over the sampled messages.
+   */
+  private LatencyStats endToEnd;
+
+  /**
+   * Outgoing documents created per second while the step was running (whole message-store).
+   */
+  private double outgoingDocsPerSecond;
+
+  public boolean isComplete() {
+    return incomingChecked > 0 && incomingComplete == incomingChecked;
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.model.load;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Load generated by the test-harness itself: messages are pre-loaded under a profile ID, then the
+ * harness sends them once the profile is triggered. The trigger carries no rate: the harness paces
+ * the sends itself, the rate only sizes the pre-load.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HarnessLoadProfile {
+
+  /**
+   * Placeholder of the message template replaced by a fresh message identity per message.
+   */
+  public static final String IDENTITY_PLACEHOLDER = "{messageIdentity}";
+
+  /**
+   * Harness load profile ID (loadProfileId of the send and result APIs).
+   */
+  private long id;
+
+  /**
+   * Intended messages per second; with the duration, sets how many messages are pre-loaded.
+   */
+  private double rate;
+
+  private Duration duration;
+
+  /**
+   * Raw message with {@link #IDENTITY_PLACEHOLDER} on its origin line; null uses the default valid
+   * Type B message.
+   */
+  private String messageTemplate;
+
+  /**
+   * Destination queues on the default harness server; empty uses the default queue.
+   */
+  @Builder.Default
+  private List<String> destinations = new ArrayList<>();
+
+  /**
+   * Number of messages to pre-load: rate * duration, at least one.
+   */
+  public int getMessageCount() {
+    return (int) Math.max(1, Math.round(rate * duration.toMillis() / 1000.0));
+  }
+
+  @Override
+  public String toString() {
+    return String.format("profile %d: %.1f msg/s for %ds (%d messages) to %s", id, rate, duration.toSeconds(),
+        getMessageCount(), destinations.isEmpty() ? "default queue" : destinations);
+  }
+}
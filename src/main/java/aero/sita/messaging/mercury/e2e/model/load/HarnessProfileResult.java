@@ -0,0 +1,75 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.model.load;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a harness-side load profile run.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HarnessProfileResult {
+
+  private String profile;
+
+  private long profileId;
+
+  private long preLoaded;
+
+  private long preLoadErrors;
+
+  /**
+   * Time spent pre-loading (not part of the measurement).
+   */
+  private Duration preLoadDuration;
+
+  private long received;
+
+  private long missing;
+
+  @Builder.Default
+  private List<String> missingIdentities = new ArrayList<>();
+
+  /**
+   * Trigger to last receipt.
+   */
+  private Duration elapsed;
+
+  private double receiveRate;
+
+  /**
+   * Trigger to hand-off of each message: the spread the harness and Mercury actually produced
+   * (min ~ first delivery, max ~ elapsed). The harness is not told the rate, so there is no
+   * per-message schedule to measure a latency against.
+   */
+  private LatencyStats sinceTrigger;
+
+  /**
+   * Elapsed time reported by the harness result of the profile; null when no result was found.
+   */
+  private Integer harnessElapsedSeconds;
+
+  public String toSummary() {
+    return String.format("Harness %s%n  pre-loaded=%d (errors=%d) in %d ms, received=%d (%.1f msg/s), missing=%d, "
+            + "elapsed=%ds, harness elapsed=%s%n  since trigger: %s",
+        profile, preLoaded, preLoadErrors, preLoadDuration == null ? 0 : preLoadDuration.toMillis(), received,
+        receiveRate, missing, elapsed == null ? 0 : elapsed.toSeconds(),
+        harnessElapsedSeconds == null ? "n/a" : harnessElapsedSeconds + "s", sinceTrigger);
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.model.load;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Percentile summary of a latency histogram, in milliseconds.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LatencyStats {
+
+  private long count;
+  private double mean;
+  private double p50;
+  private double p90;
+  private double p99;
+  private double p999;
+  private double max;
+
+  /**
+   * Summarises a histogram recorded in microseconds.
+   *
+   * @param micros histogram of values in microseconds
+   * @return the summary in milliseconds
+   */
+  public static LatencyStats fromMicros(Histogram micros) {
+    if (micros.getTotalCount() == 0) {
+      return LatencyStats.builder().build();
+    }
+    return LatencyStats.builder()
+        .count(micros.getTotalCount())
+        .mean(micros.getMean() / 1000.0)
+        .p50(micros.getValueAtPercentile(50) / 1000.0)
+        .p90(micros.getValueAtPercentile(90) / 1000.0)
+        .p99(micros.getValueAtPercentile(99) / 1000.0)
+        .p999(micros.getValueAtPercentile(99.9) / 1000.0)
+        .max(micros.getMaxValue() / 1000.0)
+        .build();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("n=%d mean=%.1f p50=%.1f p90=%.1f p99=%.1f p99.9=%.1f max=%.1f ms",
+        count, mean, p50, p90, p99, p999, max);
+  }
+}
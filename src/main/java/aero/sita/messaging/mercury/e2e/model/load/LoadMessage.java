@@ -0,0 +1,59 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.model.load;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One message to inject during a load run.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoadMessage {
+
+  /**
+   * Message identity used to correlate the injection with its receipt on the harness.
+   * Example: "121437/160B99PSA"
+   */
+  private String messageIdentity;
+
+  /**
+   * Raw Type B content to inject.
+   */
+  private String content;
+
+  /**
+   * Target queue; null injects into the default test-harness queue.
+   */
+  private String queueName;
+
+  /**
+   * Queue the receipt must arrive on, e.g. "LETTTLK.IN"; a receipt on any other queue counts as misrouted.
+   * Null accepts the receipt on any queue.
+   */
+  private String expectedQueue;
+
+  /**
+   * Reporting group (e.g. priority class or fan-out width); latency is also reported per group.
+   * Null means the message only counts in the overall figures.
+   */
+  private String group;
+
+  /**
+   * Re-injection of a message already expected on the harness (e.g. a duplicate): it is sent but
+   * not tracked, so it neither replaces the pending receipt of the original nor counts as missing.
+   */
+  private boolean untracked;
+}
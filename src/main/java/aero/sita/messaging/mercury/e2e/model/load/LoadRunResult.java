@@ -0,0 +1,124 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.model.load;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Outcome of a load run.
+ * Latency is measured from the INTENDED send time (not the actual one) to
+ * {@code ReceivedMessage.handOffTimestamp}, so injector stalls are not hidden (no coordinated omission).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoadRunResult {
+
+  private String profile;
+
+  private long sent;
+
+  private long sendErrors;
+
+  private long received;
+
+  /**
+   * Identities never seen on the harness before the drain timeout (capped sample).
+   */
+  @Builder.Default
+  private List<String> missingIdentities = new ArrayList<>();
+
+  private long missing;
+
+  /**
+   * Messages received on another queue than {@code LoadMessage.expectedQueue}; not part of the latency figures.
+   */
+  private long misrouted;
+
+  @Builder.Default
+  private Map<String, Long> misroutedByGroup = new LinkedHashMap<>();
+
+  /**
+   * Messages sent but not yet received when injection stopped (before the drain).
+   */
+  private long backlogAtInjectionEnd;
+
+  /**
+   * Wall time from the first intended send to the last receipt (or drain timeout).
+   */
+  private Duration elapsed;
+
+  private Duration injectionDuration;
+
+  /**
+   * Sent messages per second over the injection window.
+   */
+  private double sendRate;
+
+  /**
+   * Received messages per second over the whole run.
+   */
+  private double receiveRate;
+
+  /**
+   * Intended send time to harness hand-off.
+   */
+  private LatencyStats latency;
+
+  /**
+   * Actual send start minus intended send start: shows injector saturation.
+   */
+  private LatencyStats sendLag;
+
+  /**
+   * Duration of the injection call itself (harness REST round trip): the injection cost.
+   */
+  private LatencyStats sendDuration;
+
+  /**
+   * Full latency distribution in microseconds, kept for the run-to-run regression comparison.
+   */
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private Histogram latencyHistogram;
+
+  @Builder.Default
+  private Map<String, LatencyStats> latencyByGroup = new LinkedHashMap<>();
+
+  public boolean isComplete() {
+    return missing == 0 && misrouted == 0 && sendErrors == 0;
+  }
+
+  public String toSummary() {
+    StringBuilder sb = new StringBuilder();
+    sb.append(String.format("Load run [%s]%n", profile));
+    sb.append(String.format("  sent=%d (%.1f msg/s), sendErrors=%d, received=%d (%.1f msg/s), missing=%d, "
+            + "elapsed=%ss%n",
+        sent, sendRate, sendErrors, received, receiveRate, missing, elapsed == null ? 0 : elapsed.toSeconds()));
+    sb.append(String.format("  backlog at injection end=%d, misrouted=%d%n", backlogAtInjectionEnd, misrouted));
+    sb.append(String.format("  latency  : %s%n", latency));
+    sb.append(String.format("  send lag : %s%n", sendLag));
+    sb.append(String.format("  send call: %s", sendDuration));
+    latencyByGroup.forEach((group, stats) -> sb.append(String.format("%n  [%s] %s", group, stats)));
+    return sb.toString();
+  }
+}
@@ -0,0 +1,54 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.model.load;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a payload-size benchmark: how each stage scales with the message text size, and the
+ * first size at which the harness round trip stops growing linearly (the knee).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayloadScalingResult {
+
+  private double rate;
+
+  @Builder.Default
+  private List<PayloadStep> steps = new ArrayList<>();
+
+  /**
+   * First text size whose latency is nonlinear, or null when every size stayed on the linear fit.
+   */
+  private Integer kneeTextBytes;
+
+  private String report;
+
+  public String toSummary() {
+    StringBuilder sb = new StringBuilder(String.format("Payload scaling [%.1f msg/s], knee: %s", rate,
+        kneeTextBytes == null ? "none" : kneeTextBytes + " bytes"));
+    for (PayloadStep step : steps) {
+      sb.append(String.format("%n  %6d B: send call p50=%.1f ms, round trip p50=%.1f (linear %.1f) p99=%.1f ms, "
+              + "store write p50=%.1f ms, rawData read p50=%.1f ms, found %d/%d, truncated %d%s",
+          step.getTextBytes(), step.getRun().getSendDuration().getP50(), step.getRun().getLatency().getP50(),
+          step.getPredictedP50(), step.getRun().getLatency().getP99(), step.getStoreWrite().getP50(),
+          step.getRawDataRead().getP50(), step.getStoreFound(), step.getStoreChecked(), step.getRawDataTruncated(),
+          step.isNonlinear() ? "  <- nonlinear" : ""));
+    }
+    return sb.toString();
+  }
+}
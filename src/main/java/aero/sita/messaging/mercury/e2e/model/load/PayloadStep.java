@@ -0,0 +1,75 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.model.load;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Measurements of one message text size.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayloadStep {
+
+  /**
+   * Size of the message text (between STX and ETX), in bytes.
+   */
+  private int textBytes;
+
+  /**
+   * Size of the whole injected message, envelope included.
+   */
+  private int messageBytes;
+
+  /**
+   * Harness side of the step: injection cost (send call), round trip (latency) and delivery.
+   */
+  private LoadRunResult run;
+
+  /**
+   * Sampled messages looked up in the message-store.
+   */
+  private int storeChecked;
+
+  /**
+   * Sampled messages found in the message-store.
+   */
+  private int storeFound;
+
+  /**
+   * Found messages whose rawData is shorter than the injected text (truncated on the way in).
+   */
+  private int rawDataTruncated;
+
+  /**
+   * Intended send time to the incoming createdDate: message-store write latency.
+   */
+  private LatencyStats storeWrite;
+
+  /**
+   * Duration of reading the incoming document (rawData included) once it exists.
+   */
+  private LatencyStats rawDataRead;
+
+  /**
+   * Harness round-trip p50 predicted by the linear fit of the smallest sizes, in milliseconds.
+   */
+  private double predictedP50;
+
+  /**
+   * True when the measured p50 departs from the linear prediction beyond the configured tolerance.
+   */
+  private boolean nonlinear;
+}
@@ -0,0 +1,74 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.model.load;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Delivery latency through one configured connection (inQueue -> Mercury -> outQueue).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueueMatrixCell {
+
+  /**
+   * Connection _id in the configuration database, e.g. "connectionA".
+   */
+  private String connectionId;
+
+  private String hostId;
+
+  /**
+   * Queue the harness injects into (Mercury's input), e.g. "LETTTLK.OUT".
+   */
+  private String inQueue;
+
+  /**
+   * Queue the harness receives from (Mercury's output), e.g. "LETTTLK.IN".
+   */
+  private String outQueue;
+
+  /**
+   * Address routed to the connection, used as the single addressee of the burst.
+   */
+  private String address;
+
+  private long sent;
+
+  /**
+   * Messages received on the expected outQueue; only these are part of the latency figures.
+   */
+  private long received;
+
+  /**
+   * Messages received on another queue than the connection outQueue.
+   */
+  private long misrouted;
+
+  private LatencyStats latency;
+
+  /**
+   * True when the connection lost or misrouted messages or its p99 stands out from the other connections.
+   */
+  private boolean outlier;
+
+  public long getMissing() {
+    return Math.max(0, sent - received - misrouted);
+  }
+
+  public String getPair() {
+    return inQueue + "->" + outQueue;
+  }
+}
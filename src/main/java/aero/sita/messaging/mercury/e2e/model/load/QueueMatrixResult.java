@@ -0,0 +1,72 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.model.load;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a per-queue latency matrix run: one cell per enabled connection.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueueMatrixResult {
+
+  /**
+   * Injection rate per connection, in messages per second.
+   */
+  private double ratePerConnection;
+
+  private int messagesPerConnection;
+
+  @Builder.Default
+  private List<QueueMatrixCell> cells = new ArrayList<>();
+
+  /**
+   * Enabled connections that could not be measured, with the reason (e.g. no DIRECT route).
+   */
+  @Builder.Default
+  private Map<String, String> skipped = new LinkedHashMap<>();
+
+  /**
+   * Median p99 over the connections that delivered at least one message, in milliseconds.
+   */
+  private double medianP99;
+
+  private LoadRunResult run;
+
+  private String report;
+
+  private String heatMap;
+
+  public List<QueueMatrixCell> getOutliers() {
+    return cells.stream().filter(QueueMatrixCell::isOutlier).toList();
+  }
+
+  public String toSummary() {
+    StringBuilder sb = new StringBuilder(String.format("Queue matrix [%d connections, %d msgs at %.1f msg/s each, "
+        + "median p99 %.1f ms]", cells.size(), messagesPerConnection, ratePerConnection, medianP99));
+    for (QueueMatrixCell cell : cells) {
+      sb.append(String.format("%n  %s %-14s %-40s missing %d/%d, misrouted %d, p50=%.1f p99=%.1f max=%.1f ms",
+          cell.isOutlier() ? "!!" : "  ", cell.getConnectionId(), cell.getPair(), cell.getMissing(), cell.getSent(),
+          cell.getMisrouted(), cell.getLatency().getP50(), cell.getLatency().getP99(), cell.getLatency().getMax()));
+    }
+    skipped.forEach((connection, reason) -> sb.append(String.format("%n  -- %-14s skipped: %s", connection, reason)));
+    return sb.toString();
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.model.load;
+
+import java.time.Duration;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Target injection rate over time for an open-model load run.
+ * Shapes:
+ * - CONSTANT: startRate for the whole duration
+ * - RAMP: linear from startRate to endRate over the duration
+ * - STEP: startRate, increased by stepIncrement every stepDuration
+ * Rates are in messages per second and must be positive; a negative STEP increment is allowed as long
+ * as the rate of the last plateau stays positive.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateProfile {
+
+  public enum Shape { CONSTANT, RAMP, STEP }
+
+  private Shape shape;
+
+  private double startRate;
+
+  /**
+   * Target rate at the end of a RAMP.
+   */
+  private double endRate;
+
+  /**
+   * Rate added at every STEP boundary.
+   */
+  private double stepIncrement;
+
+  /**
+   * Length of a STEP plateau.
+   */
+  private Duration stepDuration;
+
+  /**
+   * Total injection duration.
+   */
+  private Duration duration;
+
+  public static RateProfile constant(double rate, Duration duration) {
+    return validated(RateProfile.builder().shape(Shape.CONSTANT).startRate(rate).endRate(rate)
+        .duration(duration).build());
+  }
+
+  public static RateProfile ramp(double fromRate, double toRate, Duration duration) {
+    return validated(RateProfile.builder().shape(Shape.RAMP).startRate(fromRate).endRate(toRate)
+        .duration(duration).build());
+  }
+
+  public static RateProfile step(double startRate, double increment, Duration stepDuration, Duration duration) {
+    return validated(RateProfile.builder().shape(Shape.STEP).startRate(startRate).stepIncrement(increment)
+        .stepDuration(stepDuration).duration(duration).build());
+  }
+
+  /**
+   * Target rate (messages per second) at the given offset from the start of the run.
+   *
+   * @param elapsedSeconds offset from the run start, in seconds
+   * @return the target rate at that offset
+   */
+  public double rateAt(double elapsedSeconds) {
+    return switch (shape) {
+      case CONSTANT -> startRate;
+      case RAMP -> {
+        double progress = Math.min(1.0, elapsedSeconds / (duration.toNanos() / 1e9));
+        yield startRate + (endRate - startRate) * progress;
+      }
+      case STEP -> startRate + stepIncrement * Math.floor(elapsedSeconds / (stepDuration.toNanos() / 1e9));
+    };
+  }
+
+  /**
+   * Index of the STEP plateau at the given offset (always 0 for other shapes).
+   *
+   * @param elapsedSeconds offset from the run start, in seconds
+   * @return zero-based plateau index
+   */
+  public int stepIndexAt(double elapsedSeconds) {
+    if (shape != Shape.STEP) {
+      return 0;
+    }
+    return (int) Math.floor(elapsedSeconds / (stepDuration.toNanos() / 1e9));
+  }
+
+  @Override
+  public String toString() {
+    return switch (shape) {
+      case CONSTANT -> String.format("constant %.1f msg/s for %ss", startRate, duration.toSeconds());
+      case RAMP -> String.format("ramp %.1f -> %.1f msg/s over %ss", startRate, endRate, duration.toSeconds());
+      case STEP -> String.format("step %.1f msg/s +%.1f every %ss for %ss",
+          startRate, stepIncrement, stepDuration.toSeconds(), duration.toSeconds());
+    };
+  }
+
+  private static RateProfile validated(RateProfile profile) {
+    if (profile.startRate <= 0 || (profile.shape == Shape.RAMP && profile.endRate <= 0)) {
+      throw new IllegalArgumentException("Rates must be positive: " + profile);
+    }
+    if (profile.duration == null || profile.duration.isZero() || profile.duration.isNegative()) {
+      throw new IllegalArgumentException("Duration must be positive");
+    }
+    if (profile.shape == Shape.STEP) {
+      if (profile.stepDuration == null || profile.stepDuration.isZero() || profile.stepDuration.isNegative()) {
+        throw new IllegalArgumentException("Step duration must be positive");
+      }
+      // Plateaus started before the end of the run: the last one must keep a finite send interval
+      long lastStep = (profile.duration.toNanos() - 1) / profile.stepDuration.toNanos();
+      if (profile.startRate + profile.stepIncrement * lastStep <= 0) {
+        throw new IllegalArgumentException("Rate of the last step must be positive: " + profile);
+      }
+    }
+    return profile;
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.model.load;
+
+import java.time.Duration;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a memory-bounded soak run.
+ * Per-interval latency histograms are streamed to {@link #histogramLog} (HdrHistogram log format)
+ * and never-delivered messages to {@link #undeliveredLog}; only aggregates are kept in memory.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SoakRunResult {
+
+  private String profile;
+
+  private long sent;
+
+  private long sendErrors;
+
+  /**
+   * Messages not sent because the outstanding window was full.
+   */
+  private long windowOverflows;
+
+  private long received;
+
+  /**
+   * Messages not received within the delivery deadline.
+   */
+  private long undelivered;
+
+  /**
+   * Receipts that arrived between a harness read and the following clear, so were never seen.
+   * They inflate {@link #undelivered} by the same amount.
+   */
+  private long clearRaceLosses;
+
+  private Duration elapsed;
+
+  private LatencyStats latency;
+
+  private LatencyStats sendLag;
+
+  private String histogramLog;
+
+  private String undeliveredLog;
+
+  /**
+   * Heap in use after the last GC, at the start of the run and the highest value seen (MB).
+   */
+  private long liveHeapStartMb;
+
+  private long liveHeapMaxMb;
+
+  /**
+   * Undelivered messages that cannot be explained by harness clear races.
+   */
+  public long getUnexplainedUndelivered() {
+    return Math.max(0, undelivered - clearRaceLosses);
+  }
+
+  public String toSummary() {
+    StringBuilder sb = new StringBuilder();
+    sb.append(String.format("Soak run [%s]%n", profile));
+    sb.append(String.format("  sent=%d, sendErrors=%d (window overflows=%d), received=%d, undelivered=%d "
+            + "(clear race losses=%d), elapsed=%ss%n",
+        sent, sendErrors, windowOverflows, received, undelivered, clearRaceLosses,
+        elapsed == null ? 0 : elapsed.toSeconds()));
+    sb.append(String.format("  latency  : %s%n", latency));
+    sb.append(String.format("  send lag : %s%n", sendLag));
+    sb.append(String.format("  live heap: start=%d MB, max=%d MB%n", liveHeapStartMb, liveHeapMaxMb));
+    sb.append(String.format("  histogram log: %s%n", histogramLog));
+    sb.append(String.format("  undelivered log: %s", undeliveredLog));
+    return sb.toString();
+  }
+}
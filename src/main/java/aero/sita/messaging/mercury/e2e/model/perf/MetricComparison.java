@@ -0,0 +1,60 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.model.perf;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Baseline vs current value of one metric.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetricComparison {
+
+  public enum Verdict { OK, REGRESSION, IMPROVEMENT, NEW, MISSING }
+
+  private String name;
+
+  private String unit;
+
+  private Double baseline;
+
+  private Double current;
+
+  /**
+   * Relative change (current - baseline) / baseline; null when either side is missing.
+   */
+  private Double change;
+
+  /**
+   * Two-sample Kolmogorov-Smirnov statistic of the distributions; null when not both recorded.
+   */
+  private Double ksStatistic;
+
+  /**
+   * Whether the distributions differ at the configured significance level.
+   */
+  private Boolean ksSignificant;
+
+  private Verdict verdict;
+
+  public String toLine() {
+    return String.format("%-11s %-60s %12s -> %-12s %8s %s", verdict, name,
+        baseline == null ? "-" : String.format("%.2f", baseline),
+        current == null ? "-" : String.format("%.2f %s", current, unit),
+        change == null ? "" : String.format("%+.1f%%", change * 100),
+        ksStatistic == null ? "" : String.format("(KS D=%.3f%s)", ksStatistic, ksSignificant ? ", significant" : ""));
+  }
+}
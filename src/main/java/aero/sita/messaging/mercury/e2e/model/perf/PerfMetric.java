@@ -0,0 +1,43 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.model.perf;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One number of a performance run summary, e.g. "load/Constant rate.latency.p99" in ms.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PerfMetric {
+
+  private double value;
+
+  /**
+   * Unit for display, e.g. "ms", "msg/s", "polls".
+   */
+  private String unit;
+
+  /**
+   * True for latencies and counts (an increase is a regression), false for throughput.
+   */
+  private boolean lowerIsBetter;
+
+  /**
+   * Key of the latency distribution this percentile was taken from (see
+   * {@link PerfRunSummary#getDistributions()}); null when none was recorded.
+   */
+  private String distribution;
+}
@@ -0,0 +1,41 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.model.perf;
+
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Performance summary of one test run, stored as JSON and diffed against a baseline.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PerfRunSummary {
+
+  /**
+   * ISO-8601 time the summary was written.
+   */
+  private String createdAt;
+
+  @Builder.Default
+  private Map<String, PerfMetric> metrics = new TreeMap<>();
+
+  /**
+   * Latency distributions: HdrHistogram (microseconds) compressed and Base64-encoded, by key.
+   */
+  @Builder.Default
+  private Map<String, String> distributions = new TreeMap<>();
+}
@@ -42,4 +42,10 @@ public class ResultResponse {
    */
   @JsonProperty("elapsedTimeInSeconds")
   private Integer elapsedTimeInSeconds;
+
+  /**
+   * Total elapsed time in milliseconds, on harness versions that report it; null otherwise.
+   */
+  @JsonProperty("elapsedTimeInMillis")
+  private Long elapsedTimeInMillis;
 }
@@ -0,0 +1,235 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+package aero.sita.messaging.mercury.e2e.service.batch;
+
+import aero.sita.messaging.mercury.e2e.config.PollingProperties;
+import aero.sita.messaging.mercury.e2e.model.batch.BatchMessage;
+import aero.sita.messaging.mercury.e2e.model.batch.BatchRowResult;
+import aero.sita.messaging.mercury.e2e.model.batch.BatchVerificationResult;
+import aero.sita.messaging.mercury.e2e.model.mongodb.IncomingMessage;
+import aero.sita.messaging.mercury.e2e.model.mongodb.StatusLog;
+import aero.sita.messaging.mercury.e2e.model.testharness.response.ReceivedMessage;
+import aero.sita.messaging.mercury.e2e.utilities.helper.MessageInjectionHelper;
+import aero.sita.messaging.mercury.e2e.utilities.helper.MessageRetrievalHelper;
+import aero.sita.messaging.mercury.e2e.utilities.helper.MessageStoreHelper;
+import aero.sita.messaging.mercury.e2e.utilities.helper.PollingHelper;
+import aero.sita.messaging.mercury.e2e.utilities.helper.ReceivedIdentityIndex;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Injects a whole table of message variants at once and verifies them together.
+ * <p>
+ * Each variant carries its own message identity, so the rows can be told apart after delivery:
+ * - receipt: one polling loop over the harness received list, every body matched once against all the
+ *   batch identities through the shared {@link ReceivedIdentityIndex}
+ * - message-store: one {@code $in} query per round on messageIdentity for the rows still pending
+ * Both checks report pass/fail per row instead of stopping at the first failure, so an N-row batch
+ * costs roughly one delivery latency instead of N polling timeouts.
+ */
+@Slf4j
+@Service
+public class BatchVerificationService {
+
+  /**
+   * Identities per {@code $in} query, the bound documented on {@link MessageStoreHelper#searchByMessageIdentities}.
+   */
+  private static final int STORE_QUERY_BATCH_SIZE = 200;
+
+  private final MessageInjectionHelper messageInjectionHelper;
+  private final MessageRetrievalHelper messageRetrievalHelper;
+  private final ReceivedIdentityIndex receivedIdentityIndex;
+  private final MessageStoreHelper messageStoreHelper;
+  private final PollingHelper pollingHelper;
+  private final PollingProperties pollingProperties;
+
+  @Autowired
+  public BatchVerificationService(MessageInjectionHelper messageInjectionHelper,
+                                  MessageRetrievalHelper messageRetrievalHelper,
+                                  ReceivedIdentityIndex receivedIdentityIndex,
+                                  MessageStoreHelper messageStoreHelper,
+                                  PollingHelper pollingHelper,
+                                  PollingProperties pollingProperties) {
+    this.messageInjectionHelper = messageInjectionHelper;
+    this.messageRetrievalHelper = messageRetrievalHelper;
+    this.receivedIdentityIndex = receivedIdentityIndex;
+    this.messageStoreHelper = messageStoreHelper;
+    this.pollingHelper = pollingHelper;
+    this.pollingProperties = pollingProperties;
+  }
+
+  /**
+   * Injects every message of the batch, back to back, with the routing of a single injection
+   * (selected connection, or the queue resolved from the destination address).
+   *
+   * @param messages batch to inject, identities unique within the batch
+   */
+  public void inject(List<BatchMessage> messages) {
+    Set<String> identities = new HashSet<>();
+    for (BatchMessage message : messages) {
+      if (message.getMessageIdentity() == null || !identities.add(message.getMessageIdentity())) {
+        throw new IllegalArgumentException("Batch messages need a unique message identity, got '"
+            + message.getMessageIdentity() + "' for " + message.getLabel());
+      }
+    }
+    log.info("Injecting a batch of {} message(s)", messages.size());
+    for (BatchMessage message : messages) {
+      messageInjectionHelper.injectWithSmartRouting(message.getContent());
+    }
+  }
+
+  // ==================== Harness receipt ====================
+
+  /**
+   * Waits for every message of the batch on the harness and checks each one like a single receipt:
+   * queue, protocol (when given) and body containing the sent message.
+   *
+   * @param messages  injected batch
+   * @param outQueue  queue the messages must be received on
+   * @param protocol  expected protocol, or null/empty to skip the check
+   * @return one row per message
+   */
+  public BatchVerificationResult verifyReceived(List<BatchMessage> messages, String outQueue, String protocol) {
+    long start = System.nanoTime();
+    Map<String, ReceivedMessage> received = new HashMap<>();
+    Set<String> pending = messages.stream().map(BatchMessage::getMessageIdentity)
+        .collect(Collectors.toCollection(LinkedHashSet::new));
+
+    pending.forEach(receivedIdentityIndex::register);
+    try {
+      pollingHelper.pollUntilTrue(() -> {
+        receivedIdentityIndex.refresh(messageRetrievalHelper.getAllReceivedMessages());
+        pending.removeIf(identity -> {
+          ReceivedMessage message = receivedIdentityIndex.find(identity,
+              candidate -> Objects.equals(outQueue, candidate.getQueueName()));
+          if (message != null) {
+            received.put(identity, message);
+          }
+          return message != null;
+        });
+        return pending.isEmpty();
+      }, pollingProperties.getMessageRetrieval().getTimeoutSeconds(),
+          pollingProperties.getMessageRetrieval().getIntervalMillis());
+    } finally {
+      messages.forEach(message -> receivedIdentityIndex.complete(message.getMessageIdentity()));
+    }
+
+    List<BatchRowResult> rows = new ArrayList<>();
+    for (BatchMessage message : messages) {
+      ReceivedMessage receivedMessage = received.get(message.getMessageIdentity());
+      rows.add(receivedRow(message, receivedMessage, outQueue, protocol));
+    }
+    return result("received on " + outQueue, rows, start);
+  }
+
+  private BatchRowResult receivedRow(BatchMessage message, ReceivedMessage received, String outQueue,
+                                     String protocol) {
+    String failure = null;
+    if (received == null) {
+      failure = String.format("not received on %s within %d s", outQueue,
+          pollingProperties.getMessageRetrieval().getTimeoutSeconds());
+    } else if (protocol != null && !protocol.isEmpty() && !protocol.equals(received.getProtocol())) {
+      failure = String.format("protocol %s, expected %s", received.getProtocol(), protocol);
+    } else if (received.getBody() == null || !received.getBody().contains(message.getContent())) {
+      failure = "received body does not contain the sent message";
+    }
+    return row(message, failure, received == null ? null : "received id=" + received.getId());
+  }
+
+  // ==================== Message-store ====================
+
+  /**
+   * Waits until every message of the batch has an incoming document carrying all the expected
+   * statuses, reading the rows still pending with batched {@code $in} queries.
+   *
+   * @param messages         injected batch
+   * @param expectedStatuses statuses each incoming document must contain, e.g. RECEIVED, PARSED
+   * @return one row per message
+   */
+  public BatchVerificationResult verifyStoredStatuses(List<BatchMessage> messages,
+                                                      Collection<String> expectedStatuses) {
+    long start = System.nanoTime();
+    Map<String, List<IncomingMessage>> docs = new HashMap<>();
+    Set<String> pending = messages.stream().map(BatchMessage::getMessageIdentity)
+        .collect(Collectors.toCollection(LinkedHashSet::new));
+
+    pollingHelper.pollUntilTrue(() -> {
+      List<String> batch = new ArrayList<>(pending);
+      for (int from = 0; from < batch.size(); from += STORE_QUERY_BATCH_SIZE) {
+        List<String> chunk = batch.subList(from, Math.min(from + STORE_QUERY_BATCH_SIZE, batch.size()));
+        docs.putAll(messageStoreHelper.searchByMessageIdentities(chunk).stream()
+            .collect(Collectors.groupingBy(IncomingMessage::getMessageIdentity)));
+      }
+      pending.removeIf(identity -> findWithStatuses(docs.get(identity), expectedStatuses) != null);
+      return pending.isEmpty();
+    }, pollingProperties.getStatusValidation().getTimeoutSeconds(),
+        pollingProperties.getStatusValidation().getIntervalMillis());
+
+    List<BatchRowResult> rows = new ArrayList<>();
+    for (BatchMessage message : messages) {
+      List<IncomingMessage> identityDocs = docs.getOrDefault(message.getMessageIdentity(), List.of());
+      IncomingMessage match = findWithStatuses(identityDocs, expectedStatuses);
+      String failure = null;
+      if (identityDocs.isEmpty()) {
+        failure = "no incoming document";
+      } else if (match == null) {
+        failure = "statuses " + statuses(identityDocs.getFirst()) + " missing some of " + expectedStatuses;
+      }
+      rows.add(row(message, failure, match == null ? null : "incoming id=" + match.getId()
+          + " statuses " + statuses(match)));
+    }
+    return result("incoming statuses " + expectedStatuses, rows, start);
+  }
+
+  private static IncomingMessage findWithStatuses(List<IncomingMessage> docs, Collection<String> expected) {
+    if (docs == null) {
+      return null;
+    }
+    return docs.stream().filter(doc -> statuses(doc).containsAll(expected)).findFirst().orElse(null);
+  }
+
+  private static List<String> statuses(IncomingMessage doc) {
+    if (doc.getStatusLogs() == null) {
+      return List.of();
+    }
+    return doc.getStatusLogs().stream().map(StatusLog::getStatus).toList();
+  }
+
+  // ==================== Results ====================
+
+  private static BatchRowResult row(BatchMessage message, String failure, String detail) {
+    return BatchRowResult.builder()
+        .label(message.getLabel())
+        .messageIdentity(message.getMessageIdentity())
+        .passed(failure == null)
+        .detail(failure != null ? failure : detail)
+        .build();
+  }
+
+  private static BatchVerificationResult result(String check, List<BatchRowResult> rows, long start) {
+    BatchVerificationResult result = BatchVerificationResult.builder()
+        .check(check)
+        .rows(rows)
+        .elapsedMillis((System.nanoTime() - start) / 1_000_000)
+        .build();
+    log.info(result.toSummary());
+    return result;
+  }
+}
@@ -0,0 +1,334 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.service.latency;
+
+import aero.sita.messaging.mercury.e2e.client.testharness.TestHarnessClient;
+import aero.sita.messaging.mercury.e2e.config.LatencyProperties;
+import aero.sita.messaging.mercury.e2e.exception.TestHarnessException;
+import aero.sita.messaging.mercury.e2e.model.latency.HarnessLatencyReport;
+import aero.sita.messaging.mercury.e2e.model.load.LatencyStats;
+import aero.sita.messaging.mercury.e2e.model.testharness.request.LatencyRequest;
+import aero.sita.messaging.mercury.e2e.model.testharness.response.ReceivedMessage;
+import aero.sita.messaging.mercury.e2e.model.testharness.response.ResultResponse;
+import aero.sita.messaging.mercury.e2e.utilities.format.typeb.TypeBTokenizer;
+import aero.sita.messaging.mercury.e2e.utilities.matcher.AhoCorasickMatcher;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Collects the harness-reported latency of every injection of the run into HdrHistograms.
+ * <p>
+ * Only messages this run injected are collected: while a collected scenario runs, every identity
+ * injected through MessageInjectionHelper is recorded, and at the end of the scenario only the
+ * received messages containing one of them are looked up. Leftovers of earlier runs and messages of
+ * other harness users are skipped; a scenario that injected nothing costs no harness call.
+ * <p>
+ * The latency endpoint answers one injection ID per call, so the collector:
+ * - de-duplicates injection IDs over the whole JVM (a message is only counted once)
+ * - splits the new IDs into batches, each fetched asynchronously on virtual threads
+ * - bounds the concurrent requests over all batches with a shared semaphore
+ * Values are recorded in microseconds: from {@code elapsedTimeInMillis} when the harness reports it,
+ * otherwise from the whole-second {@code elapsedTimeInSeconds} (counted, so the report shows how much
+ * of it is coarse). Histograms are kept overall and per feature, tag and connection; the report is
+ * logged and written to {@code harness_latency_<timestamp>.csv} when the Spring context closes.
+ */
+@Slf4j
+@Component
+public class HarnessLatencyCollector {
+
+  private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+  private static final int SIGNIFICANT_DIGITS = 3;
+  private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+
+  private final TestHarnessClient testHarnessClient;
+  private final LatencyProperties properties;
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+  private final Semaphore permits;
+  private final Set<String> submittedInjectionIds = ConcurrentHashMap.newKeySet();
+  private final Set<CompletableFuture<Void>> pending = ConcurrentHashMap.newKeySet();
+  private final Histogram overall = newHistogram();
+  private final Map<String, Histogram> byFeature = new ConcurrentHashMap<>();
+  private final Map<String, Histogram> byTag = new ConcurrentHashMap<>();
+  private final Map<String, Histogram> byConnection = new ConcurrentHashMap<>();
+  private final AtomicLong failed = new AtomicLong();
+  private final AtomicLong secondResolution = new AtomicLong();
+  private final Set<String> scenarioIdentities = ConcurrentHashMap.newKeySet();
+  private volatile boolean scenarioCollected;
+
+  @Autowired
+  public HarnessLatencyCollector(TestHarnessClient testHarnessClient, LatencyProperties properties) {
+    this.testHarnessClient = testHarnessClient;
+    this.properties = properties;
+    this.permits = new Semaphore(Math.max(1, properties.getMaxConcurrency()));
+  }
+
+  public boolean isEnabled() {
+    return properties.isEnabled();
+  }
+
+  /**
+   * Whether a scenario with these tags should be collected.
+   *
+   * @param tags scenario tags, e.g. ["@typeb", "@routing"]
+   * @return false when the collector is disabled or a tag is excluded
+   */
+  public boolean accepts(Collection<String> tags) {
+    return properties.isEnabled() && tags.stream().noneMatch(properties.getExcludeTags()::contains);
+  }
+
+  /**
+   * Starts recording the identities injected by a scenario, when its tags are collected.
+   *
+   * @param tags scenario tags
+   */
+  public void startScenario(Collection<String> tags) {
+    scenarioIdentities.clear();
+    scenarioCollected = accepts(tags);
+  }
+
+  /**
+   * Records the identity of a message injected by the current scenario (no-op outside a collected one).
+   *
+   * @param messageContent raw message as sent to the harness
+   */
+  public void recordInjection(String messageContent) {
+    if (!scenarioCollected) {
+      return;
+    }
+    String identity = TypeBTokenizer.messageIdentity(messageContent);
+    if (identity != null) {
+      scenarioIdentities.add(identity);
+    }
+  }
+
+  /**
+   * Whether the current scenario injected anything to collect.
+   */
+  public boolean hasScenarioInjections() {
+    return scenarioCollected && !scenarioIdentities.isEmpty();
+  }
+
+  /**
+   * Schedules the latency lookup of every received message carrying an identity injected by the
+   * current scenario and not collected yet, then ends the scenario.
+   * Returns immediately; the lookups run in the background.
+   *
+   * @param messages received messages (messages without injection ID or of other injections are ignored)
+   * @param feature  feature the scenario belongs to
+   * @param tags     scenario tags
+   * @return number of injections scheduled
+   */
+  public int collect(List<ReceivedMessage> messages, String feature, Collection<String> tags) {
+    List<Sample> samples = new ArrayList<>();
+    if (hasScenarioInjections()) {
+      // Containment rather than origin-line equality, so rejects quoting the injected message match too
+      AhoCorasickMatcher injected = AhoCorasickMatcher.of(scenarioIdentities);
+      for (ReceivedMessage message : messages) {
+        if (message.getInjectionId() == null || message.getBody() == null
+            || injected.matches(message.getBody()).isEmpty()) {
+          continue;
+        }
+        if (submittedInjectionIds.add(message.getInjectionId())) {
+          samples.add(new Sample(message.getInjectionId(), feature, List.copyOf(tags),
+              message.getConnectionName()));
+        }
+      }
+    }
+    scenarioIdentities.clear();
+    scenarioCollected = false;
+    int batchSize = Math.max(1, properties.getBatchSize());
+    for (int from = 0; from < samples.size(); from += batchSize) {
+      List<Sample> batch = samples.subList(from, Math.min(from + batchSize, samples.size()));
+      CompletableFuture<Void> future = CompletableFuture.runAsync(() -> fetchBatch(batch), executor);
+      pending.add(future);
+      future.whenComplete((ignored, error) -> pending.remove(future));
+    }
+    log.debug("Harness latency: {} injections scheduled for {}", samples.size(), feature);
+    return samples.size();
+  }
+
+  /**
+   * Waits for the scheduled lookups (up to {@code latency.await-timeout-seconds}) and summarises them.
+   *
+   * @return the aggregated latency so far
+   */
+  public HarnessLatencyReport report() {
+    awaitPending();
+    return HarnessLatencyReport.builder()
+        .overall(stats(overall))
+        .byFeature(stats(byFeature))
+        .byTag(stats(byTag))
+        .byConnection(stats(byConnection))
+        .failed(failed.get())
+        .secondResolution(secondResolution.get())
+        .build();
+  }
+
+  /**
+   * Logs and writes the report once the suite is over (Spring context closing).
+   */
+  @PreDestroy
+  public void flush() {
+    try {
+      if (submittedInjectionIds.isEmpty()) {
+        return;
+      }
+      HarnessLatencyReport report = report();
+      log.info(report.toSummary());
+      log.info("Harness latency report written to {}", writeReport(report));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  // ==================== Internals ====================
+
+  private void fetchBatch(List<Sample> batch) {
+    List<CompletableFuture<Void>> requests = new ArrayList<>(batch.size());
+    for (Sample sample : batch) {
+      requests.add(CompletableFuture.runAsync(() -> fetch(sample), executor));
+    }
+    CompletableFuture.allOf(requests.toArray(CompletableFuture[]::new)).join();
+  }
+
+  private void fetch(Sample sample) {
+    try {
+      permits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+    try {
+      ResultResponse result = testHarnessClient.getLatency(LatencyRequest.builder()
+          .injectionId(sample.injectionId())
+          .atMostInSeconds(properties.getRequestTimeoutSeconds())
+          .pollDelayInSeconds(0)
+          .pollIntervalInSeconds(1)
+          .build());
+      Long micros = toMicros(result);
+      if (micros == null) {
+        failed.incrementAndGet();
+        return;
+      }
+      record(sample, Math.min(Math.max(0, micros), HIGHEST_TRACKABLE_MICROS));
+    } catch (Exception e) {
+      failed.incrementAndGet();
+      log.debug("Harness latency: lookup of {} failed: {}", sample.injectionId(), e.getMessage());
+    } finally {
+      permits.release();
+    }
+  }
+
+  private Long toMicros(ResultResponse result) {
+    if (result == null) {
+      return null;
+    }
+    if (result.getElapsedTimeInMillis() != null) {
+      return TimeUnit.MILLISECONDS.toMicros(result.getElapsedTimeInMillis());
+    }
+    if (result.getElapsedTimeInSeconds() != null) {
+      secondResolution.incrementAndGet();
+      return TimeUnit.SECONDS.toMicros(result.getElapsedTimeInSeconds());
+    }
+    return null;
+  }
+
+  private void record(Sample sample, long micros) {
+    overall.recordValue(micros);
+    byFeature.computeIfAbsent(sample.feature(), k -> newHistogram()).recordValue(micros);
+    for (String tag : sample.tags()) {
+      byTag.computeIfAbsent(tag, k -> newHistogram()).recordValue(micros);
+    }
+    String connection = sample.connection() == null ? "unknown" : sample.connection();
+    byConnection.computeIfAbsent(connection, k -> newHistogram()).recordValue(micros);
+  }
+
+  private void awaitPending() {
+    try {
+      CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new))
+          .get(properties.getAwaitTimeoutSeconds(), TimeUnit.SECONDS);
+    } catch (TimeoutException e) {
+      log.warn("Harness latency: {} batches still running after {} s, reporting partial results",
+          pending.size(), properties.getAwaitTimeoutSeconds());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Exception e) {
+      log.warn("Harness latency: batch failed: {}", e.getMessage());
+    }
+  }
+
+  private static Map<String, LatencyStats> stats(Map<String, Histogram> histograms) {
+    Map<String, LatencyStats> stats = new TreeMap<>();
+    histograms.forEach((key, histogram) -> stats.put(key, stats(histogram)));
+    return stats;
+  }
+
+  private static LatencyStats stats(Histogram histogram) {
+    // Copy first: the live histogram may still be written by a late request
+    return LatencyStats.fromMicros(histogram.copy());
+  }
+
+  private static Histogram newHistogram() {
+    return new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+  }
+
+  // ==================== Report ====================
+
+  private Path writeReport(HarnessLatencyReport report) {
+    Path path = Paths.get(properties.getReportDir(),
+        "harness_latency_" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".csv");
+    StringBuilder sb = new StringBuilder("dimension,key,count,meanMs,p50Ms,p90Ms,p99Ms,p999Ms,maxMs\n");
+    appendRow(sb, "overall", "all", report.getOverall());
+    report.getByFeature().forEach((key, stats) -> appendRow(sb, "feature", key, stats));
+    report.getByTag().forEach((key, stats) -> appendRow(sb, "tag", key, stats));
+    report.getByConnection().forEach((key, stats) -> appendRow(sb, "connection", key, stats));
+    try {
+      Files.createDirectories(path.getParent());
+      Files.writeString(path, sb.toString());
+      return path;
+    } catch (IOException e) {
+      throw new TestHarnessException("Could not write harness latency report: " + e.getMessage(), e);
+    }
+  }
+
+  private static void appendRow(StringBuilder sb, String dimension, String key, LatencyStats stats) {
+    sb.append(String.format(Locale.ROOT, "%s,%s,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f%n", dimension,
+        key.replace(',', ' '), stats.getCount(), stats.getMean(), stats.getP50(), stats.getP90(), stats.getP99(),
+        stats.getP999(), stats.getMax()));
+  }
+
+  private record Sample(String injectionId, String feature, List<String> tags, String connection) {
+  }
+}
@@ -0,0 +1,203 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.service.load;
+
+import aero.sita.messaging.mercury.e2e.config.LoadProperties;
+import aero.sita.messaging.mercury.e2e.exception.TestHarnessException;
+import aero.sita.messaging.mercury.e2e.model.load.CapacitySearchRequest;
+import aero.sita.messaging.mercury.e2e.model.load.CapacitySearchResult;
+import aero.sita.messaging.mercury.e2e.model.load.CapacityStep;
+import aero.sita.messaging.mercury.e2e.model.load.LoadMessage;
+import aero.sita.messaging.mercury.e2e.model.load.LoadRunResult;
+import aero.sita.messaging.mercury.e2e.model.load.RateProfile;
+import aero.sita.messaging.mercury.e2e.utilities.helper.MessageStoreHelper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+/**
+ * Finds the maximum sustainable injection rate of one connection (saturation finder).
+ * <p>
+ * Runs constant-rate {@link LoadGenerator} steps from a baseline, adding a fixed increment each
+ * time, and stops at the first step that is not sustainable:
+ * - harness p99 latency above the SLO
+ * - backlog growing without bound (too many messages outstanding when injection stops)
+ * - messages never delivered, or send errors
+ * - injector saturated (send lag), in which case the limit found is the injector's, not Mercury's
+ * <p>
+ * For every step the StatusLog entries of a sample of messages are read from the message-store,
+ * so the report also shows which stage absorbs the lag. Results are appended to
+ * {@code capacity.csv} (one line per search) and {@code capacity_<timestamp>_steps.csv} in the
+ * load report directory, making capacity a repeatable artifact per connection and profile.
+ */
+@Slf4j
+@Service
+public class CapacitySearchService {
+
+  private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+
+  private final LoadGenerator loadGenerator;
+  private final MessageStoreHelper messageStoreHelper;
+  private final LoadProperties loadProperties;
+  private final Environment environment;
+  private final String defaultQueue;
+
+  @Autowired
+  public CapacitySearchService(LoadGenerator loadGenerator,
+                               MessageStoreHelper messageStoreHelper,
+                               LoadProperties loadProperties,
+                               Environment environment,
+                               @Value("${test-harness.default.queue}") String defaultQueue) {
+    this.loadGenerator = loadGenerator;
+    this.messageStoreHelper = messageStoreHelper;
+    this.loadProperties = loadProperties;
+    this.environment = environment;
+    this.defaultQueue = defaultQueue;
+  }
+
+  /**
+   * Steps the rate up until the knee and records the maximum sustainable rate.
+   *
+   * @param request baseline, increment, step duration, SLO and connection
+   * @return every step measured and the maximum sustainable rate
+   * @throws IllegalArgumentException if the baseline, the increment or the step duration is not positive
+   */
+  public CapacitySearchResult search(CapacitySearchRequest request) {
+    if (request.getBaselineRate() <= 0 || request.getRateIncrement() <= 0) {
+      throw new IllegalArgumentException(String.format(Locale.ROOT,
+          "Baseline rate (%.2f) and rate increment (%.2f) must be positive",
+          request.getBaselineRate(), request.getRateIncrement()));
+    }
+    if (request.getStepDuration() == null || request.getStepDuration().toSeconds() < 1) {
+      throw new IllegalArgumentException("Step duration must be at least one second: " + request.getStepDuration());
+    }
+    LoadProperties.Capacity capacity = loadProperties.getCapacity();
+    String connection = request.getQueueName() != null ? request.getQueueName() : defaultQueue;
+    CapacitySearchResult result = CapacitySearchResult.builder()
+        .connection(connection)
+        .profile(String.join(",", environment.getActiveProfiles()))
+        .sloP99Millis(request.getSloP99Millis())
+        .build();
+    log.info("Capacity search starting on {} from {} msg/s (+{} every {}s, SLO p99 {} ms)", connection,
+        request.getBaselineRate(), request.getRateIncrement(), request.getStepDuration().toSeconds(),
+        request.getSloP99Millis());
+
+    String stopReason = String.format(Locale.ROOT, "reached configured max rate %.1f msg/s", capacity.getMaxRate());
+    for (double rate = request.getBaselineRate(); rate <= capacity.getMaxRate(); rate += request.getRateIncrement()) {
+      CapacityStep step = runStep(rate, request);
+      result.getSteps().add(step);
+      if (!step.isSustainable()) {
+        stopReason = String.format(Locale.ROOT, "%.1f msg/s: %s", rate, step.getReason());
+        break;
+      }
+      result.setMaxSustainableRate(rate);
+    }
+    result.setStopReason(stopReason);
+    result.setReport(writeReport(result).toString());
+    log.info(result.toSummary());
+    return result;
+  }
+
+  // ==================== Steps ====================
+
+  private CapacityStep runStep(double rate, CapacitySearchRequest request) {
+    long expected = Math.max(1, (long) (rate * request.getStepDuration().toSeconds()));
+    long sampleEvery = Math.max(1, expected / Math.max(1, loadProperties.getCapacity().getStoreSampleSize()));
+    List<String> sample = new ArrayList<>();
+    LoadMessageSource messages = LoadMessageSource.validMessages();
+    LoadRunResult run = loadGenerator.run(RateProfile.constant(rate, request.getStepDuration()), sequence -> {
+      LoadMessage message = messages.next(sequence);
+      message.setQueueName(request.getQueueName());
+      if (sequence % sampleEvery == 0) {
+        sample.add(message.getMessageIdentity());
+      }
+      return message;
+    });
+
+    StageLagAnalyzer stageLag = new StageLagAnalyzer(messageStoreHelper);
+    stageLag.analyze(sample);
+    String reason = unsustainableReason(rate, request, run);
+    return CapacityStep.builder()
+        .targetRate(rate)
+        .run(run)
+        .storeLagP99Millis(stageLag.totalP99Millis())
+        .stageLagP99Millis(stageLag.stageP99Millis())
+        .sustainable(reason == null)
+        .reason(reason)
+        .build();
+  }
+
+  private String unsustainableReason(double rate, CapacitySearchRequest request, LoadRunResult run) {
+    LoadProperties.Capacity capacity = loadProperties.getCapacity();
+    if (run.getSendLag().getP99() > capacity.getMaxSendLagP99Millis()) {
+      return String.format(Locale.ROOT, "injector saturated (send lag p99 %.1f ms)", run.getSendLag().getP99());
+    }
+    if (run.getSendErrors() > 0) {
+      return run.getSendErrors() + " send errors";
+    }
+    if (run.getMissing() > 0) {
+      return run.getMissing() + " messages not delivered";
+    }
+    if (run.getLatency().getP99() > request.getSloP99Millis()) {
+      return String.format(Locale.ROOT, "p99 %.1f ms above SLO %.0f ms", run.getLatency().getP99(),
+          request.getSloP99Millis());
+    }
+    double backlogLimit = rate * capacity.getBacklogToleranceSeconds();
+    if (run.getBacklogAtInjectionEnd() > backlogLimit) {
+      return String.format(Locale.ROOT, "backlog %d above %.0f when injection stopped",
+          run.getBacklogAtInjectionEnd(), backlogLimit);
+    }
+    return null;
+  }
+
+  // ==================== Report ====================
+
+  private Path writeReport(CapacitySearchResult result) {
+    String ts = LocalDateTime.now().format(FILE_TIMESTAMP);
+    Path summary = Paths.get(loadProperties.getReportDir(), "capacity.csv");
+    Path steps = Paths.get(loadProperties.getReportDir(), "capacity_" + ts + "_steps.csv");
+    try {
+      Files.createDirectories(summary.getParent());
+      if (Files.notExists(summary)) {
+        Files.writeString(summary, "timestamp,profile,connection,sloP99Ms,maxSustainableRate,stopReason,steps\n");
+      }
+      Files.writeString(summary, String.format(Locale.ROOT, "%s,%s,%s,%.0f,%.1f,\"%s\",%s%n", ts,
+          result.getProfile().replace(',', ' '), result.getConnection(), result.getSloP99Millis(),
+          result.getMaxSustainableRate(), result.getStopReason(), steps.getFileName()), StandardOpenOption.APPEND);
+
+      StringBuilder sb = new StringBuilder("targetRate,sendRate,receiveRate,sent,missing,backlog,"
+          + "p50Ms,p99Ms,sendLagP99Ms,storeLagP99Ms,sustainable,reason,stageLagP99Ms\n");
+      for (CapacityStep step : result.getSteps()) {
+        LoadRunResult run = step.getRun();
+        sb.append(String.format(Locale.ROOT, "%.1f,%.1f,%.1f,%d,%d,%d,%.1f,%.1f,%.1f,%.1f,%s,\"%s\",\"%s\"%n",
+            step.getTargetRate(), run.getSendRate(), run.getReceiveRate(), run.getSent(), run.getMissing(),
+            run.getBacklogAtInjectionEnd(), run.getLatency().getP50(), run.getLatency().getP99(),
+            run.getSendLag().getP99(), step.getStoreLagP99Millis(), step.isSustainable(),
+            step.getReason() == null ? "" : step.getReason(), step.getStageLagP99Millis()));
+      }
+      Files.writeString(steps, sb.toString());
+      return summary;
+    } catch (IOException e) {
+      throw new TestHarnessException("Could not write capacity report: " + e.getMessage(), e);
+    }
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.service.load;
+
+import aero.sita.messaging.mercury.e2e.model.load.LatencyStats;
+import aero.sita.messaging.mercury.e2e.model.testharness.response.ReceivedMessage;
+import aero.sita.messaging.mercury.e2e.utilities.format.typeb.TypeBTokenizer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Tracks injected identities until they show up on the harness and records their latency.
+ * <p>
+ * {@link #expect} is called by the scheduler before the send, so a very fast receipt can never
+ * be processed before its identity is known. {@link #process} is called from a single polling
+ * thread; histograms are therefore only written by that thread.
+ * <p>
+ * Every poll returns the harness' full received list, so a message already processed is in the
+ * previous snapshot as long as the harness still holds it. Only the ids of the previous snapshot are
+ * kept: memory is bounded by what the harness retains, not by the length of the run.
+ */
+class DeliveryTracker {
+
+  private final Map<String, Pending> outstanding = new ConcurrentHashMap<>();
+  private Set<String> previousSnapshotIds = Set.of();
+  private final Histogram latency = newHistogram();
+  private final Map<String, Histogram> latencyByGroup = new LinkedHashMap<>();
+  private final Map<String, Long> misroutedByGroup = new LinkedHashMap<>();
+  private volatile long received;
+  private volatile long misrouted;
+  private volatile Instant lastReceipt;
+
+  void expect(String messageIdentity, Instant intendedSend, String group) {
+    expect(messageIdentity, intendedSend, group, null);
+  }
+
+  /**
+   * Registers an identity whose receipt must arrive on {@code expectedQueue}; a receipt on any other
+   * queue is counted as misrouted instead of received and is not part of the latency figures.
+   */
+  void expect(String messageIdentity, Instant intendedSend, String group, String expectedQueue) {
+    outstanding.put(messageIdentity, new Pending(intendedSend, group, expectedQueue));
+  }
+
+  void cancel(String messageIdentity) {
+    outstanding.remove(messageIdentity);
+  }
+
+  /**
+   * Matches a harness snapshot against the outstanding identities.
+   *
+   * @param messages full received list returned by the harness
+   * @return number of newly matched messages
+   */
+  int process(List<ReceivedMessage> messages) {
+    int matched = 0;
+    Set<String> snapshotIds = new HashSet<>(Math.max(16, messages.size() * 4 / 3 + 1));
+    for (ReceivedMessage message : messages) {
+      if (message.getId() != null && (!snapshotIds.add(message.getId())
+          || previousSnapshotIds.contains(message.getId()))) {
+        continue;
+      }
+      String identity = extractMessageIdentity(message.getBody());
+      Pending pending = identity == null ? null : outstanding.remove(identity);
+      if (pending == null) {
+        continue;
+      }
+      Instant handOff = message.getHandOffTimestamp() != null ? message.getHandOffTimestamp() : Instant.now();
+      if (pending.expectedQueue != null && !pending.expectedQueue.equals(message.getQueueName())) {
+        recordMisrouted(pending, handOff);
+        continue;
+      }
+      record(pending, handOff);
+      matched++;
+    }
+    previousSnapshotIds = snapshotIds;
+    return matched;
+  }
+
+  int outstandingCount() {
+    return outstanding.size();
+  }
+
+  Set<String> outstandingIdentities() {
+    return outstanding.keySet();
+  }
+
+  long received() {
+    return received;
+  }
+
+  long misrouted() {
+    return misrouted;
+  }
+
+  Map<String, Long> misroutedByGroup() {
+    return new LinkedHashMap<>(misroutedByGroup);
+  }
+
+  Instant lastReceipt() {
+    return lastReceipt;
+  }
+
+  LatencyStats latency() {
+    return LatencyStats.fromMicros(latency);
+  }
+
+  Histogram latencyHistogram() {
+    return latency.copy();
+  }
+
+  Map<String, LatencyStats> latencyByGroup() {
+    return latencyByGroup.entrySet().stream()
+        .collect(Collectors.toMap(Map.Entry::getKey, e -> LatencyStats.fromMicros(e.getValue()),
+            (a, b) -> a, LinkedHashMap::new));
+  }
+
+  /**
+   * Extracts the message identity from the origin line of a Type B body
+   * (e.g. ".HDQRMJU 121437/160B99PSA"), reading the body only up to STX.
+   *
+   * @param body raw received body
+   * @return the identity, or null when no origin line is found
+   */
+  static String extractMessageIdentity(String body) {
+    return TypeBTokenizer.messageIdentity(body);
+  }
+
+  private void record(Pending pending, Instant handOff) {
+    long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(
+        Duration.between(pending.intendedSend, handOff).toNanos()));
+    micros = Math.min(micros, OpenModelScheduler.HIGHEST_TRACKABLE_MICROS);
+    latency.recordValue(micros);
+    if (pending.group != null) {
+      latencyByGroup.computeIfAbsent(pending.group, g -> newHistogram())
+          .recordValue(micros);
+    }
+    received++;
+    lastReceipt = handOff;
+  }
+
+  private void recordMisrouted(Pending pending, Instant handOff) {
+    if (pending.group != null) {
+      misroutedByGroup.merge(pending.group, 1L, Long::sum);
+    }
+    misrouted++;
+    lastReceipt = handOff;
+  }
+
+  private static Histogram newHistogram() {
+    return new Histogram(OpenModelScheduler.HIGHEST_TRACKABLE_MICROS, OpenModelScheduler.SIGNIFICANT_DIGITS);
+  }
+
+  private record Pending(Instant intendedSend, String group, String expectedQueue) {
+  }
+}
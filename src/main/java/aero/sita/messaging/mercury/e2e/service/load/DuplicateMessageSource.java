@@ -0,0 +1,182 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.service.load;
+
+import aero.sita.messaging.mercury.e2e.model.load.LoadMessage;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Wraps a message source and replaces a fraction of its messages with exact re-injections
+ * (same identity, same body) of messages sent a given time earlier.
+ * <p>
+ * Duplicate slots are spread evenly over the run (low-discrepancy sequence) and cycle through the
+ * requested offsets. A duplicate re-sends the newest not yet duplicated original sent at least
+ * {@code offset} ago; when none is old enough yet, the slot sends a fresh original instead.
+ * Duplicates are {@link LoadMessage#isUntracked() untracked}: the harness receipt of the original
+ * is what the load run measures. Called from the scheduler thread only.
+ * <p>
+ * Originals that leave the duplicate window without having been duplicated are offered to a
+ * fixed-size reservoir sample, so the false-positive check samples the whole run uniformly while
+ * the history itself only retains the last few seconds.
+ */
+class DuplicateMessageSource implements LoadMessageSource {
+
+  static final String ORIGINAL_GROUP = "original";
+  static final String DUPLICATE_GROUP = "duplicate";
+
+  private static final double GOLDEN_RATIO_CONJUGATE = (Math.sqrt(5) - 1) / 2;
+  private static final int MAX_LOOKBACK = 64;
+
+  private final LoadMessageSource originals;
+  private final double duplicateFraction;
+  private final List<Duration> offsets;
+  private final Duration retention;
+  private final List<Original> history = new ArrayList<>();
+  private final List<Duplicate> duplicates = new ArrayList<>();
+  private final int sampleSize;
+  private final List<String> unduplicatedSample = new ArrayList<>();
+  private final Random random = new Random();
+  private long unduplicatedSeen;
+  private int head;
+  private long duplicateSlots;
+
+  DuplicateMessageSource(LoadMessageSource originals, double duplicateFraction, List<Duration> offsets,
+                         int sampleSize) {
+    if (duplicateFraction < 0 || duplicateFraction >= 1) {
+      throw new IllegalArgumentException("Duplicate fraction must be in [0, 1): " + duplicateFraction);
+    }
+    if (offsets.isEmpty() || offsets.stream().anyMatch(Duration::isNegative)) {
+      throw new IllegalArgumentException("Duplicate offsets must be a non-empty list of non-negative durations: "
+          + offsets);
+    }
+    this.originals = originals;
+    this.duplicateFraction = duplicateFraction;
+    this.offsets = List.copyOf(offsets);
+    this.retention = offsets.stream().max(Duration::compareTo).orElseThrow().plusSeconds(1);
+    this.sampleSize = Math.max(0, sampleSize);
+  }
+
+  @Override
+  public LoadMessage next(long sequence) {
+    Instant now = Instant.now();
+    if ((sequence * GOLDEN_RATIO_CONJUGATE) % 1.0 < duplicateFraction) {
+      Duration offset = offsets.get((int) (duplicateSlots++ % offsets.size()));
+      Original original = pick(now.minus(offset));
+      if (original != null) {
+        original.duplicated = true;
+        duplicates.add(new Duplicate(original.message.getMessageIdentity(), offset,
+            Duration.between(original.sentAt, now), now));
+        return LoadMessage.builder()
+            .messageIdentity(original.message.getMessageIdentity())
+            .content(original.message.getContent())
+            .queueName(original.message.getQueueName())
+            .group(DUPLICATE_GROUP)
+            .untracked(true)
+            .build();
+      }
+    }
+    LoadMessage message = originals.next(sequence);
+    message.setGroup(ORIGINAL_GROUP);
+    history.add(new Original(message, now));
+    prune(now);
+    return message;
+  }
+
+  /**
+   * Duplicates injected so far, in injection order.
+   */
+  List<Duplicate> duplicates() {
+    return duplicates;
+  }
+
+  /**
+   * Uniform sample (at most the sample size) of the identities injected once and never duplicated over
+   * the whole run. To be called once the run is over: the originals still retained are offered first.
+   */
+  List<String> unduplicatedSample() {
+    while (head < history.size()) {
+      offerUnduplicated(history.get(head++));
+    }
+    return List.copyOf(unduplicatedSample);
+  }
+
+  private Original pick(Instant sentBefore) {
+    // history is ordered by send time: binary search for the newest original sent at or before the cut-off
+    int low = head;
+    int high = history.size() - 1;
+    int found = -1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      if (!history.get(mid).sentAt.isAfter(sentBefore)) {
+        found = mid;
+        low = mid + 1;
+      } else {
+        high = mid - 1;
+      }
+    }
+    for (int i = found; i >= head && i > found - MAX_LOOKBACK; i--) {
+      if (!history.get(i).duplicated) {
+        return history.get(i);
+      }
+    }
+    return null;
+  }
+
+  private void prune(Instant now) {
+    Instant cutOff = now.minus(retention);
+    while (head < history.size() && history.get(head).sentAt.isBefore(cutOff)) {
+      offerUnduplicated(history.get(head++));
+    }
+    if (head > 4096 && head > history.size() / 2) {
+      history.subList(0, head).clear();
+      head = 0;
+    }
+  }
+
+  /**
+   * Reservoir sampling (algorithm R) over the originals leaving the duplicate window.
+   */
+  private void offerUnduplicated(Original original) {
+    if (original.duplicated || sampleSize == 0) {
+      return;
+    }
+    unduplicatedSeen++;
+    String identity = original.message.getMessageIdentity();
+    if (unduplicatedSample.size() < sampleSize) {
+      unduplicatedSample.add(identity);
+    } else {
+      long slot = (long) (random.nextDouble() * unduplicatedSeen);
+      if (slot < sampleSize) {
+        unduplicatedSample.set((int) slot, identity);
+      }
+    }
+  }
+
+  /**
+   * One re-injection: the requested offset and the actual one (time since the original was sent).
+   */
+  record Duplicate(String messageIdentity, Duration requestedOffset, Duration actualOffset, Instant sentAt) {
+  }
+
+  private static final class Original {
+    private final LoadMessage message;
+    private final Instant sentAt;
+    private boolean duplicated;
+
+    private Original(LoadMessage message, Instant sentAt) {
+      this.message = message;
+      this.sentAt = sentAt;
+    }
+  }
+}
@@ -0,0 +1,262 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.service.load;
+
+import aero.sita.messaging.mercury.e2e.config.LoadProperties;
+import aero.sita.messaging.mercury.e2e.config.PollingProperties;
+import aero.sita.messaging.mercury.e2e.exception.TestHarnessException;
+import aero.sita.messaging.mercury.e2e.model.load.DuplicateOffsetStats;
+import aero.sita.messaging.mercury.e2e.model.load.DuplicateStressResult;
+import aero.sita.messaging.mercury.e2e.model.load.LatencyStats;
+import aero.sita.messaging.mercury.e2e.model.load.LoadRunResult;
+import aero.sita.messaging.mercury.e2e.model.load.RateProfile;
+import aero.sita.messaging.mercury.e2e.model.mongodb.IncomingMessage;
+import aero.sita.messaging.mercury.e2e.model.mongodb.OutgoingMessage;
+import aero.sita.messaging.mercury.e2e.utilities.helper.MessageStoreHelper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Duplicate-detection stress mode: a load run where a fraction of the messages are exact
+ * re-injections (same identity, same body) of messages sent a given time earlier.
+ * <p>
+ * Once the run has drained, the message-store is read with batched {@code $in} queries until every
+ * duplicate has its second incoming document (or the timeout). Per offset, the run reports:
+ * - accuracy: stored duplicates flagged {@code possibleDuplicate}
+ * - detection latency: duplicate send to the createdDate of the flagged document
+ * First copies and a uniform sample of the never-duplicated messages of the whole run must not be
+ * flagged (false positives); outgoing documents of flagged duplicates are checked for the flag as well.
+ * <p>
+ * Offsets larger than Mercury's duplicate window are expected to go undetected, which is how the
+ * window shows up in the report ({@code duplicates_<timestamp>.csv} in the load report directory).
+ */
+@Slf4j
+@Service
+public class DuplicateStressService {
+
+  private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+  private static final Comparator<IncomingMessage> BY_CREATED_DATE =
+      Comparator.comparing(IncomingMessage::getCreatedDate, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+  private final LoadGenerator loadGenerator;
+  private final MessageStoreHelper messageStoreHelper;
+  private final PollingProperties pollingProperties;
+  private final LoadProperties loadProperties;
+
+  @Autowired
+  public DuplicateStressService(LoadGenerator loadGenerator,
+                                MessageStoreHelper messageStoreHelper,
+                                PollingProperties pollingProperties,
+                                LoadProperties loadProperties) {
+    this.loadGenerator = loadGenerator;
+    this.messageStoreHelper = messageStoreHelper;
+    this.pollingProperties = pollingProperties;
+    this.loadProperties = loadProperties;
+  }
+
+  /**
+   * Runs the load with duplicates and verifies how they were flagged.
+   *
+   * @param profile           target rate over time (originals and duplicates together)
+   * @param duplicateFraction share of the messages that are duplicates, in [0, 1)
+   * @param offsets           times between an original and its duplicate, cycled through
+   * @return detection accuracy and latency per offset, and the false positives
+   */
+  public DuplicateStressResult run(RateProfile profile, double duplicateFraction, List<Duration> offsets) {
+    DuplicateMessageSource messages = new DuplicateMessageSource(LoadMessageSource.validMessages(),
+        duplicateFraction, offsets, loadProperties.getDuplicate().getOriginalSampleSize());
+    LoadRunResult run = loadGenerator.run(profile, messages);
+
+    List<DuplicateMessageSource.Duplicate> duplicates = messages.duplicates();
+    List<String> unduplicated = messages.unduplicatedSample();
+    Map<String, Integer> expectedDocs = new LinkedHashMap<>();
+    duplicates.forEach(duplicate -> expectedDocs.put(duplicate.messageIdentity(), 2));
+    unduplicated.forEach(identity -> expectedDocs.put(identity, 1));
+    Map<String, List<IncomingMessage>> docs = fetchIncoming(expectedDocs);
+
+    DuplicateStressResult result = verify(duplicates, unduplicated, docs);
+    result.setDuplicateFraction(duplicateFraction);
+    result.setRun(run);
+    result.setReport(writeReport(result).toString());
+    log.info(result.toSummary());
+    return result;
+  }
+
+  // ==================== Verification ====================
+
+  /**
+   * Polls the message-store in batches until every identity has its expected number of incoming
+   * documents, dropping resolved identities from the next rounds.
+   */
+  private Map<String, List<IncomingMessage>> fetchIncoming(Map<String, Integer> expectedDocs) {
+    LoadProperties.Duplicate settings = loadProperties.getDuplicate();
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(settings.getVerifyTimeoutSeconds());
+    int batchSize = Math.max(1, settings.getVerifyBatchSize());
+    Map<String, List<IncomingMessage>> docs = new HashMap<>();
+    List<String> pending = new ArrayList<>(expectedDocs.keySet());
+
+    while (!pending.isEmpty()) {
+      List<String> stillPending = new ArrayList<>();
+      for (int from = 0; from < pending.size(); from += batchSize) {
+        List<String> batch = pending.subList(from, Math.min(from + batchSize, pending.size()));
+        Map<String, List<IncomingMessage>> found = messageStoreHelper.searchByMessageIdentities(batch).stream()
+            .collect(Collectors.groupingBy(IncomingMessage::getMessageIdentity));
+        for (String identity : batch) {
+          List<IncomingMessage> identityDocs = found.getOrDefault(identity, List.of());
+          docs.put(identity, identityDocs);
+          if (identityDocs.size() < expectedDocs.get(identity)) {
+            stillPending.add(identity);
+          }
+        }
+      }
+      pending = stillPending;
+      if (pending.isEmpty() || System.nanoTime() >= deadline) {
+        break;
+      }
+      log.debug("Duplicate stress: {} identities still incomplete in the message-store", pending.size());
+      LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(pollingProperties.getMessageStore().getIntervalMillis()));
+    }
+    if (!pending.isEmpty()) {
+      log.warn("Duplicate stress: {} identities incomplete after {} s, e.g. {}", pending.size(),
+          settings.getVerifyTimeoutSeconds(), pending.subList(0, Math.min(10, pending.size())));
+    }
+    return docs;
+  }
+
+  private DuplicateStressResult verify(List<DuplicateMessageSource.Duplicate> duplicates, List<String> unduplicated,
+                                       Map<String, List<IncomingMessage>> docs) {
+    Map<Duration, OffsetAccumulator> byOffset = new LinkedHashMap<>();
+    List<String> flaggedIncomingIds = new ArrayList<>();
+    int originalsChecked = 0;
+    int falsePositives = 0;
+
+    for (DuplicateMessageSource.Duplicate duplicate : duplicates) {
+      OffsetAccumulator offset = byOffset.computeIfAbsent(duplicate.requestedOffset(), o -> new OffsetAccumulator());
+      offset.injected++;
+      List<IncomingMessage> copies = docs.getOrDefault(duplicate.messageIdentity(), List.of()).stream()
+          .sorted(BY_CREATED_DATE)
+          .toList();
+      if (!copies.isEmpty()) {
+        originalsChecked++;
+        if (Boolean.TRUE.equals(copies.getFirst().getPossibleDuplicate())) {
+          falsePositives++;
+        }
+      }
+      if (copies.size() < 2) {
+        continue;
+      }
+      offset.stored++;
+      IncomingMessage second = copies.get(1);
+      if (Boolean.TRUE.equals(second.getPossibleDuplicate())) {
+        offset.detected++;
+        flaggedIncomingIds.add(second.getId());
+        if (second.getCreatedDate() != null) {
+          long micros = TimeUnit.NANOSECONDS.toMicros(Duration.between(duplicate.sentAt(), second.getCreatedDate())
+              .toNanos());
+          offset.latency.recordValue(Math.min(Math.max(0, micros), OpenModelScheduler.HIGHEST_TRACKABLE_MICROS));
+        }
+      }
+    }
+
+    for (String identity : unduplicated) {
+      List<IncomingMessage> copies = docs.getOrDefault(identity, List.of());
+      if (!copies.isEmpty()) {
+        originalsChecked++;
+        if (copies.stream().anyMatch(message -> Boolean.TRUE.equals(message.getPossibleDuplicate()))) {
+          falsePositives++;
+        }
+      }
+    }
+
+    List<OutgoingMessage> outgoing = fetchOutgoing(flaggedIncomingIds);
+    return DuplicateStressResult.builder()
+        .offsets(byOffset.entrySet().stream()
+            .sorted(Map.Entry.comparingByKey())
+            .map(entry -> entry.getValue().toStats(entry.getKey()))
+            .collect(Collectors.toCollection(ArrayList::new)))
+        .originalsChecked(originalsChecked)
+        .falsePositives(falsePositives)
+        .outgoingChecked(outgoing.size())
+        .outgoingFlagged((int) outgoing.stream()
+            .filter(message -> Boolean.TRUE.equals(message.getPossibleDuplicate()))
+            .count())
+        .build();
+  }
+
+  private List<OutgoingMessage> fetchOutgoing(List<String> incomingIds) {
+    int batchSize = Math.max(1, loadProperties.getDuplicate().getVerifyBatchSize());
+    List<OutgoingMessage> outgoing = new ArrayList<>();
+    for (int from = 0; from < incomingIds.size(); from += batchSize) {
+      outgoing.addAll(messageStoreHelper.searchOutgoingByIncomingMessageIds(
+          incomingIds.subList(from, Math.min(from + batchSize, incomingIds.size()))));
+    }
+    return outgoing;
+  }
+
+  private static final class OffsetAccumulator {
+    private final Histogram latency = new Histogram(OpenModelScheduler.HIGHEST_TRACKABLE_MICROS,
+        OpenModelScheduler.SIGNIFICANT_DIGITS);
+    private int injected;
+    private int stored;
+    private int detected;
+
+    private DuplicateOffsetStats toStats(Duration offset) {
+      return DuplicateOffsetStats.builder()
+          .offset(offset)
+          .injected(injected)
+          .stored(stored)
+          .detected(detected)
+          .detectionLatency(LatencyStats.fromMicros(latency))
+          .build();
+    }
+  }
+
+  // ==================== Report ====================
+
+  private Path writeReport(DuplicateStressResult result) {
+    Path report = Paths.get(loadProperties.getReportDir(),
+        "duplicates_" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".csv");
+    StringBuilder sb = new StringBuilder("offsetMs,duplicateFraction,injected,stored,detected,accuracy,"
+        + "detectionP50Ms,detectionP99Ms,detectionMaxMs,falsePositives,originalsChecked\n");
+    for (DuplicateOffsetStats stats : result.getOffsets()) {
+      sb.append(String.format(Locale.ROOT, "%d,%.3f,%d,%d,%d,%.4f,%.1f,%.1f,%.1f,%d,%d%n",
+          stats.getOffset().toMillis(), result.getDuplicateFraction(), stats.getInjected(), stats.getStored(),
+          stats.getDetected(), stats.getAccuracy(), stats.getDetectionLatency().getP50(),
+          stats.getDetectionLatency().getP99(), stats.getDetectionLatency().getMax(), result.getFalsePositives(),
+          result.getOriginalsChecked()));
+    }
+    try {
+      Files.createDirectories(report.getParent());
+      Files.writeString(report, sb.toString());
+      return report;
+    } catch (IOException e) {
+      throw new TestHarnessException("Could not write duplicate report: " + e.getMessage(), e);
+    }
+  }
+}
@@ -0,0 +1,225 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.service.load;
+
+import aero.sita.messaging.mercury.e2e.config.LoadProperties;
+import aero.sita.messaging.mercury.e2e.config.PollingProperties;
+import aero.sita.messaging.mercury.e2e.exception.TestHarnessException;
+import aero.sita.messaging.mercury.e2e.model.load.FanOutBenchmarkResult;
+import aero.sita.messaging.mercury.e2e.model.load.FanOutStep;
+import aero.sita.messaging.mercury.e2e.model.load.LatencyStats;
+import aero.sita.messaging.mercury.e2e.model.load.LoadMessage;
+import aero.sita.messaging.mercury.e2e.model.load.LoadRunResult;
+import aero.sita.messaging.mercury.e2e.model.load.RateProfile;
+import aero.sita.messaging.mercury.e2e.model.mongodb.IncomingMessage;
+import aero.sita.messaging.mercury.e2e.model.mongodb.OutgoingMessage;
+import aero.sita.messaging.mercury.e2e.utilities.format.typeb.util.AddressUtils;
+import aero.sita.messaging.mercury.e2e.utilities.helper.MessageStoreHelper;
+import aero.sita.messaging.mercury.e2e.utilities.helper.PollingHelper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Fan-out benchmark: the same constant rate with messages addressed to more and more destinations.
+ * <p>
+ * For every width (1 to {@code MAX_ADDRESSES_PER_LINE * MAX_ADDRESS_LINES} = 32), a sample of the
+ * injected messages is checked in the message-store: the incoming message is found by identity,
+ * then ALL its outgoing messages through the {@code incomingMessageId} index. The step reports:
+ * - how many outgoing messages were found against the expected one per destination
+ * - end-to-end latency, from the incoming createdDate to the last outgoing StatusLog entry
+ * - outgoing documents created per second while the step was running
+ * <p>
+ * The destinations must route to distinct outgoing connections in the target environment,
+ * otherwise Mercury may legitimately create fewer outgoing messages than addresses.
+ * Results are written to {@code fanout_<timestamp>.csv} in the load report directory.
+ */
+@Slf4j
+@Service
+public class FanOutBenchmarkService {
+
+  public static final int MAX_FAN_OUT = AddressUtils.MAX_ADDRESSES_PER_LINE * AddressUtils.MAX_ADDRESS_LINES;
+
+  private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+
+  private final LoadGenerator loadGenerator;
+  private final MessageStoreHelper messageStoreHelper;
+  private final PollingHelper pollingHelper;
+  private final PollingProperties pollingProperties;
+  private final LoadProperties loadProperties;
+
+  @Autowired
+  public FanOutBenchmarkService(LoadGenerator loadGenerator,
+                                MessageStoreHelper messageStoreHelper,
+                                PollingHelper pollingHelper,
+                                PollingProperties pollingProperties,
+                                LoadProperties loadProperties) {
+    this.loadGenerator = loadGenerator;
+    this.messageStoreHelper = messageStoreHelper;
+    this.pollingHelper = pollingHelper;
+    this.pollingProperties = pollingProperties;
+    this.loadProperties = loadProperties;
+  }
+
+  /**
+   * Runs one constant-rate step per width.
+   *
+   * @param widths       fan-out widths to measure, e.g. [1, 2, 4, 8, 16, 32]
+   * @param destinations distinct destination addresses; the first {@code width} are used
+   * @param rate         incoming messages per second
+   * @param stepDuration duration of each step
+   * @return per-width measurements
+   */
+  public FanOutBenchmarkResult benchmark(List<Integer> widths, List<String> destinations, double rate,
+                                         Duration stepDuration) {
+    List<String> distinct = new ArrayList<>(new LinkedHashSet<>(destinations));
+    for (int width : widths) {
+      if (width < 1 || width > MAX_FAN_OUT || width > distinct.size()) {
+        throw new IllegalArgumentException(String.format("Fan-out width %d must be between 1 and %d "
+            + "and not exceed the %d distinct destinations", width, MAX_FAN_OUT, distinct.size()));
+      }
+    }
+
+    FanOutBenchmarkResult result = FanOutBenchmarkResult.builder().rate(rate).build();
+    for (int width : widths) {
+      result.getSteps().add(runStep(width, distinct.subList(0, width), rate, stepDuration));
+    }
+    result.setReport(writeReport(result).toString());
+    log.info(result.toSummary());
+    return result;
+  }
+
+  // ==================== Steps ====================
+
+  private FanOutStep runStep(int width, List<String> addresses, double rate, Duration stepDuration) {
+    long expected = Math.max(1, (long) (rate * stepDuration.toSeconds()));
+    long sampleEvery = Math.max(1, expected / Math.max(1, loadProperties.getFanOut().getVerifySampleSize()));
+    List<String> sample = new ArrayList<>();
+    LoadMessageSource messages = LoadMessageSource.fanOut(addresses, "fan-out " + width);
+
+    Instant start = Instant.now();
+    LoadRunResult run = loadGenerator.run(RateProfile.constant(rate, stepDuration), sequence -> {
+      LoadMessage message = messages.next(sequence);
+      if (sequence % sampleEvery == 0) {
+        sample.add(message.getMessageIdentity());
+      }
+      return message;
+    });
+    Instant end = Instant.now();
+
+    FanOutStep step = verify(width, sample);
+    step.setRun(run);
+    double seconds = Math.max(1e-3, Duration.between(start, end).toMillis() / 1000.0);
+    step.setOutgoingDocsPerSecond(messageStoreHelper.countOutgoingCreatedBetween(start, end) / seconds);
+    return step;
+  }
+
+  private FanOutStep verify(int width, List<String> sample) {
+    Histogram endToEnd = new Histogram(OpenModelScheduler.HIGHEST_TRACKABLE_MICROS,
+        OpenModelScheduler.SIGNIFICANT_DIGITS);
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(loadProperties.getFanOut().getVerifyTimeoutSeconds());
+    long interval = pollingProperties.getMessageStore().getIntervalMillis();
+    int complete = 0;
+    long found = 0;
+
+    for (String identity : sample) {
+      Optional<IncomingMessage> incoming = messageStoreHelper.searchByMessageIdentity(identity).stream()
+          .max(Comparator.comparing(IncomingMessage::getCreatedDate, Comparator.nullsFirst(Comparator.naturalOrder())));
+      if (incoming.isEmpty()) {
+        log.warn("Fan-out {}: incoming message {} not found", width, identity);
+        continue;
+      }
+      AtomicReference<List<OutgoingMessage>> outgoing = new AtomicReference<>(List.of());
+      int remainingSeconds = (int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(deadline - System.nanoTime()));
+      pollingHelper.pollUntilTrue(() -> {
+        outgoing.set(messageStoreHelper.searchOutgoingByIncomingMessageId(incoming.get().getId()));
+        return outgoing.get().size() >= width;
+      }, remainingSeconds, interval);
+
+      found += outgoing.get().size();
+      if (outgoing.get().size() >= width) {
+        complete++;
+      } else {
+        log.warn("Fan-out {}: {} has {} of {} outgoing messages", width, identity, outgoing.get().size(), width);
+      }
+      Instant created = incoming.get().getCreatedDate();
+      Optional<Instant> last = lastOutgoingStatus(outgoing.get());
+      if (created != null && last.isPresent()) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(Duration.between(created, last.get()).toNanos());
+        endToEnd.recordValue(Math.min(Math.max(0, micros), OpenModelScheduler.HIGHEST_TRACKABLE_MICROS));
+      }
+    }
+
+    return FanOutStep.builder()
+        .width(width)
+        .incomingChecked(sample.size())
+        .incomingComplete(complete)
+        .outgoingExpected((long) sample.size() * width)
+        .outgoingFound(found)
+        .endToEnd(LatencyStats.fromMicros(endToEnd))
+        .build();
+  }
+
+  /**
+   * Latest StatusLog timestamp over all outgoing messages (LocalDateTime in the JVM zone); documents
+   * without statusLogs are skipped.
+   */
+  private static Optional<Instant> lastOutgoingStatus(List<OutgoingMessage> outgoing) {
+    return outgoing.stream()
+        .filter(message -> message.getStatusLogs() != null)
+        .flatMap(message -> message.getStatusLogs().stream())
+        .map(OutgoingMessage.StatusLog::getTimestamp)
+        .filter(Objects::nonNull)
+        .max(Comparator.naturalOrder())
+        .map(timestamp -> timestamp.atZone(ZoneId.systemDefault()).toInstant());
+  }
+
+  // ==================== Report ====================
+
+  private Path writeReport(FanOutBenchmarkResult result) {
+    Path report = Paths.get(loadProperties.getReportDir(),
+        "fanout_" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".csv");
+    StringBuilder sb = new StringBuilder("width,rate,sent,missing,harnessP99Ms,incomingChecked,incomingComplete,"
+        + "outgoingExpected,outgoingFound,endToEndP50Ms,endToEndP99Ms,outgoingDocsPerSecond\n");
+    for (FanOutStep step : result.getSteps()) {
+      sb.append(String.format(Locale.ROOT, "%d,%.1f,%d,%d,%.1f,%d,%d,%d,%d,%.1f,%.1f,%.1f%n",
+          step.getWidth(), result.getRate(), step.getRun().getSent(), step.getRun().getMissing(),
+          step.getRun().getLatency().getP99(), step.getIncomingChecked(), step.getIncomingComplete(),
+          step.getOutgoingExpected(), step.getOutgoingFound(), step.getEndToEnd().getP50(),
+          step.getEndToEnd().getP99(), step.getOutgoingDocsPerSecond()));
+    }
+    try {
+      Files.createDirectories(report.getParent());
+      Files.writeString(report, sb.toString());
+      return report;
+    } catch (IOException e) {
+      throw new TestHarnessException("Could not write fan-out report: " + e.getMessage(), e);
+    }
+  }
+}
@@ -0,0 +1,201 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.service.load;
+
+import aero.sita.messaging.mercury.e2e.client.testharness.TestHarnessClient;
+import aero.sita.messaging.mercury.e2e.config.LoadProperties;
+import aero.sita.messaging.mercury.e2e.model.load.HarnessLoadProfile;
+import aero.sita.messaging.mercury.e2e.model.load.HarnessProfileResult;
+import aero.sita.messaging.mercury.e2e.model.testharness.response.ResultResponse;
+import aero.sita.messaging.mercury.e2e.utilities.format.typeb.TypeBMessageFactory;
+import aero.sita.messaging.mercury.e2e.utilities.generator.MessageIdentityGenerator;
+import aero.sita.messaging.mercury.e2e.utilities.helper.MessageInjectionHelper;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Orchestrates load generated by the test-harness itself, so the framework JVM is never the
+ * bottleneck of the measurement:
+ * - define: registers a profile (rate, duration, message template, destinations)
+ * - pre-load: sends every message with {@code preLoad=true} and the profile's {@code loadProfileId};
+ *   the harness stores them without sending (this part is not measured)
+ * - run: triggers the profile ({@code preLoad=false}, no message), tracks the receipts of the
+ *   pre-loaded identities and reads the harness result of the profile
+ * <p>
+ * The harness paces the sends itself and is not told the profile rate, so receipts are measured from
+ * the trigger: the resulting spread (first delivery, percentiles, last delivery) and the receive rate
+ * are what the harness and Mercury actually produced.
+ */
+@Slf4j
+@Service
+public class HarnessLoadProfileService {
+
+  private final MessageInjectionHelper messageInjectionHelper;
+  private final TestHarnessClient testHarnessClient;
+  private final LoadProperties loadProperties;
+  private final Map<Long, HarnessLoadProfile> profiles = new ConcurrentHashMap<>();
+  private final Map<Long, PreLoad> preLoads = new ConcurrentHashMap<>();
+
+  @Autowired
+  public HarnessLoadProfileService(MessageInjectionHelper messageInjectionHelper,
+                                   TestHarnessClient testHarnessClient,
+                                   LoadProperties loadProperties) {
+    this.messageInjectionHelper = messageInjectionHelper;
+    this.testHarnessClient = testHarnessClient;
+    this.loadProperties = loadProperties;
+  }
+
+  /**
+   * Registers a profile, replacing any earlier definition with the same ID.
+   *
+   * @param profile the profile to define
+   */
+  public void define(HarnessLoadProfile profile) {
+    if (profile.getRate() <= 0 || profile.getDuration() == null || profile.getDuration().isNegative()
+        || profile.getDuration().isZero()) {
+      throw new IllegalArgumentException("Load profile needs a positive rate and duration: " + profile);
+    }
+    if (profile.getMessageTemplate() != null
+        && !profile.getMessageTemplate().contains(HarnessLoadProfile.IDENTITY_PLACEHOLDER)) {
+      throw new IllegalArgumentException("Message template must contain " + HarnessLoadProfile.IDENTITY_PLACEHOLDER
+          + " so every message can be tracked");
+    }
+    profiles.put(profile.getId(), profile);
+    preLoads.remove(profile.getId());
+    log.info("Harness load {} defined", profile);
+  }
+
+  /**
+   * Pre-loads every message of a defined profile into the harness.
+   *
+   * @param profileId the profile ID
+   * @return number of messages pre-loaded
+   */
+  public long preLoad(long profileId) {
+    HarnessLoadProfile profile = require(profileId);
+    if (loadProperties.isClearHarnessBeforeRun()) {
+      testHarnessClient.clearMessages();
+    }
+    long start = System.nanoTime();
+    List<String> identities = new ArrayList<>(profile.getMessageCount());
+    long errors = 0;
+    for (int i = 0; i < profile.getMessageCount(); i++) {
+      String identity = MessageIdentityGenerator.generate();
+      try {
+        messageInjectionHelper.preLoadRawMessage(render(profile, identity), profile.getDestinations(), profileId);
+        identities.add(identity);
+      } catch (Exception e) {
+        errors++;
+        log.warn("Pre-load {} of profile {} failed: {}", i, profileId, e.getMessage());
+      }
+    }
+    PreLoad preLoad = new PreLoad(identities, errors, Duration.ofNanos(System.nanoTime() - start));
+    preLoads.put(profileId, preLoad);
+    log.info("Harness load profile {}: {} messages pre-loaded ({} errors) in {} ms", profileId, identities.size(),
+        errors, preLoad.duration().toMillis());
+    return identities.size();
+  }
+
+  /**
+   * Triggers a pre-loaded profile and waits for its receipts (or the drain timeout after its duration).
+   *
+   * @param profileId the profile ID
+   * @return receipts, latency and the harness-reported elapsed time
+   */
+  public HarnessProfileResult run(long profileId) {
+    HarnessLoadProfile profile = require(profileId);
+    PreLoad preLoad = preLoads.get(profileId);
+    if (preLoad == null) {
+      throw new IllegalStateException("Load profile " + profileId + " has not been pre-loaded");
+    }
+
+    DeliveryTracker tracker = new DeliveryTracker();
+    Instant trigger = Instant.now();
+    for (String identity : preLoad.identities()) {
+      tracker.expect(identity, trigger, null);
+    }
+    ReceiptPoller receiptPoller = ReceiptPoller.start("profile-receipts", testHarnessClient, tracker,
+        loadProperties.getReceiptPollIntervalMillis());
+    long startNanos = System.nanoTime();
+    messageInjectionHelper.triggerLoadProfile(profile.getDestinations(), profileId);
+
+    long deadline = startNanos + profile.getDuration().toNanos()
+        + TimeUnit.SECONDS.toNanos(loadProperties.getDrainTimeoutSeconds());
+    while (tracker.outstandingCount() > 0 && System.nanoTime() < deadline) {
+      LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(loadProperties.getReceiptPollIntervalMillis()));
+    }
+    receiptPoller.stop();
+
+    Duration elapsed = tracker.lastReceipt() == null ? Duration.ofNanos(System.nanoTime() - startNanos)
+        : Duration.between(trigger, tracker.lastReceipt());
+    HarnessProfileResult result = HarnessProfileResult.builder()
+        .profile(profile.toString())
+        .profileId(profileId)
+        .preLoaded(preLoad.identities().size())
+        .preLoadErrors(preLoad.errors())
+        .preLoadDuration(preLoad.duration())
+        .received(tracker.received())
+        .missing(tracker.outstandingCount())
+        .missingIdentities(tracker.outstandingIdentities().stream()
+            .limit(loadProperties.getMissingSampleSize()).toList())
+        .elapsed(elapsed)
+        .receiveRate(tracker.received() / Math.max(1e-3, elapsed.toMillis() / 1000.0))
+        .sinceTrigger(tracker.latency())
+        .harnessElapsedSeconds(harnessElapsedSeconds(profileId))
+        .build();
+    log.info(result.toSummary());
+    return result;
+  }
+
+  // ==================== Internals ====================
+
+  private HarnessLoadProfile require(long profileId) {
+    HarnessLoadProfile profile = profiles.get(profileId);
+    if (profile == null) {
+      throw new IllegalStateException("Load profile " + profileId + " is not defined");
+    }
+    return profile;
+  }
+
+  private static String render(HarnessLoadProfile profile, String identity) {
+    if (profile.getMessageTemplate() == null) {
+      return TypeBMessageFactory.validMessageWithIdentity(identity).toMessageString();
+    }
+    return profile.getMessageTemplate().replace(HarnessLoadProfile.IDENTITY_PLACEHOLDER, identity);
+  }
+
+  /**
+   * Reads the harness result of the profile; only kept when it refers to this profile.
+   */
+  private Integer harnessElapsedSeconds(long profileId) {
+    try {
+      ResultResponse result = testHarnessClient.getResultById(profileId);
+      if (result != null && result.getLoadProfileId() != null && result.getLoadProfileId() == profileId) {
+        return result.getElapsedTimeInSeconds();
+      }
+      log.warn("Harness result {} does not belong to load profile {}: {}", profileId, profileId, result);
+    } catch (Exception e) {
+      log.warn("No harness result for load profile {}: {}", profileId, e.getMessage());
+    }
+    return null;
+  }
+
+  private record PreLoad(List<String> identities, long errors, Duration duration) {
+  }
+}
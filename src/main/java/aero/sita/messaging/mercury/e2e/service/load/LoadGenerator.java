@@ -0,0 +1,140 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.service.load;
+
+import aero.sita.messaging.mercury.e2e.client.testharness.TestHarnessClient;
+import aero.sita.messaging.mercury.e2e.config.LoadProperties;
+import aero.sita.messaging.mercury.e2e.model.load.LatencyStats;
+import aero.sita.messaging.mercury.e2e.model.load.LoadMessage;
+import aero.sita.messaging.mercury.e2e.model.load.LoadRunResult;
+import aero.sita.messaging.mercury.e2e.model.load.RateProfile;
+import aero.sita.messaging.mercury.e2e.utilities.helper.MessageInjectionHelper;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Open-model load generator built on {@link MessageInjectionHelper}.
+ * <p>
+ * Messages are injected by the {@link OpenModelScheduler} at the INTENDED start times derived
+ * from the {@link RateProfile}, so a slow harness never delays the following sends. Latency is
+ * measured from the intended start time to the harness hand-off timestamp, which keeps injector
+ * stalls visible instead of hiding them (coordinated omission).
+ * <p>
+ * Every injected identity is tracked until it appears in the harness received list or the drain
+ * timeout expires. Note: latency compares the local clock with the harness clock; keep both
+ * NTP-synchronised.
+ */
+@Slf4j
+@Service
+public class LoadGenerator {
+
+  private final MessageInjectionHelper messageInjectionHelper;
+  private final TestHarnessClient testHarnessClient;
+  private final LoadProperties loadProperties;
+
+  @Autowired
+  public LoadGenerator(MessageInjectionHelper messageInjectionHelper,
+                       TestHarnessClient testHarnessClient,
+                       LoadProperties loadProperties) {
+    this.messageInjectionHelper = messageInjectionHelper;
+    this.testHarnessClient = testHarnessClient;
+    this.loadProperties = loadProperties;
+  }
+
+  /**
+   * Runs a load profile and waits for all receipts (or the drain timeout).
+   *
+   * @param profile target rate over time
+   * @param source  messages to inject
+   * @return throughput and latency of the run
+   */
+  public LoadRunResult run(RateProfile profile, LoadMessageSource source) {
+    log.info("Load run starting: {}", profile);
+    if (loadProperties.isClearHarnessBeforeRun()) {
+      testHarnessClient.clearMessages();
+    }
+
+    DeliveryTracker tracker = new DeliveryTracker();
+    ReceiptPoller receiptPoller = ReceiptPoller.start("load-receipts", testHarnessClient, tracker,
+        loadProperties.getReceiptPollIntervalMillis());
+
+    long startNanos = System.nanoTime();
+    OpenModelScheduler.Outcome outcome = new OpenModelScheduler(messageInjectionHelper, loadProperties.getMaxInFlight())
+        .run(profile, source, new OpenModelScheduler.Listener() {
+          @Override
+          public boolean scheduled(long sequence, LoadMessage message, Instant intendedSend) {
+            if (message.isUntracked()) {
+              return true;
+            }
+            tracker.expect(message.getMessageIdentity(), intendedSend, message.getGroup(),
+                message.getExpectedQueue());
+            return true;
+          }
+
+          @Override
+          public void sendFailed(long sequence, LoadMessage message) {
+            if (!message.isUntracked()) {
+              tracker.cancel(message.getMessageIdentity());
+            }
+          }
+        });
+    long backlog = tracker.outstandingCount();
+    log.info("Load run injection finished: sent={}, errors={}, outstanding={}",
+        outcome.sent(), outcome.sendErrors(), backlog);
+
+    awaitDrain(tracker);
+    receiptPoller.stop();
+
+    return buildResult(profile, tracker, outcome, backlog, startNanos);
+  }
+
+  // ==================== Internals ====================
+
+  private void awaitDrain(DeliveryTracker tracker) {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(loadProperties.getDrainTimeoutSeconds());
+    while (tracker.outstandingCount() > 0 && System.nanoTime() < deadline) {
+      LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(loadProperties.getReceiptPollIntervalMillis()));
+    }
+  }
+
+  private LoadRunResult buildResult(RateProfile profile, DeliveryTracker tracker, OpenModelScheduler.Outcome outcome,
+                                    long backlog, long startNanos) {
+    Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+    Duration injectionDuration = outcome.injectionDuration();
+    LoadRunResult result = LoadRunResult.builder()
+        .profile(profile.toString())
+        .sent(outcome.sent())
+        .sendErrors(outcome.sendErrors())
+        .received(tracker.received())
+        .missing(tracker.outstandingCount())
+        .misrouted(tracker.misrouted())
+        .misroutedByGroup(tracker.misroutedByGroup())
+        .backlogAtInjectionEnd(backlog)
+        .missingIdentities(tracker.outstandingIdentities().stream()
+            .limit(loadProperties.getMissingSampleSize()).toList())
+        .elapsed(elapsed)
+        .injectionDuration(injectionDuration)
+        .sendRate(outcome.sent() / Math.max(1e-9, injectionDuration.toNanos() / 1e9))
+        .receiveRate(tracker.received() / Math.max(1e-9, elapsed.toNanos() / 1e9))
+        .latency(tracker.latency())
+        .latencyHistogram(tracker.latencyHistogram())
+        .sendLag(LatencyStats.fromMicros(outcome.sendLagMicros()))
+        .sendDuration(LatencyStats.fromMicros(outcome.sendDurationMicros()))
+        .latencyByGroup(tracker.latencyByGroup())
+        .build();
+    log.info(result.toSummary());
+    return result;
+  }
+}
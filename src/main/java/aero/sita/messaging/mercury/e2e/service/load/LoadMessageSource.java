@@ -0,0 +1,132 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.service.load;
+
+import aero.sita.messaging.mercury.e2e.model.load.LoadMessage;
+import aero.sita.messaging.mercury.e2e.utilities.format.typeb.TypeBMessageFactory;
+import aero.sita.messaging.mercury.e2e.utilities.generator.MessageIdentityGenerator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Supplies the messages of a load run. Called from the scheduler thread only.
+ */
+@FunctionalInterface
+public interface LoadMessageSource {
+
+  /**
+   * Creates the message for the given position in the run.
+   *
+   * @param sequence zero-based sequence number of the message in the run
+   * @return the message to inject
+   */
+  LoadMessage next(long sequence);
+
+  /**
+   * Valid default Type B messages ({@link TypeBMessageFactory#validMessageWithIdentity(String)}),
+   * each with a fresh identity, injected into the default queue.
+   *
+   * @return the message source
+   */
+  static LoadMessageSource validMessages() {
+    return sequence -> {
+      String identity = MessageIdentityGenerator.generate();
+      return LoadMessage.builder()
+          .messageIdentity(identity)
+          .content(TypeBMessageFactory.validMessageWithIdentity(identity).toMessageString())
+          .build();
+    };
+  }
+
+  /**
+   * Valid Type B messages with a mix of priority indicators, grouped by priority class so the
+   * load result reports latency per class.
+   * <p>
+   * The mix is spread evenly over the run (low-discrepancy sequence), so every window of a few
+   * dozen messages already has the requested proportions; there is no burst of one priority.
+   *
+   * @param shareByPriority relative share per priority indicator, e.g. {QD=90, QU=10}
+   * @param priorityClass   maps a priority indicator to its class (group), e.g. "QU" -> "URGENT"
+   * @return the message source
+   */
+  static LoadMessageSource priorityMix(Map<String, Double> shareByPriority, UnaryOperator<String> priorityClass) {
+    List<String> priorities = new ArrayList<>(shareByPriority.keySet());
+    double total = shareByPriority.values().stream().mapToDouble(Double::doubleValue).sum();
+    if (priorities.isEmpty() || total <= 0) {
+      throw new IllegalArgumentException("Priority mix needs at least one positive share: " + shareByPriority);
+    }
+    double[] cumulative = new double[priorities.size()];
+    double running = 0;
+    for (int i = 0; i < priorities.size(); i++) {
+      running += shareByPriority.get(priorities.get(i)) / total;
+      cumulative[i] = running;
+    }
+    double goldenRatioConjugate = (Math.sqrt(5) - 1) / 2;
+    return sequence -> {
+      double position = (sequence * goldenRatioConjugate) % 1.0;
+      int index = 0;
+      while (index < cumulative.length - 1 && position >= cumulative[index]) {
+        index++;
+      }
+      String priority = priorities.get(index);
+      String identity = MessageIdentityGenerator.generate();
+      return LoadMessage.builder()
+          .messageIdentity(identity)
+          .content(TypeBMessageFactory.validMessageWithPriority(priority, identity).toMessageString())
+          .group(priorityClass.apply(priority))
+          .build();
+    };
+  }
+
+  /**
+   * Valid Type B messages addressed to every given destination (fan-out), all in one group.
+   *
+   * @param addresses destination addresses, one outgoing message expected per address
+   * @param group     reporting group, e.g. "fan-out 8"
+   * @return the message source
+   */
+  static LoadMessageSource fanOut(List<String> addresses, String group) {
+    List<String> destinations = List.copyOf(addresses);
+    return sequence -> {
+      String identity = MessageIdentityGenerator.generate();
+      return LoadMessage.builder()
+          .messageIdentity(identity)
+          .content(TypeBMessageFactory.validMessageWithAddresses("QP", destinations, identity).toMessageString())
+          .group(group)
+          .build();
+    };
+  }
+
+  /**
+   * Replays one partition of a pre-generated corpus (see {@link TypeBCorpus}), cycling through it
+   * when the run is longer. Messages are copied from the mapped file as they were generated; only
+   * their identity is replaced by a fresh one, so replaying the same corpus twice never trips the
+   * duplicate detection. Records are grouped by template, and the invalid ones are sent untracked.
+   *
+   * @param corpus    mapped corpus, kept open for the whole run
+   * @param partition records replayed by this worker
+   * @return the message source
+   */
+  static LoadMessageSource corpus(TypeBCorpus corpus, TypeBCorpus.Partition partition) {
+    SequencedIdentities identities = new SequencedIdentities();
+    return sequence -> {
+      long index = partition.recordAt(sequence);
+      String identity = corpus.hasIdentity(index) ? identities.identity(sequence) : null;
+      return LoadMessage.builder()
+          .messageIdentity(identity)
+          .content(corpus.content(index, identity))
+          .group(corpus.templateName(index))
+          .untracked(identity == null || !corpus.isValid(index))
+          .build();
+    };
+  }
+}
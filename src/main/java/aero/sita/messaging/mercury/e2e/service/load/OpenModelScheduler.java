@@ -0,0 +1,141 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.service.load;
+
+import aero.sita.messaging.mercury.e2e.model.load.LoadMessage;
+import aero.sita.messaging.mercury.e2e.model.load.RateProfile;
+import aero.sita.messaging.mercury.e2e.utilities.helper.MessageInjectionHelper;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Open-model injection loop shared by the load and soak runs.
+ * <p>
+ * A single scheduler thread computes the INTENDED start time of every message from the
+ * {@link RateProfile} and hands each send to its own virtual thread, so a slow harness never
+ * delays the following sends. A send that would exceed the in-flight limit is counted as an error
+ * instead of being delayed, so the schedule is never bent by the system under test.
+ */
+@Slf4j
+final class OpenModelScheduler {
+
+  static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+  static final int SIGNIFICANT_DIGITS = 3;
+
+  private final MessageInjectionHelper messageInjectionHelper;
+  private final int maxInFlight;
+
+  OpenModelScheduler(MessageInjectionHelper messageInjectionHelper, int maxInFlight) {
+    this.messageInjectionHelper = messageInjectionHelper;
+    this.maxInFlight = maxInFlight;
+  }
+
+  /**
+   * Callbacks around every scheduled message. Called from the scheduler thread, except
+   * {@link #sendFailed} which runs on the sending virtual thread.
+   */
+  interface Listener {
+
+    /**
+     * Called before the send is submitted.
+     *
+     * @return false to skip the message (counted as a send error)
+     */
+    boolean scheduled(long sequence, LoadMessage message, Instant intendedSend);
+
+    void sendFailed(long sequence, LoadMessage message);
+  }
+
+  /**
+   * Injection counters of a finished schedule.
+   */
+  record Outcome(long sent, long sendErrors, Duration injectionDuration, Histogram sendLagMicros,
+                 Histogram sendDurationMicros) {
+  }
+
+  /**
+   * Runs the schedule to completion (all sends returned).
+   */
+  Outcome run(RateProfile profile, LoadMessageSource source, Listener listener) {
+    ConcurrentHistogram sendLag = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    ConcurrentHistogram sendDuration = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    AtomicLong sent = new AtomicLong();
+    AtomicLong sendErrors = new AtomicLong();
+    Semaphore inFlight = new Semaphore(maxInFlight);
+
+    long startNanos = System.nanoTime();
+    Instant startWall = Instant.now();
+    double durationSeconds = profile.getDuration().toNanos() / 1e9;
+
+    try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+      double offsetSeconds = 0;
+      long sequence = 0;
+      while (offsetSeconds < durationSeconds) {
+        long intendedNanos = startNanos + (long) (offsetSeconds * 1e9);
+        parkUntil(intendedNanos);
+
+        long seq = sequence++;
+        LoadMessage message = source.next(seq);
+        if (!listener.scheduled(seq, message, startWall.plusNanos(intendedNanos - startNanos))) {
+          sendErrors.incrementAndGet();
+        } else if (!inFlight.tryAcquire()) {
+          listener.sendFailed(seq, message);
+          sendErrors.incrementAndGet();
+        } else {
+          senders.submit(() -> {
+            try {
+              send(message, intendedNanos, sendLag, sendDuration);
+              sent.incrementAndGet();
+            } catch (Exception e) {
+              listener.sendFailed(seq, message);
+              sendErrors.incrementAndGet();
+              log.warn("Load send failed for {}: {}", message.getMessageIdentity(), e.getMessage());
+            } finally {
+              inFlight.release();
+            }
+          });
+        }
+        offsetSeconds += 1.0 / profile.rateAt(offsetSeconds);
+      }
+    }
+    return new Outcome(sent.get(), sendErrors.get(), Duration.ofNanos(System.nanoTime() - startNanos), sendLag,
+        sendDuration);
+  }
+
+  private void send(LoadMessage message, long intendedNanos, ConcurrentHistogram sendLag,
+                    ConcurrentHistogram sendDuration) {
+    long startNanos = System.nanoTime();
+    sendLag.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(Math.max(0, startNanos - intendedNanos)),
+        HIGHEST_TRACKABLE_MICROS));
+    if (message.getQueueName() == null) {
+      messageInjectionHelper.injectRawMessage(message.getContent());
+    } else {
+      messageInjectionHelper.injectRawMessage(message.getContent(), message.getQueueName());
+    }
+    sendDuration.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos),
+        HIGHEST_TRACKABLE_MICROS));
+  }
+
+  private static void parkUntil(long deadlineNanos) {
+    long remaining;
+    while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+      LockSupport.parkNanos(remaining);
+    }
+  }
+}
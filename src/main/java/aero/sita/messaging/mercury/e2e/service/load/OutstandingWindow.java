@@ -0,0 +1,125 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.service.load;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size sliding window of outstanding messages, keyed by run sequence number.
+ * <p>
+ * Each slot holds the intended send time (epoch micros) of one outstanding message, or 0 once
+ * the message is received, cancelled or expired. Memory is {@code capacity * 8} bytes whatever
+ * the run length. Threading:
+ * - {@link #add} is called by the scheduler thread only (it owns {@code head})
+ * - {@link #resolve} and {@link #expire} are called by the receipt thread only (it owns {@code tail})
+ * - {@link #cancel} may be called from any sending thread
+ * Slots are claimed with getAndSet, so every message is resolved exactly once.
+ */
+final class OutstandingWindow {
+
+  private final AtomicLongArray intendedMicros;
+  private final int mask;
+  private final AtomicLong outstanding = new AtomicLong();
+  private volatile long head;
+  private volatile long tail;
+
+  OutstandingWindow(int requestedCapacity) {
+    int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+    this.intendedMicros = new AtomicLongArray(capacity);
+    this.mask = capacity - 1;
+  }
+
+  /**
+   * Registers a message about to be sent.
+   *
+   * @return false when the window is full (oldest message not yet expired)
+   */
+  boolean add(long sequence, long intendedEpochMicros) {
+    if (sequence - tail > mask) {
+      return false;
+    }
+    intendedMicros.set(index(sequence), Math.max(1, intendedEpochMicros));
+    outstanding.incrementAndGet();
+    head = sequence + 1;
+    return true;
+  }
+
+  /**
+   * Removes a message whose send failed. Send calls time out long before a message can expire,
+   * so the slot cannot have been reused yet.
+   */
+  void cancel(long sequence) {
+    if (sequence >= tail && intendedMicros.getAndSet(index(sequence), 0) != 0) {
+      outstanding.decrementAndGet();
+    }
+  }
+
+  /**
+   * Marks a message as received.
+   *
+   * @return its intended send time (epoch micros), or -1 if it is unknown, already resolved or expired
+   */
+  long resolve(long sequence) {
+    if (sequence < tail || sequence >= head) {
+      return -1;
+    }
+    long intended = intendedMicros.getAndSet(index(sequence), 0);
+    if (intended == 0) {
+      return -1;
+    }
+    outstanding.decrementAndGet();
+    return intended;
+  }
+
+  /**
+   * Expires every outstanding message intended before the cutoff and slides the window forward.
+   *
+   * @param cutoffEpochMicros messages intended at or before this time are expired
+   * @param onExpired         receives the sequence and intended send time of each expired message
+   * @return number of expired messages
+   */
+  long expire(long cutoffEpochMicros, ExpiredConsumer onExpired) {
+    long expired = 0;
+    long limit = head;
+    long t = tail;
+    while (t < limit) {
+      long intended = intendedMicros.get(index(t));
+      if (intended > cutoffEpochMicros) {
+        break;
+      }
+      if (intended != 0 && intendedMicros.getAndSet(index(t), 0) != 0) {
+        outstanding.decrementAndGet();
+        onExpired.accept(t, intended);
+        expired++;
+      }
+      t++;
+    }
+    tail = t;
+    return expired;
+  }
+
+  long outstanding() {
+    return outstanding.get();
+  }
+
+  int capacity() {
+    return mask + 1;
+  }
+
+  private int index(long sequence) {
+    return (int) (sequence & mask);
+  }
+
+  @FunctionalInterface
+  interface ExpiredConsumer {
+    void accept(long sequence, long intendedEpochMicros);
+  }
+}
@@ -0,0 +1,260 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.service.load;
+
+import aero.sita.messaging.mercury.e2e.config.LoadProperties;
+import aero.sita.messaging.mercury.e2e.config.PollingProperties;
+import aero.sita.messaging.mercury.e2e.exception.TestHarnessException;
+import aero.sita.messaging.mercury.e2e.model.load.LatencyStats;
+import aero.sita.messaging.mercury.e2e.model.load.LoadMessage;
+import aero.sita.messaging.mercury.e2e.model.load.LoadRunResult;
+import aero.sita.messaging.mercury.e2e.model.load.PayloadScalingResult;
+import aero.sita.messaging.mercury.e2e.model.load.PayloadStep;
+import aero.sita.messaging.mercury.e2e.model.load.RateProfile;
+import aero.sita.messaging.mercury.e2e.model.mongodb.IncomingMessage;
+import aero.sita.messaging.mercury.e2e.utilities.helper.MessageStoreHelper;
+import aero.sita.messaging.mercury.e2e.utilities.helper.PollingHelper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Payload-size benchmark: the same constant rate with larger and larger message texts.
+ * <p>
+ * For every text size (up to {@code load.payload.max-text-bytes}), the step reports:
+ * - injection cost: duration of the harness send call
+ * - harness round trip: intended send to hand-off (the run latency)
+ * - message-store write latency: intended send to the incoming createdDate, over a sample
+ * - rawData retrieval cost: time to read the sampled incoming document once it exists
+ * <p>
+ * A linear model of the round-trip p50 is fitted on the smallest sizes; the first larger size
+ * that departs from it beyond the configured tolerance is reported as the knee.
+ * Results are written to {@code payload_<timestamp>.csv} in the load report directory.
+ */
+@Slf4j
+@Service
+public class PayloadScalingService {
+
+  private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+
+  private final LoadGenerator loadGenerator;
+  private final MessageStoreHelper messageStoreHelper;
+  private final PollingHelper pollingHelper;
+  private final PollingProperties pollingProperties;
+  private final LoadProperties loadProperties;
+
+  @Autowired
+  public PayloadScalingService(LoadGenerator loadGenerator,
+                               MessageStoreHelper messageStoreHelper,
+                               PollingHelper pollingHelper,
+                               PollingProperties pollingProperties,
+                               LoadProperties loadProperties) {
+    this.loadGenerator = loadGenerator;
+    this.messageStoreHelper = messageStoreHelper;
+    this.pollingHelper = pollingHelper;
+    this.pollingProperties = pollingProperties;
+    this.loadProperties = loadProperties;
+  }
+
+  /**
+   * Runs one constant-rate step per text size, smallest first.
+   *
+   * @param textSizes      message text sizes to measure, in bytes
+   * @param messagesOfSize creates the message source of a given text size
+   * @param rate           messages per second
+   * @param stepDuration   duration of each step
+   * @return per-size measurements and the knee, if any
+   */
+  public PayloadScalingResult benchmark(List<Integer> textSizes, IntFunction<LoadMessageSource> messagesOfSize,
+                                        double rate, Duration stepDuration) {
+    int maxTextBytes = loadProperties.getPayload().getMaxTextBytes();
+    for (int size : textSizes) {
+      if (size < 1 || size > maxTextBytes) {
+        throw new IllegalArgumentException(String.format("Text size %d must be between 1 and %d bytes "
+            + "(load.payload.max-text-bytes)", size, maxTextBytes));
+      }
+    }
+
+    PayloadScalingResult result = PayloadScalingResult.builder().rate(rate).build();
+    for (int size : textSizes.stream().distinct().sorted().toList()) {
+      result.getSteps().add(runStep(size, messagesOfSize.apply(size), rate, stepDuration));
+    }
+    result.setKneeTextBytes(detectKnee(result.getSteps()));
+    result.setReport(writeReport(result).toString());
+    log.info(result.toSummary());
+    return result;
+  }
+
+  // ==================== Steps ====================
+
+  private PayloadStep runStep(int textBytes, LoadMessageSource messages, double rate, Duration stepDuration) {
+    long expected = Math.max(1, (long) (rate * stepDuration.toSeconds()));
+    long sampleEvery = Math.max(1, expected / Math.max(1, loadProperties.getPayload().getStoreSampleSize()));
+    Map<String, Instant> sample = new LinkedHashMap<>();
+    AtomicInteger messageBytes = new AtomicInteger();
+
+    LoadRunResult run = loadGenerator.run(RateProfile.constant(rate, stepDuration), sequence -> {
+      LoadMessage message = messages.next(sequence);
+      messageBytes.set(message.getContent().length());
+      if (sequence % sampleEvery == 0) {
+        sample.put(message.getMessageIdentity(), Instant.now());
+      }
+      return message;
+    });
+
+    PayloadStep step = verify(textBytes, sample);
+    step.setMessageBytes(messageBytes.get());
+    step.setRun(run);
+    return step;
+  }
+
+  private PayloadStep verify(int textBytes, Map<String, Instant> sample) {
+    Histogram storeWrite = newHistogram();
+    Histogram rawDataRead = newHistogram();
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(loadProperties.getPayload().getStoreTimeoutSeconds());
+    long interval = pollingProperties.getMessageStore().getIntervalMillis();
+    int found = 0;
+    int truncated = 0;
+
+    for (Map.Entry<String, Instant> entry : sample.entrySet()) {
+      String identity = entry.getKey();
+      int remainingSeconds = (int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(deadline - System.nanoTime()));
+      boolean stored = pollingHelper.pollUntilTrue(
+          () -> !messageStoreHelper.searchByMessageIdentity(identity).isEmpty(), remainingSeconds, interval);
+      if (!stored) {
+        log.warn("Payload {} B: incoming message {} not found", textBytes, identity);
+        continue;
+      }
+
+      // Timed separately from the polling, so only the read of an existing document is measured
+      long readStart = System.nanoTime();
+      List<IncomingMessage> incoming = messageStoreHelper.searchByMessageIdentity(identity);
+      record(rawDataRead, System.nanoTime() - readStart);
+      if (incoming.isEmpty()) {
+        continue;
+      }
+      found++;
+      IncomingMessage message = incoming.getFirst();
+      if (message.getRawData() == null || message.getRawData().length() < textBytes) {
+        truncated++;
+        log.warn("Payload {} B: rawData of {} has {} characters", textBytes, identity,
+            message.getRawData() == null ? 0 : message.getRawData().length());
+      }
+      if (message.getCreatedDate() != null) {
+        record(storeWrite, Duration.between(entry.getValue(), message.getCreatedDate()).toNanos());
+      }
+    }
+
+    return PayloadStep.builder()
+        .textBytes(textBytes)
+        .storeChecked(sample.size())
+        .storeFound(found)
+        .rawDataTruncated(truncated)
+        .storeWrite(LatencyStats.fromMicros(storeWrite))
+        .rawDataRead(LatencyStats.fromMicros(rawDataRead))
+        .build();
+  }
+
+  // ==================== Knee ====================
+
+  /**
+   * Fits a least-squares line of round-trip p50 against text size on the smallest sizes, sets the
+   * prediction on every step and flags the larger sizes that exceed it beyond the tolerance.
+   *
+   * @param steps steps ordered by text size
+   * @return the first nonlinear text size, or null
+   */
+  Integer detectKnee(List<PayloadStep> steps) {
+    LoadProperties.Payload settings = loadProperties.getPayload();
+    int fitPoints = Math.min(Math.max(1, settings.getLinearFitPoints()), steps.size());
+    double meanX = 0;
+    double meanY = 0;
+    for (PayloadStep step : steps.subList(0, fitPoints)) {
+      meanX += step.getTextBytes() / (double) fitPoints;
+      meanY += step.getRun().getLatency().getP50() / fitPoints;
+    }
+    double covariance = 0;
+    double variance = 0;
+    for (PayloadStep step : steps.subList(0, fitPoints)) {
+      double dx = step.getTextBytes() - meanX;
+      covariance += dx * (step.getRun().getLatency().getP50() - meanY);
+      variance += dx * dx;
+    }
+    // A negative slope is jitter on a flat curve, not a faster large message
+    double slope = variance == 0 ? 0 : Math.max(0, covariance / variance);
+
+    Integer knee = null;
+    for (int i = 0; i < steps.size(); i++) {
+      PayloadStep step = steps.get(i);
+      double predicted = meanY + slope * (step.getTextBytes() - meanX);
+      double observed = step.getRun().getLatency().getP50();
+      step.setPredictedP50(predicted);
+      step.setNonlinear(i >= fitPoints
+          && observed > predicted * (1 + settings.getNonlinearTolerance())
+          && observed - predicted > settings.getNonlinearMinDeviationMillis());
+      if (step.isNonlinear() && knee == null) {
+        knee = step.getTextBytes();
+      }
+    }
+    return knee;
+  }
+
+  private static void record(Histogram histogram, long nanos) {
+    long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+    histogram.recordValue(Math.min(micros, OpenModelScheduler.HIGHEST_TRACKABLE_MICROS));
+  }
+
+  private static Histogram newHistogram() {
+    return new Histogram(OpenModelScheduler.HIGHEST_TRACKABLE_MICROS, OpenModelScheduler.SIGNIFICANT_DIGITS);
+  }
+
+  // ==================== Report ====================
+
+  private Path writeReport(PayloadScalingResult result) {
+    Path report = Paths.get(loadProperties.getReportDir(),
+        "payload_" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".csv");
+    StringBuilder sb = new StringBuilder("textBytes,messageBytes,rate,sent,missing,sendCallP50Ms,sendCallP99Ms,"
+        + "roundTripP50Ms,roundTripP99Ms,predictedP50Ms,nonlinear,storeChecked,storeFound,rawDataTruncated,"
+        + "storeWriteP50Ms,storeWriteP99Ms,rawDataReadP50Ms,rawDataReadP99Ms\n");
+    for (PayloadStep step : result.getSteps()) {
+      LoadRunResult run = step.getRun();
+      sb.append(String.format(Locale.ROOT,
+          "%d,%d,%.1f,%d,%d,%.1f,%.1f,%.1f,%.1f,%.1f,%b,%d,%d,%d,%.1f,%.1f,%.1f,%.1f%n",
+          step.getTextBytes(), step.getMessageBytes(), result.getRate(), run.getSent(), run.getMissing(),
+          run.getSendDuration().getP50(), run.getSendDuration().getP99(), run.getLatency().getP50(),
+          run.getLatency().getP99(), step.getPredictedP50(), step.isNonlinear(), step.getStoreChecked(),
+          step.getStoreFound(), step.getRawDataTruncated(), step.getStoreWrite().getP50(),
+          step.getStoreWrite().getP99(), step.getRawDataRead().getP50(), step.getRawDataRead().getP99()));
+    }
+    try {
+      Files.createDirectories(report.getParent());
+      Files.writeString(report, sb.toString());
+      return report;
+    } catch (IOException e) {
+      throw new TestHarnessException("Could not write payload report: " + e.getMessage(), e);
+    }
+  }
+}
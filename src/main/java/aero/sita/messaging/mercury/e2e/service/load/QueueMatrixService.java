@@ -0,0 +1,273 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.service.load;
+
+import aero.sita.messaging.mercury.e2e.config.LoadProperties;
+import aero.sita.messaging.mercury.e2e.exception.TestHarnessException;
+import aero.sita.messaging.mercury.e2e.model.load.LatencyStats;
+import aero.sita.messaging.mercury.e2e.model.load.LoadMessage;
+import aero.sita.messaging.mercury.e2e.model.load.LoadRunResult;
+import aero.sita.messaging.mercury.e2e.model.load.QueueMatrixCell;
+import aero.sita.messaging.mercury.e2e.model.load.QueueMatrixResult;
+import aero.sita.messaging.mercury.e2e.model.load.RateProfile;
+import aero.sita.messaging.mercury.e2e.utilities.format.typeb.TypeBMessageFactory;
+import aero.sita.messaging.mercury.e2e.utilities.generator.MessageIdentityGenerator;
+import aero.sita.messaging.mercury.e2e.utilities.helper.ConfigurationDbHelper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
+
+/**
+ * Per-queue latency matrix: a calibrated burst through every enabled connection of the configuration DB.
+ * <p>
+ * Each connection is driven through its own queues, the way smart routing does it: the harness injects
+ * into the connection's inQueue a message addressed to a DIRECT route of that connection, and receives
+ * it on the connection's outQueue. All connections are injected in ONE open-model run, interleaved
+ * round-robin at the same rate, so they share the same Mercury load and are comparable; latency is
+ * reported per connection through the load run groups.
+ * <p>
+ * Each receipt must arrive on the outQueue of the connection it was injected through; one seen on any
+ * other queue is counted as misrouted, not as delivered. A connection is an outlier when it lost or
+ * misrouted messages or when its p99 stands out from the median p99 of all connections (slow
+ * connection, misconfigured host). Enabled connections without a DIRECT route
+ * or an inQueue are reported as skipped. The harness must listen on every outQueue.
+ * Results are written to {@code queue_matrix_<timestamp>.csv} and a colour-scaled
+ * {@code queue_matrix_<timestamp>.html} heat map in the load report directory.
+ */
+@Slf4j
+@Service
+public class QueueMatrixService {
+
+  private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+
+  private final LoadGenerator loadGenerator;
+  private final ConfigurationDbHelper configurationDbHelper;
+  private final LoadProperties loadProperties;
+
+  @Autowired
+  public QueueMatrixService(LoadGenerator loadGenerator,
+                            ConfigurationDbHelper configurationDbHelper,
+                            LoadProperties loadProperties) {
+    this.loadGenerator = loadGenerator;
+    this.configurationDbHelper = configurationDbHelper;
+    this.loadProperties = loadProperties;
+  }
+
+  /**
+   * Measures every enabled connection.
+   *
+   * @param ratePerConnection     injection rate through each connection, in messages per second
+   * @param messagesPerConnection burst size per connection
+   * @return one cell per measured connection
+   */
+  public QueueMatrixResult run(double ratePerConnection, int messagesPerConnection) {
+    if (ratePerConnection <= 0 || messagesPerConnection < 1) {
+      throw new IllegalArgumentException(String.format("Rate (%.2f) and burst size (%d) must be positive",
+          ratePerConnection, messagesPerConnection));
+    }
+    QueueMatrixResult result = QueueMatrixResult.builder()
+        .ratePerConnection(ratePerConnection)
+        .messagesPerConnection(messagesPerConnection)
+        .build();
+    List<QueueMatrixCell> cells = resolveCells(result.getSkipped());
+    if (cells.isEmpty()) {
+      throw new IllegalStateException("No enabled connection with an inQueue and a DIRECT route to measure: "
+          + result.getSkipped());
+    }
+
+    long[] sent = new long[cells.size()];
+    Duration duration = Duration.ofMillis(Math.max(1, Math.round(messagesPerConnection * 1000.0 / ratePerConnection)));
+    LoadRunResult run = loadGenerator.run(RateProfile.constant(ratePerConnection * cells.size(), duration),
+        sequence -> {
+          int index = (int) (sequence % cells.size());
+          QueueMatrixCell cell = cells.get(index);
+          String identity = MessageIdentityGenerator.generate();
+          sent[index]++;
+          return LoadMessage.builder()
+              .messageIdentity(identity)
+              .content(TypeBMessageFactory.validMessageWithAddresses("QP", List.of(cell.getAddress()), identity)
+                  .toMessageString())
+              .queueName(cell.getInQueue())
+              .expectedQueue(cell.getOutQueue())
+              .group(cell.getConnectionId())
+              .build();
+        });
+
+    for (int i = 0; i < cells.size(); i++) {
+      QueueMatrixCell cell = cells.get(i);
+      LatencyStats stats = run.getLatencyByGroup().getOrDefault(cell.getConnectionId(), new LatencyStats());
+      cell.setSent(sent[i]);
+      cell.setReceived(stats.getCount());
+      cell.setMisrouted(run.getMisroutedByGroup().getOrDefault(cell.getConnectionId(), 0L));
+      cell.setLatency(stats);
+    }
+    flagOutliers(cells, result);
+    result.setCells(cells);
+    result.setRun(run);
+    String timestamp = LocalDateTime.now().format(FILE_TIMESTAMP);
+    result.setReport(writeReport(result, timestamp).toString());
+    result.setHeatMap(writeHeatMap(result, timestamp).toString());
+    log.info(result.toSummary());
+    return result;
+  }
+
+  // ==================== Connections ====================
+
+  private List<QueueMatrixCell> resolveCells(Map<String, String> skipped) {
+    Map<String, String> addressByConnection = configurationDbHelper.findRoutedAddressByConnection();
+    int maxConnections = loadProperties.getMatrix().getMaxConnections();
+    List<QueueMatrixCell> cells = new ArrayList<>();
+    for (Document connection : configurationDbHelper.findEnabledConnections()) {
+      String id = String.valueOf(connection.get("_id"));
+      String inQueue = connection.getString("inQueue");
+      String address = addressByConnection.get(id);
+      if (inQueue == null || inQueue.isBlank()) {
+        skipped.put(id, "no inQueue");
+      } else if (address == null) {
+        skipped.put(id, "no enabled DIRECT route");
+      } else if (cells.size() >= maxConnections) {
+        skipped.put(id, "over load.matrix.max-connections=" + maxConnections);
+      } else {
+        cells.add(QueueMatrixCell.builder()
+            .connectionId(id)
+            .hostId(connection.getString("hostId"))
+            .inQueue(inQueue)
+            .outQueue(connection.getString("outQueue"))
+            .address(address)
+            .build());
+      }
+    }
+    return cells;
+  }
+
+  private void flagOutliers(List<QueueMatrixCell> cells, QueueMatrixResult result) {
+    double[] p99s = cells.stream().filter(cell -> cell.getReceived() > 0)
+        .mapToDouble(cell -> cell.getLatency().getP99()).sorted().toArray();
+    double median = p99s.length == 0 ? 0 : p99s[p99s.length / 2];
+    result.setMedianP99(median);
+    LoadProperties.Matrix matrix = loadProperties.getMatrix();
+    for (QueueMatrixCell cell : cells) {
+      double p99 = cell.getLatency().getP99();
+      boolean slow = p99 > median * matrix.getOutlierFactor() && p99 - median >= matrix.getOutlierMinDeviationMillis();
+      cell.setOutlier(cell.getMissing() > 0 || cell.getMisrouted() > 0 || slow);
+    }
+  }
+
+  // ==================== Report ====================
+
+  private Path writeReport(QueueMatrixResult result, String timestamp) {
+    StringBuilder sb = new StringBuilder("connection,hostId,inQueue,outQueue,address,ratePerConnection,sent,received,"
+        + "misrouted,missing,p50Ms,p90Ms,p99Ms,maxMs,outlier\n");
+    for (QueueMatrixCell cell : result.getCells()) {
+      LatencyStats latency = cell.getLatency();
+      sb.append(String.format(Locale.ROOT, "%s,%s,%s,%s,%s,%.1f,%d,%d,%d,%d,%.1f,%.1f,%.1f,%.1f,%s%n",
+          cell.getConnectionId(), cell.getHostId(), cell.getInQueue(), cell.getOutQueue(), cell.getAddress(),
+          result.getRatePerConnection(), cell.getSent(), cell.getReceived(), cell.getMisrouted(), cell.getMissing(),
+          latency.getP50(), latency.getP90(), latency.getP99(), latency.getMax(), cell.isOutlier()));
+    }
+    return write(Paths.get(loadProperties.getReportDir(), "queue_matrix_" + timestamp + ".csv"), sb.toString());
+  }
+
+  /**
+   * One row per connection, one column per percentile; each value is coloured by its ratio to the
+   * column median, from green (at or below the median) to red (outlier factor and above).
+   */
+  private Path writeHeatMap(QueueMatrixResult result, String timestamp) {
+    List<QueueMatrixCell> cells = result.getCells();
+    List<String> headers = List.of("p50", "p90", "p99", "max");
+    List<ToDoubleFunction<LatencyStats>> columns = List.of(
+        LatencyStats::getP50, LatencyStats::getP90, LatencyStats::getP99, LatencyStats::getMax);
+    double[] medians = columns.stream()
+        .mapToDouble(column -> {
+          double[] values = cells.stream().filter(cell -> cell.getReceived() > 0)
+              .mapToDouble(cell -> column.applyAsDouble(cell.getLatency())).sorted().toArray();
+          return values.length == 0 ? 0 : values[values.length / 2];
+        })
+        .toArray();
+
+    StringBuilder sb = new StringBuilder("<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\">"
+        + "<title>Queue latency matrix " + timestamp + "</title>\n<style>"
+        + "body{font-family:sans-serif}table{border-collapse:collapse}"
+        + "td,th{border:1px solid #999;padding:4px 8px;text-align:right}td.l{text-align:left}"
+        + "</style></head><body>\n");
+    sb.append(String.format(Locale.ROOT, "<h2>Queue latency matrix</h2><p>%d messages per connection at %.1f msg/s, "
+        + "latency in ms, colour = ratio to the column median</p>%n<table><tr><th>connection</th><th>host</th>"
+        + "<th>inQueue &rarr; outQueue</th><th>address</th><th>misrouted</th><th>missing</th>",
+        result.getMessagesPerConnection(), result.getRatePerConnection()));
+    headers.forEach(header -> sb.append("<th>").append(header).append("</th>"));
+    sb.append("</tr>\n");
+
+    double factor = loadProperties.getMatrix().getOutlierFactor();
+    for (QueueMatrixCell cell : cells) {
+      sb.append("<tr><td class=\"l\">").append(cell.isOutlier() ? "&#9888; " : "")
+          .append(HtmlUtils.htmlEscape(cell.getConnectionId())).append("</td><td class=\"l\">")
+          .append(HtmlUtils.htmlEscape(String.valueOf(cell.getHostId()))).append("</td><td class=\"l\">")
+          .append(HtmlUtils.htmlEscape(cell.getPair())).append("</td><td class=\"l\">")
+          .append(HtmlUtils.htmlEscape(cell.getAddress())).append("</td>");
+      sb.append(String.format("<td style=\"background:%s\">%d/%d</td>",
+          cell.getMisrouted() > 0 ? colour(1) : colour(0), cell.getMisrouted(), cell.getSent()));
+      sb.append(String.format("<td style=\"background:%s\">%d/%d</td>",
+          cell.getMissing() > 0 ? colour(1) : colour(0), cell.getMissing(), cell.getSent()));
+      for (int i = 0; i < columns.size(); i++) {
+        double value = columns.get(i).applyAsDouble(cell.getLatency());
+        double heat = cell.getReceived() == 0 ? 1 : heat(value, medians[i], factor);
+        sb.append(String.format(Locale.ROOT, "<td style=\"background:%s\">%.1f</td>", colour(heat), value));
+      }
+      sb.append("</tr>\n");
+    }
+    sb.append("</table>\n");
+    if (!result.getSkipped().isEmpty()) {
+      sb.append("<h3>Skipped connections</h3><ul>\n");
+      result.getSkipped().forEach((connection, reason) -> sb.append("<li>").append(HtmlUtils.htmlEscape(connection))
+          .append(": ").append(HtmlUtils.htmlEscape(reason)).append("</li>\n"));
+      sb.append("</ul>\n");
+    }
+    sb.append("</body></html>\n");
+    return write(Paths.get(loadProperties.getReportDir(), "queue_matrix_" + timestamp + ".html"), sb.toString());
+  }
+
+  /**
+   * 0 at or below the median, 1 at median * factor and above, logarithmic in between.
+   */
+  private static double heat(double value, double median, double factor) {
+    if (median <= 0 || value <= median || factor <= 1) {
+      return value > median ? 1 : 0;
+    }
+    return Math.min(1, Math.log(value / median) / Math.log(factor));
+  }
+
+  private static String colour(double heat) {
+    return String.format(Locale.ROOT, "hsl(%.0f,70%%,75%%)", 120 * (1 - heat));
+  }
+
+  private static Path write(Path report, String content) {
+    try {
+      Files.createDirectories(report.getParent());
+      Files.writeString(report, content);
+      return report;
+    } catch (IOException e) {
+      throw new TestHarnessException("Could not write queue matrix report: " + e.getMessage(), e);
+    }
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+package aero.sita.messaging.mercury.e2e.service.load;
+
+import aero.sita.messaging.mercury.e2e.client.testharness.TestHarnessClient;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Virtual thread feeding a {@link DeliveryTracker} from the harness received list; it is the only
+ * thread that calls {@link DeliveryTracker#process}.
+ * <p>
+ * Once stopped, it makes one last pass so receipts that arrived during the final interval are counted,
+ * and {@link #stop} waits for that pass: the tracker is no longer written when the caller reads it.
+ */
+@Slf4j
+final class ReceiptPoller {
+
+  private final AtomicBoolean polling = new AtomicBoolean(true);
+  private final TestHarnessClient testHarnessClient;
+  private final DeliveryTracker tracker;
+  private final long intervalNanos;
+  private final Thread thread;
+
+  private ReceiptPoller(String name, TestHarnessClient testHarnessClient, DeliveryTracker tracker,
+                        long intervalMillis) {
+    this.testHarnessClient = testHarnessClient;
+    this.tracker = tracker;
+    this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+    this.thread = Thread.ofVirtual().name(name).start(this::poll);
+  }
+
+  /**
+   * Starts polling.
+   *
+   * @param name              thread name
+   * @param testHarnessClient source of the received list
+   * @param tracker           tracker fed with each received list
+   * @param intervalMillis    pause between two polls
+   * @return the running poller
+   */
+  static ReceiptPoller start(String name, TestHarnessClient testHarnessClient, DeliveryTracker tracker,
+                             long intervalMillis) {
+    return new ReceiptPoller(name, testHarnessClient, tracker, intervalMillis);
+  }
+
+  /**
+   * Stops polling and waits for the final pass.
+   */
+  void stop() {
+    polling.set(false);
+    LockSupport.unpark(thread);
+    try {
+      thread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for the receipt poller to finish", e);
+    }
+  }
+
+  private void poll() {
+    while (polling.get()) {
+      try {
+        tracker.process(testHarnessClient.getReceivedMessages().getReceivedMessages());
+      } catch (Exception e) {
+        log.warn("Receipt poll failed, retrying: {}", e.getMessage());
+      }
+      LockSupport.parkNanos(intervalNanos);
+    }
+    try {
+      tracker.process(testHarnessClient.getReceivedMessages().getReceivedMessages());
+    } catch (Exception e) {
+      log.warn("Final receipt poll failed: {}", e.getMessage());
+    }
+  }
+}
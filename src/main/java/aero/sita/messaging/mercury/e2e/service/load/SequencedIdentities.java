@@ -0,0 +1,80 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.service.load;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Message identities that encode a run sequence number, so a received message maps back to its
+ * window slot without keeping any per-message String in memory.
+ * <p>
+ * Identities keep the usual DDHHMM/RRRRRRXXX shape: RRRRRR is the key modulo 1,000,000 and XXX
+ * the key divided by 1,000,000 in base 36 (A-Z, 0-9). The key is the sequence plus a random base,
+ * so two runs against the same harness never produce the same identities.
+ */
+final class SequencedIdentities {
+
+  private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("ddHHmm");
+  private static final String ALPHANUMERIC_CHARS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+  private static final int RADIX = ALPHANUMERIC_CHARS.length();
+  private static final long DIGITS_SPACE = 1_000_000L;
+  private static final long KEY_SPACE = DIGITS_SPACE * RADIX * RADIX * RADIX;
+  private static final int SUFFIX_LENGTH = 9;
+
+  private final long base = ThreadLocalRandom.current().nextLong(KEY_SPACE / 2);
+
+  String identity(long sequence) {
+    long key = base + sequence;
+    long letters = key / DIGITS_SPACE;
+    char[] suffix = new char[3];
+    for (int i = 2; i >= 0; i--) {
+      suffix[i] = ALPHANUMERIC_CHARS.charAt((int) (letters % RADIX));
+      letters /= RADIX;
+    }
+    return LocalDateTime.now().format(DATE_FORMAT) + "/"
+        + String.format("%06d", key % DIGITS_SPACE) + new String(suffix);
+  }
+
+  /**
+   * Decodes the sequence number of an identity produced by this instance.
+   *
+   * @param identity message identity, e.g. "121437/004211BAC"
+   * @return the sequence, or -1 when the identity was not produced by this run
+   */
+  long sequenceOf(String identity) {
+    if (identity == null) {
+      return -1;
+    }
+    int slash = identity.indexOf('/');
+    if (slash < 0 || identity.length() - slash - 1 != SUFFIX_LENGTH) {
+      return -1;
+    }
+    long digits = 0;
+    for (int i = slash + 1; i < slash + 7; i++) {
+      char c = identity.charAt(i);
+      if (c < '0' || c > '9') {
+        return -1;
+      }
+      digits = digits * 10 + (c - '0');
+    }
+    long letters = 0;
+    for (int i = slash + 7; i < identity.length(); i++) {
+      int value = ALPHANUMERIC_CHARS.indexOf(identity.charAt(i));
+      if (value < 0) {
+        return -1;
+      }
+      letters = letters * RADIX + value;
+    }
+    long sequence = letters * DIGITS_SPACE + digits - base;
+    return sequence >= 0 ? sequence : -1;
+  }
+}
@@ -0,0 +1,324 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.service.load;
+
+import aero.sita.messaging.mercury.e2e.client.testharness.TestHarnessClient;
+import aero.sita.messaging.mercury.e2e.config.LoadProperties;
+import aero.sita.messaging.mercury.e2e.exception.TestHarnessException;
+import aero.sita.messaging.mercury.e2e.model.load.LatencyStats;
+import aero.sita.messaging.mercury.e2e.model.load.LoadMessage;
+import aero.sita.messaging.mercury.e2e.model.load.RateProfile;
+import aero.sita.messaging.mercury.e2e.model.load.SoakRunResult;
+import aero.sita.messaging.mercury.e2e.model.testharness.response.ClearResponse;
+import aero.sita.messaging.mercury.e2e.model.testharness.response.ReceivedMessage;
+import aero.sita.messaging.mercury.e2e.utilities.format.typeb.TypeBMessageFactory;
+import aero.sita.messaging.mercury.e2e.utilities.helper.MessageInjectionHelper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Memory-bounded soak runs: millions of messages over hours with a flat heap.
+ * <p>
+ * Unlike {@link LoadGenerator}, nothing proportional to the run length is kept in memory:
+ * - Outstanding messages live in a fixed {@link OutstandingWindow} keyed by sequence number;
+ *   identities encode that sequence ({@link SequencedIdentities}), so no String is retained
+ * - Receipts are read incrementally and the harness list is cleared once it grows past a threshold
+ * - Latencies go into an HdrHistogram {@link Recorder}; interval histograms are streamed to an
+ *   HdrHistogram log file and only their running total stays in memory
+ * - Messages not received within the delivery deadline are flagged and streamed to a file
+ * <p>
+ * Latency is measured from the intended send time to the harness hand-off timestamp, as for load runs.
+ */
+@Slf4j
+@Service
+public class SoakRunner {
+
+  private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+  private static final long BYTES_PER_MB = 1024 * 1024;
+
+  private final MessageInjectionHelper messageInjectionHelper;
+  private final TestHarnessClient testHarnessClient;
+  private final LoadProperties loadProperties;
+
+  @Autowired
+  public SoakRunner(MessageInjectionHelper messageInjectionHelper,
+                    TestHarnessClient testHarnessClient,
+                    LoadProperties loadProperties) {
+    this.messageInjectionHelper = messageInjectionHelper;
+    this.testHarnessClient = testHarnessClient;
+    this.loadProperties = loadProperties;
+  }
+
+  /**
+   * Runs a soak profile with valid Type B messages and waits for delivery (or the deadline).
+   *
+   * @param profile target rate over time
+   * @return aggregated outcome; details are in the log files it references
+   */
+  public SoakRunResult run(RateProfile profile) {
+    LoadProperties.Soak soak = loadProperties.getSoak();
+    SequencedIdentities identities = new SequencedIdentities();
+    OutstandingWindow window = new OutstandingWindow(soak.getWindowCapacity());
+    log.info("Soak run starting: {} (window={}, deadline={}s)", profile, window.capacity(),
+        soak.getDeliveryDeadlineSeconds());
+    testHarnessClient.clearMessages();
+
+    String ts = LocalDateTime.now().format(FILE_TIMESTAMP);
+    Path histogramLog = Paths.get(loadProperties.getReportDir(), "soak_" + ts + ".hlog");
+    Path undeliveredLog = Paths.get(loadProperties.getReportDir(), "soak_" + ts + "_undelivered.csv");
+
+    try (ReceiptStream receipts = new ReceiptStream(window, identities, histogramLog, undeliveredLog)) {
+      Thread receiptThread = Thread.ofVirtual().name("soak-receipts").start(receipts::pollUntilStopped);
+
+      OpenModelScheduler scheduler = new OpenModelScheduler(messageInjectionHelper, loadProperties.getMaxInFlight());
+      OpenModelScheduler.Outcome outcome = scheduler
+          .run(profile, sequence -> LoadMessage.builder()
+              .content(TypeBMessageFactory.validMessageWithIdentity(identities.identity(sequence)).toMessageString())
+              .build(), new OpenModelScheduler.Listener() {
+                @Override
+                public boolean scheduled(long sequence, LoadMessage message, Instant intendedSend) {
+                  if (window.add(sequence, toMicros(intendedSend))) {
+                    return true;
+                  }
+                  receipts.windowOverflows.incrementAndGet();
+                  return false;
+                }
+
+                @Override
+                public void sendFailed(long sequence, LoadMessage message) {
+                  window.cancel(sequence);
+                }
+              });
+      log.info("Soak run injection finished: sent={}, errors={}, outstanding={}",
+          outcome.sent(), outcome.sendErrors(), window.outstanding());
+
+      long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(soak.getDeliveryDeadlineSeconds());
+      while (window.outstanding() > 0 && System.nanoTime() < drainDeadline) {
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(loadProperties.getReceiptPollIntervalMillis()));
+      }
+      receipts.stop();
+      receiptThread.join();
+      receipts.finish();
+
+      SoakRunResult result = SoakRunResult.builder()
+          .profile(profile.toString())
+          .sent(outcome.sent())
+          .sendErrors(outcome.sendErrors())
+          .windowOverflows(receipts.windowOverflows.get())
+          .received(receipts.received)
+          .undelivered(receipts.undelivered)
+          .clearRaceLosses(receipts.clearRaceLosses)
+          .elapsed(Duration.ofMillis(System.currentTimeMillis() - receipts.startMillis))
+          .latency(LatencyStats.fromMicros(receipts.total))
+          .sendLag(LatencyStats.fromMicros(outcome.sendLagMicros()))
+          .histogramLog(histogramLog.toString())
+          .undeliveredLog(undeliveredLog.toString())
+          .liveHeapStartMb(receipts.liveHeapStartMb)
+          .liveHeapMaxMb(receipts.liveHeapMaxMb)
+          .build();
+      log.info(result.toSummary());
+      return result;
+    } catch (IOException e) {
+      throw new TestHarnessException("Soak run could not write its logs: " + e.getMessage(), e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new TestHarnessException("Soak run interrupted", e);
+    }
+  }
+
+  // ==================== Receipt stream ====================
+
+  /**
+   * Owns everything touched by the receipt thread: window tail, recorder, log files and counters.
+   * After {@link #stop()} and a join, the calling thread takes over for {@link #finish()}.
+   */
+  private final class ReceiptStream implements AutoCloseable {
+
+    private final OutstandingWindow window;
+    private final SequencedIdentities identities;
+    private final Path histogramLogPath;
+    private final PrintStream histogramLogStream;
+    private final HistogramLogWriter histogramLogWriter;
+    private final BufferedWriter undeliveredWriter;
+    private final Recorder recorder = new Recorder(OpenModelScheduler.HIGHEST_TRACKABLE_MICROS,
+        OpenModelScheduler.SIGNIFICANT_DIGITS);
+    private final Histogram total = new Histogram(OpenModelScheduler.HIGHEST_TRACKABLE_MICROS,
+        OpenModelScheduler.SIGNIFICANT_DIGITS);
+    private final AtomicBoolean running = new AtomicBoolean(true);
+    private final AtomicLong windowOverflows = new AtomicLong();
+    private final long startMillis = System.currentTimeMillis();
+    private final long liveHeapStartMb = liveHeapMb();
+    private Histogram interval;
+    private long nextIntervalMillis;
+    private int processedIndex;
+    private long received;
+    private long undelivered;
+    private long clearRaceLosses;
+    private long liveHeapMaxMb = liveHeapStartMb;
+
+    private ReceiptStream(OutstandingWindow window, SequencedIdentities identities, Path histogramLog,
+                          Path undeliveredLog) throws IOException {
+      this.window = window;
+      this.identities = identities;
+      this.histogramLogPath = histogramLog;
+      Files.createDirectories(histogramLog.getParent());
+      this.histogramLogStream = new PrintStream(Files.newOutputStream(histogramLog), false);
+      this.histogramLogWriter = new HistogramLogWriter(histogramLogStream);
+      histogramLogWriter.outputLogFormatVersion();
+      histogramLogWriter.outputStartTime(startMillis);
+      histogramLogWriter.setBaseTime(startMillis);
+      histogramLogWriter.outputLegend();
+      this.undeliveredWriter = Files.newBufferedWriter(undeliveredLog);
+      undeliveredWriter.write("sequence,identitySuffix,intendedSend");
+      undeliveredWriter.newLine();
+      this.nextIntervalMillis = startMillis + intervalMillis();
+    }
+
+    private void pollUntilStopped() {
+      while (running.get()) {
+        pollOnce();
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(loadProperties.getReceiptPollIntervalMillis()));
+      }
+    }
+
+    private void stop() {
+      running.set(false);
+    }
+
+    private void pollOnce() {
+      try {
+        List<ReceivedMessage> messages = testHarnessClient.getReceivedMessages().getReceivedMessages();
+        if (messages.size() < processedIndex) {
+          processedIndex = 0; // cleared by someone else
+        }
+        for (int i = processedIndex; i < messages.size(); i++) {
+          ReceivedMessage message = messages.get(i);
+          String identity = DeliveryTracker.extractMessageIdentity(message.getBody());
+          long intended = window.resolve(identities.sequenceOf(identity));
+          if (intended > 0) {
+            Instant handOff = message.getHandOffTimestamp() != null ? message.getHandOffTimestamp() : Instant.now();
+            recorder.recordValue(Math.min(Math.max(0, toMicros(handOff) - intended),
+                OpenModelScheduler.HIGHEST_TRACKABLE_MICROS));
+            received++;
+          }
+        }
+        processedIndex = messages.size();
+        if (processedIndex >= loadProperties.getSoak().getHarnessClearThreshold()) {
+          clearHarness();
+        }
+      } catch (Exception e) {
+        log.warn("Soak receipt poll failed, retrying: {}", e.getMessage());
+      }
+      long deadlineMicros = TimeUnit.SECONDS.toMicros(loadProperties.getSoak().getDeliveryDeadlineSeconds());
+      long cutoff = toMicros(Instant.now()) - deadlineMicros;
+      undelivered += window.expire(cutoff, this::flagUndelivered);
+      if (System.currentTimeMillis() >= nextIntervalMillis) {
+        writeInterval();
+        nextIntervalMillis += intervalMillis();
+      }
+    }
+
+    private void clearHarness() {
+      ClearResponse response = testHarnessClient.clearMessages();
+      Integer reported = response.getNumberOfMessagesCleared();
+      int cleared = reported == null ? processedIndex : reported;
+      if (cleared > processedIndex) {
+        clearRaceLosses += cleared - processedIndex;
+      }
+      processedIndex = 0;
+    }
+
+    private void flagUndelivered(long sequence, long intendedEpochMicros) {
+      try {
+        String identity = identities.identity(sequence);
+        undeliveredWriter.write(sequence + "," + identity.substring(identity.indexOf('/') + 1) + ","
+            + Instant.EPOCH.plus(intendedEpochMicros, ChronoUnit.MICROS));
+        undeliveredWriter.newLine();
+      } catch (IOException e) {
+        log.warn("Could not record undelivered message {}: {}", sequence, e.getMessage());
+      }
+    }
+
+    private void writeInterval() {
+      interval = recorder.getIntervalHistogram(interval);
+      total.add(interval);
+      histogramLogWriter.outputIntervalHistogram(interval);
+      histogramLogStream.flush();
+      liveHeapMaxMb = Math.max(liveHeapMaxMb, liveHeapMb());
+      log.info("Soak progress: received={}, outstanding={}, undelivered={}, interval {}, live heap {} MB",
+          received, window.outstanding(), undelivered, LatencyStats.fromMicros(interval), liveHeapMaxMb);
+    }
+
+    /**
+     * Final pass after the receipt thread stopped: last receipts, remaining messages expired.
+     */
+    private void finish() {
+      pollOnce();
+      undelivered += window.expire(Long.MAX_VALUE, this::flagUndelivered);
+      writeInterval();
+      log.info("Soak histogram log written to {}", histogramLogPath);
+    }
+
+    private long intervalMillis() {
+      return TimeUnit.SECONDS.toMillis(loadProperties.getSoak().getHistogramIntervalSeconds());
+    }
+
+    @Override
+    public void close() throws IOException {
+      running.set(false);
+      histogramLogStream.close();
+      undeliveredWriter.close();
+    }
+  }
+
+  // ==================== Helpers ====================
+
+  private static long toMicros(Instant instant) {
+    return TimeUnit.SECONDS.toMicros(instant.getEpochSecond()) + TimeUnit.NANOSECONDS.toMicros(instant.getNano());
+  }
+
+  /**
+   * Heap in use right after the last collection of each heap pool: the live set, not garbage.
+   */
+  private static long liveHeapMb() {
+    long bytes = 0;
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      MemoryUsage afterGc = pool.getCollectionUsage();
+      if (pool.getType() == MemoryType.HEAP && afterGc != null) {
+        bytes += afterGc.getUsed();
+      }
+    }
+    return bytes / BYTES_PER_MB;
+  }
+}
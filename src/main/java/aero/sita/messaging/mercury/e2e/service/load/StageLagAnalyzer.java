@@ -0,0 +1,116 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.service.load;
+
+import aero.sita.messaging.mercury.e2e.model.mongodb.IncomingMessage;
+import aero.sita.messaging.mercury.e2e.model.mongodb.OutgoingMessage;
+import aero.sita.messaging.mercury.e2e.utilities.helper.MessageStoreHelper;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Message-store side of a load step: how long messages spent between StatusLog entries.
+ * <p>
+ * The incoming and outgoing StatusLog entries of each sampled message are merged into one
+ * timeline; every consecutive pair is a stage ("RECEIVED -> PARSED"), and first-to-last is the
+ * total time spent inside Mercury.
+ */
+@Slf4j
+final class StageLagAnalyzer {
+
+  private final MessageStoreHelper messageStoreHelper;
+  private final Histogram total = newHistogram();
+  private final Map<String, Histogram> stages = new LinkedHashMap<>();
+  private int missingDocuments;
+
+  StageLagAnalyzer(MessageStoreHelper messageStoreHelper) {
+    this.messageStoreHelper = messageStoreHelper;
+  }
+
+  void analyze(List<String> messageIdentities) {
+    for (String identity : messageIdentities) {
+      List<Entry> timeline = timeline(identity);
+      if (timeline.size() < 2) {
+        missingDocuments++;
+        continue;
+      }
+      record(total, timeline.get(0), timeline.get(timeline.size() - 1));
+      for (int i = 1; i < timeline.size(); i++) {
+        Entry from = timeline.get(i - 1);
+        Entry to = timeline.get(i);
+        record(stages.computeIfAbsent(from.status() + " -> " + to.status(), k -> newHistogram()), from, to);
+      }
+    }
+    if (missingDocuments > 0) {
+      log.warn("Stage lag: {} of {} sampled messages had no usable StatusLog", missingDocuments,
+          messageIdentities.size());
+    }
+  }
+
+  double totalP99Millis() {
+    return p99Millis(total);
+  }
+
+  Map<String, Double> stageP99Millis() {
+    Map<String, Double> result = new LinkedHashMap<>();
+    stages.forEach((stage, histogram) -> result.put(stage, p99Millis(histogram)));
+    return result;
+  }
+
+  /**
+   * Incoming and outgoing StatusLog entries of one message, oldest first.
+   * Outgoing timestamps are mapped by Spring Data to LocalDateTime in the JVM zone.
+   */
+  private List<Entry> timeline(String identity) {
+    List<Entry> timeline = new ArrayList<>();
+    for (IncomingMessage message : messageStoreHelper.searchByMessageIdentity(identity)) {
+      if (message.getStatusLogs() != null) {
+        message.getStatusLogs().stream()
+            .filter(entry -> entry.getTimestamp() != null)
+            .forEach(entry -> timeline.add(new Entry(entry.getStatus(), entry.getTimestamp())));
+      }
+    }
+    for (OutgoingMessage message : messageStoreHelper.searchOutgoingByMessageIdentity(identity)) {
+      if (message.getStatusLogs() != null) {
+        message.getStatusLogs().stream()
+            .filter(entry -> entry.getTimestamp() != null)
+            .forEach(entry -> timeline.add(new Entry(entry.getStatus(),
+                entry.getTimestamp().atZone(ZoneId.systemDefault()).toInstant())));
+      }
+    }
+    timeline.sort(Comparator.comparing(Entry::timestamp));
+    return timeline;
+  }
+
+  private static void record(Histogram histogram, Entry from, Entry to) {
+    long micros = TimeUnit.NANOSECONDS.toMicros(Duration.between(from.timestamp(), to.timestamp()).toNanos());
+    histogram.recordValue(Math.min(Math.max(0, micros), OpenModelScheduler.HIGHEST_TRACKABLE_MICROS));
+  }
+
+  private static double p99Millis(Histogram histogram) {
+    return histogram.getTotalCount() == 0 ? 0 : histogram.getValueAtPercentile(99) / 1000.0;
+  }
+
+  private static Histogram newHistogram() {
+    return new Histogram(OpenModelScheduler.HIGHEST_TRACKABLE_MICROS, OpenModelScheduler.SIGNIFICANT_DIGITS);
+  }
+
+  private record Entry(String status, Instant timestamp) {
+  }
+}
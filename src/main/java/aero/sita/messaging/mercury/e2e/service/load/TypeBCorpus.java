@@ -0,0 +1,313 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+package aero.sita.messaging.mercury.e2e.service.load;
+
+import aero.sita.messaging.mercury.e2e.exception.TestHarnessException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-only view of a Type B corpus file written by {@link TypeBCorpusWriter}.
+ * <p>
+ * The file is memory-mapped, so replaying a record is one index lookup and one copy of its bytes;
+ * nothing is parsed. Reads use absolute positions only, so one instance can be shared by any number
+ * of threads, and {@link #partition(int, int)} splits the records between workers without coordination.
+ * <p>
+ * Layout (big-endian):
+ * <pre>
+ * header   MAGIC, version, templateCount, recordCount, indexOffset, dataOffset, dataEnd,
+ *          templateTableOffset, templateTableEnd
+ * index    recordCount x long: absolute offset of each record
+ * data     records: int bodyLength, short templateId, byte flags, byte reserved,
+ *          short identityOffset, short identityLength, then bodyLength bytes of body (ISO-8859-1)
+ * table    templateCount x (short length, UTF-8 name)
+ * </pre>
+ */
+public final class TypeBCorpus implements AutoCloseable {
+
+  static final long MAGIC = 0x5442434F52505553L; // "TBCORPUS"
+  static final int VERSION = 1;
+  static final int HEADER_BYTES = 64;
+  static final int RECORD_HEADER_BYTES = 12;
+
+  /**
+   * Largest record (header included); a Type B message is far below it.
+   */
+  public static final int MAX_RECORD_BYTES = 64 * 1024;
+
+  static final byte FLAG_VALID = 0x01;
+  static final byte FLAG_IDENTITY = 0x02;
+
+  // Mapped segments overlap by one record, so a record or index entry never straddles two of them
+  private static final long SEGMENT_STRIDE = 1L << 30;
+
+  private final Path path;
+  private final FileChannel channel;
+  private final MappedByteBuffer[] segments;
+  private final List<String> templates;
+  private final long recordCount;
+  private final long indexOffset;
+
+  private TypeBCorpus(Path path, FileChannel channel, MappedByteBuffer[] segments, List<String> templates,
+                      long recordCount, long indexOffset) {
+    this.path = path;
+    this.channel = channel;
+    this.segments = segments;
+    this.templates = templates;
+    this.recordCount = recordCount;
+    this.indexOffset = indexOffset;
+  }
+
+  /**
+   * Maps a corpus file.
+   *
+   * @param path corpus file
+   * @return the corpus, to be closed once every replay using it is finished
+   * @throws IllegalArgumentException if the file is not a complete corpus
+   * @throws TestHarnessException     if the file cannot be read
+   */
+  public static TypeBCorpus open(Path path) {
+    FileChannel channel = null;
+    try {
+      channel = FileChannel.open(path, StandardOpenOption.READ);
+      ByteBuffer header = readFully(channel, 0, HEADER_BYTES, path);
+      if (header.getLong() != MAGIC) {
+        throw new IllegalArgumentException("Not a Type B corpus: " + path);
+      }
+      int version = header.getInt();
+      if (version != VERSION) {
+        throw new IllegalArgumentException("Unsupported corpus version " + version + ": " + path);
+      }
+      int templateCount = header.getInt();
+      long recordCount = header.getLong();
+      long indexOffset = header.getLong();
+      header.getLong(); // dataOffset, only needed by the writer
+      long dataEnd = header.getLong();
+      long templateTableOffset = header.getLong();
+      long templateTableEnd = header.getLong();
+      if (templateTableOffset == 0) {
+        throw new IllegalArgumentException("Corpus was not closed properly by its writer: " + path);
+      }
+
+      ByteBuffer table = readFully(channel, templateTableOffset, (int) (templateTableEnd - templateTableOffset), path);
+      List<String> templates = readTemplates(table, templateCount);
+      int segmentCount = (int) ((dataEnd + SEGMENT_STRIDE - 1) / SEGMENT_STRIDE);
+      MappedByteBuffer[] segments = new MappedByteBuffer[segmentCount];
+      for (int i = 0; i < segmentCount; i++) {
+        long start = i * SEGMENT_STRIDE;
+        long size = Math.min(dataEnd - start, SEGMENT_STRIDE + MAX_RECORD_BYTES);
+        segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+      }
+      return new TypeBCorpus(path, channel, segments, templates, recordCount, indexOffset);
+    } catch (IOException e) {
+      closeQuietly(channel);
+      throw new TestHarnessException("Failed to open Type B corpus " + path, e);
+    } catch (RuntimeException e) {
+      closeQuietly(channel);
+      throw e;
+    }
+  }
+
+  public Path path() {
+    return path;
+  }
+
+  public long recordCount() {
+    return recordCount;
+  }
+
+  /**
+   * Template names, indexed by template id.
+   *
+   * @return the templates the corpus was generated from
+   */
+  public List<String> templates() {
+    return templates;
+  }
+
+  // ==================== Records ====================
+
+  public int templateId(long index) {
+    long offset = recordOffset(index);
+    return segment(offset).getShort(relative(offset) + 4);
+  }
+
+  public String templateName(long index) {
+    return templates.get(templateId(index));
+  }
+
+  /**
+   * Whether the record is a well-formed message Mercury is expected to deliver.
+   *
+   * @param index record index
+   * @return false for the deliberately invalid records
+   */
+  public boolean isValid(long index) {
+    return (flags(index) & FLAG_VALID) != 0;
+  }
+
+  /**
+   * Whether the record carries a message identity that {@link #content(long, String)} can replace.
+   *
+   * @param index record index
+   * @return true when the identity position was recorded at generation time
+   */
+  public boolean hasIdentity(long index) {
+    return (flags(index) & FLAG_IDENTITY) != 0;
+  }
+
+  /**
+   * Length of the identity stored in the record, i.e. of the identity {@link #content(long, String)} accepts.
+   *
+   * @param index record index
+   * @return the identity length, 0 when the record has no identity
+   */
+  public int identityLength(long index) {
+    long offset = recordOffset(index);
+    return Short.toUnsignedInt(segment(offset).getShort(relative(offset) + 10));
+  }
+
+  /**
+   * Raw message of a record, with its identity replaced so every replay of the record is distinct.
+   *
+   * @param index    record index
+   * @param identity identity to write over the stored one (same length), or null to keep the stored one
+   * @return the message, ready to inject
+   * @throws IllegalArgumentException if the record has no identity or the identity length differs
+   */
+  public String content(long index, String identity) {
+    long offset = recordOffset(index);
+    MappedByteBuffer segment = segment(offset);
+    int position = relative(offset);
+    byte[] body = new byte[segment.getInt(position)];
+    segment.get(position + RECORD_HEADER_BYTES, body);
+    if (identity != null) {
+      if ((segment.get(position + 6) & FLAG_IDENTITY) == 0) {
+        throw new IllegalArgumentException("Record " + index + " has no message identity to replace");
+      }
+      int identityOffset = Short.toUnsignedInt(segment.getShort(position + 8));
+      int identityLength = Short.toUnsignedInt(segment.getShort(position + 10));
+      if (identity.length() != identityLength) {
+        throw new IllegalArgumentException("Identity '" + identity + "' does not have the stored length "
+            + identityLength);
+      }
+      for (int i = 0; i < identityLength; i++) {
+        body[identityOffset + i] = (byte) identity.charAt(i);
+      }
+    }
+    return new String(body, StandardCharsets.ISO_8859_1);
+  }
+
+  // ==================== Partitioning ====================
+
+  /**
+   * Contiguous share of the records for one of {@code workers} workers. Shares only depend on the
+   * record count, so independent workers (threads, JVMs, CI shards) never overlap.
+   *
+   * @param worker  zero-based worker number
+   * @param workers number of workers
+   * @return the records of this worker
+   * @throws IllegalArgumentException if the worker is out of range or the corpus has fewer records than workers
+   */
+  public Partition partition(int worker, int workers) {
+    if (workers < 1 || worker < 0 || worker >= workers) {
+      throw new IllegalArgumentException("Invalid partition " + worker + " of " + workers);
+    }
+    if (recordCount < workers) {
+      throw new IllegalArgumentException("Corpus " + path + " has " + recordCount + " records, fewer than "
+          + workers + " workers");
+    }
+    return new Partition(recordCount * worker / workers, recordCount * (worker + 1) / workers);
+  }
+
+  /**
+   * Records [from, to) of the corpus.
+   */
+  public record Partition(long from, long to) {
+
+    public long size() {
+      return to - from;
+    }
+
+    /**
+     * Record replayed at a position of a run; the partition is cycled when the run is longer.
+     *
+     * @param sequence zero-based position in the run
+     * @return the record index
+     */
+    public long recordAt(long sequence) {
+      return from + sequence % size();
+    }
+  }
+
+  @Override
+  public void close() {
+    closeQuietly(channel);
+  }
+
+  // ==================== Internals ====================
+
+  private long recordOffset(long index) {
+    if (index < 0 || index >= recordCount) {
+      throw new IndexOutOfBoundsException("Record " + index + " outside corpus of " + recordCount);
+    }
+    long entry = indexOffset + index * Long.BYTES;
+    return segment(entry).getLong(relative(entry));
+  }
+
+  private byte flags(long index) {
+    long offset = recordOffset(index);
+    return segment(offset).get(relative(offset) + 6);
+  }
+
+  private MappedByteBuffer segment(long offset) {
+    return segments[(int) (offset / SEGMENT_STRIDE)];
+  }
+
+  private static int relative(long offset) {
+    return (int) (offset % SEGMENT_STRIDE);
+  }
+
+  private static List<String> readTemplates(ByteBuffer table, int count) {
+    List<String> templates = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      byte[] name = new byte[Short.toUnsignedInt(table.getShort())];
+      table.get(name);
+      templates.add(new String(name, StandardCharsets.UTF_8));
+    }
+    return List.copyOf(templates);
+  }
+
+  private static ByteBuffer readFully(FileChannel channel, long position, int length, Path path) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(length);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        throw new IllegalArgumentException("Truncated Type B corpus: " + path);
+      }
+    }
+    return buffer.flip();
+  }
+
+  private static void closeQuietly(FileChannel channel) {
+    if (channel != null) {
+      try {
+        channel.close();
+      } catch (IOException ignored) {
+        // Read-only channel: nothing to flush
+      }
+    }
+  }
+}
@@ -0,0 +1,292 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+package aero.sita.messaging.mercury.e2e.service.load;
+
+import aero.sita.messaging.mercury.e2e.exception.TestHarnessException;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams Type B messages into a memory-mapped corpus file (format: see {@link TypeBCorpus}).
+ * <p>
+ * The index is reserved for {@code capacity} records up front, right after the header, so records
+ * are appended in one pass without holding anything in memory. Each message is written by its
+ * {@link BodyWriter} directly into the mapped window; the writer only adds the record header and
+ * the position of the message identity, so replay can swap the identity without parsing.
+ * <p>
+ * The corpus is only readable once {@link #close()} has written the header.
+ */
+@Slf4j
+public final class TypeBCorpusWriter implements AutoCloseable {
+
+  // Records are appended through mapped windows of this size, remapped when a record may not fit
+  private static final int WINDOW_BYTES = 64 * 1024 * 1024;
+
+  private final Path path;
+  private final FileChannel channel;
+  private final List<String> templates;
+  private final long capacity;
+  private final long indexOffset;
+  private final long dataOffset;
+
+  private MappedByteBuffer indexWindow;
+  private long indexWindowStart;
+  private MappedByteBuffer dataWindow;
+  private long dataWindowStart;
+  private long dataEnd;
+  private long recordCount;
+  private byte[] identityBytes = new byte[0];
+
+  private TypeBCorpusWriter(Path path, FileChannel channel, List<String> templates, long capacity) {
+    this.path = path;
+    this.channel = channel;
+    this.templates = templates;
+    this.capacity = capacity;
+    this.indexOffset = TypeBCorpus.HEADER_BYTES;
+    this.dataOffset = indexOffset + capacity * Long.BYTES;
+    this.dataEnd = dataOffset;
+  }
+
+  /**
+   * Creates (or replaces) a corpus file.
+   *
+   * @param path      corpus file; parent directories are created
+   * @param templates template names, a record refers to its template by position in this list
+   * @param capacity  maximum number of records
+   * @return the writer, to be closed to complete the file
+   * @throws IllegalArgumentException if there are no templates or the capacity is not positive
+   * @throws TestHarnessException     if the file cannot be created
+   */
+  public static TypeBCorpusWriter create(Path path, List<String> templates, long capacity) {
+    if (templates == null || templates.isEmpty() || templates.size() > Short.MAX_VALUE) {
+      throw new IllegalArgumentException("A corpus needs between 1 and " + Short.MAX_VALUE + " templates");
+    }
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Corpus capacity must be positive: " + capacity);
+    }
+    try {
+      if (path.getParent() != null) {
+        Files.createDirectories(path.getParent());
+      }
+      FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+          StandardOpenOption.READ, StandardOpenOption.WRITE);
+      return new TypeBCorpusWriter(path, channel, List.copyOf(templates), capacity);
+    } catch (IOException e) {
+      throw new TestHarnessException("Failed to create Type B corpus " + path, e);
+    }
+  }
+
+  /**
+   * Writes the raw bytes of one message.
+   */
+  @FunctionalInterface
+  public interface BodyWriter {
+
+    /**
+     * Writes the message from the position of the buffer and advances it past the message.
+     *
+     * @param target mapped buffer, limited to the largest body a record can hold
+     */
+    void writeTo(ByteBuffer target);
+  }
+
+  /**
+   * Appends one record.
+   *
+   * @param templateId position of the record template in the template list
+   * @param valid      whether Mercury is expected to deliver the message
+   * @param identity   message identity written by {@code body}, located so replay can replace it;
+   *                   null when the message has none
+   * @param body       writes the message
+   * @return index of the record
+   * @throws IllegalArgumentException if the template id is unknown, the message is larger than a record
+   *                                  or does not contain the given identity
+   * @throws IllegalStateException    if the corpus is full
+   */
+  public long append(int templateId, boolean valid, String identity, BodyWriter body) {
+    if (templateId < 0 || templateId >= templates.size()) {
+      throw new IllegalArgumentException("Unknown template id " + templateId + " (" + templates.size() + " templates)");
+    }
+    if (recordCount >= capacity) {
+      throw new IllegalStateException("Corpus " + path + " is full (" + capacity + " records)");
+    }
+    ByteBuffer window = dataWindow(dataEnd);
+    int recordStart = (int) (dataEnd - dataWindowStart);
+    int bodyStart = recordStart + TypeBCorpus.RECORD_HEADER_BYTES;
+    window.limit(recordStart + TypeBCorpus.MAX_RECORD_BYTES).position(bodyStart);
+    try {
+      body.writeTo(window);
+    } catch (BufferOverflowException e) {
+      throw new IllegalArgumentException("Message of template '" + templates.get(templateId)
+          + "' exceeds the record size of " + TypeBCorpus.MAX_RECORD_BYTES + " bytes", e);
+    } finally {
+      window.limit(window.capacity());
+    }
+    int bodyLength = window.position() - bodyStart;
+
+    int identityOffset = 0;
+    int identityLength = 0;
+    byte flags = valid ? TypeBCorpus.FLAG_VALID : 0;
+    if (identity != null) {
+      int found = indexOf(window, bodyStart, bodyLength, identity);
+      if (found < 0) {
+        throw new IllegalArgumentException("Message of template '" + templates.get(templateId)
+            + "' does not contain its identity " + identity);
+      }
+      identityOffset = found - bodyStart;
+      identityLength = identity.length();
+      flags |= TypeBCorpus.FLAG_IDENTITY;
+    }
+    window.putInt(recordStart, bodyLength)
+        .putShort(recordStart + 4, (short) templateId)
+        .put(recordStart + 6, flags)
+        .put(recordStart + 7, (byte) 0)
+        .putShort(recordStart + 8, (short) identityOffset)
+        .putShort(recordStart + 10, (short) identityLength);
+
+    putIndex(recordCount, dataEnd);
+    dataEnd += TypeBCorpus.RECORD_HEADER_BYTES + bodyLength;
+    return recordCount++;
+  }
+
+  public long recordCount() {
+    return recordCount;
+  }
+
+  public Path path() {
+    return path;
+  }
+
+  /**
+   * Writes the template table and the header, flushes the mapped windows and trims the file.
+   *
+   * @throws TestHarnessException if the file cannot be completed
+   */
+  @Override
+  public void close() {
+    try {
+      if (dataWindow != null) {
+        dataWindow.force();
+      }
+      if (indexWindow != null) {
+        indexWindow.force();
+      }
+      long tableOffset = dataEnd;
+      long tableEnd = writeFully(templateTable(), tableOffset);
+      ByteBuffer header = ByteBuffer.allocate(TypeBCorpus.HEADER_BYTES)
+          .putLong(TypeBCorpus.MAGIC)
+          .putInt(TypeBCorpus.VERSION)
+          .putInt(templates.size())
+          .putLong(recordCount)
+          .putLong(indexOffset)
+          .putLong(dataOffset)
+          .putLong(dataEnd)
+          .putLong(tableOffset)
+          .putLong(tableEnd)
+          .flip();
+      writeFully(header, 0);
+      try {
+        channel.truncate(tableEnd);
+      } catch (IOException e) {
+        // Some platforms refuse to shrink a file that is still mapped; the tail is never read
+        log.debug("Corpus {} not trimmed: {}", path, e.getMessage());
+      }
+      channel.force(true);
+      log.info("Type B corpus written: {} ({} records, {} templates, {} bytes)",
+          path, recordCount, templates.size(), tableEnd);
+    } catch (IOException e) {
+      throw new TestHarnessException("Failed to complete Type B corpus " + path, e);
+    } finally {
+      try {
+        channel.close();
+      } catch (IOException e) {
+        log.warn("Failed to close Type B corpus {}: {}", path, e.getMessage());
+      }
+    }
+  }
+
+  // ==================== Internals ====================
+
+  private ByteBuffer dataWindow(long offset) {
+    if (dataWindow == null || offset + TypeBCorpus.MAX_RECORD_BYTES > dataWindowStart + dataWindow.capacity()) {
+      dataWindow = map(offset, WINDOW_BYTES);
+      dataWindowStart = offset;
+    }
+    return dataWindow;
+  }
+
+  private void putIndex(long index, long recordOffset) {
+    long entry = indexOffset + index * Long.BYTES;
+    if (indexWindow == null || entry + Long.BYTES > indexWindowStart + indexWindow.capacity()) {
+      indexWindow = map(entry, (int) Math.min(WINDOW_BYTES, dataOffset - entry));
+      indexWindowStart = entry;
+    }
+    indexWindow.putLong((int) (entry - indexWindowStart), recordOffset);
+  }
+
+  private MappedByteBuffer map(long offset, int size) {
+    try {
+      return channel.map(FileChannel.MapMode.READ_WRITE, offset, size);
+    } catch (IOException e) {
+      throw new TestHarnessException("Failed to map Type B corpus " + path + " at " + offset, e);
+    }
+  }
+
+  private int indexOf(ByteBuffer window, int from, int length, String identity) {
+    int size = identity.length();
+    if (identityBytes.length != size) {
+      identityBytes = new byte[size];
+    }
+    for (int i = 0; i < size; i++) {
+      identityBytes[i] = (byte) identity.charAt(i);
+    }
+    int last = from + length - size;
+    for (int i = from; i <= last; i++) {
+      int j = 0;
+      while (j < size && window.get(i + j) == identityBytes[j]) {
+        j++;
+      }
+      if (j == size) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private ByteBuffer templateTable() {
+    int size = 0;
+    byte[][] names = new byte[templates.size()][];
+    for (int i = 0; i < names.length; i++) {
+      names[i] = templates.get(i).getBytes(StandardCharsets.UTF_8);
+      size += Short.BYTES + names[i].length;
+    }
+    ByteBuffer table = ByteBuffer.allocate(size);
+    for (byte[] name : names) {
+      table.putShort((short) name.length).put(name);
+    }
+    return table.flip();
+  }
+
+  private long writeFully(ByteBuffer buffer, long position) throws IOException {
+    long next = position;
+    while (buffer.hasRemaining()) {
+      next += channel.write(buffer, next);
+    }
+    return next;
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.service.perf;
+
+import aero.sita.messaging.mercury.e2e.model.perf.MetricComparison;
+import aero.sita.messaging.mercury.e2e.model.perf.PerfMetric;
+import aero.sita.messaging.mercury.e2e.model.perf.PerfRunSummary;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+
+/**
+ * Diffs a performance run summary against a baseline summary.
+ * <p>
+ * A metric regresses when it is worse than the baseline by more than the tolerance (relative).
+ * For a latency percentile with both distributions recorded, the change must also be statistically
+ * significant: a two-sample Kolmogorov-Smirnov test on the HdrHistograms (distribution-free, so it
+ * suits skewed, long-tailed latencies) must reject "same distribution" at the significance level.
+ * This keeps run-to-run jitter from failing the build while a real shift of the curve does.
+ * Run through gradle perfCompare (see PerfRegressionCheck).
+ */
+public class PerfRegressionComparator {
+
+  private final double tolerance;
+  private final double alpha;
+
+  public PerfRegressionComparator(double tolerance, double alpha) {
+    if (tolerance < 0 || alpha <= 0 || alpha >= 1) {
+      throw new IllegalArgumentException("Tolerance must be >= 0 and alpha in (0, 1): " + tolerance + ", " + alpha);
+    }
+    this.tolerance = tolerance;
+    this.alpha = alpha;
+  }
+
+  /**
+   * Compares every metric present in either summary.
+   *
+   * @param baseline reference summary
+   * @param current  summary of this run
+   * @return one comparison per metric, sorted by name
+   */
+  public List<MetricComparison> compare(PerfRunSummary baseline, PerfRunSummary current) {
+    TreeSet<String> names = new TreeSet<>(baseline.getMetrics().keySet());
+    names.addAll(current.getMetrics().keySet());
+    List<MetricComparison> comparisons = new ArrayList<>();
+    for (String name : names) {
+      comparisons.add(compare(name, baseline, current));
+    }
+    return comparisons;
+  }
+
+  private MetricComparison compare(String name, PerfRunSummary baselineSummary, PerfRunSummary currentSummary) {
+    PerfMetric baseline = baselineSummary.getMetrics().get(name);
+    PerfMetric current = currentSummary.getMetrics().get(name);
+    MetricComparison.MetricComparisonBuilder comparison = MetricComparison.builder().name(name)
+        .unit(current != null ? current.getUnit() : baseline.getUnit())
+        .baseline(baseline == null ? null : baseline.getValue())
+        .current(current == null ? null : current.getValue());
+    if (baseline == null) {
+      return comparison.verdict(MetricComparison.Verdict.NEW).build();
+    }
+    if (current == null) {
+      return comparison.verdict(MetricComparison.Verdict.MISSING).build();
+    }
+
+    double base = baseline.getValue();
+    double value = current.getValue();
+    boolean lowerIsBetter = current.isLowerIsBetter();
+    double signedChange = lowerIsBetter ? value - base : base - value; // > 0 means worse
+    boolean worse = signedChange > tolerance * Math.abs(base) && signedChange > 0;
+    boolean better = -signedChange > tolerance * Math.abs(base) && signedChange < 0;
+    comparison.change(base == 0 ? null : (value - base) / base);
+
+    if (worse && baseline.getDistribution() != null && current.getDistribution() != null) {
+      String baselineEncoded = baselineSummary.getDistributions().get(baseline.getDistribution());
+      String currentEncoded = currentSummary.getDistributions().get(current.getDistribution());
+      if (baselineEncoded != null && currentEncoded != null) {
+        Histogram before = PerfSummaryRecorder.decode(baselineEncoded);
+        Histogram after = PerfSummaryRecorder.decode(currentEncoded);
+        double statistic = ksStatistic(before, after);
+        boolean significant = statistic > ksCriticalValue(before.getTotalCount(), after.getTotalCount());
+        comparison.ksStatistic(statistic).ksSignificant(significant);
+        worse = significant;
+      }
+    }
+    return comparison.verdict(worse ? MetricComparison.Verdict.REGRESSION
+        : better ? MetricComparison.Verdict.IMPROVEMENT : MetricComparison.Verdict.OK).build();
+  }
+
+  /**
+   * Largest distance between the two empirical CDFs, swept over the recorded values of both.
+   */
+  static double ksStatistic(Histogram a, Histogram b) {
+    List<long[]> left = recorded(a);
+    List<long[]> right = recorded(b);
+    double totalA = a.getTotalCount();
+    double totalB = b.getTotalCount();
+    long cumulativeA = 0;
+    long cumulativeB = 0;
+    double max = 0;
+    int i = 0;
+    int j = 0;
+    while (i < left.size() || j < right.size()) {
+      long valueA = i < left.size() ? left.get(i)[0] : Long.MAX_VALUE;
+      long valueB = j < right.size() ? right.get(j)[0] : Long.MAX_VALUE;
+      long value = Math.min(valueA, valueB);
+      if (valueA == value) {
+        cumulativeA += left.get(i++)[1];
+      }
+      if (valueB == value) {
+        cumulativeB += right.get(j++)[1];
+      }
+      max = Math.max(max, Math.abs(cumulativeA / totalA - cumulativeB / totalB));
+    }
+    return max;
+  }
+
+  /**
+   * Asymptotic two-sample critical value: c(alpha) * sqrt((n + m) / (n * m)).
+   */
+  double ksCriticalValue(long n, long m) {
+    double c = Math.sqrt(-0.5 * Math.log(alpha / 2));
+    return c * Math.sqrt((double) (n + m) / ((double) n * m));
+  }
+
+  private static List<long[]> recorded(Histogram histogram) {
+    List<long[]> values = new ArrayList<>();
+    for (HistogramIterationValue value : histogram.recordedValues()) {
+      values.add(new long[] {value.getValueIteratedTo(), value.getCountAtValueIteratedTo()});
+    }
+    return values;
+  }
+}
@@ -0,0 +1,210 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.service.perf;
+
+import aero.sita.messaging.mercury.e2e.config.PerfProperties;
+import aero.sita.messaging.mercury.e2e.exception.TestHarnessException;
+import aero.sita.messaging.mercury.e2e.model.load.LatencyStats;
+import aero.sita.messaging.mercury.e2e.model.load.LoadRunResult;
+import aero.sita.messaging.mercury.e2e.model.perf.PerfMetric;
+import aero.sita.messaging.mercury.e2e.model.perf.PerfRunSummary;
+import aero.sita.messaging.mercury.e2e.utilities.helper.PollingHelper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Collects the performance numbers of the run (load results, stage latencies, poll counts) and
+ * writes them as one JSON summary when the Spring context closes:
+ * {@code perf-summary_<timestamp>.json} plus {@code perf-summary-latest.json}, which the perfCompare
+ * Gradle task diffs against the baseline.
+ * <p>
+ * Metric names are "&lt;source&gt;/&lt;name&gt;.&lt;measure&gt;", e.g. "load/Constant rate.latency.p99".
+ * <p>
+ * Suite-wide metrics ("suite/...", e.g. poll attempts or the test-data purge) are recorded by every run;
+ * the summary is only written when a performance scenario recorded something as well, so a functional
+ * run never replaces the summary perfCompare reads.
+ */
+@Slf4j
+@Component
+public class PerfSummaryRecorder {
+
+  public static final String LATEST_FILE = "perf-summary-latest.json";
+
+  /**
+   * Prefix of the metrics every run records, performance scenarios or not.
+   */
+  public static final String SUITE_PREFIX = "suite/";
+
+  private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+
+  private final PollingHelper pollingHelper;
+  private final PerfProperties properties;
+  private final Map<String, PerfMetric> metrics = new ConcurrentSkipListMap<>();
+  private final Map<String, String> distributions = new ConcurrentSkipListMap<>();
+
+  @Autowired
+  public PerfSummaryRecorder(PollingHelper pollingHelper, PerfProperties properties) {
+    this.pollingHelper = pollingHelper;
+    this.properties = properties;
+  }
+
+  /**
+   * Records a single number; a later value with the same name replaces it.
+   *
+   * @param name          metric name
+   * @param value         metric value
+   * @param unit          display unit
+   * @param lowerIsBetter true when an increase is a regression
+   */
+  public void record(String name, double value, String unit, boolean lowerIsBetter) {
+    metrics.put(name, PerfMetric.builder().value(value).unit(unit).lowerIsBetter(lowerIsBetter).build());
+  }
+
+  /**
+   * Records p50/p90/p99/p99.9 of a latency summary, with its distribution when available.
+   *
+   * @param name      metric name prefix, e.g. "load/Constant rate.latency"
+   * @param stats     percentile summary in ms
+   * @param histogram distribution in microseconds, or null
+   */
+  public void recordLatency(String name, LatencyStats stats, Histogram histogram) {
+    if (stats == null || stats.getCount() == 0) {
+      return;
+    }
+    String distribution = null;
+    if (histogram != null && histogram.getTotalCount() > 0) {
+      distribution = name;
+      distributions.put(name, encode(histogram));
+    }
+    recordPercentile(name + ".p50", stats.getP50(), distribution);
+    recordPercentile(name + ".p90", stats.getP90(), distribution);
+    recordPercentile(name + ".p99", stats.getP99(), distribution);
+    recordPercentile(name + ".p999", stats.getP999(), distribution);
+  }
+
+  /**
+   * Records the latency percentiles, throughput and losses of a load run.
+   *
+   * @param name   run name, e.g. the scenario name
+   * @param result the load run result
+   */
+  public void recordLoadRun(String name, LoadRunResult result) {
+    recordRun("load/" + name, result);
+  }
+
+  /**
+   * Records the latency percentiles, throughput and losses of a load run under an explicit prefix,
+   * for runs that are one step of a larger benchmark (e.g. "fanout/&lt;scenario&gt;/width-8").
+   *
+   * @param prefix metric name prefix
+   * @param result the load run result
+   */
+  public void recordRun(String prefix, LoadRunResult result) {
+    if (result == null) {
+      return;
+    }
+    recordLatency(prefix + ".latency", result.getLatency(), result.getLatencyHistogram());
+    recordLatency(prefix + ".sendLag", result.getSendLag(), null);
+    record(prefix + ".receiveRate", result.getReceiveRate(), "msg/s", false);
+    record(prefix + ".missing", result.getMissing(), "msgs", true);
+  }
+
+  public boolean isEmpty() {
+    return metrics.isEmpty();
+  }
+
+  /**
+   * Whether a performance scenario recorded anything, i.e. a metric other than the suite-wide ones.
+   *
+   * @return true when at least one non-suite metric was recorded
+   */
+  public boolean hasPerformanceMetrics() {
+    return metrics.keySet().stream().anyMatch(name -> !name.startsWith(SUITE_PREFIX));
+  }
+
+  /**
+   * Builds the summary of everything recorded so far, poll count included.
+   *
+   * @return the summary
+   */
+  public PerfRunSummary snapshot() {
+    PerfRunSummary summary = PerfRunSummary.builder().createdAt(Instant.now().toString()).build();
+    summary.getMetrics().putAll(metrics);
+    summary.getMetrics().put(SUITE_PREFIX + "polling.attempts", PerfMetric.builder()
+        .value(pollingHelper.getAttempts()).unit("polls").lowerIsBetter(true).build());
+    summary.getDistributions().putAll(distributions);
+    return summary;
+  }
+
+  @PreDestroy
+  public void flush() {
+    if (!properties.isEnabled()) {
+      return;
+    }
+    if (!hasPerformanceMetrics()) {
+      log.debug("No performance scenario recorded metrics, {} left untouched", LATEST_FILE);
+      return;
+    }
+    log.info("Performance summary written to {}", write(snapshot()));
+  }
+
+  // ==================== Internals ====================
+
+  private void recordPercentile(String name, double millis, String distribution) {
+    metrics.put(name, PerfMetric.builder().value(millis).unit("ms").lowerIsBetter(true)
+        .distribution(distribution).build());
+  }
+
+  private Path write(PerfRunSummary summary) {
+    ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    Path dir = Paths.get(properties.getReportDir());
+    Path report = dir.resolve("perf-summary_" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".json");
+    try {
+      Files.createDirectories(dir);
+      String json = mapper.writeValueAsString(summary);
+      Files.writeString(report, json);
+      Files.writeString(dir.resolve(LATEST_FILE), json);
+      return report;
+    } catch (IOException e) {
+      throw new TestHarnessException("Could not write performance summary: " + e.getMessage(), e);
+    }
+  }
+
+  static String encode(Histogram histogram) {
+    ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+    int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+    return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+  }
+
+  static Histogram decode(String encoded) {
+    try {
+      return Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(Base64.getDecoder().decode(encoded)), 0);
+    } catch (Exception e) {
+      throw new TestHarnessException("Could not decode latency distribution: " + e.getMessage(), e);
+    }
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+package aero.sita.messaging.mercury.e2e.utilities.format.typeb;
+
+import java.util.Objects;
+
+/**
+ * Offset-based view over a region of a larger character sequence.
+ * <p>
+ * No characters are copied until {@link #toString()} is called, so a tokenizer can hand out
+ * any number of spans over the same message for the price of one small object each.
+ * Spans do not override equals/hashCode; compare them by content with
+ * {@link #contentEquals(CharSequence)} or {@link CharSequence#compare}.
+ */
+public final class CharSpan implements CharSequence {
+
+  private final CharSequence source;
+  private final int start;
+  private final int end;
+
+  CharSpan(CharSequence source, int start, int end) {
+    Objects.checkFromToIndex(start, end, source.length());
+    this.source = source;
+    this.start = start;
+    this.end = end;
+  }
+
+  /**
+   * @return offset of the first character in the source sequence
+   */
+  public int start() {
+    return start;
+  }
+
+  /**
+   * @return offset just past the last character in the source sequence
+   */
+  public int end() {
+    return end;
+  }
+
+  @Override
+  public int length() {
+    return end - start;
+  }
+
+  @Override
+  public char charAt(int index) {
+    Objects.checkIndex(index, length());
+    return source.charAt(start + index);
+  }
+
+  @Override
+  public CharSpan subSequence(int from, int to) {
+    Objects.checkFromToIndex(from, to, length());
+    return new CharSpan(source, start + from, start + to);
+  }
+
+  /**
+   * @param ch character to look for
+   * @return index of the first occurrence within this span, or -1
+   */
+  public int indexOf(char ch) {
+    for (int i = start; i < end; i++) {
+      if (source.charAt(i) == ch) {
+        return i - start;
+      }
+    }
+    return -1;
+  }
+
+  public boolean startsWith(CharSequence prefix) {
+    if (prefix.length() > length()) {
+      return false;
+    }
+    for (int i = 0; i < prefix.length(); i++) {
+      if (source.charAt(start + i) != prefix.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public boolean contentEquals(CharSequence other) {
+    return other != null && other.length() == length() && startsWith(other);
+  }
+
+  @Override
+  public String toString() {
+    return source.subSequence(start, end).toString();
+  }
+}
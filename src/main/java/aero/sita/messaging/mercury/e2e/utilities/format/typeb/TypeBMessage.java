@@ -64,6 +64,9 @@ public class TypeBMessage {
 
   /**
    * Creates a Type B message from a raw message string.
+   * The message is read in one pass by {@link TypeBTokenizer}; the result is the inverse of
+   * {@link #toMessageString()}. The normal address line keeps the whole address section as received
+   * (several lines, pilot or diversion elements included), without the EOA before the origin line.
    *
    * @param rawMessage the raw message string to parse
    * @return a TypeBMessage instance
@@ -73,42 +76,18 @@ public class TypeBMessage {
       return TypeBMessage.builder().build();
     }
 
-    TypeBMessageBuilder builder = TypeBMessage.builder();
-
-    // Remove SOH if present
-    String message = rawMessage.replaceFirst("^\u0001", "");
-
-    // Split by STX to separate header from body
-    String[] parts = message.split("\u0002", 2);
-
-    if (parts.length > 0) {
-      String header = parts[0];
-      String[] headerLines = header.split("\r\n");
-
-      if (headerLines.length > 0) {
-        builder.headingLine(headerLines[0]);
-      }
-      if (headerLines.length > 1 && headerLines[1].startsWith(".")) {
-        builder.normalAddressLine(headerLines[1].substring(1));
-      }
-      if (headerLines.length > 2) {
-        builder.originLine(headerLines[2]);
-      }
-    }
-
-    if (parts.length > 1) {
-      // Split by ETX to separate text from ending
-      String[] bodyParts = parts[1].split("\u0003", 2);
-
-      if (bodyParts.length > 0) {
-        builder.text(bodyParts[0]);
-      }
-      if (bodyParts.length > 1) {
-        builder.ending(bodyParts[1]);
-      }
-    }
+    TypeBTokens tokens = TypeBTokenizer.tokenize(rawMessage);
+    return TypeBMessage.builder()
+        .headingLine(string(tokens.heading()))
+        .normalAddressLine(string(tokens.addressSection()))
+        .originLine(string(tokens.originLine()))
+        .text(string(tokens.text()))
+        .ending(string(tokens.ending()))
+        .build();
+  }
 
-    return builder.build();
+  private static String string(CharSpan span) {
+    return span == null ? null : span.toString();
   }
 
   /**
@@ -9,6 +9,9 @@
 
 package aero.sita.messaging.mercury.e2e.utilities.format.typeb;
 
+import aero.sita.messaging.mercury.e2e.utilities.format.typeb.util.AddressUtils;
+import java.util.ArrayList;
+import java.util.List;
 import lombok.experimental.UtilityClass;
 
 /**
@@ -63,6 +66,51 @@ public class TypeBMessageFactory {
         .build();
   }
 
+  /**
+   * Creates a valid Type B message like {@link #validMessageWithIdentity(String)} but with the
+   * given priority indicator on the address line (e.g., "QU", "QD").
+   *
+   * @param priority        the priority indicator
+   * @param messageIdentity the unique message identity
+   * @return a valid TypeBMessage instance with the specified priority and message identity
+   */
+  public static TypeBMessage validMessageWithPriority(String priority, String messageIdentity) {
+    return TypeBMessage.builder()
+        .headingLine("") // Optional heading line
+        .normalAddressLine(buildAddressLine(priority, DEFAULT_ADDRESS))
+        .originLine(buildOriginLine(messageIdentity))
+        .text(buildMessageText(DEFAULT_MESSAGE_TYPE, DEFAULT_FLIGHT_INFO))
+        .ending("")
+        .build();
+  }
+
+  /**
+   * Creates a valid Type B message addressed to several destinations (fan-out).
+   * Addresses are split into lines of {@link AddressUtils#MAX_ADDRESSES_PER_LINE}, the priority
+   * being on the first line only; beyond {@link AddressUtils#MAX_ADDRESS_LINES} lines Mercury rejects it.
+   *
+   * @param priority        the priority indicator (e.g., "QP")
+   * @param addresses       the destination addresses (e.g., ["SWIRI1G", "BCNXSXT"])
+   * @param messageIdentity the unique message identity
+   * @return a valid TypeBMessage instance addressed to every destination
+   */
+  public static TypeBMessage validMessageWithAddresses(String priority, List<String> addresses,
+                                                       String messageIdentity) {
+    List<List<String>> lines = new ArrayList<>();
+    for (int i = 0; i < addresses.size(); i += AddressUtils.MAX_ADDRESSES_PER_LINE) {
+      lines.add(addresses.subList(i, Math.min(addresses.size(), i + AddressUtils.MAX_ADDRESSES_PER_LINE)));
+    }
+    AddressUtils.validateAddressLineCount(lines.size());
+
+    return TypeBMessage.builder()
+        .headingLine("") // Optional heading line
+        .normalAddressLine(AddressUtils.buildAddressLines(priority, lines))
+        .originLine(buildOriginLine(messageIdentity))
+        .text(buildMessageText(DEFAULT_MESSAGE_TYPE, DEFAULT_FLIGHT_INFO))
+        .ending("")
+        .build();
+  }
+
   /**
    * Creates a Type B message with an invalid originator indicator.
    * The originator indicator will have less than 7 characters, triggering UNKNOWN_ORIGIN_INDICATOR error.
@@ -0,0 +1,286 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+package aero.sita.messaging.mercury.e2e.utilities.format.typeb;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Single-pass tokenizer for Type B messages.
+ * <p>
+ * The message is walked once, left to right, and every section is returned as a {@link CharSpan}
+ * over the original sequence (no split arrays, no regexes, no substring copies):
+ * <pre>
+ * [heading CRLF] [US] SOA { QSP ri EOA } { address-element EOA [/////] } originator SP identity
+ *   CRLF STX text ETX ending
+ * </pre>
+ * Recognized delimiters:
+ * - SOA: SOH, SUB at the start of a line, or "." at the start of the message (CRLF+DOT pattern)
+ * - EOA: CRLF + "." (a bare LF is tolerated) or SUB
+ * - Pilot signal: "/////" right after an EOA; an optional new SOA may follow it
+ * <p>
+ * In a body without STX the text follows the origin line directly, so a text line starting with "."
+ * looks like one more EOA. Once an EOA is followed by a line carrying an identity and no STX comes
+ * later, that line is the origin line and the scan stops there (the first origin line wins). A pilot
+ * signal is always followed by more addresses, so the rule does not apply right after one.
+ * <p>
+ * A CRLF+DOT SOA after a heading cannot be told apart from an EOA; in that case the heading is
+ * reported as part of the first address element. Without any SOA the address section starts at
+ * the first printable character, which also covers bodies stored without their control characters
+ * (the only case where the part before STX is read twice).
+ */
+@UtilityClass
+public class TypeBTokenizer {
+
+  public static final char SOH = '\u0001';
+  public static final char STX = '\u0002';
+  public static final char ETX = '\u0003';
+  public static final char SUB = '\u001A';
+  public static final char US = '\u001F';
+
+  private static final String PILOT_SIGNAL = "/////";
+  private static final String DIVERSION_PREFIX = "QSP ";
+
+  /**
+   * Tokenizes a complete message, text and ending included.
+   *
+   * @param message raw message
+   * @return the sections found, as views over {@code message}
+   */
+  public static TypeBTokens tokenize(CharSequence message) {
+    return tokenize(message, true);
+  }
+
+  /**
+   * Tokenizes only the part before STX. Use it when the text is not needed:
+   * the cost then no longer grows with the text size.
+   *
+   * @param message raw message
+   * @return the sections found; text and ending are always null
+   */
+  public static TypeBTokens tokenizeHeader(CharSequence message) {
+    return tokenize(message, false);
+  }
+
+  /**
+   * Extracts the message identity (after the first space of the origin line) of a raw message.
+   *
+   * @param message raw message
+   * @return the identity, or null when there is no origin line or it carries no identity
+   */
+  public static String messageIdentity(CharSequence message) {
+    if (message == null) {
+      return null;
+    }
+    CharSpan identity = tokenizeHeader(message).messageIdentity();
+    return identity == null || identity.isEmpty() ? null : identity.toString();
+  }
+
+  /**
+   * Index of the first space of a single line, e.g. between priority and addresses
+   * or between originator and identity.
+   *
+   * @param line line to scan
+   * @return index of the first space, or -1
+   */
+  public static int firstSpace(CharSequence line) {
+    for (int i = 0; i < line.length(); i++) {
+      if (line.charAt(i) == ' ') {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static TypeBTokens tokenize(CharSequence s, boolean withText) {
+    int n = s.length();
+
+    // Heading: up to the SOA, or up to STX when the message has no SOA
+    int stx = -1;
+    int soa = -1;
+    for (int i = 0; i < n; i++) {
+      char c = s.charAt(i);
+      if (c == STX) {
+        stx = i;
+        break;
+      }
+      if (c == SOH || (c == SUB && (i == 0 || s.charAt(i - 1) == '\n'))) {
+        soa = i;
+        break;
+      }
+    }
+
+    CharSpan heading = null;
+    int pos;
+    if (soa >= 0) {
+      int headingEnd = trimTrailing(s, 0, soa);
+      int headingStart = skipLeading(s, 0, headingEnd);
+      heading = headingEnd > headingStart ? new CharSpan(s, headingStart, headingEnd) : null;
+      pos = soa + 1;
+    } else {
+      // No SOA: the heading scan already went up to STX, the address section is re-read from the start
+      pos = skipLeading(s, 0, stx < 0 ? n : stx);
+      if (pos < n && s.charAt(pos) == '.') {
+        pos++; // CRLF+DOT SOA without heading
+      }
+    }
+
+    // Address elements, each closed by an EOA; what follows the last EOA is the origin line
+    int addressStart = pos;
+    int addressEnd = pos;
+    List<CharSpan> addressElements = new ArrayList<>(2);
+    List<CharSpan> pilotElements = List.of();
+    CharSpan diversion = null;
+    boolean afterEoa = false;
+    int i = pos;
+    while (i < n) {
+      char c = s.charAt(i);
+      int eoaStart;
+      int eoaEnd;
+      if (c == STX) {
+        stx = i;
+        break;
+      } else if (c == SUB) {
+        eoaStart = i;
+        eoaEnd = i + 1;
+      } else if (c == '\n' && i + 1 < n && s.charAt(i + 1) == '.') {
+        eoaStart = i > pos && s.charAt(i - 1) == '\r' ? i - 1 : i;
+        eoaEnd = i + 2;
+        if (afterEoa && carriesIdentity(s, pos, eoaStart) && indexOf(s, STX, i, n) < 0) {
+          break; // no STX: pos starts the origin line, this "EOA" is a text line starting with "."
+        }
+      } else {
+        i++;
+        continue;
+      }
+
+      CharSpan element = new CharSpan(s, pos, eoaStart);
+      addressEnd = eoaStart;
+      pos = eoaEnd;
+      afterEoa = true;
+      if (startsWith(s, pos, n, PILOT_SIGNAL)) {
+        afterEoa = false; // a pilot is followed by more addresses, not by the origin line
+        if (pilotElements.isEmpty()) {
+          pilotElements = new ArrayList<>(1);
+        }
+        pilotElements.add(element);
+        pos = skipLeading(s, pos + PILOT_SIGNAL.length(), n);
+        if (pos < n && (s.charAt(pos) == SOH || s.charAt(pos) == SUB)) {
+          pos++;
+        }
+      } else if (element.startsWith(DIVERSION_PREFIX)) {
+        diversion = element.subSequence(DIVERSION_PREFIX.length(), element.length());
+      } else {
+        addressElements.add(element);
+      }
+      i = pos;
+    }
+    if (stx < 0) {
+      stx = n;
+    }
+
+    // Origin line: up to the end of its line, trailing blanks excluded
+    CharSpan originLine = null;
+    CharSpan originator = null;
+    CharSpan identity = null;
+    if (pos < stx) {
+      int lineEnd = pos;
+      while (lineEnd < stx && s.charAt(lineEnd) != '\r' && s.charAt(lineEnd) != '\n') {
+        lineEnd++;
+      }
+      while (lineEnd > pos && (s.charAt(lineEnd - 1) == ' ' || s.charAt(lineEnd - 1) == '\t')) {
+        lineEnd--;
+      }
+      originLine = new CharSpan(s, pos, lineEnd);
+      int space = indexOf(s, ' ', pos, lineEnd);
+      originator = new CharSpan(s, pos, space < 0 ? lineEnd : space);
+      identity = space < 0 ? null : new CharSpan(s, space + 1, lineEnd);
+    }
+
+    // Text and ending
+    CharSpan text = null;
+    CharSpan ending = null;
+    if (withText && stx < n) {
+      int etx = indexOf(s, ETX, stx + 1, n);
+      text = new CharSpan(s, stx + 1, etx < 0 ? n : etx);
+      ending = etx < 0 ? null : new CharSpan(s, etx + 1, n);
+    }
+
+    return new TypeBTokens(heading, new CharSpan(s, addressStart, Math.max(addressStart, addressEnd)),
+        addressElements, pilotElements, diversion, originLine, originator, identity, text, ending);
+  }
+
+  /**
+   * Whether the first line of {@code [from, to)} has the "originator identity" shape:
+   * a space followed by something other than blanks.
+   */
+  private static boolean carriesIdentity(CharSequence s, int from, int to) {
+    int space = -1;
+    for (int i = from; i < to; i++) {
+      char c = s.charAt(i);
+      if (c == '\r' || c == '\n') {
+        break;
+      }
+      if (space < 0 && c == ' ') {
+        space = i;
+      } else if (space >= 0 && c != ' ' && c != '\t') {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static int indexOf(CharSequence s, char ch, int from, int to) {
+    if (s instanceof String str) {
+      return str.indexOf(ch, from, to); // intrinsic: matters for the text section
+    }
+    for (int i = from; i < to; i++) {
+      if (s.charAt(i) == ch) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static boolean startsWith(CharSequence s, int from, int to, String prefix) {
+    if (to - from < prefix.length()) {
+      return false;
+    }
+    for (int i = 0; i < prefix.length(); i++) {
+      if (s.charAt(from + i) != prefix.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Skips line terminators and the US spacing signal.
+   */
+  private static int skipLeading(CharSequence s, int from, int to) {
+    int i = from;
+    while (i < to && isLayout(s.charAt(i))) {
+      i++;
+    }
+    return i;
+  }
+
+  private static int trimTrailing(CharSequence s, int from, int to) {
+    int i = to;
+    while (i > from && isLayout(s.charAt(i - 1))) {
+      i--;
+    }
+    return i;
+  }
+
+  private static boolean isLayout(char c) {
+    return c == '\r' || c == '\n' || c == US;
+  }
+}
@@ -0,0 +1,38 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+package aero.sita.messaging.mercury.e2e.utilities.format.typeb;
+
+import java.util.List;
+
+/**
+ * Sections of a Type B message found by {@link TypeBTokenizer}, as views over the original string.
+ * Absent sections are null; present but empty ones are empty spans.
+ *
+ * @param heading             heading line before the SOA, without its line terminator
+ * @param addressSection      everything between the SOA and the EOA that precedes the origin line
+ * @param addressElements     normal address elements (priority + addresses, possibly over several lines)
+ * @param pilotElements       address elements followed by the pilot signal "/////"
+ * @param diversionIndicator  routing indicator of the "QSP" diversion line
+ * @param originLine          originator and identity, without the leading "." and trailing blanks
+ * @param originator          first token of the origin line
+ * @param messageIdentity     everything after the first space of the origin line
+ * @param text                content between STX and ETX
+ * @param ending              content after ETX
+ */
+public record TypeBTokens(CharSpan heading,
+                          CharSpan addressSection,
+                          List<CharSpan> addressElements,
+                          List<CharSpan> pilotElements,
+                          CharSpan diversionIndicator,
+                          CharSpan originLine,
+                          CharSpan originator,
+                          CharSpan messageIdentity,
+                          CharSpan text,
+                          CharSpan ending) {
+}
@@ -9,6 +9,7 @@
 
 package aero.sita.messaging.mercury.e2e.utilities.format.typeb.util;
 
+import aero.sita.messaging.mercury.e2e.utilities.format.typeb.TypeBTokenizer;
 import java.util.List;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
@@ -54,13 +55,13 @@ public class AddressUtils {
       return DEFAULT_PRIORITY;
     }
 
-    String[] parts = addressLine.split(" ", 2);
-    if (parts.length == 0 || parts[0].isEmpty()) {
+    int space = TypeBTokenizer.firstSpace(addressLine);
+    if (space == 0) {
       log.debug("No priority found in address line, returning default: {}", DEFAULT_PRIORITY);
       return DEFAULT_PRIORITY;
     }
 
-    String priority = parts[0];
+    String priority = space < 0 ? addressLine : addressLine.substring(0, space);
     log.debug("Extracted priority: {}", priority);
     return priority;
   }
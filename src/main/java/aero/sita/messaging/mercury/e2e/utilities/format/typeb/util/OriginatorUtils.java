@@ -9,6 +9,7 @@
 
 package aero.sita.messaging.mercury.e2e.utilities.format.typeb.util;
 
+import aero.sita.messaging.mercury.e2e.utilities.format.typeb.TypeBTokenizer;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 
@@ -80,13 +81,13 @@ public class OriginatorUtils {
       return "";
     }
 
-    String[] parts = originLine.split(" ", 2);
-    if (parts.length < 2) {
+    int space = TypeBTokenizer.firstSpace(originLine);
+    if (space < 0) {
       log.warn("No messageIdentity found in origin line: {}", originLine);
       return "";
     }
 
-    String messageIdentity = parts[1];
+    String messageIdentity = originLine.substring(space + 1);
     log.debug("Extracted messageIdentity: {}", messageIdentity);
     return messageIdentity;
   }
@@ -104,13 +105,13 @@ public class OriginatorUtils {
       return "";
     }
 
-    String[] parts = originLine.split(" ", 2);
-    if (parts.length == 0 || parts[0].isEmpty()) {
+    int space = TypeBTokenizer.firstSpace(originLine);
+    if (space == 0) {
       log.warn("No originator found in origin line: {}", originLine);
       return "";
     }
 
-    String originator = parts[0];
+    String originator = space < 0 ? originLine : originLine.substring(0, space);
     log.debug("Extracted originator: {}", originator);
     return originator;
   }
@@ -14,6 +14,8 @@ import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.Filters;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -60,6 +62,49 @@ public class ConfigurationDbHelper {
     return emptyCollections;
   }
 
+  /**
+   * Reads every enabled connection, in _id order.
+   *
+   * @return the connection documents (inQueue, outQueue, hostId, ...)
+   */
+  public List<Document> findEnabledConnections() {
+    return mongoClient.getDatabase(configDbName).getCollection("connections")
+        .find(Filters.eq("enabled", true))
+        .sort(new Document("_id", 1))
+        .into(new ArrayList<>());
+  }
+
+  /**
+   * Resolves, for every connection reachable through an enabled DIRECT route, the first address routed
+   * to it (route -> destinationIds -> enabled destination -> connectionIds), in route _id order.
+   *
+   * @return connection _id to a routed address, e.g. "connectionA" -> "JFKNYBA"
+   */
+  public Map<String, String> findRoutedAddressByConnection() {
+    MongoDatabase db = mongoClient.getDatabase(configDbName);
+    Map<Object, List<?>> connectionIdsByDestination = new HashMap<>();
+    for (Document destination : db.getCollection("destinations").find(Filters.eq("enabled", true))) {
+      connectionIdsByDestination.put(destination.get("_id"), destination.getList("connectionIds", Object.class,
+          List.of()));
+    }
+
+    Map<String, String> addressByConnection = new LinkedHashMap<>();
+    for (Document route : db.getCollection("routes")
+        .find(Filters.and(Filters.eq("enabled", true), Filters.eq("type", "DIRECT")))
+        .sort(new Document("_id", 1))) {
+      Object address = getNestedValue(route, "criteria.addressMatcher");
+      if (address == null) {
+        continue;
+      }
+      for (Object destinationId : route.getList("destinationIds", Object.class, List.of())) {
+        for (Object connectionId : connectionIdsByDestination.getOrDefault(destinationId, List.of())) {
+          addressByConnection.putIfAbsent(String.valueOf(connectionId), String.valueOf(address));
+        }
+      }
+    }
+    return addressByConnection;
+  }
+
   public List<String> validateCollectionContent(String collectionNameWithDb, List<Map<String, String>> expectedRows) {
     String collectionName = collectionNameWithDb.contains(".")
         ? collectionNameWithDb.substring(collectionNameWithDb.lastIndexOf(".") + 1)
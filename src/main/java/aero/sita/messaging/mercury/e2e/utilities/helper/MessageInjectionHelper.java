@@ -12,6 +12,7 @@ package aero.sita.messaging.mercury.e2e.utilities.helper;
 import aero.sita.messaging.mercury.e2e.client.testharness.TestHarnessClient;
 import aero.sita.messaging.mercury.e2e.model.testharness.request.DestinationDetails;
 import aero.sita.messaging.mercury.e2e.model.testharness.request.SendMessageIbmMqRequest;
+import aero.sita.messaging.mercury.e2e.service.latency.HarnessLatencyCollector;
 import java.util.Collections;
 import java.util.List;
 import java.util.regex.Matcher;
@@ -31,6 +32,8 @@ public class MessageInjectionHelper {
 
   private final TestHarnessClient testHarnessClient;
   private final MongoGenericHelper mongoHelper;
+  private final TestDataLifecycleManager testDataLifecycleManager;
+  private final HarnessLatencyCollector harnessLatencyCollector;
 
   private final String defaultServer;
   private final Integer defaultPort;
@@ -44,12 +47,16 @@ public class MessageInjectionHelper {
   public MessageInjectionHelper(
       TestHarnessClient testHarnessClient,
       MongoGenericHelper mongoHelper,
+      TestDataLifecycleManager testDataLifecycleManager,
+      HarnessLatencyCollector harnessLatencyCollector,
       @Value("${test-harness.default.server:localhost}") String defaultServer,
       @Value("${test-harness.default.port:1414}") Integer defaultPort,
       @Value("${test-harness.default.queue:DEV.QUEUE.1}") String defaultQueue,
       @Value("${configuration.database.name:configuration}") String configDbName) {
     this.testHarnessClient = testHarnessClient;
     this.mongoHelper = mongoHelper;
+    this.testDataLifecycleManager = testDataLifecycleManager;
+    this.harnessLatencyCollector = harnessLatencyCollector;
     this.defaultServer = defaultServer;
     this.defaultPort = defaultPort;
     this.defaultQueue = defaultQueue;
@@ -98,6 +105,10 @@ public class MessageInjectionHelper {
     injectRawMessage(messageContent, defaultServer, defaultPort, defaultQueue);
   }
 
+  public void injectRawMessage(String messageContent, String queueName) {
+    injectRawMessage(messageContent, defaultServer, defaultPort, queueName);
+  }
+
   public void injectRawMessage(String messageContent, String server, Integer port, String queueName) {
     log.info("Injecting message to {}:{} queue: {}", server, port, queueName);
 
@@ -113,6 +124,50 @@ public class MessageInjectionHelper {
         .build();
 
     testHarnessClient.sendMessage(request);
+    testDataLifecycleManager.record(messageContent);
+    harnessLatencyCollector.recordInjection(messageContent);
+  }
+
+  /**
+   * Pre-loads a message into the harness for a load profile: the harness stores it and only sends
+   * it when the profile is triggered.
+   *
+   * @param messageContent raw message
+   * @param queueNames     destination queues on the default server
+   * @param loadProfileId  load profile the message belongs to
+   */
+  public void preLoadRawMessage(String messageContent, List<String> queueNames, long loadProfileId) {
+    testHarnessClient.sendMessage(SendMessageIbmMqRequest.builder()
+        .message(messageContent)
+        .destinationsDetailsList(Collections.singletonList(defaultDestination(queueNames)))
+        .loadProfileId(loadProfileId)
+        .preLoad(true)
+        .build());
+    testDataLifecycleManager.record(messageContent);
+    harnessLatencyCollector.recordInjection(messageContent);
+  }
+
+  /**
+   * Triggers a load profile: the harness sends its pre-loaded messages at its own side.
+   *
+   * @param queueNames    destination queues on the default server
+   * @param loadProfileId load profile to run
+   */
+  public void triggerLoadProfile(List<String> queueNames, long loadProfileId) {
+    log.info("Triggering harness load profile {} to {}", loadProfileId, queueNames);
+    testHarnessClient.sendMessage(SendMessageIbmMqRequest.builder()
+        .destinationsDetailsList(Collections.singletonList(defaultDestination(queueNames)))
+        .loadProfileId(loadProfileId)
+        .preLoad(false)
+        .build());
+  }
+
+  private DestinationDetails defaultDestination(List<String> queueNames) {
+    return DestinationDetails.builder()
+        .server(defaultServer)
+        .port(defaultPort)
+        .destinationNames(queueNames.isEmpty() ? List.of(defaultQueue) : List.copyOf(queueNames))
+        .build();
   }
 
   // --- Internal Logic ---
@@ -39,6 +39,7 @@ public class MessageRetrievalHelper {
   private final TestHarnessClient testHarnessClient;
   private final PollingHelper pollingHelper;
   private final PollingProperties pollingProperties;
+  private final ReceivedIdentityIndex receivedIdentityIndex;
 
   @Autowired
   private PollingProperties pollingProps;
@@ -46,10 +47,12 @@ public class MessageRetrievalHelper {
   @Autowired
   public MessageRetrievalHelper(TestHarnessClient testHarnessClient,
                                 PollingHelper pollingHelper,
-                                PollingProperties pollingProperties) {
+                                PollingProperties pollingProperties,
+                                ReceivedIdentityIndex receivedIdentityIndex) {
     this.testHarnessClient = testHarnessClient;
     this.pollingHelper = pollingHelper;
     this.pollingProperties = pollingProperties;
+    this.receivedIdentityIndex = receivedIdentityIndex;
   }
 
   /**
@@ -106,6 +109,8 @@ public class MessageRetrievalHelper {
    * Finds a reject message related to a specific message identity.
    * <p>
    * REFACTORED: Now uses polling to wait for the reject message to arrive.
+   * The identity is matched through the shared {@link ReceivedIdentityIndex}, so each received body is
+   * scanned once for all identities awaited at the same time.
    *
    * @param messageIdentity the message identity to search for
    * @return the reject message, or null if not found within timeout
@@ -116,11 +121,17 @@ public class MessageRetrievalHelper {
     int timeout = pollingProperties.getRejectMessage().getTimeoutSeconds();
     long interval = pollingProperties.getRejectMessage().getIntervalMillis();
 
-    ReceivedMessage message = pollingHelper.poll(
-        () -> findRejectMessageByIdentityLogic(messageIdentity),
-        timeout,
-        interval
-    );
+    receivedIdentityIndex.register(messageIdentity);
+    ReceivedMessage message;
+    try {
+      message = pollingHelper.poll(
+          () -> findRejectMessageByIdentityLogic(messageIdentity),
+          timeout,
+          interval
+      );
+    } finally {
+      receivedIdentityIndex.complete(messageIdentity);
+    }
 
     if (message != null) {
       log.info("Found reject message for messageIdentity {}: id={}, protocol={}, queueName={}",
@@ -279,6 +290,7 @@ public class MessageRetrievalHelper {
    * Finds a message by queue name AND content.
    * Useful for ensuring we pick up a specific message (e.g. by Identity)
    * rather than just the first available message in the queue.
+   * The content is matched through the shared {@link ReceivedIdentityIndex}.
    *
    * @param queueName the queue name to search for
    * @param content   the unique content (Identity) to search for
@@ -290,11 +302,22 @@ public class MessageRetrievalHelper {
     int timeout = pollingProperties.getMessageRetrieval().getTimeoutSeconds();
     long interval = pollingProperties.getMessageRetrieval().getIntervalMillis();
 
-    ReceivedMessage message = pollingHelper.poll(
-        () -> findMessageByQueueAndContentLogic(queueName, content),
-        timeout,
-        interval
-    );
+    boolean indexed = content != null && !content.isEmpty();
+    if (indexed) {
+      receivedIdentityIndex.register(content);
+    }
+    ReceivedMessage message;
+    try {
+      message = pollingHelper.poll(
+          () -> findMessageByQueueAndContentLogic(queueName, content),
+          timeout,
+          interval
+      );
+    } finally {
+      if (indexed) {
+        receivedIdentityIndex.complete(content);
+      }
+    }
 
     if (message != null) {
       log.info("Found matching message in queue {}: id={}", queueName, message.getId());
@@ -390,15 +413,8 @@ public class MessageRetrievalHelper {
    * @return the reject message, or null if not found
    */
   private ReceivedMessage findRejectMessageByIdentityLogic(String messageIdentity) {
-    List<ReceivedMessage> receivedMessages = getAllReceivedMessages();
-
-    Optional<ReceivedMessage> rejectMessage = receivedMessages.stream()
-        .filter(msg -> msg.getBody() != null
-            && msg.getBody().contains("PLS RPT YR")
-            && msg.getBody().contains(messageIdentity))
-        .findFirst();
-
-    return rejectMessage.orElse(null);
+    receivedIdentityIndex.refresh(getAllReceivedMessages());
+    return receivedIdentityIndex.find(messageIdentity, this::isRejectMessage);
   }
 
   /**
@@ -449,6 +465,11 @@ public class MessageRetrievalHelper {
    * @return the message, or null if not found
    */
   private ReceivedMessage findMessageByQueueAndContentLogic(String queueName, String content) {
+    if (content != null && !content.isEmpty()) {
+      receivedIdentityIndex.refresh(getAllReceivedMessages());
+      return receivedIdentityIndex.find(content,
+          msg -> msg.getQueueName() != null && msg.getQueueName().equals(queueName));
+    }
     List<ReceivedMessage> receivedMessages = getAllReceivedMessages();
 
     Optional<ReceivedMessage> message = receivedMessages.stream()
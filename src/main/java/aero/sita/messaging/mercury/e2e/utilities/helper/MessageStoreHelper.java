@@ -15,6 +15,8 @@ import aero.sita.messaging.mercury.e2e.model.mongodb.OutgoingMessage;
 import aero.sita.messaging.mercury.e2e.model.mongodb.StatusLog;
 import aero.sita.messaging.mercury.e2e.repository.IncomingMessageRepository;
 import aero.sita.messaging.mercury.e2e.repository.OutgoingMessageRepository;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
@@ -203,6 +205,17 @@ public class MessageStoreHelper {
         .collect(Collectors.toList());
   }
 
+  /**
+   * Search for the incoming messages of many identities in one fresh query (rawData not loaded).
+   *
+   * @param messageIdentities the message identities to search for, at most a few hundred per call
+   * @return all incoming messages matching any of the identities
+   */
+  public List<IncomingMessage> searchByMessageIdentities(Collection<String> messageIdentities) {
+    log.debug("Searching for incoming messages of {} message identities", messageIdentities.size());
+    return mongoDataRefresher.findIncomingByMessageIdentities(messageIdentities);
+  }
+
   // ==================== OUTGOING MESSAGE METHODS ====================
 
   /**
@@ -217,6 +230,40 @@ public class MessageStoreHelper {
     return outgoingMessageRepository.findByMessageIdentity(messageIdentity);
   }
 
+  /**
+   * Search for all outgoing messages created from one incoming message (fan-out).
+   * Uses fresh reads on the incomingMessageId index.
+   *
+   * @param incomingMessageId the incoming message ID
+   * @return list of outgoing messages referencing the incoming message
+   */
+  public List<OutgoingMessage> searchOutgoingByIncomingMessageId(String incomingMessageId) {
+    log.debug("Searching for outgoing messages with incomingMessageId: {}", incomingMessageId);
+    return mongoDataRefresher.findByIncomingMessageId(incomingMessageId);
+  }
+
+  /**
+   * Search for the outgoing messages of many incoming messages in one fresh query (rawData not loaded).
+   *
+   * @param incomingMessageIds the incoming message IDs, at most a few hundred per call
+   * @return all outgoing messages referencing any of the incoming messages
+   */
+  public List<OutgoingMessage> searchOutgoingByIncomingMessageIds(Collection<String> incomingMessageIds) {
+    log.debug("Searching for outgoing messages of {} incoming messages", incomingMessageIds.size());
+    return mongoDataRefresher.findOutgoingByIncomingMessageIds(incomingMessageIds);
+  }
+
+  /**
+   * Counts outgoing messages created in a time window (all connections).
+   *
+   * @param from start of the window (inclusive)
+   * @param to   end of the window (exclusive)
+   * @return number of outgoing documents created in the window
+   */
+  public long countOutgoingCreatedBetween(Instant from, Instant to) {
+    return mongoDataRefresher.countOutgoingCreatedBetween(from, to);
+  }
+
   /**
    * Wait for outgoing message to appear in MongoDB by searching for messageIdentity.
    * Uses centralized polling configuration.
@@ -11,6 +11,9 @@ package aero.sita.messaging.mercury.e2e.utilities.helper;
 
 import aero.sita.messaging.mercury.e2e.model.mongodb.IncomingMessage;
 import aero.sita.messaging.mercury.e2e.model.mongodb.OutgoingMessage;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -99,5 +102,41 @@ public class MongoDataRefresher {
     log.debug("Found {} outgoing message(s)", messages.size());
     return messages;
   }
+
+  /**
+   * Finds the incoming messages of many identities in one query ({@code $in}), without rawData.
+   *
+   * @param messageIdentities the message identities to search for
+   * @return the matching {@link IncomingMessage} objects, rawData left null
+   */
+  public List<IncomingMessage> findIncomingByMessageIdentities(Collection<String> messageIdentities) {
+    Query query = new Query(Criteria.where("messageIdentity").in(messageIdentities));
+    query.fields().exclude("rawData");
+    return mongoTemplate.find(query, IncomingMessage.class);
+  }
+
+  /**
+   * Finds the outgoing messages of many incoming messages in one query ({@code $in}), without rawData.
+   *
+   * @param incomingMessageIds the incoming message IDs
+   * @return the matching {@link OutgoingMessage} objects, rawData left null
+   */
+  public List<OutgoingMessage> findOutgoingByIncomingMessageIds(Collection<String> incomingMessageIds) {
+    Query query = new Query(Criteria.where("incomingMessageId").in(incomingMessageIds));
+    query.fields().exclude("rawData");
+    return mongoTemplate.find(query, OutgoingMessage.class);
+  }
+
+  /**
+   * Counts outgoing messages created in a time window (all connections).
+   *
+   * @param from start of the window (inclusive)
+   * @param to   end of the window (exclusive)
+   * @return number of outgoing documents created in the window
+   */
+  public long countOutgoingCreatedBetween(Instant from, Instant to) {
+    Query query = new Query(Criteria.where("createdDate").gte(Date.from(from)).lt(Date.from(to)));
+    return mongoTemplate.count(query, OutgoingMessage.class);
+  }
 }
 
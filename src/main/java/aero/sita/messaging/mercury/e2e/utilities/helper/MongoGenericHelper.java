@@ -18,6 +18,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.bson.Document;
+import org.bson.conversions.Bson;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -53,6 +54,35 @@ public class MongoGenericHelper {
     }
   }
 
+  /**
+   * Fetches the first document matching a filter, limited to a projection.
+   * Used by compiled assertion plans, which build the filter and projection once and resolve the
+   * field path themselves.
+   *
+   * @param databaseName   database name
+   * @param collectionName collection name
+   * @param filter         query filter
+   * @param projection     fields to return, or null for the whole document
+   * @return the document, or null if none matches
+   */
+  public Document findFirst(String databaseName, String collectionName, Bson filter, Bson projection) {
+    try {
+      Document doc = mongoClient.getDatabase(databaseName).getCollection(collectionName)
+          .find(filter)
+          .projection(projection)
+          .first();
+
+      if (doc == null) {
+        log.warn("Mongo Lookup Failed: No document in {}.{} where {}", databaseName, collectionName, filter);
+      }
+      return doc;
+
+    } catch (Exception e) {
+      log.error("Error executing generic Mongo query", e);
+      throw new RuntimeException("Failed to retrieve data from MongoDB: " + e.getMessage(), e);
+    }
+  }
+
   /**
    * Helper to traverse nested documents using dot notation.
    * Supports:
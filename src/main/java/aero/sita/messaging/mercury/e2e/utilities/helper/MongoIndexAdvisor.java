@@ -0,0 +1,251 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+package aero.sita.messaging.mercury.e2e.utilities.helper;
+
+import aero.sita.messaging.mercury.e2e.config.IndexAdvisorProperties;
+import aero.sita.messaging.mercury.e2e.model.mongodb.IncomingMessage;
+import aero.sita.messaging.mercury.e2e.model.mongodb.OutgoingMessage;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Component;
+
+/**
+ * Index advisor for the message-store query patterns used by the scenarios.
+ * <p>
+ * Every filter shape issued by the repositories and {@link MongoDataRefresher} is explained once per
+ * JVM (queryPlanner verbosity, nothing is executed) and classified from its winning plan:
+ * - INDEXED: an index scan serves the filter
+ * - COLLSCAN: the collection is scanned, so every poll of that query grows with the collection
+ * - CREATED: scanned, and the recommended index was created (index-advisor.create-missing)
+ * - NO_COLLECTION / UNKNOWN: the collection does not exist yet, or the plan could not be read
+ *   (e.g. Cosmos DB, whose explain output has no classic stages)
+ * <p>
+ * Collection scans are reported as one warning listing each pattern, its callers and the index
+ * that would serve it, instead of surfacing as unexplained slow waits in individual scenarios.
+ */
+@Slf4j
+@Component
+public class MongoIndexAdvisor {
+
+  private static final String PROBE_VALUE = "index-advisor-probe";
+
+  private static final List<QueryPattern> PATTERNS = List.of(
+      new QueryPattern(IncomingMessage.class, eq("messageIdentity"),
+          "IncomingMessageRepository.findByMessageIdentity, MongoDataRefresher.findIncomingByMessageIdentit(y|ies)",
+          List.of("messageIdentity", "createdDate")),
+      new QueryPattern(IncomingMessage.class, eq("correlationId"),
+          "IncomingMessageRepository.find(All)ByCorrelationId",
+          List.of("correlationId")),
+      new QueryPattern(IncomingMessage.class, eq("incomingConnectionId"),
+          "IncomingMessageRepository.findByIncomingConnectionId(AndRawData)",
+          List.of("incomingConnectionId", "createdDate")),
+      new QueryPattern(OutgoingMessage.class, eq("messageIdentity"),
+          "OutgoingMessageRepository.findByMessageIdentity, MongoDataRefresher.findOutgoingByMessageIdentity",
+          List.of("messageIdentity", "createdDate")),
+      new QueryPattern(OutgoingMessage.class, eq("incomingMessageId"),
+          "OutgoingMessageRepository.findByIncomingMessageId, MongoDataRefresher.find(Outgoing)ByIncomingMessageId(s)",
+          List.of("incomingMessageId")),
+      new QueryPattern(OutgoingMessage.class, eq("correlationId"),
+          "OutgoingMessageRepository.findByCorrelationId",
+          List.of("correlationId")),
+      new QueryPattern(OutgoingMessage.class, eq("outgoingFormat"),
+          "OutgoingMessageRepository.findByOutgoingFormat",
+          List.of("outgoingFormat", "createdDate")),
+      new QueryPattern(OutgoingMessage.class,
+          new Document("createdDate", new Document("$gte", Date.from(Instant.EPOCH)).append("$lt", new Date())),
+          "MongoDataRefresher.countOutgoingCreatedBetween",
+          List.of("createdDate")));
+
+  private final IndexAdvisorProperties properties;
+  private final MongoTemplate mongoTemplate;
+
+  private volatile Report report;
+
+  @Autowired
+  public MongoIndexAdvisor(IndexAdvisorProperties properties, MongoTemplate mongoTemplate) {
+    this.properties = properties;
+    this.mongoTemplate = mongoTemplate;
+  }
+
+  public boolean isEnabled() {
+    return properties.isEnabled();
+  }
+
+  /**
+   * Returns the cached advice, explaining the patterns (and creating indexes when enabled) on first use.
+   *
+   * @return the report shared by every scenario of this JVM
+   */
+  public Report getReport() {
+    Report current = report;
+    if (current == null) {
+      synchronized (this) {
+        if (report == null) {
+          report = advise();
+        }
+        current = report;
+      }
+    }
+    return current;
+  }
+
+  // ==================== Explain ====================
+
+  private Report advise() {
+    long start = System.nanoTime();
+    List<Finding> findings = new ArrayList<>();
+    for (QueryPattern pattern : PATTERNS) {
+      findings.add(advise(pattern));
+    }
+    Report result = new Report(findings, (System.nanoTime() - start) / 1_000_000);
+    if (result.scans().isEmpty()) {
+      log.info("Index advisor: no collection scan in {} query pattern(s), {} ms{}", findings.size(),
+          result.elapsedMillis(), result.toDiagnostic());
+    } else {
+      log.warn("Index advisor: {} message-store query pattern(s) run as COLLSCAN, polls on them slow down as "
+              + "the collections grow (set index-advisor.create-missing=true on disposable stores){}",
+          result.scans().size(), result.toDiagnostic());
+    }
+    return result;
+  }
+
+  private Finding advise(QueryPattern pattern) {
+    String collection = mongoTemplate.getCollectionName(pattern.type());
+    String index = indexName(pattern.indexKeys());
+    try {
+      List<String> plan = explain(collection, pattern.filter());
+      Status status = classify(plan);
+      if ((status == Status.COLLSCAN || status == Status.NO_COLLECTION) && properties.isCreateMissing()) {
+        return create(pattern, collection, index);
+      }
+      return new Finding(collection, pattern, index, status, String.join(" <- ", plan));
+    } catch (RuntimeException e) {
+      return new Finding(collection, pattern, index, Status.UNKNOWN, mostSpecificMessage(e));
+    }
+  }
+
+  private Finding create(QueryPattern pattern, String collection, String index) {
+    Index definition = new Index();
+    pattern.indexKeys().forEach(key -> definition.on(key, Sort.Direction.ASC));
+    try {
+      mongoTemplate.indexOps(collection).ensureIndex(definition);
+      List<String> plan = explain(collection, pattern.filter());
+      return new Finding(collection, pattern, index, Status.CREATED, String.join(" <- ", plan));
+    } catch (RuntimeException e) {
+      return new Finding(collection, pattern, index, Status.CREATE_FAILED, mostSpecificMessage(e));
+    }
+  }
+
+  /**
+   * Stages of the winning plan, outermost first, e.g. [FETCH, IXSCAN messageIdentity_1_createdDate_1].
+   */
+  private List<String> explain(String collection, Document filter) {
+    Document command = new Document("explain", new Document("find", collection).append("filter", filter))
+        .append("verbosity", "queryPlanner");
+    Document queryPlanner = mongoTemplate.getDb().runCommand(command).get("queryPlanner", Document.class);
+    List<String> stages = new ArrayList<>();
+    if (queryPlanner != null) {
+      collectStages(queryPlanner.get("winningPlan"), stages);
+    }
+    return stages;
+  }
+
+  private static void collectStages(Object node, List<String> stages) {
+    if (node instanceof Document document) {
+      Object stage = document.get("stage");
+      if (stage != null) {
+        Object indexName = document.get("indexName");
+        stages.add(indexName == null ? stage.toString() : stage + " " + indexName);
+      }
+      document.values().forEach(value -> collectStages(value, stages));
+    } else if (node instanceof List<?> list) {
+      list.forEach(value -> collectStages(value, stages));
+    }
+  }
+
+  private static Status classify(List<String> plan) {
+    if (plan.contains("COLLSCAN")) {
+      return Status.COLLSCAN;
+    }
+    if (plan.stream().anyMatch(stage -> stage.startsWith("IXSCAN") || stage.startsWith("IDHACK"))) {
+      return Status.INDEXED;
+    }
+    return plan.equals(List.of("EOF")) ? Status.NO_COLLECTION : Status.UNKNOWN;
+  }
+
+  private static Document eq(String field) {
+    return new Document(field, PROBE_VALUE);
+  }
+
+  private static String indexName(List<String> keys) {
+    return String.join("_1_", keys) + "_1";
+  }
+
+  private static String mostSpecificMessage(RuntimeException e) {
+    Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
+    return cause.getClass().getSimpleName() + ": " + cause.getMessage();
+  }
+
+  // ==================== Report ====================
+
+  public enum Status {
+    INDEXED,
+    COLLSCAN,
+    CREATED,
+    CREATE_FAILED,
+    NO_COLLECTION,
+    UNKNOWN
+  }
+
+  /**
+   * Filter shape issued against one collection, its callers and the index that serves it.
+   */
+  public record QueryPattern(Class<?> type, Document filter, String usedBy, List<String> indexKeys) {
+  }
+
+  /**
+   * Advice for one query pattern.
+   */
+  public record Finding(String collection, QueryPattern pattern, String recommendedIndex, Status status,
+                        String detail) {
+  }
+
+  /**
+   * Advice for all the query patterns.
+   */
+  public record Report(List<Finding> findings, long elapsedMillis) {
+
+    /**
+     * Patterns still scanning the collection (index not created).
+     */
+    public List<Finding> scans() {
+      return findings.stream().filter(f -> f.status() == Status.COLLSCAN || f.status() == Status.CREATE_FAILED)
+          .toList();
+    }
+
+    public String toDiagnostic() {
+      StringBuilder sb = new StringBuilder();
+      for (Finding f : findings) {
+        sb.append(String.format("%n  [%-13s] %-17s %-40s index %s: %s%n                  used by %s",
+            f.status(), f.collection(), f.pattern().filter().toJson(), f.recommendedIndex(), f.detail(),
+            f.pattern().usedBy()));
+      }
+      return sb.toString();
+    }
+  }
+}
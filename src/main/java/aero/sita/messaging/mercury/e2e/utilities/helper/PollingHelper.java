@@ -15,6 +15,7 @@ import java.time.Duration;
 import java.util.Objects;
 import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 import lombok.extern.slf4j.Slf4j;
 import org.awaitility.core.ConditionTimeoutException;
@@ -31,6 +32,15 @@ import org.springframework.stereotype.Component;
 @Component
 public class PollingHelper {
 
+  /**
+   * Condition evaluations over all polls of the JVM, reported in the performance summary.
+   */
+  private final AtomicLong attempts = new AtomicLong();
+
+  public long getAttempts() {
+    return attempts.get();
+  }
+
   /**
    * Polls for a result until it is not null or a timeout is reached.
    */
@@ -51,7 +61,7 @@ public class PollingHelper {
           .pollInterval(Duration.ofMillis(intervalMillis))
           .pollDelay(Duration.ZERO)
           .ignoreExceptions()
-          .until(supplier::get, Objects::nonNull);
+          .until(() -> counted(supplier), Objects::nonNull);
     } catch (ConditionTimeoutException e) {
       log.warn("Polling timed out after {}ms. Result not found.", timeoutMillis);
       return null;
@@ -79,7 +89,10 @@ public class PollingHelper {
           .pollInterval(Duration.ofMillis(intervalMillis))
           .pollDelay(Duration.ZERO)
           .alias("Waiting for assertion to pass")
-          .untilAsserted(assertionLogic::run);
+          .untilAsserted(() -> {
+            attempts.incrementAndGet();
+            assertionLogic.run();
+          });
 
       log.info("Assertion polling successful");
     } catch (ConditionTimeoutException e) {
@@ -109,7 +122,7 @@ public class PollingHelper {
             return Duration.ofMillis(cappedMillis);
           }))
           .ignoreExceptions()
-          .until(supplier::get, Objects::nonNull);
+          .until(() -> counted(supplier), Objects::nonNull);
 
     } catch (ConditionTimeoutException e) {
       log.warn("Polling with backoff timed out after {}ms.", timeoutMillis);
@@ -137,7 +150,10 @@ public class PollingHelper {
           .pollInterval(Duration.ofMillis(intervalMillis))
           .pollDelay(Duration.ZERO)
           .ignoreExceptions()
-          .until(condition);
+          .until(() -> {
+            attempts.incrementAndGet();
+            return condition.call();
+          });
       return true;
     } catch (ConditionTimeoutException e) {
       return false;
@@ -146,4 +162,9 @@ public class PollingHelper {
       return false;
     }
   }
-}
\ No newline at end of file
+
+  private <T> T counted(Supplier<T> supplier) {
+    attempts.incrementAndGet();
+    return supplier.get();
+  }
+}
@@ -0,0 +1,231 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.utilities.helper;
+
+import aero.sita.messaging.mercury.e2e.config.PreflightProperties;
+import aero.sita.messaging.mercury.e2e.exception.TestHarnessException;
+import com.mongodb.client.MongoClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Preflight health check of every external dependency used by the scenarios.
+ * <p>
+ * Probes run concurrently with tight timeouts, exactly once per JVM (the Spring context is shared by
+ * all scenarios), and the result is cached:
+ * - test-harness: HTTP GET on the base URL (any HTTP status means reachable)
+ * - configuration-api: HTTP GET on the base URL
+ * - message-store-mongo: ping on the message-store database
+ * - configuration-mongo: ping on the configuration database
+ * <p>
+ * When a dependency is down, {@link #assertHealthy()} fails the first caller with the full diagnostic
+ * and every later caller immediately with a one-line reference to it, instead of each scenario
+ * waiting for its own polling timeout.
+ */
+@Slf4j
+@Component
+public class PreflightHealthCheck {
+
+  public static final String TEST_HARNESS = "test-harness";
+  public static final String CONFIGURATION_API = "configuration-api";
+  public static final String MESSAGE_STORE_MONGO = "message-store-mongo";
+  public static final String CONFIGURATION_MONGO = "configuration-mongo";
+
+  private final PreflightProperties properties;
+  private final RestTemplate probeRestTemplate;
+  private final MongoClient mongoClient;
+  private final MongoTemplate mongoTemplate;
+  private final String testHarnessBaseUrl;
+  private final String configurationBaseUrl;
+  private final String configDbName;
+
+  private volatile Report report;
+  private volatile boolean diagnosticReported;
+
+  @Autowired
+  public PreflightHealthCheck(PreflightProperties properties,
+                              RestTemplateBuilder restTemplateBuilder,
+                              MongoClient mongoClient,
+                              MongoTemplate mongoTemplate,
+                              @Value("${test-harness.base.url}") String testHarnessBaseUrl,
+                              @Value("${configuration.base.url}") String configurationBaseUrl,
+                              @Value("${configuration.database.name:configuration}") String configDbName) {
+    this.properties = properties;
+    this.probeRestTemplate = restTemplateBuilder
+        .connectTimeout(Duration.ofMillis(properties.getTimeoutMillis()))
+        .readTimeout(Duration.ofMillis(properties.getTimeoutMillis()))
+        .build();
+    this.mongoClient = mongoClient;
+    this.mongoTemplate = mongoTemplate;
+    this.testHarnessBaseUrl = testHarnessBaseUrl;
+    this.configurationBaseUrl = configurationBaseUrl;
+    this.configDbName = configDbName;
+  }
+
+  public boolean isEnabled() {
+    return properties.isEnabled();
+  }
+
+  /**
+   * Returns the cached preflight report, running the probes on first use.
+   *
+   * @return the report shared by every scenario of this JVM
+   */
+  public Report getReport() {
+    Report current = report;
+    if (current == null) {
+      synchronized (this) {
+        if (report == null) {
+          report = runProbes();
+        }
+        current = report;
+      }
+    }
+    return current;
+  }
+
+  /**
+   * Fails fast when any probed dependency is down.
+   * The first failure carries the full diagnostic; later ones only refer to it.
+   *
+   * @throws TestHarnessException if the preflight check failed
+   */
+  public void assertHealthy() {
+    if (!properties.isEnabled()) {
+      return;
+    }
+    Report current = getReport();
+    if (current.isHealthy()) {
+      return;
+    }
+    synchronized (this) {
+      if (!diagnosticReported) {
+        diagnosticReported = true;
+        throw new TestHarnessException("Preflight health check failed:" + current.toDiagnostic());
+      }
+    }
+    throw new TestHarnessException("Preflight health check failed earlier in this run (down: "
+        + String.join(", ", current.downProbes()) + ")");
+  }
+
+  // ==================== Probes ====================
+
+  private Report runProbes() {
+    long timeout = properties.getTimeoutMillis();
+    log.info("Preflight: probing dependencies (timeout {} ms each)...", timeout);
+    long start = System.nanoTime();
+
+    List<CompletableFuture<ProbeResult>> futures = new ArrayList<>();
+    ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    try {
+      submit(futures, executor, TEST_HARNESS, testHarnessBaseUrl, () -> httpProbe(testHarnessBaseUrl));
+      submit(futures, executor, CONFIGURATION_API, configurationBaseUrl, () -> httpProbe(configurationBaseUrl));
+      String storeDb = mongoTemplate.getDb().getName();
+      submit(futures, executor, MESSAGE_STORE_MONGO, storeDb, () -> mongoProbe(storeDb));
+      submit(futures, executor, CONFIGURATION_MONGO, configDbName, () -> mongoProbe(configDbName));
+    } finally {
+      // No await: probes stuck past their timeout (e.g. Mongo server selection) finish on their own
+      executor.shutdown();
+    }
+
+    List<ProbeResult> results = futures.stream().map(CompletableFuture::join).toList();
+    Report result = new Report(results, (System.nanoTime() - start) / 1_000_000);
+    if (result.isHealthy()) {
+      log.info("Preflight: all dependencies reachable in {} ms{}", result.elapsedMillis(), result.toDiagnostic());
+    } else {
+      log.error("Preflight: dependencies DOWN after {} ms{}", result.elapsedMillis(), result.toDiagnostic());
+    }
+    return result;
+  }
+
+  private void submit(List<CompletableFuture<ProbeResult>> futures, ExecutorService executor,
+                      String name, String target, Supplier<String> probe) {
+    if (properties.getSkip().contains(name)) {
+      futures.add(CompletableFuture.completedFuture(new ProbeResult(name, target, true, 0, "skipped")));
+      return;
+    }
+    long timeout = properties.getTimeoutMillis();
+    futures.add(CompletableFuture
+        .supplyAsync(() -> {
+          long start = System.nanoTime();
+          try {
+            String detail = probe.get();
+            return new ProbeResult(name, target, true, (System.nanoTime() - start) / 1_000_000, detail);
+          } catch (Exception e) {
+            Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
+            return new ProbeResult(name, target, false, (System.nanoTime() - start) / 1_000_000,
+                cause.getClass().getSimpleName() + ": " + cause.getMessage());
+          }
+        }, executor)
+        .completeOnTimeout(new ProbeResult(name, target, false, timeout, "timed out after " + timeout + " ms"),
+            timeout, TimeUnit.MILLISECONDS));
+  }
+
+  private String httpProbe(String url) {
+    try {
+      return "HTTP " + probeRestTemplate.getForEntity(url, String.class).getStatusCode().value();
+    } catch (HttpStatusCodeException e) {
+      // The service answered: reachable, even if the base URL itself is not a resource
+      return "HTTP " + e.getStatusCode().value();
+    }
+  }
+
+  private String mongoProbe(String databaseName) {
+    Document pong = mongoClient.getDatabase(databaseName).runCommand(new Document("ping", 1));
+    return "ping ok=" + pong.get("ok");
+  }
+
+  // ==================== Report ====================
+
+  /**
+   * Result of a single dependency probe.
+   */
+  public record ProbeResult(String name, String target, boolean up, long elapsedMillis, String detail) {
+  }
+
+  /**
+   * Aggregated preflight result.
+   */
+  public record Report(List<ProbeResult> probes, long elapsedMillis) {
+
+    public boolean isHealthy() {
+      return probes.stream().allMatch(ProbeResult::up);
+    }
+
+    public List<String> downProbes() {
+      return probes.stream().filter(p -> !p.up()).map(ProbeResult::name).toList();
+    }
+
+    public String toDiagnostic() {
+      StringBuilder sb = new StringBuilder();
+      for (ProbeResult p : probes) {
+        sb.append(String.format("%n  [%s] %-20s %5d ms  %s (%s)",
+            p.up() ? " UP " : "DOWN", p.name(), p.elapsedMillis(), p.target(), p.detail()));
+      }
+      return sb.toString();
+    }
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+package aero.sita.messaging.mercury.e2e.utilities.helper;
+
+import aero.sita.messaging.mercury.e2e.model.testharness.response.ReceivedMessage;
+import aero.sita.messaging.mercury.e2e.utilities.matcher.AhoCorasickMatcher;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Matches harness received messages against every identity currently awaited, across scenarios.
+ * <p>
+ * Instead of each waiter running {@code body.contains(identity)} over the whole received list on every
+ * poll, the outstanding identities share one {@link AhoCorasickMatcher}: each received body is scanned
+ * once, when it first shows up, and every identity it contains is recorded. A poll then costs one
+ * linear pass per new message, plus one pass over the known messages for identities registered since
+ * the previous poll (they may already have arrived).
+ * <p>
+ * Waiters {@link #register} an identity before polling and {@link #complete} it when done (found or
+ * timed out); the same identity may be awaited by several waiters at once.
+ */
+@Component
+public class ReceivedIdentityIndex {
+
+  private final AhoCorasickMatcher outstanding = new AhoCorasickMatcher();
+  private final Map<String, Integer> waitersByIdentity = new HashMap<>();
+  private final Set<String> registeredSinceRefresh = new HashSet<>();
+  private final Map<String, List<ReceivedMessage>> matchesByIdentity = new HashMap<>();
+  private Map<String, ReceivedMessage> known = Map.of();
+
+  /**
+   * Starts matching an identity.
+   *
+   * @param identity message identity (or any other non-empty content) to look for
+   */
+  public synchronized void register(String identity) {
+    if (waitersByIdentity.merge(identity, 1, Integer::sum) == 1) {
+      outstanding.add(identity);
+      registeredSinceRefresh.add(identity);
+      matchesByIdentity.put(identity, new ArrayList<>());
+    }
+  }
+
+  /**
+   * Stops matching an identity once its last waiter is done.
+   *
+   * @param identity identity passed to {@link #register}
+   */
+  public synchronized void complete(String identity) {
+    Integer waiters = waitersByIdentity.get(identity);
+    if (waiters == null) {
+      return;
+    }
+    if (waiters > 1) {
+      waitersByIdentity.put(identity, waiters - 1);
+      return;
+    }
+    waitersByIdentity.remove(identity);
+    outstanding.remove(identity);
+    registeredSinceRefresh.remove(identity);
+    matchesByIdentity.remove(identity);
+  }
+
+  /**
+   * Scans the messages not seen in the previous snapshot for all outstanding identities, and the
+   * known ones for the identities registered since.
+   *
+   * @param snapshot full received list returned by the harness
+   */
+  public synchronized void refresh(List<ReceivedMessage> snapshot) {
+    AhoCorasickMatcher registeredLate = registeredSinceRefresh.isEmpty() || known.isEmpty()
+        ? null : AhoCorasickMatcher.of(registeredSinceRefresh);
+    Map<String, ReceivedMessage> current = new HashMap<>(Math.max(16, snapshot.size() * 2));
+    for (ReceivedMessage message : snapshot) {
+      String body = message.getBody();
+      if (body == null) {
+        continue;
+      }
+      String key = key(message);
+      if (current.putIfAbsent(key, message) != null) {
+        continue;
+      }
+      if (!known.containsKey(key)) {
+        outstanding.scan(body, identity -> matchesByIdentity.get(identity).add(message));
+      } else if (registeredLate != null) {
+        registeredLate.scan(body, identity -> matchesByIdentity.get(identity).add(message));
+      }
+    }
+    known = current;
+    registeredSinceRefresh.clear();
+  }
+
+  /**
+   * First message of the last snapshot that contains the identity and passes the filter.
+   *
+   * @param identity registered identity
+   * @param filter   extra condition, e.g. queue name or reject marker
+   * @return the message, or null if none
+   */
+  public synchronized ReceivedMessage find(String identity, Predicate<ReceivedMessage> filter) {
+    List<ReceivedMessage> matches = matchesByIdentity.get(identity);
+    if (matches == null) {
+      return null;
+    }
+    for (ReceivedMessage match : matches) {
+      // Latest copy of the message; messages gone from the harness (cleared list) no longer match
+      ReceivedMessage message = known.get(key(match));
+      if (message != null && filter.test(message)) {
+        return message;
+      }
+    }
+    return null;
+  }
+
+  private static String key(ReceivedMessage message) {
+    return message.getId() != null ? message.getId() : message.getBody();
+  }
+}
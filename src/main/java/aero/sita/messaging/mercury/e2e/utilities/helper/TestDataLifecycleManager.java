@@ -0,0 +1,346 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+package aero.sita.messaging.mercury.e2e.utilities.helper;
+
+import aero.sita.messaging.mercury.e2e.config.TestDataProperties;
+import aero.sita.messaging.mercury.e2e.config.TestDataProperties.PurgeMode;
+import aero.sita.messaging.mercury.e2e.exception.TestHarnessException;
+import aero.sita.messaging.mercury.e2e.model.mongodb.IncomingMessage;
+import aero.sita.messaging.mercury.e2e.model.mongodb.OutgoingMessage;
+import aero.sita.messaging.mercury.e2e.service.perf.PerfSummaryRecorder;
+import aero.sita.messaging.mercury.e2e.utilities.format.typeb.TypeBTokenizer;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps track of the message-store documents produced by the run and removes them at the end.
+ * <p>
+ * Every message injected through {@link MessageInjectionHelper} has its identity appended to a
+ * journal on disk (not kept in memory, so soak runs stay bounded), one journal per scenario. When a
+ * scenario fails ({@link #endScenario}), its journal is kept aside and its documents are left in the
+ * message-store for debugging. When the Spring context closes, the other journals are read back in
+ * rounds of {@code test-data.delete-batch-size} identities:
+ * - find the incoming documents ({@code $in} on messageIdentity, only _id and correlationId)
+ * - delete the outgoing documents by messageIdentity, incomingMessageId or correlationId
+ * - delete the incoming documents by messageIdentity
+ * Outgoing documents go first, so an interrupted purge never leaves orphans behind.
+ * <p>
+ * In TTL mode a TTL index on createdDate is created instead, when the store permits it. The purge
+ * cost is logged and added to the performance summary. The purge is skipped (journal kept) when the
+ * preflight check found the message-store down or skipped.
+ */
+@Slf4j
+@Component
+public class TestDataLifecycleManager {
+
+  private static final String TTL_INDEX_NAME = "createdDate_ttl";
+
+  private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+
+  private final TestDataProperties properties;
+  private final MongoTemplate mongoTemplate;
+  private final PreflightHealthCheck preflightHealthCheck;
+  private final PerfSummaryRecorder perfSummaryRecorder;
+  private final AtomicLong recorded = new AtomicLong();
+  private final String runId = LocalDateTime.now().format(FILE_TIMESTAMP) + "_" + ProcessHandle.current().pid();
+
+  /**
+   * Journals of the finished, non-failed scenarios: the documents to purge.
+   */
+  private final List<Path> journals = new ArrayList<>();
+
+  private Path journal;
+  private BufferedWriter writer;
+  private long journaled;
+  private int journalCount;
+  private boolean closed;
+
+  @Autowired
+  public TestDataLifecycleManager(TestDataProperties properties,
+                                  MongoTemplate mongoTemplate,
+                                  PreflightHealthCheck preflightHealthCheck,
+                                  PerfSummaryRecorder perfSummaryRecorder) {
+    this.properties = properties;
+    this.mongoTemplate = mongoTemplate;
+    this.preflightHealthCheck = preflightHealthCheck;
+    this.perfSummaryRecorder = perfSummaryRecorder;
+  }
+
+  /**
+   * Journals the identity of an injected message (no-op in NONE mode or without an origin line).
+   *
+   * @param messageContent raw message as sent to the harness
+   */
+  public void record(String messageContent) {
+    if (properties.getPurge() == PurgeMode.NONE) {
+      return;
+    }
+    String identity = TypeBTokenizer.messageIdentity(messageContent);
+    if (identity == null) {
+      return;
+    }
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      try {
+        if (writer == null) {
+          openJournal();
+        }
+        writer.write(identity);
+        writer.newLine();
+        journaled++;
+      } catch (IOException e) {
+        throw new TestHarnessException("Failed to journal test data identity in " + journal, e);
+      }
+    }
+    recorded.incrementAndGet();
+  }
+
+  /**
+   * Closes the journal of the scenario that just finished. The identities of a failed scenario are
+   * not purged: its documents stay in the message-store and its journal is kept as the list of them.
+   *
+   * @param scenarioName name of the finished scenario, for the log
+   * @param failed       true when the scenario failed
+   */
+  public synchronized void endScenario(String scenarioName, boolean failed) {
+    if (closed || writer == null) {
+      return;
+    }
+    closeJournal();
+    if (failed) {
+      Path kept = journal.resolveSibling(journal.getFileName().toString().replace(".txt", ".kept.txt"));
+      try {
+        Files.move(journal, kept);
+      } catch (IOException e) {
+        throw new TestHarnessException("Failed to set aside test data journal " + journal, e);
+      }
+      log.warn("Test data: scenario '{}' failed, the documents of its {} identities are kept (listed in {})",
+          scenarioName, journaled, kept);
+    } else {
+      journals.add(journal);
+    }
+    journal = null;
+    writer = null;
+  }
+
+  public long getRecordedCount() {
+    return recorded.get();
+  }
+
+  /**
+   * Purges the documents of the run once, when the Spring context closes.
+   */
+  @PreDestroy
+  public void close() {
+    PurgeReport report = purge();
+    if (report != null) {
+      log.info(report.toSummary());
+      perfSummaryRecorder.record(PerfSummaryRecorder.SUITE_PREFIX + "test-data.purge.millis", report.elapsedMillis(),
+          "ms", true);
+    }
+  }
+
+  /**
+   * Stops journaling and removes (or schedules the expiry of) every document of the run.
+   *
+   * @return the purge cost, or null when there was nothing to purge or the purge was skipped
+   */
+  public synchronized PurgeReport purge() {
+    if (closed) {
+      return null;
+    }
+    closed = true;
+    if (writer != null) {
+      closeJournal();
+      journals.add(journal);
+    }
+    if (journals.isEmpty()) {
+      return null;
+    }
+    if (!isMessageStoreAvailable()) {
+      log.warn("Test data: message-store not available, identities kept in {}", journals);
+      return null;
+    }
+
+    long start = System.nanoTime();
+    PurgeReport report;
+    if (properties.getPurge() == PurgeMode.TTL && ensureTtlIndexes()) {
+      report = new PurgeReport(PurgeMode.TTL, recorded.get(), 0, 0, 0, elapsedMillis(start));
+    } else {
+      report = deleteJournaled(start);
+    }
+    for (Path done : journals) {
+      try {
+        Files.deleteIfExists(done);
+      } catch (IOException e) {
+        log.warn("Test data: could not delete journal {}: {}", done, e.getMessage());
+      }
+    }
+    return report;
+  }
+
+  // ==================== Purge ====================
+
+  private PurgeReport deleteJournaled(long start) {
+    int batchSize = Math.max(1, properties.getDeleteBatchSize());
+    long identities = 0;
+    long incomingDeleted = 0;
+    long outgoingDeleted = 0;
+    int rounds = 0;
+    Set<String> batch = new LinkedHashSet<>();
+    for (Path current : journals) {
+      try (BufferedReader reader = Files.newBufferedReader(current, StandardCharsets.UTF_8)) {
+        String line;
+        while ((line = reader.readLine()) != null) {
+          if (!line.isEmpty()) {
+            batch.add(line);
+          }
+          if (batch.size() == batchSize) {
+            long[] deleted = deleteBatch(batch);
+            outgoingDeleted += deleted[0];
+            incomingDeleted += deleted[1];
+            identities += batch.size();
+            rounds++;
+            batch.clear();
+          }
+        }
+      } catch (IOException e) {
+        throw new TestHarnessException("Failed to read test data journal " + current, e);
+      }
+    }
+    // Batches span journals: the remainder is deleted once every journal was read
+    if (!batch.isEmpty()) {
+      long[] deleted = deleteBatch(batch);
+      outgoingDeleted += deleted[0];
+      incomingDeleted += deleted[1];
+      identities += batch.size();
+      rounds++;
+    }
+    return new PurgeReport(PurgeMode.DELETE, identities, incomingDeleted, outgoingDeleted, rounds,
+        elapsedMillis(start));
+  }
+
+  /**
+   * Deletes the documents of one batch of identities.
+   *
+   * @return outgoing and incoming deleted counts
+   */
+  private long[] deleteBatch(Set<String> identities) {
+    Query incomingQuery = new Query(Criteria.where("messageIdentity").in(identities));
+    incomingQuery.fields().include("correlationId");
+    List<IncomingMessage> incoming = mongoTemplate.find(incomingQuery, IncomingMessage.class);
+    List<String> incomingIds = incoming.stream().map(IncomingMessage::getId).filter(Objects::nonNull).toList();
+    Set<String> correlationIds = new LinkedHashSet<>();
+    incoming.stream().map(IncomingMessage::getCorrelationId).filter(Objects::nonNull).forEach(correlationIds::add);
+
+    List<Criteria> outgoingCriteria = new ArrayList<>();
+    outgoingCriteria.add(Criteria.where("messageIdentity").in(identities));
+    if (!incomingIds.isEmpty()) {
+      outgoingCriteria.add(Criteria.where("incomingMessageId").in(incomingIds));
+    }
+    if (!correlationIds.isEmpty()) {
+      outgoingCriteria.add(Criteria.where("correlationId").in(correlationIds));
+    }
+    long outgoing = mongoTemplate.remove(new Query(new Criteria().orOperator(outgoingCriteria)),
+        OutgoingMessage.class).getDeletedCount();
+    long incomingCount = mongoTemplate.remove(new Query(Criteria.where("messageIdentity").in(identities)),
+        IncomingMessage.class).getDeletedCount();
+    return new long[] {outgoing, incomingCount};
+  }
+
+  private boolean ensureTtlIndexes() {
+    Duration ttl = Duration.ofSeconds(properties.getTtlSeconds());
+    try {
+      for (Class<?> type : List.of(IncomingMessage.class, OutgoingMessage.class)) {
+        mongoTemplate.indexOps(type).ensureIndex(new Index()
+            .on("createdDate", Sort.Direction.ASC)
+            .expire(ttl)
+            .named(TTL_INDEX_NAME));
+      }
+      return true;
+    } catch (RuntimeException e) {
+      log.warn("Test data: TTL index on createdDate not permitted ({}), falling back to bulk delete",
+          NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+      return false;
+    }
+  }
+
+  private boolean isMessageStoreAvailable() {
+    return preflightHealthCheck.getReport().probes().stream()
+        .filter(probe -> PreflightHealthCheck.MESSAGE_STORE_MONGO.equals(probe.name()))
+        .anyMatch(probe -> probe.up() && !"skipped".equals(probe.detail()));
+  }
+
+  private void openJournal() throws IOException {
+    Path dir = Paths.get(properties.getJournalDir());
+    Files.createDirectories(dir);
+    journal = dir.resolve("run-identities_" + runId + "_" + (++journalCount) + ".txt");
+    writer = Files.newBufferedWriter(journal, StandardCharsets.UTF_8);
+    journaled = 0;
+    log.debug("Test data: journaling injected identities to {} (purge mode {})", journal, properties.getPurge());
+  }
+
+  private void closeJournal() {
+    try {
+      writer.close();
+    } catch (IOException e) {
+      throw new TestHarnessException("Failed to close test data journal " + journal, e);
+    }
+  }
+
+  private static long elapsedMillis(long start) {
+    return (System.nanoTime() - start) / 1_000_000;
+  }
+
+  // ==================== Report ====================
+
+  /**
+   * Cost of the end-of-run purge.
+   */
+  public record PurgeReport(PurgeMode mode, long identities, long incomingDeleted, long outgoingDeleted,
+                            int rounds, long elapsedMillis) {
+
+    public String toSummary() {
+      if (mode == PurgeMode.TTL) {
+        return String.format("Test data purge [TTL]: %d identities left to the createdDate TTL index (%d ms)",
+            identities, elapsedMillis);
+      }
+      return String.format("Test data purge [DELETE]: %d identities, %d incoming + %d outgoing documents "
+              + "deleted in %d round(s), %d ms (%.2f ms/round)",
+          identities, incomingDeleted, outgoingDeleted, rounds, elapsedMillis,
+          rounds == 0 ? 0.0 : (double) elapsedMillis / rounds);
+    }
+  }
+}
@@ -0,0 +1,323 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+package aero.sita.messaging.mercury.e2e.utilities.matcher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Aho-Corasick matcher: finds every registered pattern (e.g. outstanding message identities) contained
+ * in a text in one left-to-right pass, whatever the number of patterns.
+ * <p>
+ * The pattern set changes while it is used:
+ * - {@link #add} inserts into the trie in O(pattern length); the failure links and the transition
+ *   table are recomputed once, on the next scan, for the whole batch of additions
+ * - {@link #remove} only deactivates the pattern (no recompilation); the trie is compacted once
+ *   removed patterns outnumber the live ones
+ * <p>
+ * Scans follow a dense transition table (one array read per character). Characters that occur in no
+ * pattern share one class, so the table width is the pattern alphabet, not the character set.
+ * All methods are synchronized; a scan is short compared with the harness round trip that feeds it.
+ */
+public final class AhoCorasickMatcher {
+
+  private static final int ROOT = 0;
+  private static final int NO_PATTERN = -1;
+  private static final int MIN_DEAD_BEFORE_COMPACTION = 64;
+
+  // Patterns, by id; null once removed
+  private final List<String> patterns = new ArrayList<>();
+  private final Map<String, Integer> idsByPattern = new HashMap<>();
+  private int removedCount;
+
+  // Character classes: 0 means "in no pattern"
+  private final int[] asciiClass = new int[128];
+  private final Map<Character, Integer> otherClass = new HashMap<>();
+  private int alphabet = 1;
+
+  // Trie
+  private int[][] children = new int[64][];
+  private int[] patternAt = filledWithNoPattern(64);
+  private int[] patternNode = new int[16];
+  private int nodeCount = 1;
+
+  // Compiled automaton
+  private boolean dirty = true;
+  private int compiledAlphabet;
+  // delta[node * alphabet + class] = next node * alphabet, complemented (negative) when the next node emits
+  private int[] delta;
+  private int[] outputLink;
+
+  // Patterns already reported for the current text
+  private int[] reportedEpoch = new int[16];
+  private int epoch;
+
+  /**
+   * Matcher over an initial set of patterns.
+   *
+   * @param patterns patterns to register
+   * @return the matcher
+   */
+  public static AhoCorasickMatcher of(Collection<String> patterns) {
+    AhoCorasickMatcher matcher = new AhoCorasickMatcher();
+    patterns.forEach(matcher::add);
+    return matcher;
+  }
+
+  /**
+   * Registers a pattern.
+   *
+   * @param pattern non-empty text to look for
+   * @return false if the pattern was already registered
+   * @throws IllegalArgumentException if the pattern is null or empty
+   */
+  public synchronized boolean add(String pattern) {
+    if (pattern == null || pattern.isEmpty()) {
+      throw new IllegalArgumentException("Pattern must not be empty");
+    }
+    if (idsByPattern.containsKey(pattern)) {
+      return false;
+    }
+    int id = patterns.size();
+    patterns.add(pattern);
+    idsByPattern.put(pattern, id);
+    insert(pattern, id);
+    dirty = true;
+    return true;
+  }
+
+  /**
+   * Unregisters a pattern; later scans no longer report it.
+   *
+   * @param pattern the pattern
+   * @return false if the pattern was not registered
+   */
+  public synchronized boolean remove(String pattern) {
+    Integer id = idsByPattern.remove(pattern);
+    if (id == null) {
+      return false;
+    }
+    patterns.set(id, null);
+    patternAt[patternNode[id]] = NO_PATTERN;
+    removedCount++;
+    if (removedCount >= MIN_DEAD_BEFORE_COMPACTION && removedCount > idsByPattern.size()) {
+      compact();
+    }
+    return true;
+  }
+
+  public synchronized boolean contains(String pattern) {
+    return idsByPattern.containsKey(pattern);
+  }
+
+  public synchronized int size() {
+    return idsByPattern.size();
+  }
+
+  public synchronized boolean isEmpty() {
+    return idsByPattern.isEmpty();
+  }
+
+  /**
+   * Reports every registered pattern contained in the text, each once, in order of first occurrence end.
+   *
+   * @param text    text to scan (null scans nothing)
+   * @param onMatch receives each contained pattern
+   */
+  public synchronized void scan(CharSequence text, Consumer<String> onMatch) {
+    if (text == null || idsByPattern.isEmpty()) {
+      return;
+    }
+    if (dirty) {
+      compile();
+    }
+    if (++epoch == 0) {
+      Arrays.fill(reportedEpoch, 0);
+      epoch = 1;
+    }
+    int[] table = delta;
+    int row = ROOT;
+    for (int i = 0, length = text.length(); i < length; i++) {
+      char ch = text.charAt(i);
+      row = table[row + (ch < asciiClass.length ? asciiClass[ch] : classOf(ch))];
+      if (row < 0) {
+        row = ~row;
+        report(row / compiledAlphabet, onMatch);
+      }
+    }
+  }
+
+  private void report(int state, Consumer<String> onMatch) {
+    int node = patternAt[state] != NO_PATTERN ? state : outputLink[state];
+    while (node != ROOT) {
+      int id = patternAt[node];
+      if (id != NO_PATTERN && reportedEpoch[id] != epoch) {
+        reportedEpoch[id] = epoch;
+        onMatch.accept(patterns.get(id));
+      }
+      node = outputLink[node];
+    }
+  }
+
+  /**
+   * Registered patterns contained in the text.
+   *
+   * @param text text to scan
+   * @return the contained patterns, each once
+   */
+  public List<String> matches(CharSequence text) {
+    List<String> found = new ArrayList<>();
+    scan(text, found::add);
+    return found;
+  }
+
+  // ==================== Trie ====================
+
+  private void insert(String pattern, int id) {
+    int node = ROOT;
+    for (int i = 0; i < pattern.length(); i++) {
+      int c = classFor(pattern.charAt(i));
+      int[] next = children[node];
+      if (next == null || next.length <= c) {
+        next = next == null ? new int[Math.max(c + 1, 4)] : Arrays.copyOf(next, Math.max(c + 1, next.length * 2));
+        children[node] = next;
+      }
+      if (next[c] == ROOT) {
+        next[c] = newNode();
+      }
+      node = next[c];
+    }
+    patternAt[node] = id;
+    if (patternNode.length <= id) {
+      patternNode = Arrays.copyOf(patternNode, Math.max(id + 1, patternNode.length * 2));
+      reportedEpoch = Arrays.copyOf(reportedEpoch, patternNode.length);
+    }
+    patternNode[id] = node;
+  }
+
+  private int newNode() {
+    if (nodeCount == children.length) {
+      children = Arrays.copyOf(children, nodeCount * 2);
+      int[] grown = filledWithNoPattern(nodeCount * 2);
+      System.arraycopy(patternAt, 0, grown, 0, nodeCount);
+      patternAt = grown;
+    }
+    return nodeCount++;
+  }
+
+  private int classFor(char ch) {
+    int c = classOf(ch);
+    if (c != 0) {
+      return c;
+    }
+    c = alphabet++;
+    if (ch < asciiClass.length) {
+      asciiClass[ch] = c;
+    } else {
+      otherClass.put(ch, c);
+    }
+    return c;
+  }
+
+  private int classOf(char ch) {
+    if (ch < asciiClass.length) {
+      return asciiClass[ch];
+    }
+    return otherClass.isEmpty() ? 0 : otherClass.getOrDefault(ch, 0);
+  }
+
+  private void compact() {
+    List<String> live = patterns.stream().filter(Objects::nonNull).toList();
+    patterns.clear();
+    idsByPattern.clear();
+    removedCount = 0;
+    Arrays.fill(asciiClass, 0);
+    otherClass.clear();
+    alphabet = 1;
+    children = new int[64][];
+    patternAt = filledWithNoPattern(64);
+    nodeCount = 1;
+    for (String pattern : live) {
+      int id = patterns.size();
+      patterns.add(pattern);
+      idsByPattern.put(pattern, id);
+      insert(pattern, id);
+    }
+    dirty = true;
+  }
+
+  // ==================== Automaton ====================
+
+  /**
+   * Breadth-first pass computing failure links, dictionary-suffix links and the full transition table.
+   */
+  private void compile() {
+    int width = alphabet;
+    int[] fail = new int[nodeCount];
+    int[] table = new int[nodeCount * width];
+    int[] links = new int[nodeCount];
+    boolean[] output = new boolean[nodeCount];
+    int[] queue = new int[nodeCount];
+    int head = 0;
+    int tail = 0;
+
+    int[] rootChildren = children[ROOT];
+    for (int c = 0; c < width; c++) {
+      int child = child(rootChildren, c);
+      table[c] = child;
+      if (child != ROOT) {
+        output[child] = patternAt[child] != NO_PATTERN;
+        queue[tail++] = child;
+      }
+    }
+    while (head < tail) {
+      int node = queue[head++];
+      int[] next = children[node];
+      int row = node * width;
+      int failRow = fail[node] * width;
+      for (int c = 0; c < width; c++) {
+        int child = child(next, c);
+        if (child == ROOT) {
+          table[row + c] = table[failRow + c];
+          continue;
+        }
+        int target = table[failRow + c];
+        fail[child] = target;
+        links[child] = patternAt[target] != NO_PATTERN ? target : links[target];
+        output[child] = patternAt[child] != NO_PATTERN || links[child] != ROOT;
+        table[row + c] = child;
+        queue[tail++] = child;
+      }
+    }
+    for (int i = 0; i < table.length; i++) {
+      int next = table[i];
+      table[i] = output[next] ? ~(next * width) : next * width;
+    }
+    delta = table;
+    outputLink = links;
+    compiledAlphabet = width;
+    dirty = false;
+  }
+
+  private static int child(int[] next, int c) {
+    return next == null || c >= next.length ? ROOT : next[c];
+  }
+
+  private static int[] filledWithNoPattern(int size) {
+    int[] array = new int[size];
+    Arrays.fill(array, NO_PATTERN);
+    return array;
+  }
+}
@@ -20,9 +20,10 @@ import org.springframework.test.context.ActiveProfiles;
  * this as the configuration entry point for Cucumber-Spring integration.
  * The Spring context is shared across all Cucumber scenarios within a test run,
  * improving performance and enabling proper dependency management.
+ * The framework is an HTTP/Mongo client only, so no (mock) web environment is created.
  */
 @CucumberContextConfiguration
-@SpringBootTest(classes = TestApplication.class)
+@SpringBootTest(classes = TestApplication.class, webEnvironment = SpringBootTest.WebEnvironment.NONE)
 @ActiveProfiles("${spring.profiles.active:local}")
 public class CucumberSpringConfiguration {
   // This class serves as the bridge between Cucumber and Spring Boot
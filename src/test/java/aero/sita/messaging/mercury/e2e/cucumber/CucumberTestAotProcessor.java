@@ -0,0 +1,61 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.cucumber;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.springframework.test.context.aot.TestAotProcessor;
+
+/**
+ * AOT processor for the Cucumber test context.
+ * <p>
+ * Spring's test class scanner only discovers JUnit Jupiter, Vintage and TestNG classes, so
+ * {@link CucumberSpringConfiguration} is never processed by the stock {@code processTestAot} task.
+ * This processor adds it explicitly; the Gradle task is pointed at this main class.
+ * <p>
+ * Arguments are the same as {@code SpringBootTestAotProcessor}:
+ * classpath roots, source output, resource output, class output, group id, artifact id.
+ */
+public class CucumberTestAotProcessor extends TestAotProcessor {
+
+  private static final int REQUIRED_ARGS = 6;
+
+  public CucumberTestAotProcessor(Set<Path> classpathRoots, Settings settings) {
+    super(classpathRoots, settings);
+  }
+
+  public static void main(String[] args) {
+    if (args.length < REQUIRED_ARGS) {
+      throw new IllegalArgumentException("Usage: " + CucumberTestAotProcessor.class.getName()
+          + " <classpathRoots> <sourceOutput> <resourceOutput> <classOutput> <groupId> <artifactId>");
+    }
+    Set<Path> classpathRoots = Arrays.stream(args[0].split(File.pathSeparator))
+        .map(Paths::get)
+        .collect(Collectors.toSet());
+    Settings settings = Settings.builder()
+        .sourceOutput(Paths.get(args[1]))
+        .resourceOutput(Paths.get(args[2]))
+        .classOutput(Paths.get(args[3]))
+        .groupId(args[4])
+        .artifactId(args[5])
+        .build();
+    new CucumberTestAotProcessor(classpathRoots, settings).process();
+  }
+
+  @Override
+  protected Stream<Class<?>> scanClasspathRoots() {
+    return Stream.concat(super.scanClasspathRoots(), Stream.of(CucumberSpringConfiguration.class)).distinct();
+  }
+}
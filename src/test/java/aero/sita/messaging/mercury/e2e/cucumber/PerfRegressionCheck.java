@@ -0,0 +1,73 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.cucumber;
+
+import aero.sita.messaging.mercury.e2e.model.perf.MetricComparison;
+import aero.sita.messaging.mercury.e2e.model.perf.PerfRunSummary;
+import aero.sita.messaging.mercury.e2e.service.perf.PerfRegressionComparator;
+import aero.sita.messaging.mercury.e2e.service.perf.PerfSummaryRecorder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compares the last performance run summary against the baseline summary.
+ * <p>
+ * The verdict of every metric is written to {@code perf-comparison.txt} next to the current summary.
+ * Exits with 1 when at least one metric regresses, so the Gradle task fails; a missing baseline is not
+ * an error (first run on a branch).
+ * Usage: gradle perfCompare [-Pperf.baseline=...] [-Pperf.tolerance=0.10] [-Pperf.alpha=0.01]
+ */
+@Slf4j
+public final class PerfRegressionCheck {
+
+  private PerfRegressionCheck() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    Path baselinePath = Paths.get(System.getProperty("perf.baseline", "perf-baseline.json"));
+    Path currentPath = Paths.get(System.getProperty("perf.current",
+        "build/reports/perf/" + PerfSummaryRecorder.LATEST_FILE));
+    double tolerance = Double.parseDouble(System.getProperty("perf.tolerance", "0.10"));
+    double alpha = Double.parseDouble(System.getProperty("perf.alpha", "0.01"));
+
+    if (Files.notExists(currentPath)) {
+      log.error("No performance summary at {}: run a performance test task first", currentPath);
+      System.exit(1);
+    }
+    if (Files.notExists(baselinePath)) {
+      log.warn("No baseline at {}: nothing to compare (promote one with gradle perfBaseline)", baselinePath);
+      System.exit(0);
+    }
+    ObjectMapper mapper = new ObjectMapper();
+    List<MetricComparison> comparisons = new PerfRegressionComparator(tolerance, alpha).compare(
+        mapper.readValue(baselinePath.toFile(), PerfRunSummary.class),
+        mapper.readValue(currentPath.toFile(), PerfRunSummary.class));
+
+    StringBuilder report = new StringBuilder(String.format("Performance comparison: %s -> %s "
+        + "(tolerance %.0f%%, alpha %.3f)%n", baselinePath, currentPath, tolerance * 100, alpha));
+    comparisons.forEach(comparison -> report.append(comparison.toLine()).append(System.lineSeparator()));
+    Path reportPath = currentPath.resolveSibling("perf-comparison.txt");
+    Files.writeString(reportPath, report.toString());
+    log.info("{}", report);
+
+    long regressions = comparisons.stream()
+        .filter(comparison -> comparison.getVerdict() == MetricComparison.Verdict.REGRESSION)
+        .count();
+    if (regressions > 0) {
+      log.error("{} performance regression(s), see {}", regressions, reportPath);
+      System.exit(1);
+    }
+    System.exit(0);
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.cucumber;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.test.context.TestContextManager;
+
+/**
+ * Measures how long the Cucumber test context takes to boot.
+ * <p>
+ * The context is loaded exactly like cucumber-spring does it (through a {@link TestContextManager}
+ * on {@link CucumberSpringConfiguration}), so AOT initializers and profiles apply the same way.
+ * - The first boot of the JVM is reported as "cold"
+ * - Following boots (context marked dirty in between) are "warm"; the median is reported
+ * <p>
+ * Results are appended to {@code build/reports/startup/startup-benchmark.csv}.
+ * Usage: gradle startupBenchmark (runs the default and the fast variant back to back)
+ */
+@Slf4j
+public final class StartupBenchmark {
+
+  private static final Path REPORT = Paths.get("build", "reports", "startup", "startup-benchmark.csv");
+
+  private StartupBenchmark() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    String variant = System.getProperty("startup.benchmark.variant", "default");
+    int iterations = Integer.getInteger("startup.benchmark.iterations", 5);
+    System.setProperty("startup.timing.restarts-expected", "true");
+
+    List<Long> bootsMs = new ArrayList<>();
+    for (int i = 0; i < iterations; i++) {
+      TestContextManager manager = new TestContextManager(CucumberSpringConfiguration.class);
+      long start = System.nanoTime();
+      manager.getTestContext().getApplicationContext();
+      bootsMs.add((System.nanoTime() - start) / 1_000_000);
+      manager.getTestContext().markApplicationContextDirty(null);
+    }
+
+    long cold = bootsMs.get(0);
+    long warm = median(bootsMs.subList(1, bootsMs.size()));
+    log.info("Startup benchmark [{}]: cold={} ms, warm(median of {})={} ms, all={}",
+        variant, cold, bootsMs.size() - 1, warm, bootsMs);
+    append(variant, cold, warm, bootsMs);
+    System.exit(0);
+  }
+
+  private static long median(List<Long> values) {
+    if (values.isEmpty()) {
+      return -1;
+    }
+    List<Long> sorted = new ArrayList<>(values);
+    sorted.sort(Long::compare);
+    return sorted.get(sorted.size() / 2);
+  }
+
+  private static void append(String variant, long cold, long warm, List<Long> all) throws IOException {
+    Files.createDirectories(REPORT.getParent());
+    if (Files.notExists(REPORT)) {
+      Files.writeString(REPORT, "variant,coldMs,warmMedianMs,allMs\n");
+    }
+    String line = String.format("%s,%d,%d,%s%n", variant, cold, warm,
+        all.toString().replace(",", " ").replace("[", "").replace("]", ""));
+    Files.writeString(REPORT, line, StandardOpenOption.APPEND);
+  }
+}
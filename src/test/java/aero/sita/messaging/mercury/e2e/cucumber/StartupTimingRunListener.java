@@ -0,0 +1,122 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.cucumber;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ConfigurableBootstrapContext;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringApplicationRunListener;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+/**
+ * Logs a startup timing breakdown every time the test Spring context is booted.
+ * <p>
+ * Registered through {@code META-INF/spring.factories} so it applies to the context created by
+ * {@link CucumberSpringConfiguration} without touching the runners. The output contains:
+ * - Time spent per Spring Boot phase (environment, context prepare/load, refresh)
+ * - The slowest bean instantiations (Mongo clients, RestTemplates, repositories...)
+ * - How many times a context has been started in this JVM
+ * <p>
+ * The last line is the useful one for the combined suite task: when several runners share one
+ * JVM the count must stay at 1, otherwise the context cache was missed.
+ */
+@Slf4j
+public class StartupTimingRunListener implements SpringApplicationRunListener {
+
+  private static final AtomicInteger CONTEXT_STARTS = new AtomicInteger();
+  private static final int STARTUP_BUFFER_CAPACITY = 4096;
+  private static final int SLOWEST_BEANS_TO_REPORT = 10;
+
+  private final BufferingApplicationStartup startup = new BufferingApplicationStartup(STARTUP_BUFFER_CAPACITY);
+  private final Map<String, Long> phases = new LinkedHashMap<>();
+  private long lastMark;
+
+  public StartupTimingRunListener(SpringApplication application, String[] args) {
+    application.setApplicationStartup(startup);
+    startup.addFilter(step -> step.getName().startsWith("spring.beans.instantiate"));
+  }
+
+  @Override
+  public void starting(ConfigurableBootstrapContext bootstrapContext) {
+    lastMark = System.nanoTime();
+  }
+
+  @Override
+  public void environmentPrepared(ConfigurableBootstrapContext bootstrapContext, ConfigurableEnvironment environment) {
+    mark("environment");
+  }
+
+  @Override
+  public void contextPrepared(ConfigurableApplicationContext context) {
+    mark("context-prepare");
+  }
+
+  @Override
+  public void contextLoaded(ConfigurableApplicationContext context) {
+    mark("context-load");
+  }
+
+  @Override
+  public void started(ConfigurableApplicationContext context, Duration timeTaken) {
+    mark("refresh");
+  }
+
+  @Override
+  public void ready(ConfigurableApplicationContext context, Duration timeTaken) {
+    mark("runners");
+    int starts = CONTEXT_STARTS.incrementAndGet();
+
+    StringBuilder sb = new StringBuilder("Spring context startup breakdown:");
+    long total = 0;
+    for (Map.Entry<String, Long> phase : phases.entrySet()) {
+      sb.append(String.format("%n  %-16s %6d ms", phase.getKey(), phase.getValue()));
+      total += phase.getValue();
+    }
+    sb.append(String.format("%n  %-16s %6d ms", "total", total));
+
+    StartupTimeline timeline = startup.drainBufferedTimeline();
+    sb.append(String.format("%n  Slowest bean instantiations:"));
+    timeline.getEvents().stream()
+        .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+        .limit(SLOWEST_BEANS_TO_REPORT)
+        .forEach(e -> sb.append(String.format("%n    %6d ms  %s",
+            e.getDuration().toMillis(), beanName(e))));
+
+    sb.append(String.format("%n  Context starts in this JVM: %d", starts));
+    log.info(sb.toString());
+
+    if (starts > 1 && !Boolean.getBoolean("startup.timing.restarts-expected")) {
+      log.warn("Spring context was started {} times in this JVM - the test context cache was not reused", starts);
+    }
+  }
+
+  private void mark(String phase) {
+    long now = System.nanoTime();
+    phases.put(phase, Duration.ofNanos(now - lastMark).toMillis());
+    lastMark = now;
+  }
+
+  private static String beanName(StartupTimeline.TimelineEvent event) {
+    for (var tag : event.getStartupStep().getTags()) {
+      if ("beanName".equals(tag.getKey())) {
+        return tag.getValue();
+      }
+    }
+    return event.getStartupStep().getName();
+  }
+}
@@ -0,0 +1,43 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.cucumber;
+
+import aero.sita.messaging.mercury.e2e.client.testharness.standin.TestHarnessStandIn;
+import aero.sita.messaging.mercury.e2e.config.HarnessStandInProperties;
+import java.util.concurrent.CountDownLatch;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.StandardEnvironment;
+
+/**
+ * Runs the test-harness stand-in as its own local process, until the process is stopped.
+ * <p>
+ * Settings are the test-harness.stand-in.* properties, passed as system properties
+ * (e.g. -Dtest-harness.stand-in.loss-rate=0.01); the suites then run with test-harness.base.url
+ * pointing at the printed base URL.
+ * Usage: gradle harnessStandIn [-Pstandin.port=18082] [-Pstandin.delay-millis=20] [-Pstandin.loss-rate=0.01]
+ */
+@Slf4j
+public final class TestHarnessStandInLauncher {
+
+  private TestHarnessStandInLauncher() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    HarnessStandInProperties properties = Binder.get(new StandardEnvironment())
+        .bind("test-harness.stand-in", HarnessStandInProperties.class)
+        .orElseGet(HarnessStandInProperties::new);
+    TestHarnessStandIn standIn = new TestHarnessStandIn(properties);
+    standIn.start();
+    Runtime.getRuntime().addShutdownHook(new Thread(standIn::stop, "harness-stand-in-shutdown"));
+    log.info("Run the suites with -Dtest-harness.base.url={}", standIn.baseUrl());
+    new CountDownLatch(1).await();
+  }
+}
@@ -0,0 +1,39 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+package aero.sita.messaging.mercury.e2e.cucumber;
+
+import aero.sita.messaging.mercury.e2e.utilities.format.typeb.TypeBCorpusGenerator;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Generates the Type B corpus replayed by the corpus load steps, ahead of the performance run.
+ * Usage: gradle corpusGenerate [-Pcorpus.records=1000000] [-Pcorpus.path=...] [-Pcorpus.invalid-share=0.05]
+ */
+@Slf4j
+public final class TypeBCorpusGeneratorLauncher {
+
+  private TypeBCorpusGeneratorLauncher() {
+  }
+
+  public static void main(String[] args) {
+    Path path = Paths.get(System.getProperty("corpus.path", "build/corpus/typeb-corpus.bin"));
+    long records = Long.parseLong(System.getProperty("corpus.records", "1000000"));
+    double invalidShare = Double.parseDouble(System.getProperty("corpus.invalid-share", "0.05"));
+
+    long start = System.nanoTime();
+    TypeBCorpusGenerator.generate(path, TypeBCorpusGenerator.Spec.builder()
+        .records(records)
+        .invalidShare(invalidShare)
+        .build());
+    long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+    log.info("Generated {} records in {} ms ({} records/s)", records, elapsedMillis, records * 1000 / elapsedMillis);
+  }
+}
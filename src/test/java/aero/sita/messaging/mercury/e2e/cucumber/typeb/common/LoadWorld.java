@@ -0,0 +1,73 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.cucumber.typeb.common;
+
+import aero.sita.messaging.mercury.e2e.model.load.CapacitySearchResult;
+import aero.sita.messaging.mercury.e2e.model.load.DuplicateStressResult;
+import aero.sita.messaging.mercury.e2e.model.load.FanOutBenchmarkResult;
+import aero.sita.messaging.mercury.e2e.model.load.HarnessProfileResult;
+import aero.sita.messaging.mercury.e2e.model.load.LoadRunResult;
+import aero.sita.messaging.mercury.e2e.model.load.PayloadScalingResult;
+import aero.sita.messaging.mercury.e2e.model.load.QueueMatrixResult;
+import aero.sita.messaging.mercury.e2e.model.load.SoakRunResult;
+import io.cucumber.spring.ScenarioScope;
+import lombok.Data;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the outcome of the load, soak, capacity, fan-out, payload-size, duplicate stress,
+ * harness load profile or queue matrix run executed by the current scenario,
+ * so the verification steps can assert on it.
+ */
+@Component
+@ScenarioScope
+@Data
+public class LoadWorld {
+
+  /**
+   * Result of the last load run of the scenario.
+   */
+  private LoadRunResult lastResult;
+
+  /**
+   * Result of the last soak run of the scenario.
+   */
+  private SoakRunResult lastSoakResult;
+
+  /**
+   * Result of the last capacity search of the scenario.
+   */
+  private CapacitySearchResult lastCapacityResult;
+
+  /**
+   * Result of the last fan-out benchmark of the scenario.
+   */
+  private FanOutBenchmarkResult lastFanOutResult;
+
+  /**
+   * Result of the last payload-size benchmark of the scenario.
+   */
+  private PayloadScalingResult lastPayloadResult;
+
+  /**
+   * Result of the last duplicate stress run of the scenario.
+   */
+  private DuplicateStressResult lastDuplicateResult;
+
+  /**
+   * Result of the last harness load profile run of the scenario.
+   */
+  private HarnessProfileResult lastProfileResult;
+
+  /**
+   * Result of the last queue latency matrix of the scenario.
+   */
+  private QueueMatrixResult lastMatrixResult;
+}
@@ -0,0 +1,41 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.cucumber.typeb.runners;
+
+import static io.cucumber.junit.platform.engine.Constants.GLUE_PROPERTY_NAME;
+import static io.cucumber.junit.platform.engine.Constants.PLUGIN_PROPERTY_NAME;
+
+import org.junit.platform.suite.api.ConfigurationParameter;
+import org.junit.platform.suite.api.IncludeEngines;
+import org.junit.platform.suite.api.SelectClasspathResource;
+import org.junit.platform.suite.api.Suite;
+
+/**
+ * JUnit 5 test runner for the Cucumber performance (load) scenarios.
+ * <p>
+ * Load features live under {@code performance/} instead of {@code features/}, so the
+ * functional runners (including {@link AllTestsRunner}) never start a load run by accident.
+ * <p>
+ * Usage:
+ * - Execute via Gradle: ./gradlew performanceTest
+ * - Narrow down via: ./gradlew performanceTest -Pcucumber.filter.tags="@load"
+ */
+@Suite
+@IncludeEngines("cucumber")
+@SelectClasspathResource("performance")
+@ConfigurationParameter(key = GLUE_PROPERTY_NAME, value = "aero.sita.messaging.mercury.e2e.cucumber")
+@ConfigurationParameter(
+    key = PLUGIN_PROPERTY_NAME,
+    value = "pretty, html:build/reports/cucumber/performance-tests.html, json:build/reports/cucumber/performance-tests.json"
+)
+public class PerformanceTestRunner {
+  // This class serves as a test runner for Cucumber performance tests
+  // No additional code is needed here
+}
@@ -0,0 +1,111 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+package aero.sita.messaging.mercury.e2e.cucumber.typeb.steps;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import aero.sita.messaging.mercury.e2e.utilities.matcher.AhoCorasickMatcher;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Randomized check of {@link AhoCorasickMatcher} against {@link String#contains} while patterns are
+ * added and removed, with enough removals to go through several compactions.
+ * Runs offline: no harness or database is involved.
+ */
+@Slf4j
+public class AhoCorasickMatcherSteps {
+
+  private static final int MAX_REPORTED_MISMATCHES = 5;
+  // Same threshold as the matcher: compaction once removed patterns reach it and outnumber the live ones
+  private static final int MIN_DEAD_BEFORE_COMPACTION = 64;
+  // Small alphabet (non-ASCII included) so that patterns overlap and share prefixes and suffixes
+  private static final char[] ALPHABET = {'A', 'B', 'C', '1', '/', 'é', 'Ω'};
+
+  private final List<String> mismatches = new ArrayList<>();
+  private int mismatchCount;
+
+  @When("{int} random operations with seed {long} are applied to the matcher and to a contains-based reference")
+  public void randomOperationsAreApplied(int operations, long seed) {
+    mismatches.clear();
+    mismatchCount = 0;
+    Random random = new Random(seed);
+    AhoCorasickMatcher matcher = new AhoCorasickMatcher();
+    Set<String> live = new LinkedHashSet<>();
+    List<String> pool = new ArrayList<>();
+    for (int p = 0; p < 600; p++) {
+      pool.add(randomText(random, 1 + random.nextInt(6)));
+    }
+    int removedSinceCompaction = 0;
+    int compactions = 0;
+    int scans = 0;
+    for (int op = 0; op < operations; op++) {
+      // Phases alternate between growing and shrinking the set, so that removals pile up
+      boolean growing = (op / 2_000) % 2 == 0;
+      int kind = random.nextInt(10);
+      String pattern = pool.get(random.nextInt(pool.size()));
+      if (kind < (growing ? 4 : 1)) {
+        check(op, "add " + pattern, live.add(pattern), matcher.add(pattern));
+      } else if (kind < 5) {
+        boolean removed = live.remove(pattern);
+        check(op, "remove " + pattern, removed, matcher.remove(pattern));
+        if (removed && ++removedSinceCompaction >= MIN_DEAD_BEFORE_COMPACTION
+            && removedSinceCompaction > live.size()) {
+          removedSinceCompaction = 0;
+          compactions++;
+        }
+      } else {
+        String text = randomText(random, random.nextInt(40));
+        Set<String> expected = new HashSet<>();
+        for (String candidate : live) {
+          if (text.contains(candidate)) {
+            expected.add(candidate);
+          }
+        }
+        List<String> found = matcher.matches(text);
+        check(op, "scan " + text, expected, new HashSet<>(found));
+        check(op, "reports per pattern in " + text, expected.size(), found.size());
+        scans++;
+      }
+      check(op, "size", live.size(), matcher.size());
+    }
+    log.info("Matcher against contains on {} operations: {} scans, {} compaction(s), {} mismatch(es)",
+        operations, scans, compactions, mismatchCount);
+    assertThat(compactions).as("Compactions exercised").isPositive();
+  }
+
+  @Then("the matcher should agree with the reference on every operation")
+  public void theMatcherShouldAgreeWithTheReference() {
+    assertThat(mismatchCount)
+        .as("Matcher mismatches (first %d):%n%s", MAX_REPORTED_MISMATCHES, String.join("\n", mismatches))
+        .isZero();
+  }
+
+  private void check(int op, String operation, Object expected, Object actual) {
+    if (!expected.equals(actual) && ++mismatchCount <= MAX_REPORTED_MISMATCHES) {
+      mismatches.add(String.format("operation %d (%s)%n  contains: %s%n  matcher:  %s",
+          op, operation, expected, actual));
+    }
+  }
+
+  private static String randomText(Random random, int length) {
+    StringBuilder sb = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      sb.append(ALPHABET[random.nextInt(ALPHABET.length)]);
+    }
+    return sb.toString();
+  }
+}
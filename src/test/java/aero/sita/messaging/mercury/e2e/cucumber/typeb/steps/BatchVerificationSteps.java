@@ -0,0 +1,147 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+package aero.sita.messaging.mercury.e2e.cucumber.typeb.steps;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import aero.sita.messaging.mercury.e2e.cucumber.typeb.common.CommonTypeBWorld;
+import aero.sita.messaging.mercury.e2e.cucumber.typeb.heading.HeadingConstructionSteps;
+import aero.sita.messaging.mercury.e2e.model.batch.BatchMessage;
+import aero.sita.messaging.mercury.e2e.model.batch.BatchVerificationResult;
+import aero.sita.messaging.mercury.e2e.service.batch.BatchVerificationService;
+import aero.sita.messaging.mercury.e2e.utilities.generator.MessageIdentityGenerator;
+import aero.sita.messaging.mercury.e2e.utilities.helper.PreflightHealthCheck;
+import io.cucumber.datatable.DataTable;
+import io.cucumber.java.en.And;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Batch variants of the "compose, send, receive, verify" steps: a whole Examples table is injected
+ * in one scenario, each row with its own message identity, and verified in one pass.
+ * <p>
+ * Example Gherkin:
+ * When I send the following address element variants via the Test Harness in one batch:
+ * | indicatorSOA | containsEOA | SOAControlCharacter | priority | addressElement |
+ * | yes          | yes         | SOH                 | QN       | NAL            |
+ * Then every batch message is received via Test Harness:
+ * | type  | outQueue   |
+ * | IBMMQ | LETTTLK.IN |
+ * And every batch message is stored with the incoming statuses:
+ * | RECEIVED |
+ * | PARSED   |
+ * <p>
+ * The checks report every row (PASS/FAIL) before failing, so one run shows all failing variants.
+ */
+@Slf4j
+public class BatchVerificationSteps {
+
+  @Autowired
+  private BatchVerificationService batchVerificationService;
+
+  @Autowired
+  private HeadingConstructionSteps headingConstructionSteps;
+
+  @Autowired
+  private CommonTypeBWorld commonWorld;
+
+  @Autowired
+  private PreflightHealthCheck preflightHealthCheck;
+
+  private final List<BatchMessage> batch = new ArrayList<>();
+
+  /**
+   * Composes one message per row with the address element of that row (same columns as the
+   * single-message step "I construct the address element with SOA ..."), then injects them all.
+   * The rest of the message (originator, text, selected connection) comes from the previous steps.
+   *
+   * @param table rows with indicatorSOA, containsEOA, SOAControlCharacter, priority and addressElement
+   */
+  @When("I send the following address element variants via the Test Harness in one batch:")
+  public void sendAddressElementVariants(DataTable table) {
+    List<Map<String, String>> rows = table.asMaps(String.class, String.class);
+    if (rows.isEmpty()) {
+      throw new IllegalArgumentException("DataTable must contain at least one address element variant");
+    }
+
+    batch.clear();
+    Set<String> identities = new HashSet<>();
+    for (int i = 0; i < rows.size(); i++) {
+      Map<String, String> row = rows.get(i);
+      headingConstructionSteps.constructAddressElement(row.get("indicatorSOA"), row.get("containsEOA"),
+          row.get("SOAControlCharacter"), row.get("priority"), row.get("addressElement"));
+      String identity = uniqueIdentity(identities);
+      commonWorld.ctx.withMessageIdentity(identity);
+      batch.add(BatchMessage.builder()
+          .label("#" + (i + 1) + " " + String.join(" | ", row.values()))
+          .messageIdentity(identity)
+          .content(commonWorld.ctx.compose())
+          .build());
+    }
+
+    preflightHealthCheck.assertHealthy();
+    batchVerificationService.inject(batch);
+  }
+
+  /**
+   * Batch counterpart of "I received message via Test Harness:" followed by
+   * "the received message matches with sent message".
+   *
+   * @param table DataTable containing 'type' and 'outQueue'
+   */
+  @Then("every batch message is received via Test Harness:")
+  public void everyBatchMessageIsReceived(DataTable table) {
+    List<Map<String, String>> rows = table.asMaps(String.class, String.class);
+    if (rows.isEmpty()) {
+      throw new IllegalArgumentException("DataTable must contain at least one row with 'type' and 'outQueue'");
+    }
+    Map<String, String> row = rows.getFirst();
+
+    assertAllPassed(batchVerificationService.verifyReceived(requireBatch(), row.get("outQueue"), row.get("type")));
+  }
+
+  /**
+   * Checks the incoming document of every batch message with one {@code $in} query per polling round.
+   *
+   * @param expectedStatuses statuses each incoming document must contain
+   */
+  @And("every batch message is stored with the incoming statuses:")
+  public void everyBatchMessageIsStoredWithStatuses(List<String> expectedStatuses) {
+    assertAllPassed(batchVerificationService.verifyStoredStatuses(requireBatch(), expectedStatuses));
+  }
+
+  private List<BatchMessage> requireBatch() {
+    if (batch.isEmpty()) {
+      throw new IllegalStateException("No batch injected. Ensure a '... in one batch:' step was called first.");
+    }
+    return batch;
+  }
+
+  private static void assertAllPassed(BatchVerificationResult result) {
+    assertThat(result.getFailures())
+        .as("%d of %d batch row(s) failed:%n%s", result.getFailures().size(), result.getRows().size(),
+            result.toSummary())
+        .isEmpty();
+  }
+
+  private static String uniqueIdentity(Set<String> identities) {
+    String identity = MessageIdentityGenerator.generate();
+    while (!identities.add(identity)) {
+      identity = MessageIdentityGenerator.generate();
+    }
+    return identity;
+  }
+}
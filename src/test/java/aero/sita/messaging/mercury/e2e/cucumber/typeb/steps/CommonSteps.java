@@ -12,6 +12,7 @@ package aero.sita.messaging.mercury.e2e.cucumber.typeb.steps;
 import aero.sita.messaging.mercury.e2e.client.testharness.TestHarnessClient;
 import aero.sita.messaging.mercury.e2e.model.testharness.response.ClearResponse;
 import aero.sita.messaging.mercury.e2e.utilities.helper.PollingHelper;
+import aero.sita.messaging.mercury.e2e.utilities.helper.PreflightHealthCheck;
 import io.cucumber.datatable.DataTable;
 import io.cucumber.java.Before;
 import io.cucumber.java.en.Given;
@@ -36,6 +37,9 @@ public class CommonSteps {
   @Autowired
   private PollingHelper pollingHelper;
 
+  @Autowired
+  private PreflightHealthCheck preflightHealthCheck;
+
   /**
    * Message Identity for tracking messages across systems.
    * Set by message injection steps, used by MongoDB validation steps.
@@ -54,6 +58,18 @@ public class CommonSteps {
     //theTestHarnessIsInACleanState();
   }
 
+  /**
+   * Runs the preflight health check before the first scenario of the JVM.
+   * The result is cached, so later scenarios pay nothing. It does not fail composition-only
+   * scenarios; environment steps call {@link PreflightHealthCheck#assertHealthy()}.
+   */
+  @Before(order = 0)
+  public void preflight() {
+    if (preflightHealthCheck.isEnabled()) {
+      preflightHealthCheck.getReport();
+    }
+  }
+
   /**
    * Clears all messages from the test-harness to ensure clean state.
    */
@@ -71,10 +87,15 @@ public class CommonSteps {
 
   /**
    * Verifies that the test-harness is accessible.
+   * Uses the cached preflight result when enabled instead of downloading the received list.
    */
   @Given("the test-harness is accessible")
   public void theTestHarnessIsAccessible() {
     log.info("Verifying test-harness accessibility");
+    if (preflightHealthCheck.isEnabled()) {
+      preflightHealthCheck.assertHealthy();
+      return;
+    }
     try {
       testHarnessClient.getReceivedMessages();
       log.info("Test-harness is accessible");
@@ -0,0 +1,76 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.cucumber.typeb.steps;
+
+import aero.sita.messaging.mercury.e2e.client.testharness.TestHarnessClient;
+import aero.sita.messaging.mercury.e2e.service.latency.HarnessLatencyCollector;
+import aero.sita.messaging.mercury.e2e.utilities.helper.PreflightHealthCheck;
+import io.cucumber.java.After;
+import io.cucumber.java.Before;
+import io.cucumber.java.Scenario;
+import java.net.URI;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Feeds the harness latency collector with the injections of every scenario.
+ * <p>
+ * The collector records the identities the scenario injects; at the end, the received messages
+ * carrying them are handed to {@link HarnessLatencyCollector}, tagged with the feature and the
+ * scenario tags. The latency lookups run in the background, so the scenario is not slowed down, and
+ * a scenario that injected nothing does not read the harness at all.
+ */
+@Slf4j
+public class HarnessLatencyHooks {
+
+  @Autowired
+  private HarnessLatencyCollector harnessLatencyCollector;
+
+  @Autowired
+  private TestHarnessClient testHarnessClient;
+
+  @Autowired
+  private PreflightHealthCheck preflightHealthCheck;
+
+  @Before
+  public void startHarnessLatencyScenario(Scenario scenario) {
+    harnessLatencyCollector.startScenario(scenario.getSourceTagNames());
+  }
+
+  @After
+  public void collectHarnessLatency(Scenario scenario) {
+    if (!harnessLatencyCollector.hasScenarioInjections() || !harnessReachable()) {
+      return;
+    }
+    try {
+      harnessLatencyCollector.collect(testHarnessClient.getReceivedMessages().getReceivedMessages(),
+          featureName(scenario.getUri()), scenario.getSourceTagNames());
+    } catch (Exception e) {
+      // Never fail a scenario on its latency bookkeeping
+      log.warn("Harness latency: could not read received messages after '{}': {}", scenario.getName(),
+          e.getMessage());
+    }
+  }
+
+  private boolean harnessReachable() {
+    return !preflightHealthCheck.isEnabled() || preflightHealthCheck.getReport().probes().stream()
+        .filter(probe -> PreflightHealthCheck.TEST_HARNESS.equals(probe.name()))
+        .allMatch(PreflightHealthCheck.ProbeResult::up);
+  }
+
+  /**
+   * Feature file name without extension, e.g. "classpath:features/routing.feature" -> "routing".
+   */
+  private static String featureName(URI uri) {
+    String path = uri.getSchemeSpecificPart();
+    String file = path.substring(path.lastIndexOf('/') + 1);
+    return file.endsWith(".feature") ? file.substring(0, file.length() - ".feature".length()) : file;
+  }
+}
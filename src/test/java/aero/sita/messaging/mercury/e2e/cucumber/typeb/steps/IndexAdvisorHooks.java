@@ -0,0 +1,51 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+package aero.sita.messaging.mercury.e2e.cucumber.typeb.steps;
+
+import aero.sita.messaging.mercury.e2e.utilities.helper.MongoIndexAdvisor;
+import aero.sita.messaging.mercury.e2e.utilities.helper.PreflightHealthCheck;
+import io.cucumber.java.Before;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Runs the message-store index advisor before the first scenario of the JVM.
+ * <p>
+ * The advice is cached by {@link MongoIndexAdvisor}, so later scenarios only pay a volatile read.
+ * It is skipped when the preflight check is disabled or found the message-store down (or was told to
+ * skip it): explaining against an unreachable store would wait for the Mongo server selection timeout.
+ */
+@Slf4j
+public class IndexAdvisorHooks {
+
+  @Autowired
+  private MongoIndexAdvisor mongoIndexAdvisor;
+
+  @Autowired
+  private PreflightHealthCheck preflightHealthCheck;
+
+  @Before
+  public void adviseIndexes() {
+    if (!mongoIndexAdvisor.isEnabled() || !messageStoreReachable()) {
+      return;
+    }
+    try {
+      mongoIndexAdvisor.getReport();
+    } catch (Exception e) {
+      // Never fail a scenario on the advice itself
+      log.warn("Index advisor: could not explain the message-store queries: {}", e.getMessage());
+    }
+  }
+
+  private boolean messageStoreReachable() {
+    return preflightHealthCheck.isEnabled() && preflightHealthCheck.getReport().probes().stream()
+        .filter(probe -> PreflightHealthCheck.MESSAGE_STORE_MONGO.equals(probe.name()))
+        .anyMatch(probe -> probe.up() && !"skipped".equals(probe.detail()));
+  }
+}
@@ -12,6 +12,7 @@ package aero.sita.messaging.mercury.e2e.cucumber.typeb.steps;
 import aero.sita.messaging.mercury.e2e.cucumber.typeb.common.CommonTypeBWorld;
 import aero.sita.messaging.mercury.e2e.cucumber.typeb.common.ConfigurationWorld;
 import aero.sita.messaging.mercury.e2e.utilities.helper.MessageInjectionHelper;
+import aero.sita.messaging.mercury.e2e.utilities.helper.PreflightHealthCheck;
 import io.cucumber.java.Before;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.When;
@@ -32,6 +33,9 @@ public class MessageInjectionSteps {
   @Autowired
   private ConfigurationWorld configurationWorld;
 
+  @Autowired
+  private PreflightHealthCheck preflightHealthCheck;
+
   @Before
   public void cleanInjectionState() {
     messageInjectionHelper.reset();
@@ -73,6 +77,7 @@ public class MessageInjectionSteps {
     if (messageContent == null || messageContent.isEmpty()) {
       throw new IllegalStateException("No message content composed. Ensure 'Given the message is composed' was called.");
     }
+    preflightHealthCheck.assertHealthy();
 
     messageInjectionHelper.injectWithSmartRouting(messageContent);
   }
@@ -51,6 +51,12 @@ public class MessageVerificationSteps {
 
   private ReceivedMessage currentReceivedMessage;
 
+  /**
+   * Parsed body of {@link #currentReceivedMessage}, kept for the scenario so several verification
+   * steps on the same reject parse it only once.
+   */
+  private RejectMessageBody currentRejectBody;
+
   /**
    * Verifies that the reject message contains all expected errors using a table format.
    * This is more readable and maintainable than multiple "And" statements.
@@ -73,10 +79,8 @@ public class MessageVerificationSteps {
 
     log.info("Verifying that reject message contains {} error(s): {}", expectedErrors.size(), expectedErrors);
 
-    String messageBody = currentReceivedMessage.getBody();
-
-    // Parse the reject message body
-    RejectMessageBody parsedMessage = RejectMessageBodyParser.parse(messageBody);
+    // Parse the reject message body (once per scenario and body)
+    RejectMessageBody parsedMessage = currentRejectBody();
 
     // Get actual error codes from parsed message
     List<String> actualErrors = parsedMessage.getErrorCodes();
@@ -128,10 +132,8 @@ public class MessageVerificationSteps {
     log.info("Verifying that reject message contains {} error(s) in order: {}",
         expectedErrorsInOrder.size(), expectedErrorsInOrder);
 
-    String messageBody = currentReceivedMessage.getBody();
-
-    // Parse the reject message body
-    RejectMessageBody parsedMessage = RejectMessageBodyParser.parse(messageBody);
+    // Parse the reject message body (once per scenario and body)
+    RejectMessageBody parsedMessage = currentRejectBody();
 
     // Get actual error codes from parsed message
     List<String> actualErrors = parsedMessage.getErrorCodes();
@@ -271,6 +273,17 @@ public class MessageVerificationSteps {
     return messageRetrievalHelper.findLatestReceivedMessage();
   }
 
+  /**
+   * Parses the body of {@link #currentReceivedMessage}, reusing the previous parse while the body is unchanged.
+   */
+  private RejectMessageBody currentRejectBody() {
+    String messageBody = currentReceivedMessage.getBody();
+    if (currentRejectBody == null || !currentRejectBody.getRawBody().equals(messageBody)) {
+      currentRejectBody = RejectMessageBodyParser.parse(messageBody);
+    }
+    return currentRejectBody;
+  }
+
   /**
    * Builds a detailed error message for error count mismatch.
    */
@@ -0,0 +1,89 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+package aero.sita.messaging.mercury.e2e.cucumber.typeb.steps;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import aero.sita.messaging.mercury.e2e.cucumber.utilities.parser.RegexRejectMessageBodyParser;
+import aero.sita.messaging.mercury.e2e.cucumber.utilities.parser.RejectBodyCorpus;
+import aero.sita.messaging.mercury.e2e.cucumber.utilities.parser.RejectMessageBodyParser;
+import aero.sita.messaging.mercury.e2e.utilities.format.typeb.CommonTypeB;
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Differential check of the hand-written reject parser against the regex-based one.
+ * Runs offline: no harness or database is involved.
+ */
+@Slf4j
+public class RejectParserSteps {
+
+  private static final int MAX_REPORTED_MISMATCHES = 5;
+
+  private List<String> corpus = List.of();
+  private final List<String> mismatches = new ArrayList<>();
+  private int mismatchCount;
+
+  @Given("a generated corpus of {int} reject bodies with seed {long}")
+  public void aGeneratedCorpusOfRejectBodies(int count, long seed) {
+    corpus = RejectBodyCorpus.generate(count, seed);
+    log.info("Generated {} reject bodies (seed {})", corpus.size(), seed);
+  }
+
+  @When("both reject parsers parse the corpus")
+  public void bothRejectParsersParseTheCorpus() {
+    mismatches.clear();
+    mismatchCount = 0;
+    long regexNanos = 0;
+    long handWrittenNanos = 0;
+    for (String body : corpus) {
+      long start = System.nanoTime();
+      Object expected = outcome(RegexRejectMessageBodyParser::parse, body);
+      boolean expectedValid = RegexRejectMessageBodyParser.isValidRejectMessageBody(body);
+      long middle = System.nanoTime();
+      Object actual = outcome(RejectMessageBodyParser::parse, body);
+      boolean actualValid = RejectMessageBodyParser.isValidRejectMessageBody(body);
+      handWrittenNanos += System.nanoTime() - middle;
+      regexNanos += middle - start;
+
+      if (!Objects.equals(expected, actual) || expectedValid != actualValid) {
+        if (++mismatchCount <= MAX_REPORTED_MISMATCHES) {
+          mismatches.add(String.format("body: %s%n  regex:        %s (valid=%s)%n  hand-written: %s (valid=%s)",
+              CommonTypeB.visualize(body), expected, expectedValid, actual, actualValid));
+        }
+      }
+    }
+    log.info("Reject parsers on {} bodies: regex {} ms, hand-written {} ms, {} mismatch(es)",
+        corpus.size(), regexNanos / 1_000_000, handWrittenNanos / 1_000_000, mismatchCount);
+  }
+
+  @Then("the parsers should agree on every reject body")
+  public void theParsersShouldAgreeOnEveryRejectBody() {
+    assertThat(mismatchCount)
+        .as("Reject parser mismatches (first %d):%n%s", MAX_REPORTED_MISMATCHES, String.join("\n", mismatches))
+        .isZero();
+  }
+
+  /**
+   * Parse result, or the exception class when parsing fails (both parsers must fail the same way).
+   */
+  private static Object outcome(Function<String, Object> parser, String body) {
+    try {
+      return parser.apply(body);
+    } catch (RuntimeException e) {
+      return e.getClass();
+    }
+  }
+}
@@ -0,0 +1,29 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+package aero.sita.messaging.mercury.e2e.cucumber.typeb.steps;
+
+import aero.sita.messaging.mercury.e2e.utilities.helper.TestDataLifecycleManager;
+import io.cucumber.java.After;
+import io.cucumber.java.Scenario;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Closes the test-data journal of every scenario, so the documents of a failed scenario are kept in
+ * the message-store for debugging instead of being purged with the rest of the run.
+ */
+public class TestDataHooks {
+
+  @Autowired
+  private TestDataLifecycleManager testDataLifecycleManager;
+
+  @After
+  public void endTestDataScenario(Scenario scenario) {
+    testDataLifecycleManager.endScenario(scenario.getName(), scenario.isFailed());
+  }
+}
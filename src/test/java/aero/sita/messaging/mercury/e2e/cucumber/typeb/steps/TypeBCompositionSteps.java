@@ -0,0 +1,157 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+package aero.sita.messaging.mercury.e2e.cucumber.typeb.steps;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import aero.sita.messaging.mercury.e2e.utilities.format.typeb.SoaPattern;
+import aero.sita.messaging.mercury.e2e.utilities.format.typeb.TypeBMessageBuilder;
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Differential check of {@link TypeBMessageBuilder#composeInto(ByteBuffer)} against
+ * {@link TypeBMessageBuilder#compose()}.
+ * Runs offline: no harness or database is involved.
+ * <p>
+ * One builder is reused through {@link TypeBMessageBuilder#reset()} for every configuration, the way
+ * the load generator reuses it. Each configuration is written at a non-zero position of both a heap
+ * and a direct buffer, because composeInto has a separate path for each.
+ */
+@Slf4j
+public class TypeBCompositionSteps {
+
+  private static final int MAX_REPORTED_MISMATCHES = 5;
+  private static final int BUFFER_CAPACITY = 64 * 1024;
+  private static final int BUFFER_OFFSET = 7;
+
+  private static final String[] HEADINGS = {null, "", "ZCZC 123", "QU", "HEADING LINE"};
+  private static final String[] HEADING_PARTS = {null, "", "QU", "ZCZC", " ", "/////", "AEI"};
+  private static final String[] TERMINATORS = {"", "", "\r\n", "\n", " "};
+  private static final String[] ADDRESSES = {"QU HDQRMJU", "QN SINSGSQ LETVVLK", "HDQRMJU", "", " QD BEGBCN "};
+  private static final String[] ORIGINATORS = {null, "", "HDQRMJU", ".HDQRMJU", "LETVVLK"};
+  private static final String[] IDENTITIES = {null, "", "121437/160B99PSA", "281441", "DDHHMM"};
+  private static final String[] TEXT_LINES = {"AVS", "JU0580L30AUG LA BEGBCN", "", "  ", "\u0003", "NIL"};
+  private static final String[] RAW_SECTIONS = {"", "\r\n", "\u0002", "RAW SECTION", "\u001A"};
+
+  private long seed;
+  private int count;
+  private final List<String> mismatches = new ArrayList<>();
+  private int mismatchCount;
+
+  @Given("{int} generated Type B builder configurations with seed {long}")
+  public void generatedBuilderConfigurations(int count, long seed) {
+    this.count = count;
+    this.seed = seed;
+  }
+
+  @When("every configuration is composed both as a string and into a buffer")
+  public void everyConfigurationIsComposedBothWays() {
+    mismatches.clear();
+    mismatchCount = 0;
+    Random random = new Random(seed);
+    TypeBMessageBuilder builder = new TypeBMessageBuilder();
+    ByteBuffer heap = ByteBuffer.allocate(BUFFER_CAPACITY);
+    ByteBuffer direct = ByteBuffer.allocateDirect(BUFFER_CAPACITY);
+    for (int i = 0; i < count; i++) {
+      configure(builder.reset(), random);
+      String expected = builder.compose();
+      String fromHeap = composeInto(builder, heap);
+      String fromDirect = composeInto(builder, direct);
+      if (!expected.equals(fromHeap) || !expected.equals(fromDirect)) {
+        if (++mismatchCount <= MAX_REPORTED_MISMATCHES) {
+          mismatches.add(String.format("configuration %d%n  compose:             %s%n  composeInto heap:   %s%n"
+                  + "  composeInto direct: %s", i, TypeBMessageBuilder.visualizeTokens(expected),
+              TypeBMessageBuilder.visualizeTokens(fromHeap), TypeBMessageBuilder.visualizeTokens(fromDirect)));
+        }
+      }
+    }
+    log.info("Composed {} builder configurations (seed {}), {} mismatch(es)", count, seed, mismatchCount);
+  }
+
+  @Then("both compositions should agree on every configuration")
+  public void bothCompositionsShouldAgree() {
+    assertThat(mismatchCount)
+        .as("compose/composeInto mismatches (first %d):%n%s", MAX_REPORTED_MISMATCHES, String.join("\n", mismatches))
+        .isZero();
+  }
+
+  /**
+   * Writes the message at {@link #BUFFER_OFFSET} and decodes it back; the returned length and the buffer
+   * position must both account for exactly the bytes written.
+   */
+  private static String composeInto(TypeBMessageBuilder builder, ByteBuffer buffer) {
+    buffer.clear().position(BUFFER_OFFSET);
+    int written = builder.composeInto(buffer);
+    if (buffer.position() != BUFFER_OFFSET + written) {
+      return String.format("<position %d after %d bytes written from %d>", buffer.position(), written,
+          BUFFER_OFFSET);
+    }
+    byte[] bytes = new byte[written];
+    buffer.get(BUFFER_OFFSET, bytes);
+    return new String(bytes, StandardCharsets.US_ASCII);
+  }
+
+  private static void configure(TypeBMessageBuilder builder, Random random) {
+    if (random.nextBoolean()) {
+      builder.withHeading(pick(random, HEADINGS));
+    } else {
+      builder.preSOAType(pick(random, HEADING_PARTS))
+          .plainHeadingText(pick(random, HEADING_PARTS))
+          .addressEndIndicator(pick(random, HEADING_PARTS))
+          .pilotSignal(pick(random, HEADING_PARTS));
+    }
+    builder.withHeadingPrefix(random.nextInt(4) == 0 ? "\r\n" : null)
+        .withHeadingTerminator(pick(random, TERMINATORS))
+        .emitSpacingUS(random.nextInt(4) == 0)
+        .emitTextDelimiters(random.nextBoolean());
+
+    int soa = random.nextInt(SoaPattern.values().length + 1);
+    builder.withExplicitSoa(soa == SoaPattern.values().length ? null : SoaPattern.values()[soa]);
+    builder.withEoaToken(random.nextBoolean() ? TypeBMessageBuilder.AddressEoaToken.DOT
+        : TypeBMessageBuilder.AddressEoaToken.SUB);
+    if (random.nextInt(4) == 0) {
+      builder.withAddressOverrideRaw(pick(random, RAW_SECTIONS));
+    }
+    if (random.nextInt(4) == 0) {
+      builder.withDiversionRoutingIndicator("LETVVLK");
+    }
+    for (int i = random.nextInt(4); i > 0; i--) {
+      if (random.nextInt(5) == 0) {
+        builder.withPilot(pick(random, ADDRESSES));
+      } else {
+        builder.withAddressLine(pick(random, ADDRESSES));
+      }
+    }
+
+    builder.withOriginatorIndicator(pick(random, ORIGINATORS))
+        .withDoubleSignature(random.nextInt(3) == 0 ? "JU" : null)
+        .withMessageIdentity(pick(random, IDENTITIES));
+    for (int i = random.nextInt(3); i > 0; i--) {
+      builder.addPreTextRawSection(pick(random, RAW_SECTIONS));
+    }
+    for (int i = random.nextInt(4); i > 0; i--) {
+      builder.withTextLine(pick(random, TEXT_LINES));
+    }
+    for (int i = random.nextInt(3); i > 0; i--) {
+      builder.addPostTextRawSection(pick(random, RAW_SECTIONS));
+    }
+  }
+
+  private static String pick(Random random, String[] values) {
+    return values[random.nextInt(values.length)];
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+package aero.sita.messaging.mercury.e2e.cucumber.typeb.steps;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import aero.sita.messaging.mercury.e2e.cucumber.utilities.parser.LegacyTypeBLineScan;
+import aero.sita.messaging.mercury.e2e.cucumber.utilities.parser.TypeBHeaderCorpus;
+import aero.sita.messaging.mercury.e2e.utilities.format.typeb.CharSpan;
+import aero.sita.messaging.mercury.e2e.utilities.format.typeb.CommonTypeB;
+import aero.sita.messaging.mercury.e2e.utilities.format.typeb.TypeBTokenizer;
+import aero.sita.messaging.mercury.e2e.utilities.format.typeb.TypeBTokens;
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Differential check of the Type B tokenizer against the line scan it replaced.
+ * Runs offline: no harness or database is involved.
+ */
+@Slf4j
+public class TypeBTokenizerSteps {
+
+  private static final int MAX_REPORTED_MISMATCHES = 5;
+
+  private List<String> corpus = List.of();
+  private final List<String> mismatches = new ArrayList<>();
+  private int mismatchCount;
+
+  @Given("a generated corpus of {int} Type B messages with seed {long}")
+  public void aGeneratedCorpusOfTypeBMessages(int count, long seed) {
+    corpus = TypeBHeaderCorpus.generate(count, seed);
+    log.info("Generated {} Type B messages (seed {})", corpus.size(), seed);
+  }
+
+  @When("the tokenizer and the line scan read the corpus")
+  public void theTokenizerAndTheLineScanReadTheCorpus() {
+    mismatches.clear();
+    mismatchCount = 0;
+    for (String message : corpus) {
+      List<String> expected = List.of(String.valueOf(LegacyTypeBLineScan.messageIdentity(message)),
+          String.valueOf(LegacyTypeBLineScan.originator(message)),
+          String.valueOf(LegacyTypeBLineScan.address(message)));
+      TypeBTokens tokens = TypeBTokenizer.tokenize(message);
+      List<String> actual = List.of(String.valueOf(TypeBTokenizer.messageIdentity(message)),
+          string(tokens.originator()), string(tokens.addressSection()));
+
+      if (!Objects.equals(expected, actual)) {
+        if (++mismatchCount <= MAX_REPORTED_MISMATCHES) {
+          mismatches.add(String.format("message: %s%n  line scan: %s%n  tokenizer: %s",
+              CommonTypeB.visualize(message), expected, actual));
+        }
+      }
+    }
+    log.info("Tokenizer against line scan on {} messages: {} mismatch(es)", corpus.size(), mismatchCount);
+  }
+
+  @Then("they should agree on identity, originator and address of every message")
+  public void theyShouldAgreeOnEveryMessage() {
+    assertThat(mismatchCount)
+        .as("Tokenizer mismatches (first %d):%n%s", MAX_REPORTED_MISMATCHES, String.join("\n", mismatches))
+        .isZero();
+  }
+
+  private static String string(CharSpan span) {
+    return String.valueOf(span == null ? null : span.toString());
+  }
+}
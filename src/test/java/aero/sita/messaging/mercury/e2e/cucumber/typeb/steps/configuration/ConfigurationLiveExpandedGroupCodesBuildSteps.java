@@ -11,6 +11,7 @@ package aero.sita.messaging.mercury.e2e.cucumber.typeb.steps.configuration;
 
 import aero.sita.messaging.mercury.e2e.client.configuration.ConfigurationClient;
 import aero.sita.messaging.mercury.e2e.model.testharness.response.ResultResponse;
+import aero.sita.messaging.mercury.e2e.utilities.helper.PreflightHealthCheck;
 import io.cucumber.java.en.When;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,8 +22,12 @@ public class ConfigurationLiveExpandedGroupCodesBuildSteps {
   @Autowired
   private ConfigurationClient configurationClient;
 
+  @Autowired
+  private PreflightHealthCheck preflightHealthCheck;
+
   @When("sending get request for expanded group code by Id {string}")
   public void whenSendGetRequetGroupCode(String codeId) {
+    preflightHealthCheck.assertHealthy();
     Object response = configurationClient.getExpandedGroupCodeById(codeId);
 
     //  ResponseForModelConfiExpanden response = configurationClient.getExpandedGroupCodeById(codeId);
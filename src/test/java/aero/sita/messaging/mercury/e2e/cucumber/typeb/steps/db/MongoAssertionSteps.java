@@ -9,18 +9,17 @@
 
 package aero.sita.messaging.mercury.e2e.cucumber.typeb.steps.db;
 
-import static org.assertj.core.api.Assertions.assertThat;
-
 import aero.sita.messaging.mercury.e2e.cucumber.typeb.steps.CommonSteps;
+import aero.sita.messaging.mercury.e2e.cucumber.utilities.assertion.MongoAssertionPlan;
 import aero.sita.messaging.mercury.e2e.utilities.helper.MongoGenericHelper;
 import aero.sita.messaging.mercury.e2e.utilities.helper.PollingHelper;
 import io.cucumber.datatable.DataTable;
 import io.cucumber.java.en.Then;
-import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 
@@ -60,8 +59,11 @@ public class MongoAssertionSteps {
       return;
     }
 
+    // Path, operator and expected value are compiled once, not on every poll
+    MongoAssertionPlan plan = MongoAssertionPlan.single(path, operator, expectedValue, defaultFilterField);
+
     Object actualValue = pollingHelper.poll(
-        () -> fetchValue(path),
+        () -> fetchValue(plan),
         pollTimeout,
         pollInterval
     );
@@ -69,7 +71,7 @@ public class MongoAssertionSteps {
     log.info("Assertion (Single): Path='{}', Op='{}', Expected='{}', Actual='{}'",
         path, operator, expectedValue, actualValue);
 
-    performAssertion(actualValue, operator, expectedValue);
+    plan.verify(actualValue);
   }
 
   // --- LIST/TABLE ASSERTION ---
@@ -84,10 +86,11 @@ public class MongoAssertionSteps {
     List<String> expectedList = parseExpectedList(dataTable);
 
     log.info("Assertion (List): Path='{}', Op='{}', Expected={}", path, operator, expectedList);
+    MongoAssertionPlan plan = MongoAssertionPlan.list(path, operator, expectedList, defaultFilterField);
 
-    // 2. Delegate "Wait & Retry" logic to PollingHelper
+    // 2. Delegate "Wait & Retry" logic to PollingHelper: one narrow query and one comparison per poll
     pollingHelper.pollUntilAsserted(
-        () -> executeListAssertion(path, operator, expectedList),
+        () -> plan.verify(fetchValue(plan)),
         pollTimeout,
         pollInterval
     );
@@ -119,137 +122,17 @@ public class MongoAssertionSteps {
     return value;
   }
 
-  private void executeListAssertion(String path, String operator, List<String> expectedList) {
-    Object actualValue = fetchValue(path);
-
-    if (actualValue == null) {
-      throw new AssertionError("Value for path '" + path + "' is null (waiting for data...)");
-    }
-
-    if (!(actualValue instanceof List<?>)) {
-      throw new AssertionError("Expected a List from MongoDB for path '" + path +
-          "' but got: " + actualValue.getClass().getSimpleName());
-    }
-
-    List<String> actualStrings = ((List<?>) actualValue).stream()
-        .map(String::valueOf)
-        .collect(Collectors.toList());
-
-    log.debug("Comparing lists: Expected={} vs Actual={}", expectedList, actualStrings);
-
-    switch (operator.toLowerCase().replace(" ", "_")) {
-      case "equal_to":
-      case "equals":
-        assertThat(actualStrings).isEqualTo(expectedList);
-        break;
-      case "contains_in_order":
-        assertThat(actualStrings).containsSubsequence(expectedList);
-        break;
-      case "contains":
-      case "contains_any":
-        assertThat(actualStrings).containsAll(expectedList);
-        break;
-      default:
-        throw new IllegalArgumentException("Unsupported list operator: " + operator);
-    }
-  }
-
   // --- Helpers ---
 
-  private Object fetchValue(String path) {
-    String[] parts = path.split("\\.", 3);
-    if (parts.length < 3) return null;
-
-    String dbName = parts[0];
-    String collectionName = parts[1];
-    String targetFieldPath = parts[2];
+  private Object fetchValue(MongoAssertionPlan plan) {
     String filterValue = commonSteps.getMessageIdentity();
 
     if (filterValue == null || filterValue.isEmpty()) {
       throw new IllegalStateException("No Message Identity found in context.");
     }
 
-    return mongoGenericHelper.getField(dbName, collectionName, defaultFilterField, filterValue, targetFieldPath);
-  }
-
-  private void performAssertion(Object actual, String operator, String expected) {
-    String op = operator.toLowerCase().replace(" ", "_");
-
-    if (op.equals("is_null")) {
-      assertThat(actual).isNull();
-      return;
-    }
-
-    boolean checkEmpty = op.equals("is_empty") || op.equals("empty") ||
-        ((op.equals("equal_to") || op.equals("equals")) &&
-            (expected.equalsIgnoreCase("empty") || expected.equals("[]") || expected.isEmpty()));
-
-    if (checkEmpty) {
-      if (actual == null) return;
-      if (actual instanceof List) assertThat((List<?>) actual).isEmpty();
-      else if (actual instanceof String) assertThat((String) actual).isEmpty();
-      return;
-    }
-
-    if (actual == null) {
-      throw new AssertionError("Field is null/missing in MongoDB after polling.");
-    }
-
-    if (op.equals("is_not_null")) {
-      assertThat(actual).isNotNull();
-      return;
-    }
-    if (op.equals("is_not_empty") || op.equals("not_empty")) {
-      if (actual instanceof List) assertThat((List<?>) actual).isNotEmpty();
-      else if (actual instanceof String) assertThat((String) actual).isNotEmpty();
-      return;
-    }
-
-    String actualStr = String.valueOf(actual);
-
-    switch (op) {
-      case "equal_to":
-      case "equals":
-        if (isNumeric(actualStr) && isNumeric(expected)) {
-          assertThat(new BigDecimal(actualStr)).isEqualByComparingTo(new BigDecimal(expected));
-        } else {
-          assertThat(actualStr).isEqualTo(expected);
-        }
-        break;
-      case "not_equal_to":
-      case "!=":
-        assertThat(actualStr).isNotEqualTo(expected);
-        break;
-      case "contains":
-        if (actual instanceof List<?> list) {
-          boolean match = list.stream().map(Object::toString).anyMatch(s -> s.contains(expected));
-          assertThat(match)
-              .withFailMessage("List %s does not contain matching element '%s'", list, expected)
-              .isTrue();
-        } else {
-          assertThat(actualStr).contains(expected);
-        }
-        break;
-      case "starts_with":
-        assertThat(actualStr).startsWith(expected);
-        break;
-      case "greater_than":
-        assertThat(new BigDecimal(actualStr)).isGreaterThan(new BigDecimal(expected));
-        break;
-      case "less_than":
-        assertThat(new BigDecimal(actualStr)).isLessThan(new BigDecimal(expected));
-        break;
-      default:
-        throw new IllegalArgumentException("Unsupported operator: " + operator);
-    }
-  }
-
-  private boolean isNumeric(String str) {
-    try {
-      new BigDecimal(str);
-      return true;
-    } catch (Exception e) {
-      return false;
-    }
+    Document doc = mongoGenericHelper.findFirst(plan.getDatabaseName(), plan.getCollectionName(),
+        plan.filter(filterValue), plan.getProjection());
+    return plan.extract(doc);
   }
-}
\ No newline at end of file
+}
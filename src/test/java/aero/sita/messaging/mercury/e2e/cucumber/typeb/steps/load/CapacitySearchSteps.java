@@ -0,0 +1,73 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.cucumber.typeb.steps.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import aero.sita.messaging.mercury.e2e.cucumber.typeb.common.LoadWorld;
+import aero.sita.messaging.mercury.e2e.model.load.CapacitySearchRequest;
+import aero.sita.messaging.mercury.e2e.model.load.CapacitySearchResult;
+import aero.sita.messaging.mercury.e2e.service.load.CapacitySearchService;
+import aero.sita.messaging.mercury.e2e.utilities.helper.PreflightHealthCheck;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Step definitions for capacity searches (see {@link CapacitySearchService}).
+ */
+@Slf4j
+public class CapacitySearchSteps {
+
+  @Autowired
+  private CapacitySearchService capacitySearchService;
+
+  @Autowired
+  private PreflightHealthCheck preflightHealthCheck;
+
+  @Autowired
+  private LoadWorld loadWorld;
+
+  @When("I search the sustainable capacity from {int} msg/s in steps of {int} msg/s of {int} seconds with a p99 SLO of {int} ms")
+  public void searchCapacity(int baselineRate, int increment, int stepSeconds, int sloMillis) {
+    search(baselineRate, increment, stepSeconds, sloMillis, null);
+  }
+
+  @When("I search the sustainable capacity of queue {string} from {int} msg/s in steps of {int} msg/s of {int} seconds with a p99 SLO of {int} ms")
+  public void searchCapacityOfQueue(String queueName, int baselineRate, int increment, int stepSeconds,
+                                    int sloMillis) {
+    search(baselineRate, increment, stepSeconds, sloMillis, queueName);
+  }
+
+  @Then("the sustainable capacity should be at least {int} msg/s")
+  public void sustainableCapacityShouldBeAtLeast(int minRate) {
+    CapacitySearchResult result = loadWorld.getLastCapacityResult();
+    assertThat(result)
+        .as("No capacity search executed in this scenario")
+        .isNotNull();
+    assertThat(result.getMaxSustainableRate())
+        .as("Max sustainable rate on %s (%s), report %s", result.getConnection(), result.getStopReason(),
+            result.getReport())
+        .isGreaterThanOrEqualTo(minRate);
+  }
+
+  private void search(int baselineRate, int increment, int stepSeconds, int sloMillis, String queueName) {
+    preflightHealthCheck.assertHealthy();
+    loadWorld.setLastCapacityResult(capacitySearchService.search(CapacitySearchRequest.builder()
+        .baselineRate(baselineRate)
+        .rateIncrement(increment)
+        .stepDuration(Duration.ofSeconds(stepSeconds))
+        .sloP99Millis(sloMillis)
+        .queueName(queueName)
+        .build()));
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+package aero.sita.messaging.mercury.e2e.cucumber.typeb.steps.load;
+
+import aero.sita.messaging.mercury.e2e.config.LoadProperties;
+import aero.sita.messaging.mercury.e2e.cucumber.typeb.common.LoadWorld;
+import aero.sita.messaging.mercury.e2e.model.load.RateProfile;
+import aero.sita.messaging.mercury.e2e.service.load.LoadGenerator;
+import aero.sita.messaging.mercury.e2e.service.load.LoadMessageSource;
+import aero.sita.messaging.mercury.e2e.service.load.TypeBCorpus;
+import aero.sita.messaging.mercury.e2e.utilities.format.typeb.TypeBCorpusGenerator;
+import aero.sita.messaging.mercury.e2e.utilities.helper.PreflightHealthCheck;
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.When;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Step definitions for load runs replayed from a pre-generated Type B corpus (see {@link TypeBCorpus}).
+ * Verification reuses the load run steps of {@link LoadGenerationSteps}.
+ */
+@Slf4j
+public class CorpusReplaySteps {
+
+  @Autowired
+  private LoadGenerator loadGenerator;
+
+  @Autowired
+  private LoadProperties loadProperties;
+
+  @Autowired
+  private PreflightHealthCheck preflightHealthCheck;
+
+  @Autowired
+  private LoadWorld loadWorld;
+
+  // ==================== Corpus ====================
+
+  @Given("a Type B corpus of {long} messages")
+  public void typeBCorpusOf(long records) {
+    Path path = corpusPath();
+    if (Files.exists(path)) {
+      try (TypeBCorpus corpus = TypeBCorpus.open(path)) {
+        if (corpus.recordCount() == records) {
+          log.info("Reusing Type B corpus {} ({} records)", path, records);
+          return;
+        }
+      } catch (IllegalArgumentException e) {
+        log.warn("Regenerating unreadable Type B corpus {}: {}", path, e.getMessage());
+      }
+    }
+    TypeBCorpusGenerator.generate(path, TypeBCorpusGenerator.Spec.builder().records(records).build());
+  }
+
+  // ==================== Replay ====================
+
+  @When("I replay the Type B corpus at a constant rate of {int} msg/s for {int} seconds")
+  public void replayAtConstantRate(int rate, int seconds) {
+    preflightHealthCheck.assertHealthy();
+    LoadProperties.Corpus settings = loadProperties.getCorpus();
+    try (TypeBCorpus corpus = TypeBCorpus.open(corpusPath())) {
+      TypeBCorpus.Partition partition = corpus.partition(settings.getWorker(), settings.getWorkers());
+      log.info("Replaying records [{}, {}) of {}", partition.from(), partition.to(), corpus.path());
+      loadWorld.setLastResult(loadGenerator.run(RateProfile.constant(rate, Duration.ofSeconds(seconds)),
+          LoadMessageSource.corpus(corpus, partition)));
+    }
+  }
+
+  private Path corpusPath() {
+    return Paths.get(loadProperties.getCorpus().getPath());
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.cucumber.typeb.steps.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import aero.sita.messaging.mercury.e2e.cucumber.typeb.common.LoadWorld;
+import aero.sita.messaging.mercury.e2e.model.load.DuplicateOffsetStats;
+import aero.sita.messaging.mercury.e2e.model.load.DuplicateStressResult;
+import aero.sita.messaging.mercury.e2e.model.load.RateProfile;
+import aero.sita.messaging.mercury.e2e.service.load.DuplicateStressService;
+import aero.sita.messaging.mercury.e2e.utilities.helper.PreflightHealthCheck;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Step definitions for the duplicate-detection stress mode (see {@link DuplicateStressService}).
+ */
+@Slf4j
+public class DuplicateStressSteps {
+
+  @Autowired
+  private DuplicateStressService duplicateStressService;
+
+  @Autowired
+  private PreflightHealthCheck preflightHealthCheck;
+
+  @Autowired
+  private LoadWorld loadWorld;
+
+  /**
+   * Offsets are in seconds between an original and its duplicate, fractions allowed, e.g. "0,0.5,10,60".
+   */
+  @When("I run the duplicate stress at {int} msg/s for {int} seconds "
+      + "with {int}% duplicates at offsets {string} seconds")
+  public void runDuplicateStress(int rate, int seconds, int percent, String offsets) {
+    List<Duration> parsedOffsets = Arrays.stream(offsets.split(","))
+        .map(String::trim)
+        .map(offset -> Duration.ofMillis(Math.round(Double.parseDouble(offset) * 1000)))
+        .toList();
+    preflightHealthCheck.assertHealthy();
+    loadWorld.setLastDuplicateResult(duplicateStressService.run(
+        RateProfile.constant(rate, Duration.ofSeconds(seconds)), percent / 100.0, parsedOffsets));
+  }
+
+  @Then("every duplicate re-injected within {int} seconds should be stored and flagged as possible duplicate")
+  public void duplicatesWithinShouldBeFlagged(int maxOffsetSeconds) {
+    for (DuplicateOffsetStats stats : requireResult().getOffsets()) {
+      if (stats.getOffset().compareTo(Duration.ofSeconds(maxOffsetSeconds)) > 0) {
+        continue;
+      }
+      assertThat(stats.getInjected())
+          .as("Offset %d ms: no duplicate injected", stats.getOffset().toMillis())
+          .isPositive();
+      assertThat(stats.getDetected())
+          .as("Offset %d ms: %d/%d duplicates stored, %d flagged", stats.getOffset().toMillis(), stats.getStored(),
+              stats.getInjected(), stats.getDetected())
+          .isEqualTo(stats.getInjected());
+    }
+  }
+
+  @Then("no original message should be flagged as possible duplicate")
+  public void noOriginalShouldBeFlagged() {
+    DuplicateStressResult result = requireResult();
+    assertThat(result.getOriginalsChecked())
+        .as("No original message found in the message-store")
+        .isPositive();
+    assertThat(result.getFalsePositives())
+        .as("%d of %d original messages flagged as possible duplicate", result.getFalsePositives(),
+            result.getOriginalsChecked())
+        .isZero();
+  }
+
+  @Then("the duplicate-detection p99 latency should be below {int} ms")
+  public void detectionP99ShouldBeBelow(int maxMillis) {
+    for (DuplicateOffsetStats stats : requireResult().getOffsets()) {
+      if (stats.getDetected() == 0) {
+        continue;
+      }
+      assertThat(stats.getDetectionLatency().getP99())
+          .as("Offset %d ms detection latency: %s", stats.getOffset().toMillis(), stats.getDetectionLatency())
+          .isLessThan(maxMillis);
+    }
+  }
+
+  private DuplicateStressResult requireResult() {
+    assertThat(loadWorld.getLastDuplicateResult())
+        .as("No duplicate stress run executed in this scenario")
+        .isNotNull();
+    return loadWorld.getLastDuplicateResult();
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.cucumber.typeb.steps.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import aero.sita.messaging.mercury.e2e.cucumber.typeb.common.LoadWorld;
+import aero.sita.messaging.mercury.e2e.model.load.FanOutBenchmarkResult;
+import aero.sita.messaging.mercury.e2e.model.load.FanOutStep;
+import aero.sita.messaging.mercury.e2e.service.load.FanOutBenchmarkService;
+import aero.sita.messaging.mercury.e2e.utilities.helper.PreflightHealthCheck;
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Step definitions for the fan-out benchmark (see {@link FanOutBenchmarkService}).
+ */
+@Slf4j
+public class FanOutBenchmarkSteps {
+
+  @Autowired
+  private FanOutBenchmarkService fanOutBenchmarkService;
+
+  @Autowired
+  private PreflightHealthCheck preflightHealthCheck;
+
+  @Autowired
+  private LoadWorld loadWorld;
+
+  private final List<String> destinations = new ArrayList<>();
+
+  /**
+   * Example:
+   * | BCNXSXT |
+   * | MADXSXT |
+   */
+  @Given("the fan-out destinations are:")
+  public void theFanOutDestinationsAre(List<String> addresses) {
+    destinations.clear();
+    destinations.addAll(addresses);
+  }
+
+  @When("I run the fan-out benchmark for widths {string} at {int} msg/s for {int} seconds each")
+  public void runFanOutBenchmark(String widths, int rate, int seconds) {
+    List<Integer> parsedWidths = Arrays.stream(widths.split(","))
+        .map(String::trim)
+        .map(Integer::parseInt)
+        .toList();
+    preflightHealthCheck.assertHealthy();
+    loadWorld.setLastFanOutResult(fanOutBenchmarkService.benchmark(parsedWidths, destinations, rate,
+        Duration.ofSeconds(seconds)));
+  }
+
+  @Then("every sampled message should have one outgoing message per destination")
+  public void everySampledMessageShouldBeFannedOut() {
+    for (FanOutStep step : requireResult().getSteps()) {
+      assertThat(step.isComplete())
+          .as("Fan-out %d: %d/%d sampled messages complete, %d/%d outgoing messages found", step.getWidth(),
+              step.getIncomingComplete(), step.getIncomingChecked(), step.getOutgoingFound(),
+              step.getOutgoingExpected())
+          .isTrue();
+    }
+  }
+
+  @Then("the fan-out end-to-end p99 latency should be below {int} ms for every width")
+  public void fanOutP99ShouldBeBelow(int maxMillis) {
+    for (FanOutStep step : requireResult().getSteps()) {
+      assertThat(step.getEndToEnd().getP99())
+          .as("Fan-out %d end-to-end latency: %s", step.getWidth(), step.getEndToEnd())
+          .isLessThan(maxMillis);
+    }
+  }
+
+  private FanOutBenchmarkResult requireResult() {
+    assertThat(loadWorld.getLastFanOutResult())
+        .as("No fan-out benchmark executed in this scenario")
+        .isNotNull();
+    return loadWorld.getLastFanOutResult();
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.cucumber.typeb.steps.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import aero.sita.messaging.mercury.e2e.cucumber.typeb.common.LoadWorld;
+import aero.sita.messaging.mercury.e2e.model.load.HarnessLoadProfile;
+import aero.sita.messaging.mercury.e2e.model.load.HarnessProfileResult;
+import aero.sita.messaging.mercury.e2e.service.load.HarnessLoadProfileService;
+import aero.sita.messaging.mercury.e2e.utilities.helper.PreflightHealthCheck;
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Step definitions for load generated by the test-harness (see {@link HarnessLoadProfileService}).
+ */
+@Slf4j
+public class HarnessLoadProfileSteps {
+
+  @Autowired
+  private HarnessLoadProfileService harnessLoadProfileService;
+
+  @Autowired
+  private PreflightHealthCheck preflightHealthCheck;
+
+  @Autowired
+  private LoadWorld loadWorld;
+
+  private String messageTemplate;
+
+  private final List<String> destinations = new ArrayList<>();
+
+  /**
+   * Raw message with {messageIdentity} on its origin line. Control characters can be written as
+   * &lt;SOH&gt;, &lt;STX&gt; and &lt;ETX&gt;; line breaks of the doc string become CRLF.
+   */
+  @Given("the harness load profile message template is:")
+  public void theMessageTemplateIs(String template) {
+    messageTemplate = template.replace("<SOH>", "\u0001").replace("<STX>", "\u0002").replace("<ETX>", "\u0003")
+        .replace("\r\n", "\n").replace("\n", "\r\n");
+  }
+
+  /**
+   * Example:
+   * | DEV.QUEUE.1 |
+   */
+  @Given("the harness load profile destinations are:")
+  public void theDestinationsAre(List<String> queues) {
+    destinations.clear();
+    destinations.addAll(queues);
+  }
+
+  @Given("a harness load profile {long} of {int} msg/s for {int} seconds")
+  public void aHarnessLoadProfile(long id, int rate, int seconds) {
+    harnessLoadProfileService.define(HarnessLoadProfile.builder()
+        .id(id)
+        .rate(rate)
+        .duration(Duration.ofSeconds(seconds))
+        .messageTemplate(messageTemplate)
+        .destinations(new ArrayList<>(destinations))
+        .build());
+  }
+
+  @Given("the messages of harness load profile {long} are pre-loaded")
+  public void theMessagesArePreLoaded(long id) {
+    preflightHealthCheck.assertHealthy();
+    assertThat(harnessLoadProfileService.preLoad(id))
+        .as("Messages pre-loaded for profile %d", id)
+        .isPositive();
+  }
+
+  @When("I run harness load profile {long}")
+  public void runHarnessLoadProfile(long id) {
+    preflightHealthCheck.assertHealthy();
+    loadWorld.setLastProfileResult(harnessLoadProfileService.run(id));
+  }
+
+  @Then("every pre-loaded message of the profile should be received")
+  public void everyPreLoadedMessageShouldBeReceived() {
+    HarnessProfileResult result = requireResult();
+    assertThat(result.getPreLoadErrors()).as("Pre-load errors").isZero();
+    assertThat(result.getMissing())
+        .as("%d of %d messages not received, e.g. %s", result.getMissing(), result.getPreLoaded(),
+            result.getMissingIdentities())
+        .isZero();
+  }
+
+  private HarnessProfileResult requireResult() {
+    assertThat(loadWorld.getLastProfileResult())
+        .as("No harness load profile executed in this scenario")
+        .isNotNull();
+    return loadWorld.getLastProfileResult();
+  }
+}
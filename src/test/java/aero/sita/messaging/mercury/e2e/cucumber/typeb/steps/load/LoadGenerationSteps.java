@@ -0,0 +1,98 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.cucumber.typeb.steps.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import aero.sita.messaging.mercury.e2e.cucumber.typeb.common.LoadWorld;
+import aero.sita.messaging.mercury.e2e.model.load.LoadRunResult;
+import aero.sita.messaging.mercury.e2e.model.load.RateProfile;
+import aero.sita.messaging.mercury.e2e.service.load.LoadGenerator;
+import aero.sita.messaging.mercury.e2e.service.load.LoadMessageSource;
+import aero.sita.messaging.mercury.e2e.utilities.helper.PreflightHealthCheck;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Step definitions for open-model load runs (see {@link LoadGenerator}).
+ */
+@Slf4j
+public class LoadGenerationSteps {
+
+  @Autowired
+  private LoadGenerator loadGenerator;
+
+  @Autowired
+  private PreflightHealthCheck preflightHealthCheck;
+
+  @Autowired
+  private LoadWorld loadWorld;
+
+  // ==================== Load runs ====================
+
+  @When("I inject Type B messages at a constant rate of {int} msg/s for {int} seconds")
+  public void injectAtConstantRate(int rate, int seconds) {
+    run(RateProfile.constant(rate, Duration.ofSeconds(seconds)));
+  }
+
+  @When("I inject Type B messages ramping from {int} to {int} msg/s over {int} seconds")
+  public void injectWithRamp(int fromRate, int toRate, int seconds) {
+    run(RateProfile.ramp(fromRate, toRate, Duration.ofSeconds(seconds)));
+  }
+
+  @When("I inject Type B messages starting at {int} msg/s increased by {int} msg/s every {int} seconds for {int} seconds")
+  public void injectWithSteps(int startRate, int increment, int stepSeconds, int seconds) {
+    run(RateProfile.step(startRate, increment, Duration.ofSeconds(stepSeconds), Duration.ofSeconds(seconds)));
+  }
+
+  // ==================== Verification ====================
+
+  @Then("all injected load messages should be received")
+  public void allInjectedLoadMessagesShouldBeReceived() {
+    LoadRunResult result = requireResult();
+    assertThat(result.getSendErrors())
+        .as("Send errors during the load run")
+        .isZero();
+    assertThat(result.getMissing())
+        .as("Messages never received by the harness (sample: %s)", result.getMissingIdentities())
+        .isZero();
+  }
+
+  @Then("the load p99 latency should be below {int} ms")
+  public void loadP99LatencyShouldBeBelow(int maxMillis) {
+    LoadRunResult result = requireResult();
+    assertThat(result.getLatency().getP99())
+        .as("p99 latency (intended send -> harness hand-off): %s", result.getLatency())
+        .isLessThan(maxMillis);
+  }
+
+  @Then("the load send lag p99 should be below {int} ms")
+  public void loadSendLagP99ShouldBeBelow(int maxMillis) {
+    LoadRunResult result = requireResult();
+    assertThat(result.getSendLag().getP99())
+        .as("p99 send lag (actual send start - intended send): %s", result.getSendLag())
+        .isLessThan(maxMillis);
+  }
+
+  private void run(RateProfile profile) {
+    preflightHealthCheck.assertHealthy();
+    loadWorld.setLastResult(loadGenerator.run(profile, LoadMessageSource.validMessages()));
+  }
+
+  private LoadRunResult requireResult() {
+    assertThat(loadWorld.getLastResult())
+        .as("No load run executed in this scenario")
+        .isNotNull();
+    return loadWorld.getLastResult();
+  }
+}
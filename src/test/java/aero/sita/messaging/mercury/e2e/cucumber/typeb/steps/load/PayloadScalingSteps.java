@@ -0,0 +1,86 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.cucumber.typeb.steps.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import aero.sita.messaging.mercury.e2e.cucumber.typeb.common.LoadWorld;
+import aero.sita.messaging.mercury.e2e.model.load.PayloadScalingResult;
+import aero.sita.messaging.mercury.e2e.model.load.PayloadStep;
+import aero.sita.messaging.mercury.e2e.service.load.PayloadScalingService;
+import aero.sita.messaging.mercury.e2e.utilities.format.typeb.TypeBTextPayloads;
+import aero.sita.messaging.mercury.e2e.utilities.helper.PreflightHealthCheck;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Step definitions for the payload-size benchmark (see {@link PayloadScalingService}).
+ * Messages are composed with {@link TypeBTextPayloads}, so every step injects texts of an exact size.
+ */
+@Slf4j
+public class PayloadScalingSteps {
+
+  @Autowired
+  private PayloadScalingService payloadScalingService;
+
+  @Autowired
+  private PreflightHealthCheck preflightHealthCheck;
+
+  @Autowired
+  private LoadWorld loadWorld;
+
+  @When("I run the payload-size benchmark for text sizes {string} at {int} msg/s for {int} seconds each")
+  public void runPayloadBenchmark(String sizes, int rate, int seconds) {
+    List<Integer> parsedSizes = Arrays.stream(sizes.split(","))
+        .map(String::trim)
+        .map(Integer::parseInt)
+        .toList();
+    preflightHealthCheck.assertHealthy();
+    loadWorld.setLastPayloadResult(payloadScalingService.benchmark(parsedSizes, TypeBTextPayloads::messagesOfSize,
+        rate, Duration.ofSeconds(seconds)));
+  }
+
+  @Then("every payload size should be delivered and stored without truncation")
+  public void everyPayloadSizeShouldBeDelivered() {
+    for (PayloadStep step : requireResult().getSteps()) {
+      assertThat(step.getRun().getMissing())
+          .as("%d B: %d of %d messages not delivered", step.getTextBytes(), step.getRun().getMissing(),
+              step.getRun().getSent())
+          .isZero();
+      assertThat(step.getStoreFound())
+          .as("%d B: %d/%d sampled messages found in the message-store", step.getTextBytes(),
+              step.getStoreFound(), step.getStoreChecked())
+          .isEqualTo(step.getStoreChecked());
+      assertThat(step.getRawDataTruncated())
+          .as("%d B: sampled messages with a truncated rawData", step.getTextBytes())
+          .isZero();
+    }
+  }
+
+  @Then("the payload round-trip latency should scale linearly up to {int} bytes")
+  public void latencyShouldScaleLinearlyUpTo(int textBytes) {
+    PayloadScalingResult result = requireResult();
+    assertThat(result.getKneeTextBytes() == null || result.getKneeTextBytes() > textBytes)
+        .as("Latency became nonlinear at %s bytes:%n%s", result.getKneeTextBytes(), result.toSummary())
+        .isTrue();
+  }
+
+  private PayloadScalingResult requireResult() {
+    assertThat(loadWorld.getLastPayloadResult())
+        .as("No payload-size benchmark executed in this scenario")
+        .isNotNull();
+    return loadWorld.getLastPayloadResult();
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.cucumber.typeb.steps.load;
+
+import aero.sita.messaging.mercury.e2e.cucumber.typeb.common.LoadWorld;
+import aero.sita.messaging.mercury.e2e.model.load.CapacitySearchResult;
+import aero.sita.messaging.mercury.e2e.model.load.CapacityStep;
+import aero.sita.messaging.mercury.e2e.model.load.DuplicateOffsetStats;
+import aero.sita.messaging.mercury.e2e.model.load.DuplicateStressResult;
+import aero.sita.messaging.mercury.e2e.model.load.FanOutBenchmarkResult;
+import aero.sita.messaging.mercury.e2e.model.load.FanOutStep;
+import aero.sita.messaging.mercury.e2e.model.load.HarnessProfileResult;
+import aero.sita.messaging.mercury.e2e.model.load.LoadRunResult;
+import aero.sita.messaging.mercury.e2e.model.load.PayloadScalingResult;
+import aero.sita.messaging.mercury.e2e.model.load.PayloadStep;
+import aero.sita.messaging.mercury.e2e.model.load.QueueMatrixCell;
+import aero.sita.messaging.mercury.e2e.model.load.QueueMatrixResult;
+import aero.sita.messaging.mercury.e2e.model.load.SoakRunResult;
+import aero.sita.messaging.mercury.e2e.service.perf.PerfSummaryRecorder;
+import io.cucumber.java.After;
+import io.cucumber.java.Scenario;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Adds the metrics of every performance scenario to the run summary compared by gradle perfCompare:
+ * load, soak, capacity (with the stage latencies of the last sustainable step), fan-out, payload-size,
+ * duplicate stress, harness load profile and queue matrix results.
+ * Metrics are keyed by scenario name, so renaming a scenario shows up as MISSING + NEW.
+ */
+public class PerfSummaryHooks {
+
+  @Autowired
+  private PerfSummaryRecorder perfSummaryRecorder;
+
+  @Autowired
+  private LoadWorld loadWorld;
+
+  @After("@performance")
+  public void recordPerformanceMetrics(Scenario scenario) {
+    String name = scenario.getName();
+    LoadRunResult result = loadWorld.getLastResult();
+    if (result != null) {
+      perfSummaryRecorder.recordLoadRun(name, result);
+    }
+    recordSoak(name, loadWorld.getLastSoakResult());
+    recordCapacity(name, loadWorld.getLastCapacityResult());
+    recordFanOut(name, loadWorld.getLastFanOutResult());
+    recordPayload(name, loadWorld.getLastPayloadResult());
+    recordDuplicates(name, loadWorld.getLastDuplicateResult());
+    recordHarnessProfile(name, loadWorld.getLastProfileResult());
+    QueueMatrixResult matrix = loadWorld.getLastMatrixResult();
+    if (matrix != null) {
+      for (QueueMatrixCell cell : matrix.getCells()) {
+        perfSummaryRecorder.record("matrix/" + cell.getConnectionId() + "/latency.p99", cell.getLatency().getP99(),
+            "ms", true);
+      }
+    }
+  }
+
+  private void recordSoak(String name, SoakRunResult soak) {
+    if (soak == null) {
+      return;
+    }
+    String prefix = "soak/" + name;
+    perfSummaryRecorder.recordLatency(prefix + ".latency", soak.getLatency(), null);
+    perfSummaryRecorder.record(prefix + ".undelivered", soak.getUnexplainedUndelivered(), "msgs", true);
+    perfSummaryRecorder.record(prefix + ".liveHeapMax", soak.getLiveHeapMaxMb(), "MB", true);
+  }
+
+  /**
+   * Capacity plus the store-side stage latencies at the highest sustainable rate, where they are comparable
+   * from run to run; unsustainable steps are saturated and their lags only measure the overload.
+   */
+  private void recordCapacity(String name, CapacitySearchResult capacity) {
+    if (capacity == null) {
+      return;
+    }
+    String prefix = "capacity/" + name;
+    perfSummaryRecorder.record(prefix + "/max-sustainable-rate", capacity.getMaxSustainableRate(), "msg/s", false);
+    CapacityStep lastSustainable = null;
+    for (CapacityStep step : capacity.getSteps()) {
+      if (step.isSustainable()) {
+        lastSustainable = step;
+      }
+    }
+    if (lastSustainable != null) {
+      perfSummaryRecorder.record(prefix + "/store-lag.p99", lastSustainable.getStoreLagP99Millis(), "ms", true);
+      lastSustainable.getStageLagP99Millis().forEach((stage, p99) ->
+          perfSummaryRecorder.record(prefix + "/stage/" + stage + ".p99", p99, "ms", true));
+    }
+  }
+
+  private void recordFanOut(String name, FanOutBenchmarkResult fanOut) {
+    if (fanOut == null) {
+      return;
+    }
+    for (FanOutStep step : fanOut.getSteps()) {
+      String prefix = "fanout/" + name + "/width-" + step.getWidth();
+      perfSummaryRecorder.recordRun(prefix, step.getRun());
+      perfSummaryRecorder.recordLatency(prefix + ".endToEnd", step.getEndToEnd(), null);
+    }
+  }
+
+  private void recordPayload(String name, PayloadScalingResult payload) {
+    if (payload == null) {
+      return;
+    }
+    for (PayloadStep step : payload.getSteps()) {
+      String prefix = "payload/" + name + "/text-" + step.getTextBytes() + "B";
+      perfSummaryRecorder.recordRun(prefix, step.getRun());
+      perfSummaryRecorder.recordLatency(prefix + ".storeWrite", step.getStoreWrite(), null);
+    }
+  }
+
+  private void recordDuplicates(String name, DuplicateStressResult duplicates) {
+    if (duplicates == null) {
+      return;
+    }
+    String prefix = "duplicate/" + name;
+    perfSummaryRecorder.recordRun(prefix, duplicates.getRun());
+    perfSummaryRecorder.record(prefix + ".falsePositives", duplicates.getFalsePositives(), "msgs", true);
+    for (DuplicateOffsetStats stats : duplicates.getOffsets()) {
+      String offset = prefix + "/offset-" + stats.getOffset().toMillis() + "ms";
+      perfSummaryRecorder.record(offset + ".accuracy", stats.getAccuracy() * 100, "%", false);
+      perfSummaryRecorder.recordLatency(offset + ".detection", stats.getDetectionLatency(), null);
+    }
+  }
+
+  private void recordHarnessProfile(String name, HarnessProfileResult profile) {
+    if (profile == null) {
+      return;
+    }
+    String prefix = "harness-profile/" + name;
+    perfSummaryRecorder.recordLatency(prefix + ".sinceTrigger", profile.getSinceTrigger(), null);
+    perfSummaryRecorder.record(prefix + ".receiveRate", profile.getReceiveRate(), "msg/s", false);
+    perfSummaryRecorder.record(prefix + ".missing", profile.getMissing(), "msgs", true);
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.cucumber.typeb.steps.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import aero.sita.messaging.mercury.e2e.cucumber.typeb.common.CommonTypeBWorld;
+import aero.sita.messaging.mercury.e2e.cucumber.typeb.common.LoadWorld;
+import aero.sita.messaging.mercury.e2e.model.load.LatencyStats;
+import aero.sita.messaging.mercury.e2e.model.load.LoadRunResult;
+import aero.sita.messaging.mercury.e2e.model.load.RateProfile;
+import aero.sita.messaging.mercury.e2e.service.load.LoadGenerator;
+import aero.sita.messaging.mercury.e2e.service.load.LoadMessageSource;
+import aero.sita.messaging.mercury.e2e.utilities.helper.PreflightHealthCheck;
+import io.cucumber.datatable.DataTable;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Step definitions for priority-class latency isolation under load.
+ * Messages are grouped with {@link CommonTypeBWorld#classifyPriority(String)}, so latency is
+ * reported per class (EMERGENCY, URGENT, NORMAL, DEFERRED).
+ */
+@Slf4j
+public class PriorityIsolationSteps {
+
+  @Autowired
+  private LoadGenerator loadGenerator;
+
+  @Autowired
+  private PreflightHealthCheck preflightHealthCheck;
+
+  @Autowired
+  private LoadWorld loadWorld;
+
+  /**
+   * Example:
+   * | priority | share |
+   * | QD       | 90    |
+   * | QU       | 10    |
+   */
+  @When("I inject a mixed-priority load at {int} msg/s for {int} seconds:")
+  public void injectMixedPriorityLoad(int rate, int seconds, DataTable mix) {
+    Map<String, Double> shareByPriority = new LinkedHashMap<>();
+    for (Map<String, String> row : mix.asMaps()) {
+      shareByPriority.put(row.get("priority").trim().toUpperCase(Locale.ROOT), Double.parseDouble(row.get("share")));
+    }
+    preflightHealthCheck.assertHealthy();
+    loadWorld.setLastResult(loadGenerator.run(RateProfile.constant(rate, Duration.ofSeconds(seconds)),
+        LoadMessageSource.priorityMix(shareByPriority, CommonTypeBWorld::classifyPriority)));
+  }
+
+  @Then("every priority class should have at least {int} delivered messages")
+  public void everyPriorityClassShouldHaveDeliveredMessages(int minCount) {
+    LoadRunResult result = requireResult();
+    assertThat(result.getLatencyByGroup()).as("Latency per priority class").isNotEmpty();
+    result.getLatencyByGroup().forEach((priorityClass, stats) -> assertThat(stats.getCount())
+        .as("Delivered %s messages", priorityClass)
+        .isGreaterThanOrEqualTo(minCount));
+  }
+
+  @Then("the {word} p99 latency should be at least {int}% lower than the {word} p99 latency")
+  public void p99ShouldBeMateriallyLower(String fasterClass, int percent, String slowerClass) {
+    LoadRunResult result = requireResult();
+    LatencyStats faster = classStats(result, fasterClass);
+    LatencyStats slower = classStats(result, slowerClass);
+    double limit = slower.getP99() * (100 - percent) / 100.0;
+    assertThat(faster.getP99())
+        .as("%s p99 must be at least %d%% below %s p99 (%s: %s, %s: %s)", fasterClass, percent, slowerClass,
+            fasterClass, faster, slowerClass, slower)
+        .isLessThanOrEqualTo(limit);
+  }
+
+  private LatencyStats classStats(LoadRunResult result, String priorityClass) {
+    LatencyStats stats = result.getLatencyByGroup().get(priorityClass.toUpperCase(Locale.ROOT));
+    assertThat(stats)
+        .as("No %s messages delivered (classes: %s)", priorityClass, result.getLatencyByGroup().keySet())
+        .isNotNull();
+    return stats;
+  }
+
+  private LoadRunResult requireResult() {
+    assertThat(loadWorld.getLastResult())
+        .as("No load run executed in this scenario")
+        .isNotNull();
+    return loadWorld.getLastResult();
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.cucumber.typeb.steps.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import aero.sita.messaging.mercury.e2e.cucumber.typeb.common.LoadWorld;
+import aero.sita.messaging.mercury.e2e.model.load.QueueMatrixCell;
+import aero.sita.messaging.mercury.e2e.model.load.QueueMatrixResult;
+import aero.sita.messaging.mercury.e2e.service.load.QueueMatrixService;
+import aero.sita.messaging.mercury.e2e.utilities.helper.PreflightHealthCheck;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Step definitions for the per-queue latency matrix (see {@link QueueMatrixService}).
+ */
+@Slf4j
+public class QueueMatrixSteps {
+
+  @Autowired
+  private QueueMatrixService queueMatrixService;
+
+  @Autowired
+  private PreflightHealthCheck preflightHealthCheck;
+
+  @Autowired
+  private LoadWorld loadWorld;
+
+  @When("I run the queue latency matrix with {int} messages per connection at {int} msg/s")
+  public void runQueueMatrix(int messages, int rate) {
+    preflightHealthCheck.assertHealthy();
+    loadWorld.setLastMatrixResult(queueMatrixService.run(rate, messages));
+  }
+
+  @Then("every configured connection should deliver all its messages")
+  public void everyConnectionShouldDeliver() {
+    for (QueueMatrixCell cell : requireResult().getCells()) {
+      assertThat(cell.getMissing())
+          .as("Connection %s (%s): %d of %d messages missing", cell.getConnectionId(), cell.getPair(),
+              cell.getMissing(), cell.getSent())
+          .isZero();
+      assertThat(cell.getMisrouted())
+          .as("Connection %s: %d of %d messages received on another queue than %s", cell.getConnectionId(),
+              cell.getMisrouted(), cell.getSent(), cell.getOutQueue())
+          .isZero();
+    }
+  }
+
+  @Then("the queue matrix p99 latency should be below {int} ms for every connection")
+  public void matrixP99ShouldBeBelow(int maxMillis) {
+    for (QueueMatrixCell cell : requireResult().getCells()) {
+      assertThat(cell.getLatency().getP99())
+          .as("Connection %s (%s) latency: %s", cell.getConnectionId(), cell.getPair(), cell.getLatency())
+          .isLessThan(maxMillis);
+    }
+  }
+
+  @Then("no connection should be a latency outlier")
+  public void noConnectionShouldBeAnOutlier() {
+    QueueMatrixResult result = requireResult();
+    assertThat(result.getOutliers())
+        .as("Outlier connections (median p99 %.1f ms), see %s", result.getMedianP99(), result.getHeatMap())
+        .isEmpty();
+  }
+
+  private QueueMatrixResult requireResult() {
+    assertThat(loadWorld.getLastMatrixResult())
+        .as("No queue latency matrix executed in this scenario")
+        .isNotNull();
+    return loadWorld.getLastMatrixResult();
+  }
+}
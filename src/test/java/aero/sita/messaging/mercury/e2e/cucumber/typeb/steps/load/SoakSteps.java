@@ -0,0 +1,79 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.cucumber.typeb.steps.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import aero.sita.messaging.mercury.e2e.cucumber.typeb.common.LoadWorld;
+import aero.sita.messaging.mercury.e2e.model.load.RateProfile;
+import aero.sita.messaging.mercury.e2e.model.load.SoakRunResult;
+import aero.sita.messaging.mercury.e2e.service.load.SoakRunner;
+import aero.sita.messaging.mercury.e2e.utilities.helper.PreflightHealthCheck;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Step definitions for memory-bounded soak runs (see {@link SoakRunner}).
+ */
+@Slf4j
+public class SoakSteps {
+
+  @Autowired
+  private SoakRunner soakRunner;
+
+  @Autowired
+  private PreflightHealthCheck preflightHealthCheck;
+
+  @Autowired
+  private LoadWorld loadWorld;
+
+  @When("I run a soak test at {int} msg/s for {int} minutes")
+  public void runSoakTest(int rate, int minutes) {
+    preflightHealthCheck.assertHealthy();
+    loadWorld.setLastSoakResult(soakRunner.run(RateProfile.constant(rate, Duration.ofMinutes(minutes))));
+  }
+
+  @Then("every soak message should be delivered within the deadline")
+  public void everySoakMessageShouldBeDelivered() {
+    SoakRunResult result = requireResult();
+    assertThat(result.getSendErrors())
+        .as("Send errors during the soak run (window overflows: %d)", result.getWindowOverflows())
+        .isZero();
+    assertThat(result.getUnexplainedUndelivered())
+        .as("Undelivered soak messages, see %s", result.getUndeliveredLog())
+        .isZero();
+  }
+
+  @Then("the soak p99 latency should be below {int} ms")
+  public void soakP99LatencyShouldBeBelow(int maxMillis) {
+    SoakRunResult result = requireResult();
+    assertThat(result.getLatency().getP99())
+        .as("p99 latency over the soak run: %s (intervals in %s)", result.getLatency(), result.getHistogramLog())
+        .isLessThan(maxMillis);
+  }
+
+  @Then("the soak live heap should not grow by more than {int} MB")
+  public void soakLiveHeapShouldStayFlat(int maxGrowthMb) {
+    SoakRunResult result = requireResult();
+    assertThat(result.getLiveHeapMaxMb() - result.getLiveHeapStartMb())
+        .as("Live heap growth (start %d MB, max %d MB)", result.getLiveHeapStartMb(), result.getLiveHeapMaxMb())
+        .isLessThanOrEqualTo(maxGrowthMb);
+  }
+
+  private SoakRunResult requireResult() {
+    assertThat(loadWorld.getLastSoakResult())
+        .as("No soak run executed in this scenario")
+        .isNotNull();
+    return loadWorld.getLastSoakResult();
+  }
+}
@@ -0,0 +1,338 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.cucumber.utilities.assertion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+/**
+ * Compiled form of a MongoDB field assertion ("the value of {path} is {operator} {expected}").
+ * <p>
+ * Path, operator and expected value are parsed once, when the plan is compiled, instead of on every
+ * poll iteration:
+ * - the path "db.collection.field.path" is split into its database, collection and field segments,
+ *   array indexes ("errors.0.errorCode") pre-parsed
+ * - the query only fetches the first document matching the filter field, projected on the field path
+ *   (up to the first array index, which a projection cannot express)
+ * - the operator is resolved to a comparison closed over the pre-parsed expected value (numbers
+ *   included), so a poll iteration runs one narrow query and one comparison
+ * <p>
+ * Plans are immutable and cached by (kind, path, operator, expected, filter field), so a step repeated
+ * across scenarios compiles once per JVM.
+ */
+public final class MongoAssertionPlan {
+
+  private static final Map<Key, MongoAssertionPlan> CACHE = new ConcurrentHashMap<>();
+  private static final int NOT_AN_INDEX = Integer.MIN_VALUE;
+
+  private final String databaseName;
+  private final String collectionName;
+  private final String fieldPath;
+  private final String filterField;
+  private final Bson projection;
+  private final String[] segments;
+  private final int[] indexes;
+  private final Consumer<Object> check;
+
+  private MongoAssertionPlan(String path, String filterField, Consumer<Object> check) {
+    String[] parts = path.split("\\.", 3);
+    if (parts.length < 3 || parts[0].isEmpty() || parts[1].isEmpty() || parts[2].isEmpty()) {
+      throw new IllegalArgumentException("Path must be <database>.<collection>.<field path>: " + path);
+    }
+    this.databaseName = parts[0];
+    this.collectionName = parts[1];
+    this.fieldPath = parts[2];
+    this.filterField = filterField;
+    this.segments = fieldPath.split("\\.", -1);
+    this.indexes = new int[segments.length];
+    StringBuilder projected = new StringBuilder();
+    boolean indexed = false;
+    for (int i = 0; i < segments.length; i++) {
+      indexes[i] = parseIndex(segments[i]);
+      indexed |= indexes[i] != NOT_AN_INDEX;
+      if (!indexed) {
+        projected.append(i == 0 ? "" : ".").append(segments[i]);
+      }
+    }
+    this.projection = projection(projected.toString());
+    this.check = check;
+  }
+
+  /**
+   * Plan of a single value assertion.
+   *
+   * @param path        "db.collection.field.path"
+   * @param operator    e.g. "equal to", "is not null", "greater than"
+   * @param expected    expected value (ignored by the null/empty operators)
+   * @param filterField field matched against the scenario value (e.g. messageIdentity)
+   * @return the cached plan
+   * @throws IllegalArgumentException if the path or operator is invalid, or a numeric operator gets a
+   *                                  non-numeric expected value
+   */
+  public static MongoAssertionPlan single(String path, String operator, String expected, String filterField) {
+    return CACHE.computeIfAbsent(new Key(false, path, operator, expected, filterField),
+        key -> new MongoAssertionPlan(path, filterField, singleCheck(operator, expected)));
+  }
+
+  /**
+   * Plan of a list assertion.
+   *
+   * @param path        "db.collection.field.path", resolving to an array
+   * @param operator    "equal to", "contains in order", "contains" or "contains any"
+   * @param expected    expected elements, compared as strings
+   * @param filterField field matched against the scenario value (e.g. messageIdentity)
+   * @return the cached plan
+   * @throws IllegalArgumentException if the path or operator is invalid
+   */
+  public static MongoAssertionPlan list(String path, String operator, List<String> expected, String filterField) {
+    // Not List.copyOf: empty DataTable cells are null elements
+    List<String> expectedCopy = Collections.unmodifiableList(new ArrayList<>(expected));
+    return CACHE.computeIfAbsent(new Key(true, path, operator, expectedCopy, filterField),
+        key -> new MongoAssertionPlan(path, filterField, listCheck(path, operator, expectedCopy)));
+  }
+
+  public String getDatabaseName() {
+    return databaseName;
+  }
+
+  public String getCollectionName() {
+    return collectionName;
+  }
+
+  public String getFieldPath() {
+    return fieldPath;
+  }
+
+  /**
+   * Projection of the fetched document: the field path only, or null to fetch it whole.
+   */
+  public Bson getProjection() {
+    return projection;
+  }
+
+  public Bson filter(Object filterValue) {
+    return Filters.eq(filterField, filterValue);
+  }
+
+  /**
+   * Resolves the field path in a fetched document. Same rules as MongoGenericHelper: nested documents,
+   * array indexes ("errors.0.errorCode") and array projections ("statusLogs.status").
+   *
+   * @param document fetched document, may be null
+   * @return the value, or null when a segment is missing
+   */
+  public Object extract(Document document) {
+    Object current = document;
+    for (int i = 0; i < segments.length && current != null; i++) {
+      current = value(current, segments[i], indexes[i]);
+    }
+    return current;
+  }
+
+  /**
+   * Runs the compiled comparison.
+   *
+   * @param actual value extracted from the document
+   * @throws AssertionError if the value does not satisfy the assertion
+   */
+  public void verify(Object actual) {
+    check.accept(actual);
+  }
+
+  // ==================== Path ====================
+
+  private static int parseIndex(String segment) {
+    try {
+      return Integer.parseInt(segment);
+    } catch (NumberFormatException e) {
+      return NOT_AN_INDEX;
+    }
+  }
+
+  private static Bson projection(String projected) {
+    if (projected.isEmpty()) {
+      return null;
+    }
+    return projected.equals("_id") || projected.startsWith("_id.")
+        ? Projections.include(projected)
+        : Projections.fields(Projections.include(projected), Projections.excludeId());
+  }
+
+  private static Object value(Object current, String key, int index) {
+    if (current instanceof Document document) {
+      return document.get(key);
+    }
+    if (current instanceof List<?> list) {
+      if (index != NOT_AN_INDEX) {
+        return index >= 0 && index < list.size() ? list.get(index) : null;
+      }
+      List<Object> projected = new ArrayList<>();
+      for (Object item : list) {
+        if (item instanceof Document document) {
+          Object value = document.get(key);
+          if (value != null) {
+            projected.add(value);
+          }
+        }
+      }
+      return projected;
+    }
+    return null;
+  }
+
+  // ==================== Single value checks ====================
+
+  private static Consumer<Object> singleCheck(String operator, String expected) {
+    String op = normalize(operator);
+    if (op.equals("is_null")) {
+      return actual -> assertThat(actual).isNull();
+    }
+    boolean checkEmpty = op.equals("is_empty") || op.equals("empty")
+        || ((op.equals("equal_to") || op.equals("equals"))
+        && (expected.equalsIgnoreCase("empty") || expected.equals("[]") || expected.isEmpty()));
+    if (checkEmpty) {
+      return MongoAssertionPlan::assertEmpty;
+    }
+    Consumer<Object> present = presentCheck(op, operator, expected);
+    return actual -> {
+      if (actual == null) {
+        throw new AssertionError("Field is null/missing in MongoDB after polling.");
+      }
+      present.accept(actual);
+    };
+  }
+
+  private static Consumer<Object> presentCheck(String op, String operator, String expected) {
+    switch (op) {
+      case "is_not_null":
+        return actual -> assertThat(actual).isNotNull();
+      case "is_not_empty":
+      case "not_empty":
+        return MongoAssertionPlan::assertNotEmpty;
+      case "equal_to":
+      case "equals": {
+        BigDecimal expectedNumber = toNumber(expected);
+        return actual -> {
+          String actualStr = String.valueOf(actual);
+          BigDecimal actualNumber = expectedNumber == null ? null : toNumber(actualStr);
+          if (actualNumber != null) {
+            assertThat(actualNumber).isEqualByComparingTo(expectedNumber);
+          } else {
+            assertThat(actualStr).isEqualTo(expected);
+          }
+        };
+      }
+      case "not_equal_to":
+      case "!=":
+        return actual -> assertThat(String.valueOf(actual)).isNotEqualTo(expected);
+      case "contains":
+        return actual -> {
+          if (actual instanceof List<?> list) {
+            boolean match = list.stream().map(Object::toString).anyMatch(s -> s.contains(expected));
+            assertThat(match)
+                .withFailMessage("List %s does not contain matching element '%s'", list, expected)
+                .isTrue();
+          } else {
+            assertThat(String.valueOf(actual)).contains(expected);
+          }
+        };
+      case "starts_with":
+        return actual -> assertThat(String.valueOf(actual)).startsWith(expected);
+      case "greater_than": {
+        BigDecimal bound = requireNumber(operator, expected);
+        return actual -> assertThat(new BigDecimal(String.valueOf(actual))).isGreaterThan(bound);
+      }
+      case "less_than": {
+        BigDecimal bound = requireNumber(operator, expected);
+        return actual -> assertThat(new BigDecimal(String.valueOf(actual))).isLessThan(bound);
+      }
+      default:
+        throw new IllegalArgumentException("Unsupported operator: " + operator);
+    }
+  }
+
+  private static void assertEmpty(Object actual) {
+    if (actual instanceof List<?> list) {
+      assertThat(list).isEmpty();
+    } else if (actual instanceof String string) {
+      assertThat(string).isEmpty();
+    }
+  }
+
+  private static void assertNotEmpty(Object actual) {
+    if (actual instanceof List<?> list) {
+      assertThat(list).isNotEmpty();
+    } else if (actual instanceof String string) {
+      assertThat(string).isNotEmpty();
+    }
+  }
+
+  // ==================== List checks ====================
+
+  private static Consumer<Object> listCheck(String path, String operator, List<String> expected) {
+    Consumer<List<String>> comparison = switch (normalize(operator)) {
+      case "equal_to", "equals" -> actual -> assertThat(actual).isEqualTo(expected);
+      case "contains_in_order" -> actual -> assertThat(actual).containsSubsequence(expected);
+      case "contains", "contains_any" -> actual -> assertThat(actual).containsAll(expected);
+      default -> throw new IllegalArgumentException("Unsupported list operator: " + operator);
+    };
+    return actual -> {
+      if (actual == null) {
+        throw new AssertionError("Value for path '" + path + "' is null (waiting for data...)");
+      }
+      if (!(actual instanceof List<?> list)) {
+        throw new AssertionError("Expected a List from MongoDB for path '" + path
+            + "' but got: " + actual.getClass().getSimpleName());
+      }
+      List<String> actualStrings = new ArrayList<>(list.size());
+      for (Object item : list) {
+        actualStrings.add(String.valueOf(item));
+      }
+      comparison.accept(actualStrings);
+    };
+  }
+
+  // ==================== Internals ====================
+
+  private static String normalize(String operator) {
+    return operator.toLowerCase(Locale.ROOT).replace(" ", "_");
+  }
+
+  private static BigDecimal toNumber(String value) {
+    try {
+      return new BigDecimal(value);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  private static BigDecimal requireNumber(String operator, String expected) {
+    BigDecimal number = toNumber(expected);
+    if (number == null) {
+      throw new IllegalArgumentException("Operator '" + operator + "' needs a numeric expected value: " + expected);
+    }
+    return number;
+  }
+
+  private record Key(boolean list, String path, String operator, Object expected, String filterField) {
+  }
+}
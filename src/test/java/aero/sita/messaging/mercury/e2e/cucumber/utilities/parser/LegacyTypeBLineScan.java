@@ -0,0 +1,108 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+package aero.sita.messaging.mercury.e2e.cucumber.utilities.parser;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Line-scan reading of the origin line, superseded by {@link
+ * aero.sita.messaging.mercury.e2e.utilities.format.typeb.TypeBTokenizer}.
+ * Kept as the reference implementation for the differential feature (typeb-tokenizer.feature).
+ * <p>
+ * The origin line is the first line starting with "." (after control characters) whose identity is
+ * not empty; originator and identity come from a split on its first space. The address is what lies
+ * between the SOA and that line. This is only right for messages with a single address element.
+ */
+@UtilityClass
+public class LegacyTypeBLineScan {
+
+  private static final char SOH = '\u0001';
+  private static final char SUB = '\u001A';
+
+  /**
+   * @param body raw message
+   * @return the message identity, or null when no origin line is found
+   */
+  public static String messageIdentity(String body) {
+    int line = originLineStart(body);
+    return line < 0 ? null : originLine(body, line).split(" ", 2)[1];
+  }
+
+  /**
+   * @param body raw message
+   * @return the originator, or null when no origin line is found
+   */
+  public static String originator(String body) {
+    int line = originLineStart(body);
+    return line < 0 ? null : originLine(body, line).split(" ", 2)[0];
+  }
+
+  /**
+   * @param body raw message
+   * @return the address between the SOA and the origin line, or null when no origin line is found
+   */
+  public static String address(String body) {
+    int line = originLineStart(body);
+    if (line < 0) {
+      return null;
+    }
+    int start = 0;
+    for (int i = 0; i < line; i++) {
+      char c = body.charAt(i);
+      if (c == SOH || (c == SUB && (i == 0 || body.charAt(i - 1) == '\n'))) {
+        start = i + 1;
+        break;
+      }
+    }
+    if (start == 0) {
+      while (start < line && body.charAt(start) <= ' ') {
+        start++;
+      }
+    }
+    int end = line - 1; // the LF closing the address
+    if (end > start && body.charAt(end - 1) == '\r') {
+      end--;
+    }
+    return body.substring(start, Math.max(start, end));
+  }
+
+  /**
+   * Offset of the first line holding the origin line, or -1.
+   */
+  private static int originLineStart(String body) {
+    if (body == null) {
+      return -1;
+    }
+    int from = 0;
+    while (from < body.length()) {
+      int end = body.indexOf('\n', from);
+      if (end < 0) {
+        end = body.length();
+      }
+      int start = from;
+      while (start < end && body.charAt(start) < ' ') {
+        start++; // SOH/STX and friends
+      }
+      if (start < end && body.charAt(start) == '.') {
+        String[] parts = body.substring(start + 1, end).trim().split(" ", 2);
+        if (parts.length == 2 && !parts[1].isEmpty()) {
+          return from;
+        }
+      }
+      from = end + 1;
+    }
+    return -1;
+  }
+
+  private static String originLine(String body, int from) {
+    int end = body.indexOf('\n', from);
+    int start = body.indexOf('.', from) + 1;
+    return body.substring(start, end < 0 ? body.length() : end).trim();
+  }
+}
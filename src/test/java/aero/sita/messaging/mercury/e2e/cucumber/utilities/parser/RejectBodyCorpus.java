@@ -0,0 +1,151 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+package aero.sita.messaging.mercury.e2e.cucumber.utilities.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Generates reject bodies for the differential check of the reject parsers.
+ * <p>
+ * Besides well-formed rejects, the corpus deliberately covers the corners where a hand-written parser
+ * can drift from the regexes: missing or malformed headers, whitespace-only serials, tabs, LF-only and
+ * lone CR separators, control characters inside lines, dashed and undashed parameters, lowercase codes,
+ * blank and whitespace-only lines, and numbers too large for an int.
+ */
+@UtilityClass
+public class RejectBodyCorpus {
+
+  private static final String[] PREFIXES = {
+      "\u0001QU HDQRMJU\r\n.LETVVLK 281441\r\n\u0002",
+      "\r\n\u0001QN SINSGSQ\r\n.HDQRMJU 121437/160B99PSA\r\n\u0002",
+      "",
+      "\u0002",
+  };
+
+  private static final String[] HEADERS = {
+      "PLS RPT YR 281440 DUE TO:",
+      "PLS RPT YR ..... DUE TO:",
+      "PLS RPT YR  12  34  DUE TO:",
+      "PLS RPT YR\t9\tDUE TO:",
+      "  PLS RPT YR 1 DUE TO:  ",
+      "XX PLS RPT YR 7 DUE TO: YY",
+      "PLS RPT YR   DUE TO:",
+      "PLS RPT YR  DUE TO:",
+      "PLS RPT YRX DUE TO:",
+      "PLS RPT YR 1DUE TO:",
+      "PLS RPT YR 5 DUE TO",
+      "PLS RPT YR PLS RPT YR 3 DUE TO:",
+      "PLS RPT YR 4 \r DUE TO:",
+      "PLS RPT YR 6\u0002 DUE TO:",
+      "PLS RPT YR 8 DUE TO: PLS RPT YR 9 DUE TO:",
+      "pls rpt yr 1 due to:",
+  };
+
+  private static final String[] CODES = {
+      "UNKNOWN_ORIGIN_INDICATOR", "INVALID_ROUTING_INDICATOR_ADDRESS", "UNKNOWN_ADDRESS",
+      "EMPTY_DESTINATION", "TOO_MANY_ADDRESSES_PER_LINE", "DUPLICATE_MESSAGE", "lower_case", "MIXED_Case",
+      "CODE9", "_",
+  };
+
+  private static final String[] PARAMS = {
+      "LETKJLK", "LETJPLK 9", "A - B", "-X", "X -", "\tTAB", "  ", "- -", "\u0085", "P Q",
+  };
+
+  private static final String[] ORIGINAL_LINES = {
+      "QN SINSGSQ", ".HDQRMJU 281440/160B99PSA", "AVS", "JU0580L30AUG LA BEGBCN", "", "  ",
+      "\u0003", "1. NOT_AN_ERROR", "PLS RPT YR 2 DUE TO:", "\t",
+  };
+
+  private static final String[] SEPARATORS = {"\r\n", "\r\n", "\r\n", "\r\n", "\n", "\r", "\r\u0003\n"};
+
+  /**
+   * @param count number of bodies
+   * @param seed  random seed (same seed, same corpus)
+   * @return the generated bodies
+   */
+  public static List<String> generate(int count, long seed) {
+    Random random = new Random(seed);
+    List<String> corpus = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      corpus.add(body(random));
+    }
+    return corpus;
+  }
+
+  private static String body(Random random) {
+    if (random.nextInt(500) == 0) {
+      return random.nextBoolean() ? " \r\n " : "\u0001\u0002\u0003";
+    }
+    List<String> lines = new ArrayList<>();
+    if (random.nextInt(10) != 0) {
+      lines.add(pick(random, HEADERS));
+    }
+    int errors = random.nextInt(6);
+    for (int n = 1; n <= errors; n++) {
+      lines.add(errorLine(random, n));
+    }
+    int blanks = random.nextInt(4);
+    for (int b = 0; b < blanks; b++) {
+      lines.add(random.nextInt(4) == 0 ? " " : "");
+    }
+    int original = random.nextInt(8);
+    for (int o = 0; o < original; o++) {
+      lines.add(pick(random, ORIGINAL_LINES));
+    }
+
+    StringBuilder sb = new StringBuilder(pick(random, PREFIXES));
+    for (int l = 0; l < lines.size(); l++) {
+      if (l > 0) {
+        sb.append(random.nextInt(5) == 0 ? pick(random, SEPARATORS) : "\r\n");
+      }
+      sb.append(lines.get(l));
+    }
+    switch (random.nextInt(5)) {
+      case 0 -> sb.append("\u0003");
+      case 1 -> sb.append("\r\n\u0003");
+      case 2 -> sb.append("\r\n\r\n");
+      case 3 -> sb.append("\n");
+      default -> {
+      }
+    }
+    return sb.toString();
+  }
+
+  private static String errorLine(Random random, int n) {
+    String number = switch (random.nextInt(40)) {
+      case 0 -> "0" + n;
+      case 1 -> "99999999999";
+      case 2 -> "";
+      default -> Integer.toString(n);
+    };
+    String dot = random.nextInt(30) == 0 ? "" : ".";
+    String space = switch (random.nextInt(10)) {
+      case 0 -> "  ";
+      case 1 -> "\t";
+      case 2 -> random.nextBoolean() ? "" : " \u0002";
+      default -> " ";
+    };
+    String code = pick(random, CODES);
+    String params = switch (random.nextInt(6)) {
+      case 0 -> " - " + pick(random, PARAMS);
+      case 1 -> " " + pick(random, PARAMS);
+      case 2 -> random.nextBoolean() ? " -" + pick(random, PARAMS) : "\t-\t" + pick(random, PARAMS);
+      default -> "";
+    };
+    String indent = random.nextInt(20) == 0 ? "  " : "";
+    return indent + number + dot + space + code + params;
+  }
+
+  private static String pick(Random random, String[] values) {
+    return values[random.nextInt(values.length)];
+  }
+}
@@ -6,14 +6,11 @@
  * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
  * Confidential. All rights reserved.
  */
-
 package aero.sita.messaging.mercury.e2e.cucumber.utilities.parser;
 
 import aero.sita.messaging.mercury.e2e.model.testharness.rejection.RejectMessageBody;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 
@@ -27,54 +24,67 @@ import lombok.extern.slf4j.Slf4j;
  * "3. UNKNOWN_ADDRESS LETKJLK"
  * "4. EMPTY_DESTINATION LETJPLK 9"
  * Remaining lines after errors are treated as the original message.
+ * <p>
+ * Hand-written, single pass over the body: lines are read one at a time as offsets into the body,
+ * SOH/STX/ETX are skipped in place and only the values that end up in the result are copied.
+ * The matching rules are exactly those of the regexes of {@link RegexRejectMessageBodyParser}
+ * (same results on every input, checked by reject-parser.feature), without the regex engine.
  */
 @Slf4j
 @UtilityClass
 public class RejectMessageBodyParser {
 
-  /**
-   * Header: "PLS RPT YR <serial> DUE TO:"
-   */
-  private static final Pattern REJECTION_HEADER_PATTERN =
-      Pattern.compile("PLS RPT YR\\s+(.+?)\\s+DUE TO:");
-
-  /**
-   * Numbered error line: "1. ERROR_CODE" or "2. ERROR_CODE - params"
-   */
-  private static final Pattern ERROR_ENTRY_PATTERN =
-      Pattern.compile("^(\\d+)\\.\\s+(.+?)(?:\\s+-\\s+(.+))?$");
-
-  /**
-   * Non-numbered content to split code/params: "UNKNOWN_ADDRESS LETKJLK" or "EMPTY_DESTINATION LETJPLK 9"
-   */
-  private static final Pattern ERROR_WITH_PARAMS_PATTERN =
-      Pattern.compile("^([A-Z_]+)(?:\\s+(.+))?$");
+  private static final String HEADER_PREFIX = "PLS RPT YR";
+  private static final String HEADER_SUFFIX = "DUE TO:";
+  private static final String UNKNOWN_SERIAL = "UNKNOWN";
 
   public static RejectMessageBody parse(String messageBody) {
     validateInput(messageBody);
 
-    final String cleaned = stripControlChars(messageBody);
-    final String[] lines = cleaned.split("\\r?\\n");
-
     RejectMessageBody.RejectMessageBodyBuilder builder = RejectMessageBody.builder()
         .rawBody(messageBody);
+    LineCursor lines = new LineCursor(messageBody);
+
+    // 1) Header: first line containing "PLS RPT YR <serial> DUE TO:"
+    boolean headerFound = false;
+    while (lines.next()) {
+      String serial = findSerial(lines.trimmed());
+      if (serial != null) {
+        builder.rejectionHeader(lines.trimmed());
+        builder.serialNumber(serial);
+        headerFound = true;
+        break;
+      }
+    }
+    if (!headerFound) {
+      log.debug("Could not find rejection header in message body");
+      builder.rejectionHeader("").serialNumber(UNKNOWN_SERIAL);
+      lines.rewind();
+    }
 
-    // 1) Header (single source of truth: REJECTION_HEADER_PATTERN)
-    Header header = findHeader(lines);
-    builder.rejectionHeader(header.headerLine);
-    builder.serialNumber(header.serialOrUnknown);
-
-    // 2) Errors (start after header line, if any)
-    int index = header.nextIndex;
-    List<RejectMessageBody.ErrorEntry> errors = parseErrors(lines, index);
+    // 2) Errors: consecutive numbered lines right after the header
+    List<RejectMessageBody.ErrorEntry> errors = new ArrayList<>();
+    boolean pending = lines.next();
+    while (pending && !lines.isBlank()) {
+      RejectMessageBody.ErrorEntry entry = parseError(lines.trimmed());
+      if (entry == null) {
+        break;
+      }
+      errors.add(entry);
+      pending = lines.next();
+    }
     builder.errors(errors);
-    index += errors.size() + countConsecutiveBlankLines(lines, index);
 
-    // 3) Original message (remaining lines)
-    builder.originalMessage(joinRemaining(lines, index));
+    // Blank lines are only skipped when there are no errors (same as the previous parser)
+    while (errors.isEmpty() && pending && lines.isBlank()) {
+      pending = lines.next();
+    }
+
+    // 3) Original message: current line and everything after it
+    builder.originalMessage(pending ? lines.joinRemaining() : "");
 
     RejectMessageBody result = builder.build();
-    log.info("Parsed reject message: {} error(s), serial={}", result.getErrorCount(), result.getSerialNumber());
+    log.debug("Parsed reject message: {} error(s), serial={}", result.getErrorCount(), result.getSerialNumber());
     return result;
   }
 
@@ -87,13 +97,18 @@ public class RejectMessageBodyParser {
   }
 
   /**
-   * Validates that a reject message body has a header matching {@link #REJECTION_HEADER_PATTERN}.
+   * Validates that a reject message body has a "PLS RPT YR <serial> DUE TO:" header.
    */
   public static boolean isValidRejectMessageBody(String messageBody) {
     try {
       validateInput(messageBody);
-      String[] lines = stripControlChars(messageBody).split("\\r?\\n");
-      return hasHeader(lines);
+      LineCursor lines = new LineCursor(messageBody);
+      while (lines.next()) {
+        if (findSerial(lines.trimmed()) != null) {
+          return true;
+        }
+      }
+      return false;
     } catch (Exception e) {
       log.warn("Invalid reject message body: {}", e.getMessage());
       return false;
@@ -102,158 +117,305 @@ public class RejectMessageBodyParser {
 
   // ---------- Helpers ----------
 
+  /**
+   * Same rule as trim().isEmpty() (every character up to ' ' counts as blank), without copying the body.
+   */
   private static void validateInput(String messageBody) {
-    if (messageBody == null || messageBody.trim().isEmpty()) {
-      throw new IllegalArgumentException("Message body cannot be null or empty");
+    if (messageBody != null) {
+      for (int i = 0; i < messageBody.length(); i++) {
+        if (messageBody.charAt(i) > ' ') {
+          return;
+        }
+      }
     }
+    throw new IllegalArgumentException("Message body cannot be null or empty");
   }
 
   /**
-   * Remove SOH/STX/ETX; keep newlines for parsing.
+   * Header match on a trimmed line, equivalent to find() with "PLS RPT YR\s+(.+?)\s+DUE TO:".
+   *
+   * @return the trimmed serial, or null when the line has no header
    */
-  private static String stripControlChars(String s) {
-    return s.replace("\u0001", "") // SOH
-        .replace("\u0002", "") // STX
-        .replace("\u0003", ""); // ETX
+  private static String findSerial(String line) {
+    int to = line.length();
+    int p = line.indexOf(HEADER_PREFIX);
+    while (p >= 0) {
+      String serial = matchSerial(line, p + HEADER_PREFIX.length(), to);
+      if (serial != null) {
+        log.debug("Found rejection header with serial: {}", serial);
+        return serial;
+      }
+      p = line.indexOf(HEADER_PREFIX, p + 1);
+    }
+    return null;
   }
 
-  /**
-   * Find the first header line using REJECTION_HEADER_PATTERN and extract serial; return index after header.
-   */
-  private static Header findHeader(String[] lines) {
-    for (int i = 0; i < lines.length; i++) {
-      final String line = lines[i].trim();
-      Matcher m = REJECTION_HEADER_PATTERN.matcher(line);
-      if (m.find()) {
-        String serial = m.group(1).trim();
-        log.debug("Found rejection header with serial: {}", serial);
-        return new Header(line, serial, i + 1);
+  private static String matchSerial(String line, int at, int to) {
+    if (at >= to || !isWhitespace(line.charAt(at))) {
+      return null;
+    }
+    int serialStart = skipWhitespace(line, at, to);
+    // Shortest serial followed by whitespace and "DUE TO:"
+    for (int end = serialStart + 1; end < to; end++) {
+      if (isLineTerminator(line.charAt(end - 1))) {
+        break;
+      }
+      if (isWhitespace(line.charAt(end))
+          && line.startsWith(HEADER_SUFFIX, skipWhitespace(line, end, to))) {
+        return line.substring(serialStart, end).trim();
       }
     }
-    log.warn("Could not find rejection header in message body");
-    return new Header("", "UNKNOWN", 0);
+    // Backtracking case: "PLS RPT YR   DUE TO:", the serial is one of the spaces (empty once trimmed)
+    if (line.startsWith(HEADER_SUFFIX, serialStart)) {
+      for (int s = serialStart - 2; s > at; s--) {
+        if (!isLineTerminator(line.charAt(s))) {
+          return "";
+        }
+      }
+    }
+    return null;
   }
 
   /**
-   * True if any line matches the header regex.
+   * Error match on a trimmed line, equivalent to matches() with
+   * "^(\d+)\.\s+(.+?)(?:\s+-\s+(.+))?$" followed by the code/params split.
+   *
+   * @return the entry, or null when the line is not a numbered error
    */
-  private static boolean hasHeader(String[] lines) {
-    for (String line : lines) {
-      if (REJECTION_HEADER_PATTERN.matcher(line.trim()).find()) {
-        return true;
+  private static RejectMessageBody.ErrorEntry parseError(String line) {
+    int to = line.length();
+    int digitsEnd = 0;
+    while (digitsEnd < to && line.charAt(digitsEnd) >= '0' && line.charAt(digitsEnd) <= '9') {
+      digitsEnd++;
+    }
+    if (digitsEnd == 0 || digitsEnd + 1 >= to || line.charAt(digitsEnd) != '.'
+        || !isWhitespace(line.charAt(digitsEnd + 1))) {
+      return null;
+    }
+    int wsStart = digitsEnd + 1;
+    int wsEnd = skipWhitespace(line, wsStart, to);
+    for (int contentStart = wsEnd; contentStart > wsStart; contentStart--) {
+      for (int end = contentStart + 1; end <= to; end++) {
+        if (isLineTerminator(line.charAt(end - 1))) {
+          break;
+        }
+        String dashParams = end < to ? matchDashParams(line, end, to) : null;
+        if (dashParams != null || end == to) {
+          int number = Integer.parseInt(line, 0, digitsEnd, 10);
+          String errorContent = line.substring(contentStart, end).trim();
+          return errorEntry(number, errorContent, dashParams, line);
+        }
       }
     }
-    return false;
+    return null;
   }
 
   /**
-   * Parse consecutive numbered error lines starting at startIndex.
+   * Matches "\s+-\s+(.+)$" at {@code at}.
+   *
+   * @return the parameters (untrimmed), or null
    */
-  private static List<RejectMessageBody.ErrorEntry> parseErrors(String[] lines, int startIndex) {
-    List<RejectMessageBody.ErrorEntry> errors = new ArrayList<>();
+  private static String matchDashParams(String line, int at, int to) {
+    if (!isWhitespace(line.charAt(at))) {
+      return null;
+    }
+    int dash = skipWhitespace(line, at, to);
+    if (dash + 1 >= to || line.charAt(dash) != '-' || !isWhitespace(line.charAt(dash + 1))) {
+      return null;
+    }
+    int paramsStart = skipWhitespace(line, dash + 1, to);
+    if (paramsStart >= to || containsLineTerminator(line, paramsStart, to)) {
+      return null;
+    }
+    return line.substring(paramsStart, to);
+  }
 
-    for (int i = startIndex; i < lines.length; i++) {
-      final String line = lines[i].trim();
-      if (line.isEmpty()) {
-        break; // stop at first blank after errors
+  /**
+   * Prefer "code - params" when present; otherwise attempt "CODE params" ([A-Z_]+ then whitespace).
+   */
+  private static RejectMessageBody.ErrorEntry errorEntry(int number, String errorContent,
+                                                         String dashParams, String line) {
+    String code = errorContent;
+    String params = null;
+    if (dashParams != null) {
+      params = dashParams.trim();
+    } else {
+      int codeEnd = 0;
+      while (codeEnd < errorContent.length() && isCodeChar(errorContent.charAt(codeEnd))) {
+        codeEnd++;
       }
-
-      Matcher errorMatcher = ERROR_ENTRY_PATTERN.matcher(line);
-      if (!errorMatcher.matches()) {
-        // First non-error line -> stop collecting errors
-        break;
+      if (codeEnd > 0 && codeEnd < errorContent.length() && isWhitespace(errorContent.charAt(codeEnd))) {
+        int paramsStart = skipWhitespace(errorContent, codeEnd, errorContent.length());
+        if (paramsStart < errorContent.length()
+            && !containsLineTerminator(errorContent, paramsStart, errorContent.length())) {
+          code = errorContent.substring(0, codeEnd);
+          params = errorContent.substring(paramsStart).trim();
+        }
       }
+    }
 
-      int number = Integer.parseInt(errorMatcher.group(1));
-      String errorContent = errorMatcher.group(2).trim();
-      String dashParams = errorMatcher.group(3);
-
-      ParsedError parsed = splitErrorCodeAndParams(errorContent, dashParams);
-      RejectMessageBody.ErrorEntry entry = RejectMessageBody.ErrorEntry.builder()
-          .number(number)
-          .errorCode(parsed.code)
-          .parameters(parsed.params)
-          .originalLine(line)
-          .build();
+    if (log.isDebugEnabled()) {
+      log.debug("Error {}: {}{}", number, code, params != null ? " | params=" + params : "");
+    }
+    return RejectMessageBody.ErrorEntry.builder()
+        .number(number)
+        .errorCode(code)
+        .parameters(params)
+        .originalLine(line)
+        .build();
+  }
 
-      log.debug("Error {}: {}{}", number, parsed.code,
-          parsed.params != null ? " | params=" + parsed.params : "");
-      errors.add(entry);
+  private static int skipWhitespace(String s, int from, int to) {
+    int i = from;
+    while (i < to && isWhitespace(s.charAt(i))) {
+      i++;
     }
+    return i;
+  }
 
-    return errors;
+  private static boolean containsLineTerminator(String s, int from, int to) {
+    for (int i = from; i < to; i++) {
+      if (isLineTerminator(s.charAt(i))) {
+        return true;
+      }
+    }
+    return false;
   }
 
   /**
-   * Count how many consecutive blank lines occur starting at startIndex.
+   * Regex {@code \s}: [ \t\n\x0B\f\r].
    */
-  private static int countConsecutiveBlankLines(String[] lines, int startIndex) {
-    int count = 0;
-    for (int i = startIndex; i < lines.length; i++) {
-      if (lines[i].trim().isEmpty()) {
-        count++;
-      } else {
-        break;
-      }
-    }
-    return count;
+  private static boolean isWhitespace(char c) {
+    return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
   }
 
   /**
-   * Join remaining lines using CRLF to preserve message formatting.
+   * Characters the regex {@code .} does not match.
    */
-  private static String joinRemaining(String[] lines, int startIndex) {
-    if (startIndex >= lines.length) {
-      return "";
-    }
-    StringBuilder sb = new StringBuilder();
-    for (int i = startIndex; i < lines.length; i++) {
-      if (!sb.isEmpty()) {
-        sb.append("\r\n");
-      }
-      sb.append(lines[i]);
-    }
-    log.debug("Original message length: {} chars", sb.length());
-    return sb.toString();
+  private static boolean isLineTerminator(char c) {
+    return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
   }
 
+  private static boolean isCodeChar(char c) {
+    return (c >= 'A' && c <= 'Z') || c == '_';
+  }
+
+  private static boolean isControl(char c) {
+    return c == '\u0001' || c == '\u0002' || c == '\u0003';
+  }
+
+  // ---------- Line cursor ----------
+
   /**
-   * Prefer "code - params" when present; otherwise attempt "CODE params".
+   * Reads the body line by line, as split("\r?\n") would after removing SOH/STX/ETX,
+   * keeping only offsets until a line is actually needed.
    */
-  private static ParsedError splitErrorCodeAndParams(String errorContent, String dashParams) {
-    if (dashParams != null) {
-      return new ParsedError(errorContent, dashParams.trim());
+  private static final class LineCursor {
+    private final String body;
+    private int next;
+    private int start;
+    private int end;
+    private String trimmed;
+
+    LineCursor(String body) {
+      this.body = body;
     }
-    Matcher m = ERROR_WITH_PARAMS_PATTERN.matcher(errorContent);
-    if (m.matches()) {
-      String code = m.group(1);
-      String params = m.group(2) != null ? m.group(2).trim() : null;
-      return new ParsedError(code, params);
+
+    boolean next() {
+      if (next > body.length()) {
+        return false;
+      }
+      start = next;
+      int newline = body.indexOf('\n', start);
+      if (newline < 0) {
+        end = body.length();
+        next = body.length() + 1;
+      } else {
+        end = newline;
+        next = newline + 1;
+        // "\r\n" separator, even with control characters between them
+        int i = newline - 1;
+        while (i >= start && isControl(body.charAt(i))) {
+          i--;
+        }
+        if (i >= start && body.charAt(i) == '\r') {
+          end = i;
+        }
+      }
+      trimmed = null;
+      return true;
     }
-    return new ParsedError(errorContent, null);
-  }
 
-  // ---------- Small value holders ----------
+    void rewind() {
+      next = 0;
+      trimmed = null;
+    }
 
-  private static final class Header {
-    final String headerLine;
-    final String serialOrUnknown;
-    final int nextIndex;
+    /**
+     * @return the current line without SOH/STX/ETX, trimmed
+     */
+    String trimmed() {
+      if (trimmed == null) {
+        int from = start;
+        int to = end;
+        while (from < to && body.charAt(from) <= ' ') {
+          from++;
+        }
+        while (to > from && body.charAt(to - 1) <= ' ') {
+          to--;
+        }
+        trimmed = clean(from, to);
+      }
+      return trimmed;
+    }
 
-    Header(String headerLine, String serialOrUnknown, int nextIndex) {
-      this.headerLine = headerLine;
-      this.serialOrUnknown = serialOrUnknown;
-      this.nextIndex = nextIndex;
+    boolean isBlank() {
+      return trimmed().isEmpty();
     }
-  }
 
-  private static final class ParsedError {
-    final String code;
-    final String params;
+    /**
+     * Joins the current and remaining lines with CRLF, like the previous parser: leading empty
+     * lines are dropped (nothing to separate yet) and so are trailing ones (split drops them).
+     */
+    String joinRemaining() {
+      StringBuilder sb = new StringBuilder(body.length() - start);
+      int pendingEmpty = 0;
+      do {
+        String line = clean(start, end);
+        if (line.isEmpty()) {
+          pendingEmpty++;
+          continue;
+        }
+        if (!sb.isEmpty()) {
+          sb.append("\r\n".repeat(pendingEmpty + 1));
+        }
+        pendingEmpty = 0;
+        sb.append(line);
+      } while (next());
+      log.debug("Original message length: {} chars", sb.length());
+      return sb.toString();
+    }
 
-    ParsedError(String code, String params) {
-      this.code = code;
-      this.params = params;
+    private String clean(int from, int to) {
+      int firstControl = -1;
+      for (int i = from; i < to; i++) {
+        if (isControl(body.charAt(i))) {
+          firstControl = i;
+          break;
+        }
+      }
+      if (firstControl < 0) {
+        return body.substring(from, to);
+      }
+      StringBuilder sb = new StringBuilder(to - from);
+      sb.append(body, from, firstControl);
+      for (int i = firstControl + 1; i < to; i++) {
+        char c = body.charAt(i);
+        if (!isControl(c)) {
+          sb.append(c);
+        }
+      }
+      return sb.toString();
     }
   }
-}
\ No newline at end of file
+}
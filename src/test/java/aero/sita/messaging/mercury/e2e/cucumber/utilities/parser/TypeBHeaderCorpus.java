@@ -0,0 +1,101 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+package aero.sita.messaging.mercury.e2e.cucumber.utilities.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Generates Type B messages for the differential check of the tokenizer against the line scan.
+ * <p>
+ * Every message has a single address element, the only shape the line scan reads correctly. The
+ * corpus covers SOH and SUB SOAs, bodies without SOA, optional headings, address elements spread
+ * over several lines, CRLF and LF-only separators, trailing blanks after the identity, and bodies
+ * without STX whose text lines start with "." (with or without a space after the first word).
+ */
+@UtilityClass
+public class TypeBHeaderCorpus {
+
+  private static final String[] HEADINGS = {"", "", "ZCZC ABC123 281440\r\n", "\r\n", "ZCZC 001\n"};
+
+  private static final String[] ADDRESS_LINES = {
+      "QU HDQRMJU", "QN SINSGSQ LETVVLK", "QU BEGBCLA BCNKKLA MADRRIB", "QK HDQKKXS", "HDQRMJU",
+  };
+
+  private static final String[] ORIGINATORS = {"HDQRMJU", "LETVVLK", "SINSGSQ", "BCNKKLA"};
+
+  private static final String[] IDENTITIES = {
+      "281441", "121437/160B99PSA", "281440 ABC", " 999", "010101/LDM",
+  };
+
+  private static final String[] TEXT_LINES = {
+      "AVS", "JU0580L30AUG LA BEGBCN", ".LDM", ".X 1", ".HDQRMJU 281442", "PLS RPT YR 1 DUE TO:", "", ". ",
+  };
+
+  private static final String[] SEPARATORS = {"\r\n", "\r\n", "\r\n", "\n"};
+
+  /**
+   * @param count number of messages
+   * @param seed  random seed (same seed, same corpus)
+   * @return the generated messages
+   */
+  public static List<String> generate(int count, long seed) {
+    Random random = new Random(seed);
+    List<String> corpus = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      corpus.add(message(random));
+    }
+    return corpus;
+  }
+
+  private static String message(Random random) {
+    String separator = pick(random, SEPARATORS);
+    StringBuilder sb = new StringBuilder();
+    switch (random.nextInt(3)) {
+      case 0 -> sb.append(pick(random, HEADINGS)).append('\u0001');
+      case 1 -> sb.append(pick(random, HEADINGS)).append('\u001A');
+      default -> {
+        // no SOA: the address starts the message
+      }
+    }
+    int addressLines = 1 + random.nextInt(3);
+    for (int l = 0; l < addressLines; l++) {
+      if (l > 0) {
+        sb.append(separator);
+      }
+      sb.append(pick(random, ADDRESS_LINES));
+    }
+    sb.append(separator).append('.').append(pick(random, ORIGINATORS)).append(' ').append(pick(random, IDENTITIES));
+    if (random.nextInt(5) == 0) {
+      sb.append(random.nextBoolean() ? "  " : "\t");
+    }
+    boolean withStx = random.nextBoolean();
+    sb.append(separator);
+    if (withStx) {
+      sb.append('\u0002');
+    }
+    int textLines = random.nextInt(5);
+    for (int t = 0; t < textLines; t++) {
+      if (t > 0) {
+        sb.append(separator);
+      }
+      sb.append(pick(random, TEXT_LINES));
+    }
+    if (withStx) {
+      sb.append(separator).append('\u0003');
+    }
+    return sb.toString();
+  }
+
+  private static String pick(Random random, String[] values) {
+    return values[random.nextInt(values.length)];
+  }
+}
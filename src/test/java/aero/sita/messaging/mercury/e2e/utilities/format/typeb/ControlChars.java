@@ -9,6 +9,9 @@
 
 package aero.sita.messaging.mercury.e2e.utilities.format.typeb;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
 public final class ControlChars {
   public static final String CRLF = "\r\n";
   public static final String SOH = "\u0001";
@@ -18,6 +21,68 @@ public final class ControlChars {
   public static final String US = "\u001F"; // spacing signal (optional)  // why: spec allows optional US
   public static final String DOT = ".";
 
+  // Pre-encoded sequences for TypeBMessageBuilder#composeInto (never modified)
+  static final byte[] CRLF_BYTES = ascii(CRLF);
+  static final byte[] CRLF_STX_BYTES = ascii(CRLF + STX);
+  static final byte[] CRLF_ETX_BYTES = ascii(CRLF + ETX);
+  static final byte[] ETX_BYTES = ascii(ETX);
+  static final byte[] US_BYTES = ascii(US);
+
   private ControlChars() {
   }
+
+  /**
+   * Encodes a string in the Type B character set (7-bit, IA5 subset of ASCII).
+   *
+   * @param value the characters to encode
+   * @return one byte per character
+   * @throws IllegalArgumentException if a character is outside the 7-bit range
+   */
+  static byte[] ascii(String value) {
+    byte[] bytes = new byte[value.length()];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = toByte(value, i);
+    }
+    return bytes;
+  }
+
+  /**
+   * Writes a string in the Type B character set, without any intermediate copy.
+   *
+   * @param value  the characters to write (null writes nothing)
+   * @param target buffer receiving one byte per character
+   * @throws IllegalArgumentException if a character is outside the 7-bit range
+   * @throws BufferOverflowException if the buffer is too small
+   */
+  static void writeAscii(CharSequence value, ByteBuffer target) {
+    if (value == null) {
+      return;
+    }
+    int length = value.length();
+    if (target.hasArray()) {
+      // Heap buffer: one bounds check, then plain array stores
+      if (length > target.remaining()) {
+        throw new BufferOverflowException();
+      }
+      byte[] array = target.array();
+      int offset = target.arrayOffset() + target.position();
+      for (int i = 0; i < length; i++) {
+        array[offset + i] = toByte(value, i);
+      }
+      target.position(target.position() + length);
+      return;
+    }
+    for (int i = 0; i < length; i++) {
+      target.put(toByte(value, i));
+    }
+  }
+
+  private static byte toByte(CharSequence value, int index) {
+    char c = value.charAt(index);
+    if (c > 0x7F) {
+      throw new IllegalArgumentException(String.format("Character U+%04X at %d is not in the Type B character set",
+          (int) c, index));
+    }
+    return (byte) c;
+  }
 }
\ No newline at end of file
@@ -19,10 +19,12 @@ public enum SoaPattern {
 
   public static final SoaPattern DEFAULT = CRLF_SOH;
   private final String sequence;
+  private final byte[] bytes;
   private final String token;
 
   SoaPattern(String sequence, String token) {
     this.sequence = sequence;
+    this.bytes = ControlChars.ascii(sequence);
     this.token = token;
   }
 
@@ -73,6 +75,13 @@ public enum SoaPattern {
     return sequence;
   }
 
+  /**
+   * Pre-encoded {@link #sequence()}, for TypeBMessageBuilder#composeInto (never modified).
+   */
+  byte[] bytes() {
+    return bytes;
+  }
+
   public String toToken() {
     return token;
   }
@@ -0,0 +1,260 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+package aero.sita.messaging.mercury.e2e.utilities.format.typeb;
+
+import aero.sita.messaging.mercury.e2e.service.load.TypeBCorpus;
+import aero.sita.messaging.mercury.e2e.service.load.TypeBCorpusWriter;
+import aero.sita.messaging.mercury.e2e.utilities.format.typeb.section.utils.HeadingBuilderUtils;
+import aero.sita.messaging.mercury.e2e.utilities.format.typeb.section.utils.HeadingField;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Generates a Type B corpus file (see {@link TypeBCorpus}) for load and soak runs.
+ * <p>
+ * Templates are the cartesian product of message type (AVS, MVT, LDM), priority, address count and
+ * heading variant ({@link HeadingField}), plus deliberately invalid variants of each message type.
+ * Records cycle through the valid templates; invalid ones are interleaved at {@link Spec#getInvalidShare()}
+ * with a low-discrepancy sequence, so every slice of the corpus has the same mix. Flight, date and
+ * identity are derived from the record index, so every record is distinct and a corpus is reproducible.
+ * <p>
+ * Messages are composed by one reused {@link TypeBMessageBuilder} straight into the mapped file
+ * ({@link TypeBMessageBuilder#composeInto}); there is no per-record String or byte[] of the message.
+ */
+@Slf4j
+public final class TypeBCorpusGenerator {
+
+  private static final String ORIGINATOR = "HDQRMJU";
+  private static final String INVALID_ORIGINATOR = "MILXT";
+  private static final int MAX_ADDRESSES_PER_LINE = 8;
+  private static final String[] MONTHS = {"JAN", "FEB", "MAR", "APR", "MAY", "JUN",
+      "JUL", "AUG", "SEP", "OCT", "NOV", "DEC"};
+  private static final double GOLDEN_RATIO_CONJUGATE = (Math.sqrt(5) - 1) / 2;
+
+  private TypeBCorpusGenerator() {
+  }
+
+  /**
+   * Message types of the corpus; the text is derived from the record index.
+   */
+  public enum MessageType {
+    AVS, MVT, LDM
+  }
+
+  /**
+   * Heading section variants, expressed as {@link HeadingField} values.
+   */
+  public enum HeadingVariant {
+    NONE(Map.of()),
+    PLAIN(Map.of(HeadingField.PLAIN_HEADING_TEXT, "ZCZC LOAD")),
+    ADDRESS(Map.of(HeadingField.PRE_SOA_TYPE, "QN", HeadingField.PLAIN_HEADING_TEXT, "SINSGSQ")),
+    PILOT(Map.of(HeadingField.PRE_SOA_TYPE, "QN", HeadingField.PLAIN_HEADING_TEXT, "SINSGSQ",
+        HeadingField.ADDRESS_END_INDICATOR, "\r\n.", HeadingField.PILOT_SIGNAL, "/////"));
+
+    private final Map<HeadingField, String> fields;
+
+    HeadingVariant(Map<HeadingField, String> fields) {
+      this.fields = fields.isEmpty() ? Map.of() : new EnumMap<>(fields);
+    }
+  }
+
+  /**
+   * Deliberately invalid messages, rejected by Mercury.
+   */
+  public enum InvalidKind {
+    /** Five-character originator instead of seven. */
+    INVALID_ORIGINATOR,
+    /** One address more than a Type B address line may hold. */
+    TOO_MANY_ADDRESSES
+  }
+
+  /**
+   * What to generate.
+   */
+  @Data
+  @Builder
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Spec {
+
+    private long records;
+
+    @Builder.Default
+    private List<MessageType> messageTypes = List.of(MessageType.values());
+
+    @Builder.Default
+    private List<String> priorities = List.of("QU", "QP", "QD");
+
+    @Builder.Default
+    private List<Integer> addressCounts = List.of(1, 4, 8);
+
+    @Builder.Default
+    private List<HeadingVariant> headings = List.of(HeadingVariant.values());
+
+    /**
+     * Destination pool; a template with n addresses uses the first n (cycled when n exceeds the pool).
+     */
+    @Builder.Default
+    private List<String> addresses = List.of("SWIRI1G", "LETTTLK", "LETVVLK", "JFKNYBA",
+        "SINSGSQ", "BARXSXT", "LKYSOLT", "LKYEDLT", "LKYEGLT");
+
+    @Builder.Default
+    private List<InvalidKind> invalidKinds = List.of(InvalidKind.values());
+
+    /**
+     * Fraction of invalid records, 0 for a corpus of valid messages only.
+     */
+    @Builder.Default
+    private double invalidShare = 0.05;
+  }
+
+  private record Template(String name, boolean valid, MessageType type, String priority, int addressCount,
+                          HeadingVariant heading, InvalidKind invalidKind) {
+  }
+
+  /**
+   * Writes a corpus file.
+   *
+   * @param path target file, replaced when it exists
+   * @param spec what to generate
+   * @return the number of records written
+   * @throws IllegalArgumentException if the spec is inconsistent
+   */
+  public static long generate(Path path, Spec spec) {
+    if (spec.getRecords() < 1) {
+      throw new IllegalArgumentException("A corpus needs at least one record: " + spec.getRecords());
+    }
+    if (spec.getInvalidShare() < 0 || spec.getInvalidShare() >= 1) {
+      throw new IllegalArgumentException("Invalid share must be in [0, 1): " + spec.getInvalidShare());
+    }
+    List<Template> valid = validTemplates(spec);
+    List<Template> invalid = spec.getInvalidShare() > 0 ? invalidTemplates(spec) : List.of();
+    if (valid.isEmpty() || (spec.getInvalidShare() > 0 && invalid.isEmpty())) {
+      throw new IllegalArgumentException("Spec yields no " + (valid.isEmpty() ? "valid" : "invalid")
+          + " template: " + spec);
+    }
+    List<Template> templates = new ArrayList<>(valid);
+    templates.addAll(invalid);
+    List<String> names = templates.stream().map(Template::name).toList();
+
+    log.info("Generating Type B corpus {}: {} records, {} valid and {} invalid templates",
+        path, spec.getRecords(), valid.size(), invalid.size());
+    TypeBMessageBuilder builder = new TypeBMessageBuilder();
+    long validCount = 0;
+    long invalidCount = 0;
+    try (TypeBCorpusWriter writer = TypeBCorpusWriter.create(path, names, spec.getRecords())) {
+      for (long index = 0; index < spec.getRecords(); index++) {
+        boolean invalidRecord = (index * GOLDEN_RATIO_CONJUGATE) % 1.0 < spec.getInvalidShare();
+        int templateId = invalidRecord
+            ? valid.size() + (int) (invalidCount++ % invalid.size())
+            : (int) (validCount++ % valid.size());
+        Template template = templates.get(templateId);
+        String identity = identity(index);
+        prepare(builder, template, spec.getAddresses(), index, identity);
+        writer.append(templateId, template.valid(), identity, builder::composeInto);
+      }
+    }
+    return spec.getRecords();
+  }
+
+  // ==================== Templates ====================
+
+  private static List<Template> validTemplates(Spec spec) {
+    List<Template> templates = new ArrayList<>();
+    for (MessageType type : spec.getMessageTypes()) {
+      for (String priority : spec.getPriorities()) {
+        for (int addressCount : spec.getAddressCounts()) {
+          if (addressCount < 1) {
+            throw new IllegalArgumentException("Address count must be positive: " + addressCount);
+          }
+          for (HeadingVariant heading : spec.getHeadings()) {
+            String name = String.format(Locale.ROOT, "%s %s x%d %s", type, priority, addressCount,
+                heading.name().toLowerCase(Locale.ROOT));
+            templates.add(new Template(name, true, type, priority, addressCount, heading, null));
+          }
+        }
+      }
+    }
+    return templates;
+  }
+
+  private static List<Template> invalidTemplates(Spec spec) {
+    String priority = spec.getPriorities().isEmpty() ? "QU" : spec.getPriorities().get(0);
+    List<Template> templates = new ArrayList<>();
+    for (MessageType type : spec.getMessageTypes()) {
+      for (InvalidKind kind : spec.getInvalidKinds()) {
+        int addressCount = kind == InvalidKind.TOO_MANY_ADDRESSES ? MAX_ADDRESSES_PER_LINE + 1 : 1;
+        String name = String.format(Locale.ROOT, "%s invalid %s", type, kind.name().toLowerCase(Locale.ROOT));
+        templates.add(new Template(name, false, type, priority, addressCount, HeadingVariant.NONE, kind));
+      }
+    }
+    return templates;
+  }
+
+  // ==================== Messages ====================
+
+  private static void prepare(TypeBMessageBuilder builder, Template template, List<String> pool, long index,
+                              String identity) {
+    builder.reset();
+    template.heading().fields.forEach((field, value) -> HeadingBuilderUtils.applyField(builder, field, value));
+
+    // Addresses: the priority opens the first line; a line holds at most 8 addresses unless forced over
+    int perLine = template.invalidKind() == InvalidKind.TOO_MANY_ADDRESSES
+        ? template.addressCount() : MAX_ADDRESSES_PER_LINE;
+    StringBuilder line = new StringBuilder(template.priority());
+    for (int i = 0; i < template.addressCount(); i++) {
+      if (i > 0 && i % perLine == 0) {
+        builder.withAddressLine(line.toString());
+        line.setLength(0);
+      } else if (!line.isEmpty()) {
+        line.append(' ');
+      }
+      line.append(pool.get(i % pool.size()));
+    }
+    builder.withAddressLine(line.toString());
+
+    builder.withOriginatorIndicator(template.invalidKind() == InvalidKind.INVALID_ORIGINATOR
+        ? INVALID_ORIGINATOR : ORIGINATOR);
+    builder.withMessageIdentity(identity);
+
+    String flight = String.format(Locale.ROOT, "JU%04d", index % 10000);
+    int day = (int) (index / 10000 % 28) + 1;
+    String date = String.format(Locale.ROOT, "%02d%s", day, MONTHS[(int) (index / 280000 % 12)]);
+    builder.withTextLine(template.type().name());
+    switch (template.type()) {
+      case AVS -> builder.withTextLine(flight + "L" + date + " LA BEGBCN");
+      case MVT -> builder.withTextLine(flight + "/" + date + " BEG AD1230");
+      case LDM -> builder.withTextLine(flight + "/" + date + " BEGBCN")
+          .withTextLine("-BCN.12/34/5/6.T1234.1/560.2/780");
+      default -> throw new IllegalArgumentException("Unsupported message type: " + template.type());
+    }
+  }
+
+  /**
+   * Placeholder identity of a record, in the DDHHMM/RRRRRRXXX shape; replaced at replay time.
+   */
+  private static String identity(long index) {
+    long letters = index / 1_000_000;
+    char[] suffix = new char[3];
+    for (int i = 2; i >= 0; i--) {
+      suffix[i] = (char) ('A' + letters % 26);
+      letters /= 26;
+    }
+    return String.format(Locale.ROOT, "010000/%06d", index % 1_000_000) + new String(suffix);
+  }
+}
@@ -9,6 +9,7 @@
 
 package aero.sita.messaging.mercury.e2e.utilities.format.typeb;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
@@ -21,6 +22,8 @@ import org.slf4j.LoggerFactory;
  */
 public class TypeBMessageBuilder {
   private static final Logger LOG = LoggerFactory.getLogger(TypeBMessageBuilder.class);
+  private static final byte[] QSP_BYTES = ControlChars.ascii("QSP ");
+  private static final byte[] PILOT_SIGNAL_BYTES = ControlChars.ascii("/////");
   private final List<AddressEntry> addresses = new ArrayList<>();
   private final List<String> textLines = new ArrayList<>();
   private final List<String> preTextRaw = new ArrayList<>();
@@ -365,6 +368,104 @@ public class TypeBMessageBuilder {
     return sb.toString();
   }
 
+  /**
+   * Writes the same message as {@link #compose()} straight into a reusable buffer, in the Type B
+   * character set (7-bit).
+   * <p>
+   * For load generation: no StringBuilder, no intermediate string and no String-to-bytes re-encoding.
+   * Control sequences are pre-encoded ({@link ControlChars}, {@link SoaPattern}), so a builder
+   * prepared once and only given a new {@link #withMessageIdentity(String)} per message produces no
+   * garbage per message in steady state (see TypeBCompositionBenchmark#composeInto).
+   *
+   * @param target buffer written from its position; its position is advanced past the message
+   * @return number of bytes written
+   * @throws IllegalArgumentException if a character is outside the 7-bit range
+   * @throws java.nio.BufferOverflowException if the buffer is too small
+   */
+  public int composeInto(ByteBuffer target) {
+    int start = target.position();
+
+    // 1. Heading Section (same rules as compose)
+    boolean hasHeading = heading != null ? !heading.isEmpty()
+        : preSOAType != null || !isEmpty(plainHeadingText) || !isEmpty(addressEndIndicator) || !isEmpty(pilotSignal);
+    if (hasHeading) {
+      ControlChars.writeAscii(headingPrefix, target);
+      if (heading != null) {
+        ControlChars.writeAscii(heading, target);
+      } else {
+        if (preSOAType != null) {
+          ControlChars.writeAscii(preSOAType, target);
+          target.put((byte) ' ');
+        }
+        ControlChars.writeAscii(plainHeadingText, target);
+        ControlChars.writeAscii(addressEndIndicator, target);
+        ControlChars.writeAscii(pilotSignal, target);
+      }
+      ControlChars.writeAscii(headingTerminator, target);
+      if (headingTerminator.isEmpty() && (soa == null || !soa.sequence().startsWith(ControlChars.CRLF))) {
+        target.put(ControlChars.CRLF_BYTES);
+      }
+    }
+
+    if (emitSpacingUS) {
+      target.put(ControlChars.US_BYTES);
+    }
+
+    // 2. SOA (Start of Address)
+    if (soa != null) {
+      target.put(soa.bytes());
+    }
+    ControlChars.writeAscii(firstAddressOverrideRaw, target);
+    if (diversionRoutingIndicator != null && soa != null) {
+      target.put(QSP_BYTES);
+      ControlChars.writeAscii(diversionRoutingIndicator, target);
+      target.put(eoa.bytes());
+    }
+
+    // 3. Addresses (indexed: no iterator per message)
+    for (int i = 0; i < addresses.size(); i++) {
+      AddressEntry e = addresses.get(i);
+      ControlChars.writeAscii(e.line, target);
+      target.put(eoa.bytes());
+      if (e.kind == AddressEntry.Kind.PILOT) {
+        target.put(PILOT_SIGNAL_BYTES);
+      }
+    }
+
+    // 4. Originator
+    if (originatorIndicator != null) {
+      ControlChars.writeAscii(originatorIndicator, target);
+      target.put((byte) ' ');
+      ControlChars.writeAscii(doubleSignature, target);
+      ControlChars.writeAscii(messageIdentity, target);
+    }
+    for (int i = 0; i < preTextRaw.size(); i++) {
+      ControlChars.writeAscii(preTextRaw.get(i), target);
+    }
+
+    // 5. Text Body
+    if (emitTextDelimiters || !textLines.isEmpty()) {
+      target.put(ControlChars.CRLF_STX_BYTES);
+      if (textLines.isEmpty()) {
+        target.put(ControlChars.CRLF_ETX_BYTES);
+      } else {
+        for (int i = 0; i < textLines.size(); i++) {
+          ControlChars.writeAscii(textLines.get(i), target);
+          target.put(ControlChars.CRLF_BYTES);
+        }
+        target.put(ControlChars.ETX_BYTES);
+      }
+    }
+    for (int i = 0; i < postTextRaw.size(); i++) {
+      ControlChars.writeAscii(postTextRaw.get(i), target);
+    }
+    return target.position() - start;
+  }
+
+  private static boolean isEmpty(String value) {
+    return value == null || value.isEmpty();
+  }
+
   public enum AddressEoaToken {
     SUB {
       public String sequence() {
@@ -377,6 +478,8 @@ public class TypeBMessageBuilder {
       }
     };
 
+    private final byte[] bytes = ControlChars.ascii(sequence());
+
     public static AddressEoaToken parse(String value) {
       if (value == null || value.isBlank()) {
         return DOT;
@@ -389,6 +492,13 @@ public class TypeBMessageBuilder {
     }
 
     public abstract String sequence();
+
+    /**
+     * Pre-encoded {@link #sequence()}, for {@link #composeInto(ByteBuffer)} (never modified).
+     */
+    byte[] bytes() {
+      return bytes;
+    }
   }
 
   private static final class AddressEntry {
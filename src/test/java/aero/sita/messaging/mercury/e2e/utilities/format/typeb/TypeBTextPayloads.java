@@ -0,0 +1,103 @@
+/*
+ * This code contains copyright information which is the proprietary property
+ * of SITA Information Network Computing Limited (SITA). No part of this
+ * code may be reproduced, stored or transmitted in any form without the prior
+ * written permission of SITA.
+ * Copyright © SITA Information Networking Computing Ireland Limited 2020-2025.
+ * Confidential. All rights reserved.
+ */
+
+package aero.sita.messaging.mercury.e2e.utilities.format.typeb;
+
+import aero.sita.messaging.mercury.e2e.model.load.LoadMessage;
+import aero.sita.messaging.mercury.e2e.service.load.LoadMessageSource;
+import aero.sita.messaging.mercury.e2e.utilities.generator.MessageIdentityGenerator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Type B messages with a text of an exact size, for the payload-size benchmark.
+ * <p>
+ * The text is an LDM-like body: the message type on the first line, then numbered filler lines of at
+ * most {@link #MAX_LINE_LENGTH} characters. Sizes count every text line plus its CRLF, i.e. the
+ * bytes between STX and ETX, so they line up with the text limit of the format.
+ */
+public final class TypeBTextPayloads {
+
+  /**
+   * Longest Type B text line, CRLF excluded.
+   */
+  public static final int MAX_LINE_LENGTH = 69;
+
+  private static final String MESSAGE_TYPE = "LDM";
+  private static final String ADDRESS_LINE = "QP SWIRI1G";
+  private static final String ORIGINATOR = "HDQRMJU";
+  private static final String CRLF = "\r\n";
+  private static final String FILLER = "-BCN.12/34/5/6.T1234.1/560.2/780.3/910.4/120 SI PAYLOAD SCALING FILLER";
+
+  private TypeBTextPayloads() {
+  }
+
+  /**
+   * Text lines whose total size (each line plus CRLF) is exactly {@code textBytes}.
+   *
+   * @param textBytes target text size, at least the message type line
+   * @return the text lines
+   */
+  public static List<String> textLinesOfSize(int textBytes) {
+    int minimum = MESSAGE_TYPE.length() + CRLF.length();
+    if (textBytes < minimum) {
+      throw new IllegalArgumentException("Text size must be at least " + minimum + " bytes: " + textBytes);
+    }
+    List<String> lines = new ArrayList<>();
+    int remaining = textBytes - minimum;
+    if (remaining <= CRLF.length()) {
+      // No room for another line: pad the message type line instead
+      lines.add(MESSAGE_TYPE + " ".repeat(remaining));
+      return lines;
+    }
+    lines.add(MESSAGE_TYPE);
+    int lineNumber = 1;
+    while (remaining > 0) {
+      int length = Math.min(MAX_LINE_LENGTH, remaining - CRLF.length());
+      if (remaining - length - CRLF.length() > 0 && remaining - length - CRLF.length() <= CRLF.length()) {
+        length -= CRLF.length() + 1; // leave room for a last line of at least one character
+      }
+      lines.add(fillerLine(lineNumber++, length));
+      remaining -= length + CRLF.length();
+    }
+    return lines;
+  }
+
+  private static String fillerLine(int lineNumber, int length) {
+    String line = String.format(Locale.ROOT, "%04d", lineNumber % 10000) + FILLER;
+    return line.length() >= length ? line.substring(0, length) : line + " ".repeat(length - line.length());
+  }
+
+  /**
+   * Valid messages composed with {@link TypeBMessageBuilder}, each with a fresh identity and a text of
+   * exactly {@code textBytes}, all in the group "&lt;textBytes&gt; B".
+   *
+   * @param textBytes text size of every message
+   * @return the message source
+   */
+  public static LoadMessageSource messagesOfSize(int textBytes) {
+    List<String> text = List.copyOf(textLinesOfSize(textBytes));
+    String group = textBytes + " B";
+    return sequence -> {
+      String identity = MessageIdentityGenerator.generate();
+      String content = new TypeBMessageBuilder().reset()
+          .withAddressLine(ADDRESS_LINE)
+          .withOriginatorIndicator(ORIGINATOR)
+          .withMessageIdentity(identity)
+          .withTextLines(text)
+          .compose();
+      return LoadMessage.builder()
+          .messageIdentity(identity)
+          .content(content)
+          .group(group)
+          .build();
+    };
+  }
+}
@@ -0,0 +1,10 @@
+@builder
+Feature: Type B builder composition
+  As a test engineer
+  I want the buffer composition used by the load generator to write exactly what compose() returns
+  So that load runs inject the same messages as the functional scenarios
+
+  Scenario: compose and composeInto agree on generated builder configurations
+    Given 20000 generated Type B builder configurations with seed 42
+    When every configuration is composed both as a string and into a buffer
+    Then both compositions should agree on every configuration
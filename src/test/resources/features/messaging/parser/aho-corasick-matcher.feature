@@ -0,0 +1,9 @@
+@matcher
+Feature: Aho-Corasick identity matcher
+  As a test engineer
+  I want the multi-pattern matcher to find exactly the patterns String.contains finds
+  So that reject and content lookups keep their meaning while scanning each body once
+
+  Scenario: Matcher and String.contains agree through adds, removes and compactions
+    When 200000 random operations with seed 42 are applied to the matcher and to a contains-based reference
+    Then the matcher should agree with the reference on every operation
@@ -0,0 +1,10 @@
+@parser
+Feature: Reject body parser
+  As a test engineer
+  I want the hand-written reject parser to behave exactly like the regex-based one it replaced
+  So that reject verifications keep their meaning while parsing faster
+
+  Scenario: Both parsers agree on a generated reject corpus
+    Given a generated corpus of 100000 reject bodies with seed 42
+    When both reject parsers parse the corpus
+    Then the parsers should agree on every reject body
@@ -0,0 +1,10 @@
+@parser
+Feature: Type B tokenizer
+  As a test engineer
+  I want the single-pass tokenizer to read the origin line exactly like the line scan it replaced
+  So that delivery tracking keeps matching messages while parsing faster
+
+  Scenario: Tokenizer and line scan agree on generated single-element messages
+    Given a generated corpus of 100000 Type B messages with seed 42
+    When the tokenizer and the line scan read the corpus
+    Then they should agree on identity, originator and address of every message
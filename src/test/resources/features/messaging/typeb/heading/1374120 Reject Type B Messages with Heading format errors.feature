@@ -68,6 +68,27 @@ Feature: 1374120 - [Type B Format] Reject Type B Messages with Heading format er
       | yes          | no          | SUB                 | QN       | PilotSignal    | # "\r\n\u001AQN SINSGSQ\r\n./////\r\n\u0001QN JFKNYBA\r\n.HDQRMJU 281440/160B99PSA\r\n\u0002AVS\r\nJU0580L30AUG LA BEGBCN\r\n\r\n\u0003" |
       | yes          | no          | SUB                 | n/a      | PilotSignal    | # "\r\n\u001ASINSGSQ\r\n./////\r\n\u0001QN JFKNYBA\r\n.HDQRMJU 281440/160B99PSA\r\n\u0002AVS\r\nJU0580L30AUG LA BEGBCN\r\n\r\n\u0003"    |
 
+  @heading-enabled @positive @batch
+  Scenario: Enforce SOA presence and placement when a Heading Section is enabled (all variants in one batch)
+    Given I select the connection where "messageConfiguration.acceptMessagesWithAHeadingSection" is "true"
+    When I send the following address element variants via the Test Harness in one batch:
+      | indicatorSOA | containsEOA | SOAControlCharacter | priority | addressElement |
+      | yes          | yes         | SOH                 | QN       | NAL            |
+      | yes          | yes         | SOH                 | n/a      | NAL            |
+      | yes          | no          | SOH                 | QN       | PilotSignal    |
+      | yes          | no          | SOH                 | n/a      | PilotSignal    |
+      | yes          | yes         | SUB                 | QN       | NAL            |
+      | yes          | yes         | SUB                 | n/a      | NAL            |
+      | yes          | no          | SUB                 | QN       | PilotSignal    |
+      | yes          | no          | SUB                 | n/a      | PilotSignal    |
+    Then every batch message is received via Test Harness:
+      | type  | outQueue   |
+      | IBMMQ | LETTTLK.IN |
+    #================ MongoDb validation ================#
+    And every batch message is stored with the incoming statuses:
+      | RECEIVED |
+      | PARSED   |
+
   @heading-disabled @negative
   Scenario: When the content that precedes the SOA indicator is NOT an Address Element
     Given I select the connection where "messageConfiguration.acceptMessagesWithAHeadingSection" is "false"
@@ -0,0 +1,12 @@
+@performance @capacity
+Feature: Capacity search
+  As a release manager
+  I want the maximum sustainable throughput measured the same way before every release
+  So that capacity is a recorded artifact instead of a guess
+
+  Background:
+    Given the test-harness is accessible
+
+  Scenario: Default connection sustains the release baseline
+    When I search the sustainable capacity from 20 msg/s in steps of 20 msg/s of 60 seconds with a p99 SLO of 2000 ms
+    Then the sustainable capacity should be at least 20 msg/s
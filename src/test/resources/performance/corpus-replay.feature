@@ -0,0 +1,18 @@
+@performance @corpus
+Feature: Load replayed from a pre-generated Type B corpus
+  As a performance engineer
+  I want load runs to replay a corpus of distinct valid and invalid Type B messages
+  So that the injector spends no time building messages and every run sends the same mix
+
+  # The corpus is generated on first use; generate large ones ahead of time with:
+  #   gradle corpusGenerate -Pcorpus.records=5000000
+  # Parallel CI shards replay disjoint parts of it with -Dload.corpus.worker=<n> -Dload.corpus.workers=<total>
+
+  Background:
+    Given the test-harness is accessible
+
+  Scenario: Constant rate corpus replay is fully delivered
+    Given a Type B corpus of 100000 messages
+    When I replay the Type B corpus at a constant rate of 50 msg/s for 60 seconds
+    Then all injected load messages should be received
+    And the load send lag p99 should be below 50 ms
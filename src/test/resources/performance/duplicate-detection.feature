@@ -0,0 +1,16 @@
+@performance @duplicates
+Feature: Duplicate-detection stress
+  As a performance engineer
+  I want to re-inject identical messages at varying offsets under load
+  So that the accuracy and latency of Mercury's duplicate window are measured
+
+  # Offsets beyond the duplicate window are expected to go undetected; they show where the window ends.
+
+  Background:
+    Given the test-harness is accessible
+
+  Scenario: Duplicates are flagged possibleDuplicate within the duplicate window
+    When I run the duplicate stress at 100 msg/s for 120 seconds with 10% duplicates at offsets "0,1,10,60" seconds
+    Then every duplicate re-injected within 10 seconds should be stored and flagged as possible duplicate
+    And no original message should be flagged as possible duplicate
+    And the duplicate-detection p99 latency should be below 5000 ms
@@ -0,0 +1,24 @@
+@performance @fanout
+Feature: Multi-address fan-out benchmark
+  As a performance engineer
+  I want to measure how Mercury scales with the number of addressees per message
+  So that the worst-case production path (one message, many outgoing documents) is covered
+
+  # The destinations must route to distinct outgoing connections in the target environment.
+
+  Background:
+    Given the test-harness is accessible
+    And the fan-out destinations are:
+      | SWIRI1G |
+      | BCNXSXT |
+      | MADXSXT |
+      | LHRXSXT |
+      | CDGXSXT |
+      | FRAXSXT |
+      | AMSXSXT |
+      | ZRHXSXT |
+
+  Scenario: Latency and outgoing-doc creation rate per fan-out width
+    When I run the fan-out benchmark for widths "1,2,4,8" at 10 msg/s for 30 seconds each
+    Then every sampled message should have one outgoing message per destination
+    And the fan-out end-to-end p99 latency should be below 5000 ms for every width
@@ -0,0 +1,29 @@
+@performance @harness-profile
+Feature: Harness-side load profiles
+  As a performance engineer
+  I want the test-harness to generate the load from pre-loaded messages
+  So that the framework JVM is never the bottleneck when measuring Mercury
+
+  Background:
+    Given the test-harness is accessible
+    And the harness load profile destinations are:
+      | DEV.QUEUE.1 |
+
+  Scenario: Default messages sent by the harness at a constant rate
+    Given a harness load profile 1001 of 50 msg/s for 60 seconds
+    And the messages of harness load profile 1001 are pre-loaded
+    When I run harness load profile 1001
+    Then every pre-loaded message of the profile should be received
+
+  Scenario: Templated messages sent by the harness
+    Given the harness load profile message template is:
+      """
+      <SOH>QU SWIRI1G
+      .HDQRMJU {messageIdentity}
+      <STX>AVS
+      JU0580L30AUG LA BEGBCN<ETX>
+      """
+    And a harness load profile 1002 of 20 msg/s for 30 seconds
+    And the messages of harness load profile 1002 are pre-loaded
+    When I run harness load profile 1002
+    Then every pre-loaded message of the profile should be received
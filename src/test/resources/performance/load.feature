@@ -0,0 +1,23 @@
+@performance @load
+Feature: Open-model load generation
+  As a performance engineer
+  I want to inject Type B messages at a controlled rate
+  So that I can measure throughput and end-to-end latency without coordinated omission
+
+  Background:
+    Given the test-harness is accessible
+
+  Scenario: Constant rate load is fully delivered
+    When I inject Type B messages at a constant rate of 20 msg/s for 30 seconds
+    Then all injected load messages should be received
+    And the load send lag p99 should be below 50 ms
+    And the load p99 latency should be below 2000 ms
+
+  Scenario: Ramp load is fully delivered
+    When I inject Type B messages ramping from 5 to 50 msg/s over 60 seconds
+    Then all injected load messages should be received
+    And the load p99 latency should be below 3000 ms
+
+  Scenario: Step load is fully delivered
+    When I inject Type B messages starting at 10 msg/s increased by 10 msg/s every 15 seconds for 60 seconds
+    Then all injected load messages should be received
@@ -0,0 +1,15 @@
+@performance @payload
+Feature: Large-payload and text-size scaling benchmark
+  As a performance engineer
+  I want to measure how Mercury scales with the size of the message text
+  So that large LDM/PNL traffic is covered, not only short AVS messages
+
+  # Sizes are text bytes between STX and ETX; the largest is bounded by load.payload.max-text-bytes.
+
+  Background:
+    Given the test-harness is accessible
+
+  Scenario: Injection, round-trip, store write and rawData read cost per text size
+    When I run the payload-size benchmark for text sizes "64,256,512,1024,2048,3840" at 10 msg/s for 30 seconds each
+    Then every payload size should be delivered and stored without truncation
+    And the payload round-trip latency should scale linearly up to 3840 bytes
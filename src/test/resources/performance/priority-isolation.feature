@@ -0,0 +1,20 @@
+@performance @priority
+Feature: Priority-class latency isolation
+  As a product owner
+  I want urgent Type B traffic delivered ahead of deferred traffic under load
+  So that the latency guarantees of the priority classes hold when Mercury is busy
+
+  # Run close to saturation: set the rate just below the sustainable capacity
+  # reported by the capacity search (build/reports/load/capacity.csv).
+
+  Background:
+    Given the test-harness is accessible
+
+  Scenario: Urgent traffic overtakes deferred traffic near saturation
+    When I inject a mixed-priority load at 80 msg/s for 120 seconds:
+      | priority | share |
+      | QD       | 90    |
+      | QU       | 10    |
+    Then all injected load messages should be received
+    And every priority class should have at least 100 delivered messages
+    And the URGENT p99 latency should be at least 30% lower than the DEFERRED p99 latency
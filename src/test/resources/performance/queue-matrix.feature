@@ -0,0 +1,17 @@
+@performance @matrix
+Feature: Per-queue latency matrix
+  As a performance engineer
+  I want to measure delivery latency through every configured connection
+  So that slow connections or misconfigured hosts stand out instead of hiding behind the default queue
+
+  # Every enabled connection of the configuration DB with a DIRECT route is measured;
+  # the test-harness must listen on every connection outQueue.
+
+  Background:
+    Given the test-harness is accessible
+
+  Scenario: Calibrated burst through every enabled connection
+    When I run the queue latency matrix with 50 messages per connection at 5 msg/s
+    Then every configured connection should deliver all its messages
+    And the queue matrix p99 latency should be below 5000 ms for every connection
+    And no connection should be a latency outlier
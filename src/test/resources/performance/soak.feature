@@ -0,0 +1,14 @@
+@performance @soak
+Feature: Memory-bounded soak run
+  As a performance engineer
+  I want to inject messages for hours while keeping the test JVM heap flat
+  So that long-running delivery problems are found without the tooling running out of memory
+
+  Background:
+    Given the test-harness is accessible
+
+  Scenario: One hour soak at a steady rate
+    When I run a soak test at 50 msg/s for 60 minutes
+    Then every soak message should be delivered within the deadline
+    And the soak p99 latency should be below 5000 ms
+    And the soak live heap should not grow by more than 64 MB